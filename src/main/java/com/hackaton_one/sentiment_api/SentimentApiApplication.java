@@ -1,9 +1,13 @@
 package com.hackaton_one.sentiment_api;
 
+import com.hackaton_one.sentiment_api.cli.ScoringCommand;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.Arrays;
+
 @OpenAPIDefinition(
         info = @io.swagger.v3.oas.annotations.info.Info(
                 title = "Sentiment Analysis API",
@@ -15,7 +19,25 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class SentimentApiApplication {
 
 	public static void main(String[] args) {
+		if (ScoringCommand.isRequested(args)) {
+			runCli(args);
+			return;
+		}
 		SpringApplication.run(SentimentApiApplication.class, args);
 	}
 
+	/**
+	 * Modo CLI (scoring offline): sem servidor web, gRPC ou ingestão por diretório.
+	 */
+	private static void runCli(String[] args) {
+		String[] cliArgs = Arrays.copyOf(args, args.length + 3);
+		cliArgs[args.length] = "--grpc.enabled=false";
+		cliArgs[args.length + 1] = "--ingestion.enabled=false";
+		cliArgs[args.length + 2] = "--rescoring.resume-on-startup=false";
+
+		SpringApplication app = new SpringApplication(SentimentApiApplication.class);
+		app.setWebApplicationType(WebApplicationType.NONE);
+		System.exit(SpringApplication.exit(app.run(cliArgs)));
+	}
+
 }
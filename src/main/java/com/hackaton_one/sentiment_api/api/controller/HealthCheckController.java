@@ -1,6 +1,13 @@
 package com.hackaton_one.sentiment_api.api.controller;
 
+import com.hackaton_one.sentiment_api.api.dto.CascadeStatsDTO;
 import com.hackaton_one.sentiment_api.api.dto.HealthCheckDTO;
+import com.hackaton_one.sentiment_api.api.dto.HedgingStatsDTO;
+import com.hackaton_one.sentiment_api.api.dto.QuantizationReportDTO;
+import com.hackaton_one.sentiment_api.api.dto.ResultCacheStatsDTO;
+import com.hackaton_one.sentiment_api.service.InferenceHedger;
+import com.hackaton_one.sentiment_api.service.LexiconCascade;
+import com.hackaton_one.sentiment_api.service.ResultCache;
 import com.hackaton_one.sentiment_api.service.SentimentService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +22,10 @@ import java.time.LocalDateTime;
  *
  * Endpoints:
  * - GET /health - Retorna status da aplicação e do modelo ONNX
+ * - GET /health/hedging - Métricas das requisições hedged
+ * - GET /health/quantization - Validação do modelo quantizado
+ * - GET /health/cascade - Acertos do léxico e concordância com o modelo
+ * - GET /health/result-cache - Acertos do cache de resultados
  */
 @Slf4j
 @RestController
@@ -22,9 +33,16 @@ import java.time.LocalDateTime;
 public class HealthCheckController {
 
     private final SentimentService sentimentService;
+    private final InferenceHedger inferenceHedger;
+    private final LexiconCascade lexiconCascade;
+    private final ResultCache resultCache;
 
-    public HealthCheckController(SentimentService sentimentService) {
+    public HealthCheckController(SentimentService sentimentService, InferenceHedger inferenceHedger,
+                                 LexiconCascade lexiconCascade, ResultCache resultCache) {
         this.sentimentService = sentimentService;
+        this.inferenceHedger = inferenceHedger;
+        this.lexiconCascade = lexiconCascade;
+        this.resultCache = resultCache;
     }
 
     /**
@@ -46,5 +64,45 @@ public class HealthCheckController {
 
         return ResponseEntity.ok(health);
     }
-}
 
+    /**
+     * GET /health/hedging - Taxa de cópias, vitórias e orçamento do hedging.
+     *
+     * @return HedgingStatsDTO com as métricas desde o início da aplicação
+     */
+    @GetMapping("/hedging")
+    public ResponseEntity<HedgingStatsDTO> hedgingStats() {
+        return ResponseEntity.ok(inferenceHedger.getStats());
+    }
+
+    /**
+     * GET /health/quantization - Concordância e ganho de latência do modelo quantizado.
+     *
+     * @return QuantizationReportDTO da validação feita no startup
+     */
+    @GetMapping("/quantization")
+    public ResponseEntity<QuantizationReportDTO> quantizationReport() {
+        QuantizationReportDTO report = sentimentService.getQuantizationReport();
+        return report != null ? ResponseEntity.ok(report) : ResponseEntity.noContent().build();
+    }
+
+    /**
+     * GET /health/cascade - Textos decididos pelo léxico, enviados ao modelo e concordância.
+     *
+     * @return CascadeStatsDTO com as métricas desde o início da aplicação
+     */
+    @GetMapping("/cascade")
+    public ResponseEntity<CascadeStatsDTO> cascadeStats() {
+        return ResponseEntity.ok(lexiconCascade.getStats());
+    }
+
+    /**
+     * GET /health/result-cache - Acertos do near-cache e da tabela compartilhada.
+     *
+     * @return ResultCacheStatsDTO com as métricas desde o início da aplicação
+     */
+    @GetMapping("/result-cache")
+    public ResponseEntity<ResultCacheStatsDTO> resultCacheStats() {
+        return ResponseEntity.ok(resultCache.getStats());
+    }
+}
@@ -0,0 +1,41 @@
+package com.hackaton_one.sentiment_api.api.controller;
+
+import com.hackaton_one.sentiment_api.api.dto.RescoringStatusDTO;
+import com.hackaton_one.sentiment_api.service.RescoringService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controle do job de reprocessamento das análises com o modelo atual.
+ * <p>
+ * Endpoints:
+ * - POST /sentiment/rescoring (inicia ou retoma o job)
+ * - GET /sentiment/rescoring (situação do job)
+ * - DELETE /sentiment/rescoring (interrompe o job, mantendo o checkpoint)
+ */
+@RestController
+@RequestMapping("/sentiment/rescoring")
+public class RescoringController {
+
+    private final RescoringService rescoringService;
+
+    public RescoringController(RescoringService rescoringService) {
+        this.rescoringService = rescoringService;
+    }
+
+    @PostMapping
+    public ResponseEntity<RescoringStatusDTO> start() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(rescoringService.start());
+    }
+
+    @GetMapping
+    public ResponseEntity<RescoringStatusDTO> status() {
+        return ResponseEntity.ok(rescoringService.getStatus());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<RescoringStatusDTO> stop() {
+        return ResponseEntity.ok(rescoringService.stop());
+    }
+}
@@ -1,13 +1,28 @@
 package com.hackaton_one.sentiment_api.api.controller;
 
 import com.hackaton_one.sentiment_api.api.dto.*;
+import com.hackaton_one.sentiment_api.config.RateLimitFilter;
+import com.hackaton_one.sentiment_api.exceptions.ServiceUnavailableException;
 import com.hackaton_one.sentiment_api.service.*;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.multipart.support.MissingServletRequestPartException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.WebUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 
 /**
@@ -16,8 +31,14 @@ import org.springframework.web.multipart.MultipartFile;
  * Endpoints:
  * - POST /sentiment (texto único)
  * - POST /sentiment/batch (CSV em lote)
+ * - POST /sentiment/bulk (lista JSON de textos)
  * - GET /sentiment/statistics (estatísticas agregadas)
+ * - GET /sentiment/statistics/timeseries (série temporal por hora, dia ou semana)
+ * - GET /sentiment/statistics/confidence (distribuição da confiança)
  * - GET /sentiment/history (histórico de análises)
+ * - GET /sentiment/export (exportação completa em CSV ou NDJSON)
+ * - GET /sentiment/search (busca filtrada e paginada no histórico)
+ * - GET /sentiment/stream (Server-Sent Events com novas análises e contagens periódicas)
  */
 @Slf4j
 @RestController
@@ -28,16 +49,28 @@ public class SentimentController {
     private final SentimentService sentimentService;
     private final StatisticsService statisticsService;
     private final HistoryService historyService;
+    private final ExportService exportService;
+    private final SearchService searchService;
+    private final LiveUpdatePublisher liveUpdatePublisher;
+    private final CsvUploadService csvUploadService;
 
     public SentimentController(
             BatchService batchService,
             SentimentService sentimentService,
             StatisticsService statisticsService,
-            HistoryService historyService) {
+            HistoryService historyService,
+            ExportService exportService,
+            SearchService searchService,
+            LiveUpdatePublisher liveUpdatePublisher,
+            CsvUploadService csvUploadService) {
         this.batchService = batchService;
         this.sentimentService = sentimentService;
         this.statisticsService = statisticsService;
         this.historyService = historyService;
+        this.exportService = exportService;
+        this.searchService = searchService;
+        this.liveUpdatePublisher = liveUpdatePublisher;
+        this.csvUploadService = csvUploadService;
     }
 
     /**
@@ -53,20 +86,56 @@ public class SentimentController {
 
     /**
      * POST /sentiment/batch - Análise em lote via CSV.
+     * <p>
+     * O upload é lido em streaming ({@link CsvUploadService}): as linhas são analisadas enquanto
+     * o arquivo chega. Se a requisição já vier com as partes resolvidas (ex.: MockMvc), o
+     * MultipartFile é usado diretamente.
      *
-     * @param file       Arquivo CSV (obrigatório)
+     * @param request    Requisição multipart com o arquivo CSV no campo "file" (obrigatório)
      * @param textColumn Nome da coluna com textos (opcional)
      */
     @PostMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<BatchSentimentResponseDTO> analyzeBatchCSV(
-            @RequestParam("file") MultipartFile file,
-            @RequestParam(value = "textColumn", required = false) String textColumn) {
+            HttpServletRequest request,
+            @RequestParam(value = "textColumn", required = false) String textColumn)
+            throws MissingServletRequestPartException {
+
+        MultipartHttpServletRequest multipart = WebUtils.getNativeRequest(request, MultipartHttpServletRequest.class);
+        if (multipart != null) {
+            MultipartFile file = multipart.getFile("file");
+            if (file == null) {
+                throw new MissingServletRequestPartException("file");
+            }
+            return ResponseEntity.ok(chargeRows(request, batchService.processCSV(file, textColumn)));
+        }
 
-        BatchSentimentResponseDTO response = batchService.processCSV(file, textColumn);
+        BatchSentimentResponseDTO response = csvUploadService.processUpload(request, textColumn);
 
+        return ResponseEntity.ok(chargeRows(request, response));
+    }
+
+    /**
+     * POST /sentiment/bulk - Análise em lote de uma lista JSON de textos.
+     * <p>
+     * Cada item pode ser apenas o texto ou um objeto {"id", "text"}; os resultados
+     * seguem a ordem da entrada.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkSentimentResponseDTO> analyzeBulk(@RequestBody List<BulkItemDTO> items,
+                                                                HttpServletRequest request) {
+        BulkSentimentResponseDTO response = batchService.processBulk(items);
+        request.setAttribute(RateLimitFilter.ROWS_ATTRIBUTE, response.totalProcessed());
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Informa ao rate limiting quantas linhas o lote processou (cobradas após a resposta).
+     */
+    private static BatchSentimentResponseDTO chargeRows(HttpServletRequest request, BatchSentimentResponseDTO response) {
+        request.setAttribute(RateLimitFilter.ROWS_ATTRIBUTE, response.totalProcessed());
+        return response;
+    }
+
     /**
      * GET /sentiment/statistics - Retorna estatísticas agregadas.
      */
@@ -76,6 +145,35 @@ public class SentimentController {
         return ResponseEntity.ok(statistics);
     }
 
+    /**
+     * GET /sentiment/statistics/confidence - Percentis e histograma da confiança por sentimento.
+     */
+    @GetMapping("/statistics/confidence")
+    public ResponseEntity<ConfidenceStatisticsDTO> getConfidenceStatistics() {
+        return ResponseEntity.ok(statisticsService.getConfidenceStatistics());
+    }
+
+    /**
+     * GET /sentiment/statistics/timeseries - Série temporal de análises.
+     *
+     * @param granularity hour, day (padrão) ou week
+     * @param from        Data inicial (ISO-8601, padrão: 7 dias antes de 'to')
+     * @param to          Data final exclusiva (ISO-8601, padrão: agora)
+     */
+    @GetMapping("/statistics/timeseries")
+    public ResponseEntity<TimeSeriesDTO> getTimeSeries(
+            @RequestParam(value = "granularity", defaultValue = "day") String granularity,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(7);
+        TimeSeriesDTO series = statisticsService.getTimeSeries(TimeGranularity.from(granularity), start, end);
+        return ResponseEntity.ok(series);
+    }
+
     /**
      * GET /sentiment/history - Retorna histórico de análises (últimas 100).
      */
@@ -84,4 +182,93 @@ public class SentimentController {
         HistoryItemListDTO HistoryService = historyService.getHistory();
         return ResponseEntity.ok(HistoryService);
     }
+
+    /**
+     * GET /sentiment/search - Busca no histórico com filtros e paginação por cursor.
+     *
+     * @param q             Palavras que o texto deve conter (opcional)
+     * @param sentiment     POSITIVO ou NEGATIVO (opcional)
+     * @param from          Data inicial inclusiva (ISO-8601, opcional)
+     * @param to            Data final exclusiva (ISO-8601, opcional)
+     * @param minConfidence Confiança mínima (opcional)
+     * @param maxConfidence Confiança máxima (opcional)
+     * @param cursor        Valor de nextCursor da página anterior (opcional)
+     * @param limit         Tamanho da página (opcional)
+     */
+    @GetMapping("/search")
+    public ResponseEntity<SearchResultDTO> search(
+            @RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "sentiment", required = false) String sentiment,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "minConfidence", required = false) Double minConfidence,
+            @RequestParam(value = "maxConfidence", required = false) Double maxConfidence,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+
+        SearchResultDTO result = searchService.search(
+                new SearchCriteria(q, sentiment, from, to, minConfidence, maxConfidence, cursor, limit));
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * GET /sentiment/stream - Stream ao vivo (SSE).
+     * <p>
+     * Eventos "analysis" trazem cada nova análise; eventos "stats" trazem as contagens
+     * do último intervalo (stream.stats-interval).
+     * Retorna 503 sem corpo quando o limite de conexões é atingido, já que clientes SSE
+     * só aceitam text/event-stream.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream() {
+        try {
+            return ResponseEntity.ok(liveUpdatePublisher.subscribe());
+        } catch (ServiceUnavailableException e) {
+            log.warn("Stream subscription refused: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+    }
+
+    /**
+     * GET /sentiment/export - Exporta todas as análises (streaming, memória constante).
+     *
+     * @param format    csv (padrão) ou ndjson
+     * @param gzip      Comprime a saída com gzip
+     * @param from      Data inicial inclusiva (ISO-8601, opcional)
+     * @param to        Data final exclusiva (ISO-8601, opcional)
+     * @param sentiment POSITIVO ou NEGATIVO (opcional)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "sentiment", required = false) String sentiment) {
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        String sentimentFilter = ExportService.normalizeSentiment(sentiment);
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024);
+                exportService.export(exportFormat, from, to, sentimentFilter, gzipOut);
+                gzipOut.finish();
+            } else {
+                exportService.export(exportFormat, from, to, sentimentFilter, out);
+            }
+        };
+
+        String filename = "sentiments." + exportFormat.extension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
 }
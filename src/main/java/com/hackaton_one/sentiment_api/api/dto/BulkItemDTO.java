@@ -0,0 +1,32 @@
+package com.hackaton_one.sentiment_api.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+/**
+ * Item de entrada da análise em lote via JSON.
+ * <p>
+ * Aceita tanto um objeto quanto apenas o texto:
+ * <pre>
+ * [
+ *   {"id": "pedido-1", "text": "Chegou rápido, recomendo"},
+ *   "Produto veio quebrado"
+ * ]
+ * </pre>
+ *
+ * @param id   Identificador do cliente, devolvido no resultado (opcional)
+ * @param text Texto a ser analisado
+ */
+public record BulkItemDTO(
+        String id,
+        String text
+) {
+
+    @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+    public BulkItemDTO {
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static BulkItemDTO of(String text) {
+        return new BulkItemDTO(null, text);
+    }
+}
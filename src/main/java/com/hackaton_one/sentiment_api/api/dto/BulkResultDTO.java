@@ -0,0 +1,16 @@
+package com.hackaton_one.sentiment_api.api.dto;
+
+/**
+ * Resultado de um item da análise em lote via JSON.
+ *
+ * @param id        Identificador enviado pelo cliente (null se não informado)
+ * @param sentiment POSITIVO ou NEGATIVO
+ * @param score     Confiança da previsão
+ * @param text      Texto analisado
+ */
+public record BulkResultDTO(
+        String id,
+        String sentiment,
+        double score,
+        String text
+) {}
@@ -0,0 +1,16 @@
+package com.hackaton_one.sentiment_api.api.dto;
+
+import java.util.List;
+
+/**
+ * Resposta da análise em lote via JSON.
+ *
+ * @param results        Resultados na mesma ordem da entrada
+ * @param totalProcessed Quantidade de textos recebidos
+ * @param uniqueTexts    Quantidade de textos distintos (após normalização) enviados ao modelo
+ */
+public record BulkSentimentResponseDTO(
+        List<BulkResultDTO> results,
+        int totalProcessed,
+        int uniqueTexts
+) {}
@@ -0,0 +1,24 @@
+package com.hackaton_one.sentiment_api.api.dto;
+
+/**
+ * Métricas da cascata léxico → modelo.
+ *
+ * @param enabled        Cascata ligada
+ * @param texts          Textos que passaram pela cascata
+ * @param lexiconHits    Textos decididos pelo léxico, sem executar o modelo
+ * @param modelTexts     Textos enviados ao modelo
+ * @param lexiconHitRate lexiconHits / texts
+ * @param verified       Decisões do léxico conferidas com o modelo (amostra)
+ * @param agreed         Conferências em que o modelo deu o mesmo rótulo
+ * @param agreementRate  agreed / verified (null se nada foi conferido)
+ */
+public record CascadeStatsDTO(
+        boolean enabled,
+        long texts,
+        long lexiconHits,
+        long modelTexts,
+        double lexiconHitRate,
+        long verified,
+        long agreed,
+        Double agreementRate
+) {}
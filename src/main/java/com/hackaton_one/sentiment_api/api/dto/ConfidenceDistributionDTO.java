@@ -0,0 +1,23 @@
+package com.hackaton_one.sentiment_api.api.dto;
+
+import java.util.List;
+
+/**
+ * Distribuição da confiança das análises de um sentimento (ou de todas, com sentiment = "ALL").
+ *
+ * @param count              Quantidade de análises
+ * @param p10                Percentil 10 da confiança
+ * @param p50                Mediana da confiança
+ * @param p90                Percentil 90 da confiança
+ * @param lowConfidenceShare Fração das análises abaixo do limiar de baixa confiança (0.0 a 1.0)
+ * @param buckets            Contagem por faixa de 0,01 (100 faixas)
+ */
+public record ConfidenceDistributionDTO(
+        String sentiment,
+        long count,
+        double p10,
+        double p50,
+        double p90,
+        double lowConfidenceShare,
+        List<Long> buckets
+) {}
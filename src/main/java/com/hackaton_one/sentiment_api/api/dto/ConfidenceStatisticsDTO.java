@@ -0,0 +1,13 @@
+package com.hackaton_one.sentiment_api.api.dto;
+
+import java.util.List;
+
+/**
+ * Distribuições de confiança por sentimento.
+ *
+ * @param lowConfidenceThreshold Limiar usado em lowConfidenceShare
+ */
+public record ConfidenceStatisticsDTO(
+        double lowConfidenceThreshold,
+        List<ConfidenceDistributionDTO> distributions
+) {}
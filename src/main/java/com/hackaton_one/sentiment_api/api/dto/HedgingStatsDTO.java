@@ -0,0 +1,22 @@
+package com.hackaton_one.sentiment_api.api.dto;
+
+/**
+ * Métricas das requisições hedged da inferência interativa.
+ *
+ * @param enabled         Hedging ligado
+ * @param requests        Inferências interativas executadas
+ * @param hedged          Cópias disparadas
+ * @param hedgeRate       Cópias / requisições
+ * @param hedgeWins       Cópias que terminaram antes da execução principal
+ * @param budgetExhausted Cópias não disparadas por falta de orçamento
+ * @param thresholdMs     Espera atual antes de uma cópia (null = ainda sem histórico)
+ */
+public record HedgingStatsDTO(
+        boolean enabled,
+        long requests,
+        long hedged,
+        double hedgeRate,
+        long hedgeWins,
+        long budgetExhausted,
+        Double thresholdMs
+) {}
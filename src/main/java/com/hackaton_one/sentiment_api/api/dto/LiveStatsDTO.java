@@ -0,0 +1,14 @@
+package com.hackaton_one.sentiment_api.api.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Análises gravadas no intervalo [since, until), enviado periodicamente pelo stream ao vivo.
+ */
+public record LiveStatsDTO(
+        LocalDateTime since,
+        LocalDateTime until,
+        long positive,
+        long negative,
+        long total
+) {}
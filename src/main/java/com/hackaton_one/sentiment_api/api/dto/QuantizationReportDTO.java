@@ -0,0 +1,26 @@
+package com.hackaton_one.sentiment_api.api.dto;
+
+/**
+ * Resultado da validação do modelo quantizado no startup.
+ *
+ * @param configured      Há um modelo quantizado configurado
+ * @param active          O modelo quantizado está servindo as análises
+ * @param samples         Textos da amostra comparados
+ * @param agreement       Fração de rótulos iguais aos do modelo principal
+ * @param minAgreement    Concordância mínima exigida
+ * @param primaryMeanMs   Latência média do modelo principal (um texto)
+ * @param quantizedMeanMs Latência média do modelo quantizado (um texto)
+ * @param speedup         Ganho de latência (principal / quantizado)
+ * @param message         Motivo da decisão
+ */
+public record QuantizationReportDTO(
+        boolean configured,
+        boolean active,
+        Integer samples,
+        Double agreement,
+        double minAgreement,
+        Double primaryMeanMs,
+        Double quantizedMeanMs,
+        Double speedup,
+        String message
+) {}
@@ -0,0 +1,24 @@
+package com.hackaton_one.sentiment_api.api.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Situação do job de reprocessamento de análises.
+ *
+ * @param targetVersion Versão do modelo atual (alvo do reprocessamento)
+ * @param status        IDLE, RUNNING, STOPPED, COMPLETED ou FAILED
+ * @param running       Se o job está em execução neste nó
+ * @param lastId        Último ID reprocessado (checkpoint)
+ * @param processed     Quantidade de análises reprocessadas
+ * @param changed       Quantidade de análises que mudaram de rótulo
+ */
+public record RescoringStatusDTO(
+        String targetVersion,
+        String status,
+        boolean running,
+        long lastId,
+        long processed,
+        long changed,
+        LocalDateTime startedAt,
+        LocalDateTime updatedAt
+) {}
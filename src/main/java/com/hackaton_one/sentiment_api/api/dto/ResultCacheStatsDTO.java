@@ -0,0 +1,28 @@
+package com.hackaton_one.sentiment_api.api.dto;
+
+/**
+ * Métricas do cache de resultados (near-cache local + tabela compartilhada).
+ *
+ * @param enabled       Cache ligado
+ * @param modelVersion  Versão do modelo cujos resultados estão em cache (null = inativo)
+ * @param lookups       Textos consultados
+ * @param nearHits      Encontrados no near-cache deste nó
+ * @param databaseHits  Encontrados na tabela compartilhada
+ * @param misses        Enviados ao modelo
+ * @param hitRate       (nearHits + databaseHits) / lookups
+ * @param nearCacheSize Entradas no near-cache
+ * @param pendingWrites Resultados aguardando gravação na tabela
+ * @param written       Resultados gravados na tabela por este nó
+ */
+public record ResultCacheStatsDTO(
+        boolean enabled,
+        String modelVersion,
+        long lookups,
+        long nearHits,
+        long databaseHits,
+        long misses,
+        double hitRate,
+        int nearCacheSize,
+        int pendingWrites,
+        long written
+) {}
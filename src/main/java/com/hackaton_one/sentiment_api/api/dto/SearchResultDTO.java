@@ -0,0 +1,16 @@
+package com.hackaton_one.sentiment_api.api.dto;
+
+import java.util.List;
+
+/**
+ * Página de resultados da busca no histórico.
+ *
+ * @param items      Análises encontradas (mais recentes primeiro)
+ * @param nextCursor Cursor da próxima página (null quando não há mais resultados)
+ * @param tookMs     Tempo da consulta em milissegundos
+ */
+public record SearchResultDTO(
+        List<HistoryItemDTO> items,
+        String nextCursor,
+        long tookMs
+) {}
@@ -1,6 +1,7 @@
 package com.hackaton_one.sentiment_api.api.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 /**
  * DTO de entrada para análise de sentimento.
@@ -13,6 +14,7 @@ import jakarta.validation.constraints.NotBlank;
 public record SentimentRequestDTO(
 
         @NotBlank(message = "O campo 'text' é obrigatório")
+        @Size(min = 5, max = 5000, message = "O texto deve ter entre 5 e 5000 caracteres")
         String text
 
 ) {}
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.hackaton_one.sentiment_api.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * Resposta de saída da análise de sentimento.
  *
@@ -13,6 +15,13 @@ package com.hackaton_one.sentiment_api.api.dto;
 public record SentimentResponseDTO(
         String sentiment,
         double score,
-        String text
-) {}
+        String text,
+        // Versão gravada com a análise (modelo ou léxico da cascata); não faz parte da resposta
+        @JsonIgnore String version
+) {
+
+    public SentimentResponseDTO(String sentiment, double score, String text) {
+        this(sentiment, score, text, null);
+    }
+}
 
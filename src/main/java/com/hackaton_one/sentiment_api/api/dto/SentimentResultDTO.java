@@ -5,8 +5,15 @@ package com.hackaton_one.sentiment_api.api.dto;
  *
  * @param previsao Label retornada pelo modelo (ex: "Positivo", "Negativo")
  * @param probabilidade Probabilidade/confiança da previsão (0.0 a 1.0)
+ * @param versao Versão que decidiu o texto quando não foi o modelo carregado (ex.: "lexicon:&lt;hash&gt;"); null = modelo
  */
 public record SentimentResultDTO(
         String previsao,
-        double probabilidade
-) {}
+        double probabilidade,
+        String versao
+) {
+
+    public SentimentResultDTO(String previsao, double probabilidade) {
+        this(previsao, probabilidade, null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.hackaton_one.sentiment_api.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Série temporal de análises, com um ponto por intervalo (intervalos vazios têm contagem zero).
+ */
+public record TimeSeriesDTO(
+        String granularity,
+        LocalDateTime from,
+        LocalDateTime to,
+        List<TimeSeriesPointDTO> points
+) {}
@@ -0,0 +1,13 @@
+package com.hackaton_one.sentiment_api.api.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contagem de análises em um intervalo da série temporal.
+ */
+public record TimeSeriesPointDTO(
+        LocalDateTime bucketStart,
+        long positive,
+        long negative,
+        long total
+) {}
@@ -0,0 +1,218 @@
+package com.hackaton_one.sentiment_api.api.grpc;
+
+import com.hackaton_one.sentiment_api.api.dto.SentimentResponseDTO;
+import com.hackaton_one.sentiment_api.exceptions.DeadlineExceededException;
+import com.hackaton_one.sentiment_api.exceptions.ModelAnalysisException;
+import com.hackaton_one.sentiment_api.grpc.AnalyzeRequest;
+import com.hackaton_one.sentiment_api.grpc.AnalyzeResponse;
+import com.hackaton_one.sentiment_api.grpc.SentimentAnalyzerGrpc;
+import com.hackaton_one.sentiment_api.service.RequestDeadline;
+import com.hackaton_one.sentiment_api.service.SentimentService;
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementação gRPC da análise de sentimento, reutilizando o {@link SentimentService}.
+ * <p>
+ * No stream bidirecional o controle de fluxo é manual: o servidor só pede ao cliente
+ * novas mensagens enquanto há menos de maxInFlight análises em andamento e a saída
+ * está pronta (isReady). Um produtor rápido é assim freado pelo próprio HTTP/2,
+ * sem acumular textos em memória no servidor.
+ * <p>
+ * O deadline da chamada gRPC vira o {@link RequestDeadline} da análise. Os textos seguem as
+ * mesmas regras do POST /sentiment (obrigatório, entre 5 e 5000 caracteres): fora delas a
+ * chamada, ou o item do stream, volta com INVALID_ARGUMENT.
+ */
+@Slf4j
+public class SentimentGrpcService extends SentimentAnalyzerGrpc.SentimentAnalyzerImplBase {
+
+    private final SentimentService sentimentService;
+    private final Executor inferenceExecutor;
+    private final int maxInFlight;
+
+    public SentimentGrpcService(SentimentService sentimentService, Executor inferenceExecutor, int maxInFlight) {
+        this.sentimentService = sentimentService;
+        this.inferenceExecutor = inferenceExecutor;
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public void analyze(AnalyzeRequest request, StreamObserver<AnalyzeResponse> responseObserver) {
+        String invalid = validate(request.getText());
+        if (invalid != null) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(invalid).asRuntimeException());
+            return;
+        }
+        try (RequestDeadline.Scope ignored = RequestDeadline.attach(callDeadline())) {
+            responseObserver.onNext(toResponse(request.getId(), sentimentService.analyzeAndSave(request.getText())));
+            responseObserver.onCompleted();
+        } catch (DeadlineExceededException e) {
+            responseObserver.onError(Status.DEADLINE_EXCEEDED.withDescription(e.getMessage()).asRuntimeException());
+        } catch (ModelAnalysisException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+        } catch (Exception e) {
+            log.error("gRPC analyze failed: {}", e.getMessage(), e);
+            responseObserver.onError(Status.INTERNAL.withDescription(e.getMessage()).asRuntimeException());
+        }
+    }
+
+    @Override
+    public StreamObserver<AnalyzeRequest> analyzeStream(StreamObserver<AnalyzeResponse> responseObserver) {
+        ServerCallStreamObserver<AnalyzeResponse> out = (ServerCallStreamObserver<AnalyzeResponse>) responseObserver;
+        out.disableAutoRequest();
+        StreamState state = new StreamState(out);
+        out.setOnReadyHandler(state::onReady);
+        out.setOnCancelHandler(state::onCancel);
+        out.request(maxInFlight);
+
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(AnalyzeRequest request) {
+                state.started();
+                RequestDeadline deadline = callDeadline();
+                try {
+                    inferenceExecutor.execute(() -> state.finished(analyzeItem(request, deadline)));
+                } catch (RejectedExecutionException e) {
+                    state.finished(error(request.getId(), Status.Code.RESOURCE_EXHAUSTED, "Servidor sobrecarregado"));
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                state.onCancel();
+            }
+
+            @Override
+            public void onCompleted() {
+                state.halfClosed();
+            }
+        };
+    }
+
+    private AnalyzeResponse analyzeItem(AnalyzeRequest request, RequestDeadline deadline) {
+        String invalid = validate(request.getText());
+        if (invalid != null) {
+            return error(request.getId(), Status.Code.INVALID_ARGUMENT, invalid);
+        }
+        try (RequestDeadline.Scope ignored = RequestDeadline.attach(deadline)) {
+            return toResponse(request.getId(), sentimentService.analyzeAndSave(request.getText()));
+        } catch (DeadlineExceededException e) {
+            return error(request.getId(), Status.Code.DEADLINE_EXCEEDED, e.getMessage());
+        } catch (ModelAnalysisException e) {
+            return error(request.getId(), Status.Code.INVALID_ARGUMENT, e.getMessage());
+        } catch (Exception e) {
+            log.warn("gRPC stream item {} failed: {}", request.getId(), e.getMessage());
+            return error(request.getId(), Status.Code.INTERNAL, e.getMessage());
+        }
+    }
+
+    /**
+     * Mesmas regras do {@code SentimentRequestDTO}: texto obrigatório, entre 5 e 5000 caracteres.
+     *
+     * @return Mensagem de erro, ou null se o texto é válido
+     */
+    static String validate(String text) {
+        if (text.isBlank()) {
+            return "O campo 'text' é obrigatório";
+        }
+        if (text.length() < 5 || text.length() > 5000) {
+            return "O texto deve ter entre 5 e 5000 caracteres";
+        }
+        return null;
+    }
+
+    /**
+     * Deadline da chamada gRPC atual, ou null se o cliente não informou um.
+     */
+    private static RequestDeadline callDeadline() {
+        Deadline deadline = Context.current().getDeadline();
+        if (deadline == null) {
+            return null;
+        }
+        return RequestDeadline.after(Duration.ofNanos(deadline.timeRemaining(TimeUnit.NANOSECONDS)));
+    }
+
+    private static AnalyzeResponse toResponse(String id, SentimentResponseDTO result) {
+        return AnalyzeResponse.newBuilder()
+                .setId(id)
+                .setSentiment(result.sentiment())
+                .setScore(result.score())
+                .setText(result.text())
+                .build();
+    }
+
+    private static AnalyzeResponse error(String id, Status.Code code, String message) {
+        return AnalyzeResponse.newBuilder()
+                .setId(id)
+                .setError(message != null ? message : "Erro na análise")
+                .setCode(code.name())
+                .build();
+    }
+
+    /**
+     * Estado de um stream: análises em andamento, mensagens a pedir quando a saída
+     * voltar a ficar pronta e se o cliente já terminou de enviar.
+     */
+    private static final class StreamState {
+        private final ServerCallStreamObserver<AnalyzeResponse> out;
+        private int inFlight;
+        private int deferredRequests;
+        private boolean halfClosed;
+        private boolean done;
+
+        StreamState(ServerCallStreamObserver<AnalyzeResponse> out) {
+            this.out = out;
+        }
+
+        synchronized void started() {
+            inFlight++;
+        }
+
+        synchronized void finished(AnalyzeResponse response) {
+            inFlight--;
+            if (done) {
+                return;
+            }
+            out.onNext(response);
+            // Libera uma nova mensagem do cliente só se a saída não estiver congestionada
+            if (out.isReady()) {
+                out.request(1);
+            } else {
+                deferredRequests++;
+            }
+            completeIfDrained();
+        }
+
+        synchronized void onReady() {
+            if (deferredRequests > 0 && !done) {
+                out.request(deferredRequests);
+                deferredRequests = 0;
+            }
+        }
+
+        synchronized void halfClosed() {
+            halfClosed = true;
+            completeIfDrained();
+        }
+
+        synchronized void onCancel() {
+            done = true;
+        }
+
+        private void completeIfDrained() {
+            if (halfClosed && inFlight == 0 && !done) {
+                done = true;
+                out.onCompleted();
+            }
+        }
+    }
+}
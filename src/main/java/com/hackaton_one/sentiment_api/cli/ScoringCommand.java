@@ -0,0 +1,81 @@
+package com.hackaton_one.sentiment_api.cli;
+
+import com.hackaton_one.sentiment_api.exceptions.ModelInitializationException;
+import com.hackaton_one.sentiment_api.service.OfflineScoringService;
+import com.hackaton_one.sentiment_api.service.ScoringReport;
+import com.hackaton_one.sentiment_api.service.SentimentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Modo CLI de scoring offline, sem Tomcat/HTTP.
+ * <p>
+ * Ativado quando a aplicação recebe {@code --cli.input}:
+ * <pre>
+ * java -jar sentiment-api.jar --cli.input=reviews.csv [--cli.output=reviews.results.csv]
+ *      [--cli.text-column=review] [--cli.persist=true] [--cli.threads=16]
+ * </pre>
+ * A aplicação termina ao final do processamento (código de saída 0 em caso de sucesso).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cli.input")
+public class ScoringCommand implements ApplicationRunner {
+
+    private static final String INPUT_ARG = "--cli.input=";
+
+    @Value("${cli.input}")
+    private String input;
+
+    @Value("${cli.output:}")
+    private String output;
+
+    @Value("${cli.text-column:}")
+    private String textColumn;
+
+    @Value("${cli.persist:false}")
+    private boolean persist;
+
+    // 0 = uma thread por núcleo
+    @Value("${cli.threads:0}")
+    private int threads;
+
+    private final OfflineScoringService scoringService;
+    private final SentimentService sentimentService;
+
+    public ScoringCommand(OfflineScoringService scoringService, SentimentService sentimentService) {
+        this.scoringService = scoringService;
+        this.sentimentService = sentimentService;
+    }
+
+    /**
+     * Indica se os argumentos pedem o modo CLI.
+     */
+    public static boolean isRequested(String[] args) {
+        return Arrays.stream(args).anyMatch(arg -> arg.startsWith(INPUT_ARG));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!sentimentService.isModelAvailable()) {
+            throw new ModelInitializationException("ONNX model is not available; offline scoring aborted");
+        }
+        Path inputPath = Path.of(input);
+        Path outputPath = output.isBlank() ? Path.of(input + ".results.csv") : Path.of(output);
+
+        log.info("Offline scoring {} -> {} (persist={})", inputPath, outputPath, persist);
+        ScoringReport report = scoringService.score(inputPath, outputPath,
+                textColumn.isBlank() ? null : textColumn, persist, threads);
+
+        System.out.printf("Scored %d rows in %.1f s (%.0f rows/s, %d threads%s)%n",
+                report.rows(), report.elapsedMs() / 1000.0, report.rowsPerSecond(), report.threads(),
+                report.persisted() ? ", saved to database" : "");
+    }
+}
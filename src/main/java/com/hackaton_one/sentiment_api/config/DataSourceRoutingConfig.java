@@ -0,0 +1,63 @@
+package com.hackaton_one.sentiment_api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Separa leituras analíticas das escritas quando uma réplica de leitura é configurada.
+ * <p>
+ * Ativada por datasource.read.url. Transações readOnly (estatísticas, histórico, exportação)
+ * usam o pool da réplica; escritas continuam no pool do primário (spring.datasource.*),
+ * de modo que consultas pesadas de dashboard não consomem as conexões das escritas.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.read.url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource writeDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("write-pool");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.read.hikari")
+    public HikariDataSource readDataSource(Environment environment) {
+        DataSourceProperties properties = Binder.get(environment)
+                .bind("datasource.read", DataSourceProperties.class)
+                .orElseThrow(() -> new IllegalStateException("datasource.read properties are invalid"));
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("read-pool");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaHealth replicaHealth(@Qualifier("readDataSource") DataSource readDataSource,
+                                       @Value("${datasource.read.max-staleness:5s}") Duration maxStaleness) {
+        return new ReplicaHealth(readDataSource, maxStaleness);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+                                 @Qualifier("readDataSource") DataSource readDataSource,
+                                 ReplicaHealth replicaHealth) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(writeDataSource, readDataSource, replicaHealth));
+    }
+}
@@ -0,0 +1,48 @@
+package com.hackaton_one.sentiment_api.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Identifica o banco de dados em uso (PostgreSQL em produção, H2 em dev/testes).
+ * <p>
+ * Usado pelos pontos que precisam de SQL específico de cada banco,
+ * como upserts e manutenção de partições.
+ */
+@Slf4j
+@Component
+public class DatabasePlatform {
+
+    private final DataSource dataSource;
+    private volatile Boolean postgres;
+
+    public DatabasePlatform(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Indica se o banco é PostgreSQL. O resultado é detectado na primeira chamada e mantido em cache.
+     */
+    public boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = detectPostgres();
+            postgres = result;
+        }
+        return result;
+    }
+
+    private boolean detectPostgres() {
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            log.info("Database platform detected: {}", product);
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (Exception e) {
+            log.warn("Could not detect database platform, assuming generic SQL: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.hackaton_one.sentiment_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração do prazo das requisições de análise (prefixo "deadline").
+ *
+ * @param enabled        Liga/desliga os prazos
+ * @param header         Header com o prazo informado pelo cliente, em milissegundos
+ * @param defaultTimeout Prazo de POST /sentiment quando o cliente não informa um (0 = sem prazo)
+ * @param maxTimeout     Maior prazo aceito no header
+ */
+@ConfigurationProperties("deadline")
+public record DeadlineProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("X-Request-Timeout") String header,
+        @DefaultValue("10s") Duration defaultTimeout,
+        @DefaultValue("5m") Duration maxTimeout
+) {}
@@ -0,0 +1,102 @@
+package com.hackaton_one.sentiment_api.config;
+
+import com.hackaton_one.sentiment_api.api.grpc.SentimentGrpcService;
+import com.hackaton_one.sentiment_api.service.SentimentService;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servidor gRPC (porta separada do HTTP), habilitado com grpc.enabled=true.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "grpc.enabled", havingValue = "true")
+public class GrpcServerConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService grpcInferenceExecutor(
+            @Value("${grpc.inference-threads:0}") int threads,
+            @Value("${grpc.queue-capacity:1000}") int queueCapacity) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("grpc-inference-", 0).daemon().factory());
+    }
+
+    @Bean
+    public SentimentGrpcService sentimentGrpcService(
+            SentimentService sentimentService,
+            ExecutorService grpcInferenceExecutor,
+            @Value("${grpc.stream.max-in-flight:32}") int maxInFlight) {
+        return new SentimentGrpcService(sentimentService, grpcInferenceExecutor, maxInFlight);
+    }
+
+    @Bean
+    public GrpcServerLifecycle grpcServerLifecycle(
+            SentimentGrpcService sentimentGrpcService,
+            @Value("${grpc.port:9090}") int port) {
+        Server server = NettyServerBuilder.forPort(port)
+                .addService(sentimentGrpcService)
+                .build();
+        return new GrpcServerLifecycle(server, port);
+    }
+
+    /**
+     * Inicia e para o servidor gRPC junto com o contexto Spring.
+     */
+    public static class GrpcServerLifecycle implements SmartLifecycle {
+
+        private final Server server;
+        private final int port;
+        private volatile boolean running;
+
+        GrpcServerLifecycle(Server server, int port) {
+            this.server = server;
+            this.port = port;
+        }
+
+        @Override
+        public void start() {
+            try {
+                server.start();
+                running = true;
+                log.info("gRPC server started on port {}", port);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start gRPC server on port " + port, e);
+            }
+        }
+
+        @Override
+        public void stop() {
+            server.shutdown();
+            try {
+                if (!server.awaitTermination(10, TimeUnit.SECONDS)) {
+                    server.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                server.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            running = false;
+            log.info("gRPC server stopped");
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.hackaton_one.sentiment_api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackaton_one.sentiment_api.api.dto.ApiErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Aplica o rate limiting por cliente (usuário autenticado, API key conhecida ou IP) e grupo de endpoints.
+ * <p>
+ * Cada requisição consome {@code requestCost} tokens na entrada; se não houver tokens,
+ * responde 429 com Retry-After. Endpoints de lote informam a quantidade de linhas no atributo
+ * {@link #ROWS_ATTRIBUTE}, cobradas depois do processamento ({@code rowCost} por linha).
+ * Respostas permitidas levam os headers X-RateLimit-Limit, X-RateLimit-Remaining e X-RateLimit-Reset.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Atributo da requisição com a quantidade de linhas processadas por um endpoint de lote.
+     */
+    public static final String ROWS_ATTRIBUTE = RateLimitFilter.class.getName() + ".rows";
+
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    private record Rule(String group, List<PathPattern> patterns, List<String> methods,
+                        RateLimitProperties.EndpointLimit limit) {
+
+        boolean matches(HttpServletRequest request, PathContainer path) {
+            if (!methods.isEmpty() && !methods.contains(request.getMethod())) {
+                return false;
+            }
+            return patterns.stream().anyMatch(pattern -> pattern.matches(path));
+        }
+    }
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final List<Rule> rules = new ArrayList<>();
+    private final Set<String> apiKeys;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.apiKeys = properties.apiKeys().stream().map(String::trim).filter(key -> !key.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+
+        for (Map.Entry<String, RateLimitProperties.EndpointLimit> entry : properties.endpoints().entrySet()) {
+            RateLimitProperties.EndpointLimit limit = entry.getValue();
+            if (limit.capacity() <= 0 || limit.refillPerSecond() <= 0 || limit.paths() == null) {
+                throw new IllegalArgumentException("Invalid rate limit for endpoint group '" + entry.getKey() + "'");
+            }
+            List<PathPattern> patterns = limit.paths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+            List<String> methods = limit.methods().stream().map(String::toUpperCase).toList();
+            rules.add(new Rule(entry.getKey(), patterns, methods, limit));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        Rule rule = findRule(request);
+        if (rule == null || HttpMethod.OPTIONS.matches(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String client = clientKey(request);
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(rule.group(), client, rule.limit(), rule.limit().requestCost());
+        response.setHeader(LIMIT_HEADER, String.valueOf(decision.limit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(decision.resetSeconds()));
+
+        if (!decision.allowed()) {
+            log.debug("Rate limit exceeded for {} on {}", client, rule.group());
+            reject(response, decision);
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.getAttribute(ROWS_ATTRIBUTE) instanceof Number rows && rule.limit().rowCost() > 0) {
+                rateLimiter.charge(rule.group(), client, rule.limit(), rows.doubleValue() * rule.limit().rowCost());
+            }
+        }
+    }
+
+    private Rule findRule(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Rule rule : rules) {
+            if (rule.matches(request, path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Usuário autenticado, ou API key da lista configurada; caso contrário, o IP do cliente.
+     * Uma key desconhecida não vale como identidade: do contrário, bastaria trocá-la a cada
+     * requisição para ganhar um bucket novo.
+     */
+    String clientKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null && principal.getName() != null) {
+            return "user:" + principal.getName();
+        }
+        String apiKey = request.getHeader(properties.apiKeyHeader());
+        if (apiKey != null && apiKeys.contains(apiKey.trim())) {
+            return "key:" + apiKey.trim();
+        }
+        if (properties.trustForwardedFor()) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                return "ip:" + forwarded.split(",")[0].trim();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, RateLimiter.Decision decision) throws IOException {
+        ApiErrorResponse body = new ApiErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                "Rate limit exceeded. Retry in " + decision.retryAfterSeconds() + "s",
+                LocalDateTime.now()
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,55 @@
+package com.hackaton_one.sentiment_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuração do rate limiting por cliente (prefixo "ratelimit").
+ *
+ * @param enabled           Liga/desliga o rate limiting
+ * @param apiKeyHeader      Header que identifica o cliente
+ * @param apiKeys           API keys aceitas como identidade do cliente; outras são ignoradas e o cliente é o IP
+ * @param trustForwardedFor Usa o primeiro IP de X-Forwarded-For (somente atrás de um proxy confiável)
+ * @param idleTimeout       Buckets cheios há mais tempo que isso são descartados
+ * @param maxBuckets        Máximo de buckets em memória
+ * @param endpoints         Limites por grupo de endpoints (requisições fora dos grupos não são limitadas)
+ */
+@ConfigurationProperties("ratelimit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("X-API-Key") String apiKeyHeader,
+        @DefaultValue List<String> apiKeys,
+        @DefaultValue("false") boolean trustForwardedFor,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue("100000") int maxBuckets,
+        Map<String, EndpointLimit> endpoints
+) {
+
+    public RateLimitProperties {
+        apiKeys = apiKeys != null ? apiKeys : List.of();
+        endpoints = endpoints != null ? endpoints : Map.of();
+    }
+
+    /**
+     * Limite de um grupo de endpoints.
+     *
+     * @param paths           Padrões de caminho (ex.: /sentiment/batch, /sentiment/statistics/**)
+     * @param methods         Métodos HTTP (vazio = todos)
+     * @param capacity        Tamanho do bucket (rajada máxima)
+     * @param refillPerSecond Tokens repostos por segundo
+     * @param requestCost     Tokens cobrados na entrada de cada requisição
+     * @param rowCost         Tokens cobrados, após o processamento, por linha de um lote
+     */
+    public record EndpointLimit(
+            List<String> paths,
+            @DefaultValue List<String> methods,
+            long capacity,
+            double refillPerSecond,
+            @DefaultValue("1") double requestCost,
+            @DefaultValue("0") double rowCost
+    ) {}
+}
@@ -0,0 +1,139 @@
+package com.hackaton_one.sentiment_api.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets por cliente, sem locks.
+ * <p>
+ * Cada bucket guarda um único long (algoritmo GCRA): o instante, em nanossegundos, em que o
+ * bucket estaria cheio de novo. Consumir tokens é avançar esse instante com um CAS; o bucket
+ * rejeita quando o avanço passaria de {@code capacity} tokens à frente do relógio.
+ * Os buckets ficam em um ConcurrentHashMap (particionado internamente), e buckets cheios há mais
+ * de {@code idleTimeout} são descartados periodicamente, limitando a memória usada.
+ */
+@Slf4j
+public class RateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final String OVERFLOW_CLIENT = "*";
+
+    /**
+     * Resultado de uma tentativa de consumo.
+     *
+     * @param allowed           Se a requisição pode seguir
+     * @param limit             Capacidade do bucket
+     * @param remaining         Tokens restantes após a requisição
+     * @param resetSeconds      Segundos até o bucket estar cheio de novo
+     * @param retryAfterSeconds Segundos até haver tokens suficientes (0 se permitido)
+     */
+    public record Decision(boolean allowed, long limit, long remaining, long resetSeconds, long retryAfterSeconds) {}
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+    private final long idleNanos;
+    private final int maxBuckets;
+
+    public RateLimiter(long idleNanos, int maxBuckets) {
+        this(System::nanoTime, idleNanos, maxBuckets);
+    }
+
+    RateLimiter(LongSupplier clock, long idleNanos, int maxBuckets) {
+        this.clock = clock;
+        this.idleNanos = idleNanos;
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * Tenta consumir {@code cost} tokens do bucket do cliente no grupo de endpoints.
+     */
+    public Decision tryAcquire(String group, String client, RateLimitProperties.EndpointLimit limit, double cost) {
+        AtomicLong bucket = bucket(group, client);
+        long interval = interval(limit);
+        long burst = limit.capacity() * interval;
+        long increment = Math.round(cost * interval);
+
+        while (true) {
+            long now = clock.getAsLong();
+            long tat = bucket.get();
+            long newTat = Math.max(tat, now) + increment;
+            long ahead = newTat - now;
+            if (ahead > burst) {
+                long current = Math.max(tat, now) - now;
+                return new Decision(false, limit.capacity(), remaining(burst, current, interval),
+                        ceilSeconds(current), Math.max(1, ceilSeconds(ahead - burst)));
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return new Decision(true, limit.capacity(), remaining(burst, ahead, interval), ceilSeconds(ahead), 0);
+            }
+        }
+    }
+
+    /**
+     * Cobra tokens depois do processamento (ex.: linhas de um lote). O bucket pode ficar
+     * negativo: as próximas requisições do cliente esperam até a dívida ser reposta.
+     */
+    public void charge(String group, String client, RateLimitProperties.EndpointLimit limit, double cost) {
+        if (cost <= 0) {
+            return;
+        }
+        long increment = Math.round(cost * interval(limit));
+        long now = clock.getAsLong();
+        bucket(group, client).accumulateAndGet(increment, (tat, inc) -> Math.max(tat, now) + inc);
+    }
+
+    /**
+     * Remove os buckets cheios há mais de idleTimeout (estado igual ao de um bucket novo).
+     *
+     * @return Quantidade de buckets removidos
+     */
+    @Scheduled(fixedDelayString = "${ratelimit.eviction-interval:60000}")
+    public int evictIdle() {
+        long threshold = clock.getAsLong() - idleNanos;
+        int before = buckets.size();
+        buckets.values().removeIf(tat -> tat.get() < threshold);
+        int removed = before - buckets.size();
+        if (removed > 0) {
+            log.debug("Evicted {} idle rate limit buckets", removed);
+        }
+        return removed;
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(String group, String client) {
+        String key = group + '|' + client;
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxBuckets) {
+            evictIdle();
+            if (buckets.size() >= maxBuckets) {
+                // Memória no limite: clientes novos dividem um bucket por grupo
+                log.warn("Rate limit bucket table full ({}), using shared bucket for {}", maxBuckets, group);
+                key = group + '|' + OVERFLOW_CLIENT;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE / 2));
+    }
+
+    private static long interval(RateLimitProperties.EndpointLimit limit) {
+        return Math.max(1, Math.round(NANOS_PER_SECOND / limit.refillPerSecond()));
+    }
+
+    private static long remaining(long burst, long ahead, long interval) {
+        return Math.max(0, (burst - ahead) / interval);
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return nanos <= 0 ? 0 : (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+    }
+}
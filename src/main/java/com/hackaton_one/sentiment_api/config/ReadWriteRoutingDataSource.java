@@ -0,0 +1,36 @@
+package com.hackaton_one.sentiment_api.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * DataSource que envia transações readOnly para a réplica de leitura
+ * e todo o resto (escritas e acessos sem transação) para o banco primário.
+ * <p>
+ * Deve ser envolvido por um LazyConnectionDataSourceProxy, para que a conexão
+ * só seja obtida depois que a transação marcou se é somente leitura.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { WRITE, READ }
+
+    private final ReplicaHealth replicaHealth;
+
+    public ReadWriteRoutingDataSource(DataSource writeDataSource, DataSource readDataSource, ReplicaHealth replicaHealth) {
+        this.replicaHealth = replicaHealth;
+        setTargetDataSources(Map.of(Route.WRITE, writeDataSource, Route.READ, readDataSource));
+        setDefaultTargetDataSource(writeDataSource);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaHealth.isUsable()) {
+            return Route.READ;
+        }
+        return Route.WRITE;
+    }
+}
@@ -0,0 +1,82 @@
+package com.hackaton_one.sentiment_api.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Acompanha a disponibilidade e o atraso de replicação da réplica de leitura.
+ * <p>
+ * A réplica só é usada enquanto responde e o atraso medido está dentro da
+ * tolerância configurada; caso contrário as leituras voltam para o primário.
+ */
+@Slf4j
+public class ReplicaHealth {
+
+    // Atraso em segundos; 0 quando o banco não é uma réplica em recuperação ou já aplicou todo o
+    // WAL recebido (sem escritas no primário, o horário da última transação aplicada só envelhece)
+    private static final String POSTGRES_LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource readDataSource;
+    private final Duration maxStaleness;
+
+    private volatile boolean usable = true;
+    private volatile Duration lastLag = Duration.ZERO;
+
+    public ReplicaHealth(DataSource readDataSource, Duration maxStaleness) {
+        this.readDataSource = readDataSource;
+        this.maxStaleness = maxStaleness;
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    public Duration getLastLag() {
+        return lastLag;
+    }
+
+    /**
+     * Verifica a réplica periodicamente e atualiza o estado de roteamento.
+     */
+    @Scheduled(fixedDelayString = "${datasource.read.health-check-interval:5000}")
+    public void check() {
+        boolean wasUsable = usable;
+        try (Connection connection = readDataSource.getConnection()) {
+            lastLag = measureLag(connection);
+            usable = lastLag.compareTo(maxStaleness) <= 0;
+            if (!usable) {
+                log.warn("Read replica lag {} exceeds tolerance {}; routing reads to primary", lastLag, maxStaleness);
+            }
+        } catch (Exception e) {
+            usable = false;
+            log.warn("Read replica unavailable, routing reads to primary: {}", e.getMessage());
+        }
+        if (usable && !wasUsable) {
+            log.info("Read replica back within tolerance (lag {}); routing reads to replica", lastLag);
+        }
+    }
+
+    private Duration measureLag(Connection connection) throws Exception {
+        String product = connection.getMetaData().getDatabaseProductName();
+        try (Statement statement = connection.createStatement()) {
+            if (!"PostgreSQL".equalsIgnoreCase(product)) {
+                // Sem medição de replicação (ex.: H2): apenas confirma que responde
+                statement.execute("SELECT 1");
+                return Duration.ZERO;
+            }
+            try (ResultSet rs = statement.executeQuery(POSTGRES_LAG_QUERY)) {
+                rs.next();
+                return Duration.ofMillis((long) (rs.getDouble(1) * 1000));
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.hackaton_one.sentiment_api.config;
+
+import com.hackaton_one.sentiment_api.service.RequestDeadline;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Associa um {@link RequestDeadline} às requisições de análise.
+ * <p>
+ * O prazo vem do header configurado (milissegundos, limitado a {@code maxTimeout}); sem ele,
+ * POST /sentiment usa {@code defaultTimeout} e os lotes seguem sem prazo. O prazo começa a
+ * contar na entrada da requisição.
+ */
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private final DeadlineProperties properties;
+
+    public RequestDeadlineFilter(DeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        Duration timeout = resolveTimeout(request);
+        if (timeout == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (RequestDeadline.Scope ignored = RequestDeadline.attach(RequestDeadline.after(timeout))) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * Prazo da requisição, ou null se ela não tem prazo.
+     */
+    Duration resolveTimeout(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return null;
+        }
+        String value = request.getHeader(properties.header());
+        if (value != null && !value.isBlank()) {
+            try {
+                long millis = Long.parseLong(value.trim());
+                if (millis > 0) {
+                    Duration requested = Duration.ofMillis(millis);
+                    return requested.compareTo(properties.maxTimeout()) > 0 ? properties.maxTimeout() : requested;
+                }
+            } catch (NumberFormatException e) {
+                // Header inválido: segue com o prazo padrão
+            }
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (("/sentiment".equals(path) || "/sentiment/".equals(path))
+                && properties.defaultTimeout().compareTo(Duration.ZERO) > 0) {
+            return properties.defaultTimeout();
+        }
+        return null;
+    }
+}
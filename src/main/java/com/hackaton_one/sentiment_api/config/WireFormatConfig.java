@@ -0,0 +1,23 @@
+package com.hackaton_one.sentiment_api.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Formato binário CBOR (application/cbor) para os endpoints da API.
+ * <p>
+ * Clientes internos de alto volume podem enviar Content-Type: application/cbor e/ou
+ * Accept: application/cbor; os demais continuam usando JSON. O conversor usa a mesma
+ * configuração Jackson do JSON, então os DTOs não mudam.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
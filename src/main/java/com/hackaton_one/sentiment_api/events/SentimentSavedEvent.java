@@ -0,0 +1,25 @@
+package com.hackaton_one.sentiment_api.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publicado quando uma nova análise é gravada.
+ * <p>
+ * Os consumidores usam @TransactionalEventListener(AFTER_COMMIT) para só reagir
+ * a análises efetivamente persistidas.
+ *
+ * @param id              ID da análise
+ * @param textHash        Hash SHA-256 do texto
+ * @param textContent     Texto original
+ * @param sentimentResult POSITIVO ou NEGATIVO
+ * @param confidenceScore Confiança da previsão
+ * @param analyzedAt      Momento da análise
+ */
+public record SentimentSavedEvent(
+        Long id,
+        String textHash,
+        String textContent,
+        String sentimentResult,
+        double confidenceScore,
+        LocalDateTime analyzedAt
+) {}
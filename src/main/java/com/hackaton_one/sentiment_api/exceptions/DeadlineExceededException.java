@@ -0,0 +1,11 @@
+package com.hackaton_one.sentiment_api.exceptions;
+
+/**
+ * Exceção lançada quando o prazo da requisição termina antes da análise.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
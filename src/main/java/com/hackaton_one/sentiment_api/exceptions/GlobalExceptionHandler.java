@@ -135,6 +135,72 @@ public class GlobalExceptionHandler {
                 .body(response);
     }
 
+    /**
+     * Trata uploads acima do tamanho máximo.
+     * Retorna HTTP 413; o limite é verificado enquanto o upload é lido.
+     */
+    @ExceptionHandler(PayloadTooLargeException.class)
+    public ResponseEntity<ApiErrorResponse> handlePayloadTooLargeException(
+            PayloadTooLargeException e) {
+
+        ApiErrorResponse response = new ApiErrorResponse(
+                HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                "Payload Too Large",
+                e.getMessage(),
+                LocalDateTime.now()
+        );
+
+        log.warn("Upload too large: {}", e.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(response);
+    }
+
+    /**
+     * Trata falta temporária de capacidade.
+     * Retorna HTTP 503 para que o cliente tente novamente mais tarde.
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiErrorResponse> handleServiceUnavailableException(
+            ServiceUnavailableException e) {
+
+        ApiErrorResponse response = new ApiErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                e.getMessage(),
+                LocalDateTime.now()
+        );
+
+        log.warn("Service unavailable: {}", e.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(response);
+    }
+
+    /**
+     * Trata requisições cujo prazo terminou antes da análise.
+     * Retorna HTTP 504; o resultado não é persistido.
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ApiErrorResponse> handleDeadlineExceededException(
+            DeadlineExceededException e) {
+
+        ApiErrorResponse response = new ApiErrorResponse(
+                HttpStatus.GATEWAY_TIMEOUT.value(),
+                "Deadline Exceeded",
+                e.getMessage(),
+                LocalDateTime.now()
+        );
+
+        log.warn("Deadline exceeded: {}", e.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(response);
+    }
+
     /**
      * Trata exceções genéricas não capturadas.
      * Retorna HTTP 500 para qualquer erro inesperado.
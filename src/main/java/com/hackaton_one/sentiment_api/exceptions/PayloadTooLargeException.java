@@ -0,0 +1,11 @@
+package com.hackaton_one.sentiment_api.exceptions;
+
+/**
+ * Exceção lançada quando um upload ultrapassa o tamanho máximo configurado.
+ */
+public class PayloadTooLargeException extends RuntimeException {
+
+    public PayloadTooLargeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.hackaton_one.sentiment_api.exceptions;
+
+/**
+ * Exceção lançada quando o serviço está temporariamente sem capacidade para a requisição.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
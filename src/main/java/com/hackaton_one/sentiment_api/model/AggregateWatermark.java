@@ -0,0 +1,34 @@
+package com.hackaton_one.sentiment_api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Maior ID de tb_sentiments já incluído em uma tabela pré-agregada (contadores, histogramas),
+ * compartilhado entre os nós.
+ * <p>
+ * A linha também serve de trava: backfills e reconstruções a travam para escrita, e as gravações
+ * de deltas para leitura, de modo que apenas um nó reconstrói por vez.
+ */
+@Entity
+@Table(name = "tb_aggregate_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AggregateWatermark {
+
+    @Id
+    @Column(length = 32)
+    private String name;
+
+    // null = backfill ainda não executado
+    @Column
+    private Long watermark;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
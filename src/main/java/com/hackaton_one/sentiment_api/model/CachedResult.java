@@ -0,0 +1,51 @@
+package com.hackaton_one.sentiment_api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Resultado do modelo para um texto normalizado, compartilhado entre os nós.
+ * <p>
+ * Endereçado pelo hash SHA-256 do texto normalizado e pela versão do cache (modelo mais
+ * parâmetros de entrada e divisão). Linhas de outras versões continuam na tabela para nós na
+ * versão anterior ou um rollback; todas expiram pela idade ({@code result-cache.max-age-days}).
+ */
+@Entity
+@Table(name = "tb_result_cache")
+@IdClass(CachedResult.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedResult {
+
+    // SHA-256 do texto normalizado em hexadecimal
+    @Id
+    @Column(name = "text_hash", length = 64)
+    private String textHash;
+
+    @Id
+    @Column(name = "model_version", length = 64)
+    private String modelVersion;
+
+    @Column(name = "sentiment_result", nullable = false, length = 16)
+    private String sentimentResult;
+
+    @Column(name = "confidence_score", nullable = false)
+    private double confidenceScore;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String textHash;
+        private String modelVersion;
+    }
+}
@@ -0,0 +1,42 @@
+package com.hackaton_one.sentiment_api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Faixa do histograma de confiança de um sentimento.
+ * <p>
+ * O intervalo [0, 1] é dividido em 100 faixas de 0,01; bucket = floor(confiança * 100),
+ * com 1,0 contado na última faixa.
+ */
+@Entity
+@Table(name = "tb_confidence_histograms")
+@IdClass(ConfidenceHistogramBucket.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfidenceHistogramBucket {
+
+    @Id
+    @Column(name = "sentiment_result", length = 16)
+    private String sentimentResult;
+
+    @Id
+    @Column(name = "bucket")
+    private int bucket;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String sentimentResult;
+        private int bucket;
+    }
+}
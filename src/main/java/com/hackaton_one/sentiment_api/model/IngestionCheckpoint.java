@@ -0,0 +1,31 @@
+package com.hackaton_one.sentiment_api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linhas de um arquivo da ingestão por diretório já gravadas no banco.
+ * Atualizado na mesma transação que grava cada lote, é o ponto de retomada após um restart.
+ */
+@Entity
+@Table(name = "tb_ingestion_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngestionCheckpoint {
+
+    // Nome do arquivo em processing/ (com o prefixo de data, único por arquivo recebido)
+    @Id
+    @Column(name = "file_name", length = 255)
+    private String fileName;
+
+    @Column(name = "rows_done", nullable = false)
+    private long rowsDone;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,59 @@
+package com.hackaton_one.sentiment_api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint do job de reprocessamento de análises para uma versão de modelo.
+ * Permite retomar o job a partir do último ID processado após um restart.
+ * <p>
+ * A linha também é a posse do job entre os nós: só o nó em {@code owner} processa, e renova
+ * {@code heartbeatAt} a cada lote. Uma posse sem renovação dentro do prazo pode ser assumida.
+ */
+@Entity
+@Table(name = "tb_rescoring_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RescoringCheckpoint {
+
+    public enum Status { RUNNING, STOPPED, COMPLETED, FAILED }
+
+    // Versão do modelo para a qual as análises estão sendo reprocessadas
+    @Id
+    @Column(name = "target_version", length = 64)
+    private String targetVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    // Maior ID já reprocessado (paginação por keyset)
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    @Column(nullable = false)
+    private long processed;
+
+    // Quantas análises mudaram de rótulo
+    @Column(nullable = false)
+    private long changed;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Nó que executa o job (null = nenhum)
+    @Column(length = 64)
+    private String owner;
+
+    // Última renovação da posse, no relógio do banco
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+}
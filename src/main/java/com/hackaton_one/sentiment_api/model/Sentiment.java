@@ -3,13 +3,17 @@ package com.hackaton_one.sentiment_api.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tb_sentiments")
+@Table(name = "tb_sentiments", indexes = {
+        @Index(name = "idx_sentiments_analyzed_at", columnList = "analyzed_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,9 +23,19 @@ public class Sentiment {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Hash SHA-256 do texto; o conteúdo fica em tb_sentiment_texts
+    @Column(name = "text_hash", nullable = false, length = 64)
+    private String textHash;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "text_hash", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private SentimentText text;
+
     @NotBlank(message = "O texto para análise não pode estar vazio")
     @Size(min = 5, max = 5000, message = "O texto deve ter entre 5 e 5000 caracteres")
-    @Column(nullable = false, length = 5000)
+    @Transient
     private String textContent;
 
     // Ex: "POSITIVO", "NEGATIVO"
@@ -33,9 +47,25 @@ public class Sentiment {
     @Max(value = 1, message = "A pontuação deve ser no máximo 1")
     private Double confidenceScore;
 
-    @Column(name = "analyzed_at")
+    // Versão do modelo que produziu o resultado (ex: "sha256:1a2b3c4d5e6f")
+    @Column(name = "model_version", length = 64)
+    private String modelVersion;
+
+    // Chave de particionamento mensal no PostgreSQL
+    @Column(name = "analyzed_at", nullable = false)
     private LocalDateTime analyzedAt;
 
+    /**
+     * Retorna o texto analisado, carregando-o de tb_sentiment_texts quando
+     * a entidade veio do banco.
+     */
+    public String getTextContent() {
+        if (textContent == null && text != null) {
+            textContent = text.getContent();
+        }
+        return textContent;
+    }
+
     // Método executado automaticamente antes de salvar no banco
     @PrePersist
     public void prePersist() {
@@ -0,0 +1,44 @@
+package com.hackaton_one.sentiment_api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Contador pré-agregado de análises por hora e sentimento.
+ * <p>
+ * Alimenta as séries temporais sem varrer tb_sentiments; as granularidades
+ * maiores (dia, semana) são somas destas linhas.
+ */
+@Entity
+@Table(name = "tb_sentiment_counters")
+@IdClass(SentimentCounter.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SentimentCounter {
+
+    // Início da hora (minutos e segundos zerados)
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Column(name = "sentiment_result", length = 16)
+    private String sentimentResult;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDateTime bucketStart;
+        private String sentimentResult;
+    }
+}
@@ -0,0 +1,48 @@
+package com.hackaton_one.sentiment_api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Texto analisado, armazenado uma única vez e endereçado pelo seu hash SHA-256.
+ * <p>
+ * Várias análises do mesmo texto referenciam a mesma linha em tb_sentiment_texts,
+ * evitando repetir até 5000 caracteres em cada linha de tb_sentiments.
+ */
+@Entity
+@Table(name = "tb_sentiment_texts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SentimentText {
+
+    // SHA-256 do conteúdo em hexadecimal (64 caracteres)
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false, length = 5000)
+    private String content;
+
+    /**
+     * Calcula o hash SHA-256 (hexadecimal) do texto em UTF-8.
+     *
+     * @param content Texto original
+     * @return Hash em hexadecimal minúsculo
+     */
+    public static String hashOf(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.hackaton_one.sentiment_api.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Análise a ser reprocessada com o modelo atual (projeção usada pelo job de reprocessamento).
+ */
+public record RescoringCandidate(
+        Long id,
+        LocalDateTime analyzedAt,
+        String textContent,
+        String sentimentResult,
+        Double confidenceScore
+) {}
@@ -0,0 +1,21 @@
+package com.hackaton_one.sentiment_api.repository;
+
+import com.hackaton_one.sentiment_api.model.RescoringCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RescoringCheckpointRepository extends JpaRepository<RescoringCheckpoint, String> {
+
+    /**
+     * Lê o checkpoint travando a linha até o fim da transação (SELECT ... FOR UPDATE).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM RescoringCheckpoint c WHERE c.targetVersion = :targetVersion")
+    Optional<RescoringCheckpoint> findForUpdate(String targetVersion);
+}
@@ -0,0 +1,20 @@
+package com.hackaton_one.sentiment_api.repository;
+
+import com.hackaton_one.sentiment_api.model.SentimentCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SentimentCounterRepository extends JpaRepository<SentimentCounter, SentimentCounter.Key> {
+
+    /**
+     * Contadores horários no intervalo [from, to).
+     */
+    @Query("SELECT c FROM SentimentCounter c WHERE c.bucketStart >= :from AND c.bucketStart < :to")
+    List<SentimentCounter> findInRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -1,12 +1,19 @@
 package com.hackaton_one.sentiment_api.repository;
 
+import com.hackaton_one.sentiment_api.api.dto.HistoryItemDTO;
 import com.hackaton_one.sentiment_api.model.Sentiment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface SentimentRepository extends JpaRepository<Sentiment, Long> {
@@ -19,11 +26,14 @@ public interface SentimentRepository extends JpaRepository<Sentiment, Long> {
     /**
      * Busca análises por intervalo de datas
      */
+    @EntityGraph(attributePaths = "text")
     List<Sentiment> findByAnalyzedAtBetween(LocalDateTime start, LocalDateTime end);
     
     /**
      * Busca análises recentes ordenadas por data
+     * (carrega o texto na mesma consulta para evitar N+1)
      */
+    @EntityGraph(attributePaths = "text")
     List<Sentiment> findTop100ByOrderByAnalyzedAtDesc();
     
     /**
@@ -51,5 +61,39 @@ public interface SentimentRepository extends JpaRepository<Sentiment, Long> {
            "GROUP BY CAST(s.analyzedAt AS DATE) " +
            "ORDER BY date DESC")
     List<Object[]> findDailyStatistics(LocalDateTime startDate);
-}
 
+    /**
+     * Busca um lote de IDs de análises anteriores à data de corte (purga em lotes)
+     */
+    @Query("SELECT s.id FROM Sentiment s WHERE s.analyzedAt < :cutoff ORDER BY s.id")
+    List<Long> findIdsAnalyzedBefore(LocalDateTime cutoff, Limit limit);
+
+    /**
+     * Percorre as análises em um cursor somente-avanço, já projetadas em DTO
+     * (sem entidades gerenciadas), para exportação com memória constante.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.hackaton_one.sentiment_api.api.dto.HistoryItemDTO(" +
+           "s.id, t.content, s.sentimentResult, s.confidenceScore, s.analyzedAt) " +
+           "FROM Sentiment s JOIN s.text t " +
+           "WHERE (:from IS NULL OR s.analyzedAt >= :from) " +
+           "AND (:to IS NULL OR s.analyzedAt < :to) " +
+           "AND (:sentiment IS NULL OR s.sentimentResult = :sentiment) " +
+           "ORDER BY s.analyzedAt, s.id")
+    Stream<HistoryItemDTO> streamForExport(LocalDateTime from, LocalDateTime to, String sentiment);
+
+    /**
+     * Próximo lote (keyset por ID) de análises produzidas por outra versão do modelo.
+     */
+    @Query("SELECT new com.hackaton_one.sentiment_api.repository.RescoringCandidate(" +
+           "s.id, s.analyzedAt, t.content, s.sentimentResult, s.confidenceScore) " +
+           "FROM Sentiment s JOIN s.text t " +
+           "WHERE s.id > :afterId AND (s.modelVersion IS NULL OR s.modelVersion <> :modelVersion) " +
+           "ORDER BY s.id")
+    List<RescoringCandidate> findRescoringCandidates(long afterId, String modelVersion, Limit limit);
+}
@@ -0,0 +1,53 @@
+package com.hackaton_one.sentiment_api.repository;
+
+import com.hackaton_one.sentiment_api.model.SentimentText;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface SentimentTextRepository extends JpaRepository<SentimentText, String> {
+
+    /**
+     * Insere o texto se o hash ainda não existir (PostgreSQL).
+     * Um único comando, sem leitura prévia. Em conflito, o "update" sem efeito trava a linha até
+     * o fim da transação, e a limpeza de órfãos não a remove antes da análise ser gravada.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO tb_sentiment_texts (hash, content) VALUES (:hash, :content) " +
+                   "ON CONFLICT (hash) DO UPDATE SET hash = EXCLUDED.hash", nativeQuery = true)
+    int upsertPostgres(String hash, String content);
+
+    /**
+     * Insere o texto se o hash ainda não existir (H2).
+     */
+    @Modifying
+    @Query(value = "MERGE INTO tb_sentiment_texts (hash, content) KEY (hash) VALUES (:hash, :content)",
+           nativeQuery = true)
+    int upsertH2(String hash, String content);
+
+    /**
+     * Remove até {@code limit} textos que não são mais referenciados por nenhuma análise (PostgreSQL).
+     * Textos travados por uma gravação em andamento são pulados e ficam para a próxima purga.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM tb_sentiment_texts WHERE hash IN (" +
+                   "SELECT t.hash FROM tb_sentiment_texts t " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM tb_sentiments s WHERE s.text_hash = t.hash) " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int deleteOrphansPostgres(int limit);
+
+    /**
+     * Remove até {@code limit} textos que não são mais referenciados por nenhuma análise.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM tb_sentiment_texts WHERE hash IN (" +
+                   "SELECT t.hash FROM tb_sentiment_texts t " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM tb_sentiments s WHERE s.text_hash = t.hash) " +
+                   "LIMIT :limit)", nativeQuery = true)
+    int deleteOrphans(int limit);
+}
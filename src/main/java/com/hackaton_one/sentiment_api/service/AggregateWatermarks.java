@@ -0,0 +1,123 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.config.DatabasePlatform;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Watermarks compartilhados das tabelas pré-agregadas (tb_aggregate_watermarks).
+ * <p>
+ * Um backfill conta as análises com ID até o watermark; os eventos de análises com ID maior são
+ * somados pelos nós como deltas. Para que a divisão seja exata, o watermark só é definido quando
+ * todas as análises com ID até ele estão commitadas ({@link #settledMaxId}), e todos os nós
+ * filtram seus deltas pelo mesmo valor lido do banco.
+ * <p>
+ * Os métodos devem ser chamados dentro de uma transação.
+ */
+@Slf4j
+@Service
+public class AggregateWatermarks {
+
+    private static final String ENSURE_POSTGRES =
+            "INSERT INTO tb_aggregate_watermarks (name) VALUES (?) ON CONFLICT (name) DO NOTHING";
+    private static final String ENSURE_H2 =
+            "MERGE INTO tb_aggregate_watermarks (name) KEY (name) VALUES (?)";
+
+    // Transações em andamento no PostgreSQL (entre as listadas no snapshot)
+    private static final String IN_PROGRESS =
+            "SELECT COUNT(*) FROM pg_snapshot_xip(CAST(? AS pg_snapshot)) AS x WHERE pg_xact_status(x) = 'in progress'";
+
+    // Espera máxima pelas transações que gravavam análises quando o watermark foi lido
+    @Value("${aggregates.settle-timeout-ms:30000}")
+    private long settleTimeoutMs;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabasePlatform databasePlatform;
+
+    public AggregateWatermarks(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databasePlatform = databasePlatform;
+    }
+
+    /**
+     * Trava o watermark para escrita (outros nós esperam) e executa a ação com o valor atual.
+     *
+     * @param action Recebe o watermark atual (null = ainda não definido)
+     */
+    public <T> T withExclusive(String name, Function<Long, T> action) {
+        jdbcTemplate.update(databasePlatform.isPostgres() ? ENSURE_POSTGRES : ENSURE_H2, name);
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT watermark FROM tb_aggregate_watermarks WHERE name = ? FOR UPDATE", name);
+        return action.apply(watermarkOf(rows));
+    }
+
+    /**
+     * Lê o watermark travando-o para leitura até o fim da transação (espera um backfill em andamento).
+     *
+     * @return Watermark, ou null se ainda não definido
+     */
+    public Long readShared(String name) {
+        String sql = databasePlatform.isPostgres()
+                ? "SELECT watermark FROM tb_aggregate_watermarks WHERE name = ? FOR SHARE"
+                : "SELECT watermark FROM tb_aggregate_watermarks WHERE name = ?";
+        return watermarkOf(jdbcTemplate.queryForList(sql, name));
+    }
+
+    public void update(String name, long watermark) {
+        jdbcTemplate.update("UPDATE tb_aggregate_watermarks SET watermark = ?, updated_at = ? WHERE name = ?",
+                watermark, Timestamp.valueOf(LocalDateTime.now()), name);
+    }
+
+    /**
+     * Maior ID de tb_sentiments cujas análises com ID menor ou igual já estão todas commitadas.
+     * <p>
+     * No PostgreSQL, MAX(id) sozinho não basta: uma transação pode ter obtido um ID menor e
+     * ainda não ter feito commit. Aqui o MAX(id) é lido junto com o snapshot e a chamada espera
+     * as transações em andamento naquele snapshot terminarem.
+     *
+     * @throws IllegalStateException se as transações não terminarem dentro do tempo limite
+     */
+    public long settledMaxId() {
+        if (!databasePlatform.isPostgres()) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tb_sentiments", Long.class);
+            return maxId != null ? maxId : 0;
+        }
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT MAX(id) AS max_id, CAST(pg_current_snapshot() AS TEXT) AS snapshot FROM tb_sentiments");
+        long maxId = row.get("max_id") != null ? ((Number) row.get("max_id")).longValue() : 0;
+        String snapshot = (String) row.get("snapshot");
+
+        long deadline = System.nanoTime() + settleTimeoutMs * 1_000_000;
+        while (true) {
+            Long running = jdbcTemplate.queryForObject(IN_PROGRESS, Long.class, snapshot);
+            if (running == null || running == 0) {
+                return maxId;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(running + " transactions still in progress after "
+                        + settleTimeoutMs + " ms");
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for in-flight transactions", e);
+            }
+        }
+    }
+
+    private static Long watermarkOf(List<Map<String, Object>> rows) {
+        if (rows.isEmpty() || rows.get(0).get("watermark") == null) {
+            return null;
+        }
+        return ((Number) rows.get(0).get("watermark")).longValue();
+    }
+}
@@ -1,22 +1,33 @@
 package com.hackaton_one.sentiment_api.service;
 
 import com.hackaton_one.sentiment_api.api.dto.BatchSentimentResponseDTO;
+import com.hackaton_one.sentiment_api.api.dto.BulkItemDTO;
+import com.hackaton_one.sentiment_api.api.dto.BulkResultDTO;
+import com.hackaton_one.sentiment_api.api.dto.BulkSentimentResponseDTO;
 import com.hackaton_one.sentiment_api.api.dto.SentimentResponseDTO;
 import com.hackaton_one.sentiment_api.api.dto.SentimentResultDTO;
 import com.hackaton_one.sentiment_api.exceptions.CsvProcessingException;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
- * Serviço para processamento em lote de análise de sentimento via CSV.
+ * Serviço para processamento em lote de análise de sentimento (CSV ou JSON).
  */
 @Slf4j
 @Service
@@ -24,6 +35,14 @@ public class BatchService {
     @Value("${batch.max-lines:100}")
     private int maxLines;
 
+    @Value("${bulk.max-items:1000}")
+    private int maxBulkItems;
+
+    // Textos por execução do modelo
+    @Getter
+    @Value("${bulk.inference-batch-size:128}")
+    private int inferenceBatchSize;
+
     private final SentimentService sentimentService;
     private final SentimentPersistenceService persistenceService;
 
@@ -60,60 +79,51 @@ public class BatchService {
     public BatchSentimentResponseDTO processCSV(MultipartFile file, String textColumn) {
         validateCSVFile(file);
 
-        List<SentimentResponseDTO> results = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-
-            String line;
-            int textColumnIndex = 0;
-            boolean isFirstLine = true;
-            int lineCount = 0;
-
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) {
-                    continue;
-                }
+        try (InputStream in = file.getInputStream()) {
+            return processCSV(in, textColumn);
+        } catch (IOException e) {
+            throw new CsvProcessingException("Error processing CSV file: " + e.getMessage(), e);
+        }
+    }
 
-                String[] columns = parseCSVLine(line);
-
-                // Primeira linha: header
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    if (textColumn != null && !textColumn.isEmpty()) {
-                        textColumnIndex = findColumnIndex(columns, textColumn);
-                        if (textColumnIndex == -1) {
-                            log.error("Column '{}' not found in CSV header.", textColumn);
-                            throw new IllegalArgumentException(
-                                    "Column '" + textColumn + "' not found. Available: " + String.join(", ", columns));
-                        }
-                    }
-                    continue; // Pula header
-                }
+    /**
+     * Processa um CSV lido diretamente de um stream (ex.: upload ainda em andamento).
+     * As linhas são analisadas à medida que chegam; a leitura para em {@code batch.max-lines}.
+     *
+     * @param filename   Nome do arquivo enviado (deve ter extensão .csv)
+     * @param in         Conteúdo do CSV (não é fechado por este método)
+     * @param textColumn Nome da coluna com textos (opcional, usa primeira coluna se null)
+     * @return BatchSentimentResponseDTO com resultados
+     * @throws CsvProcessingException em caso de erro de leitura ou parsing
+     */
+    public BatchSentimentResponseDTO processCSV(String filename, InputStream in, String textColumn) {
+        if (filename == null || !filename.toLowerCase().endsWith(".csv")) {
+            throw new IllegalArgumentException("File must have .csv extension");
+        }
+        return processCSV(in, textColumn);
+    }
 
-                // Limite de linhas
-                if (lineCount >= maxLines) {
-                    break;
-                }
+    private BatchSentimentResponseDTO processCSV(InputStream in, String textColumn) {
+        List<SentimentResponseDTO> results = new ArrayList<>();
 
-                if (textColumnIndex >= columns.length) {
-                    continue; // Linha incompleta
-                }
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
 
-                String text = cleanText(columns[textColumnIndex]);
-                if (text.isEmpty()) {
-                    continue;
-                }
+            CsvTextReader rows = new CsvTextReader(reader, textColumn);
+            String text;
+            int lineCount = 0;
 
-                // Analisa sentimento
-                SentimentResultDTO result = sentimentService.analyze(text);
+            // Limite de linhas
+            while (lineCount < maxLines && (text = rows.next()) != null) {
+                // Analisa sentimento (prioridade de lote: não atrasa as requisições interativas)
+                SentimentResultDTO result = sentimentService.analyze(text, InferencePriority.BULK);
 
                 String sentiment = result.previsao().toUpperCase();
                 double score = result.probabilidade();
 
                 // Salva a análise no banco de dados
                 try {
-                    persistenceService.saveSentiment(text, sentiment, score);
+                    persistenceService.saveSentiment(text, sentiment, score, sentimentService.versionOf(result));
                 } catch (Exception e) {
                     log.warn("Erro ao salvar análise no banco (continuando): {}", e.getMessage());
                 }
@@ -136,51 +146,185 @@ public class BatchService {
     }
 
     /**
-     * Parse de linha CSV respeitando aspas.
+     * Processa um CSV em streaming: os textos são lidos aos poucos e analisados em lotes de
+     * {@code bulk.inference-batch-size}, então a memória usada não depende do tamanho do arquivo.
+     * <p>
+     * Cada lote é gravado no banco (se {@code options.persist()}) antes de ser entregue a
+     * {@code onChunk}, na ordem do arquivo. Textos fora do limite de 5 a 5000 caracteres são
+     * analisados mas não gravados. Erros de leitura, inferência ou gravação interrompem o processamento.
+     *
+     * @param reader  Origem do CSV (não é fechada por este método)
+     * @param options Coluna, retomada, limite e gravação
+     * @param onChunk Recebe os resultados de cada lote
+     * @return Quantidade de textos processados (sem contar os ignorados por skipRows)
      */
-    private String[] parseCSVLine(String line) {
-        List<String> result = new ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        boolean inQuotes = false;
-
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                result.add(current.toString());
-                current = new StringBuilder();
-            } else {
-                current.append(c);
+    public long processStream(BufferedReader reader, CsvStreamOptions options,
+                              Consumer<List<SentimentResponseDTO>> onChunk) throws IOException {
+        CsvTextReader rows = new CsvTextReader(reader, options.textColumn());
+        for (long skipped = 0; skipped < options.skipRows(); skipped++) {
+            if (rows.next() == null) {
+                return 0;
+            }
+        }
+
+        long processed = 0;
+        List<String> chunk = new ArrayList<>(inferenceBatchSize);
+        String text;
+        while ((options.maxRows() <= 0 || processed + chunk.size() < options.maxRows())
+                && (text = rows.next()) != null) {
+            chunk.add(text);
+            if (chunk.size() == inferenceBatchSize) {
+                processed += processChunk(chunk, options.persist(), onChunk);
+                chunk.clear();
             }
         }
-        result.add(current.toString());
+        if (!chunk.isEmpty()) {
+            processed += processChunk(chunk, options.persist(), onChunk);
+        }
+        return processed;
+    }
+
+    private int processChunk(List<String> texts, boolean persist, Consumer<List<SentimentResponseDTO>> onChunk) {
+        List<SentimentResponseDTO> analyses = analyzeChunk(texts, persist);
+        onChunk.accept(analyses);
+        return analyses.size();
+    }
+
+    /**
+     * Analisa um lote de textos em uma única execução do modelo e, se pedido, grava o lote.
+     * Textos fora do limite de 5 a 5000 caracteres são analisados mas não gravados.
+     */
+    List<SentimentResponseDTO> analyzeChunk(List<String> texts, boolean persist) {
+        List<SentimentResultDTO> results = sentimentService.analyzeBatch(texts);
+
+        List<SentimentResponseDTO> analyses = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            SentimentResultDTO result = results.get(i);
+            analyses.add(new SentimentResponseDTO(result.previsao().toUpperCase(), result.probabilidade(),
+                    texts.get(i), sentimentService.versionOf(result)));
+        }
 
-        return result.toArray(new String[0]);
+        if (persist) {
+            saveChunk(analyses);
+        }
+        return analyses;
     }
 
     /**
-     * Encontra índice da coluna pelo nome (case-insensitive).
+     * Grava um lote já analisado (participa da transação em andamento, se houver).
+     * Textos fora do limite de 5 a 5000 caracteres não são gravados.
+     *
+     * @return Quantidade de análises gravadas
      */
-    private int findColumnIndex(String[] headers, String columnName) {
-        for (int i = 0; i < headers.length; i++) {
-            String header = cleanText(headers[i]);
-            if (header.equalsIgnoreCase(columnName)) {
-                return i;
+    public int saveChunk(List<SentimentResponseDTO> analyses) {
+        List<SentimentResponseDTO> storable = new ArrayList<>(analyses.size());
+        for (SentimentResponseDTO analysis : analyses) {
+            if (analysis.text().length() >= 5 && analysis.text().length() <= 5000) {
+                storable.add(analysis);
             }
         }
-        return -1;
+        return saveByVersion(storable);
+    }
+
+    /**
+     * Grava as análises agrupadas pela versão que as produziu (modelo ou léxico da cascata).
+     */
+    private int saveByVersion(List<SentimentResponseDTO> analyses) {
+        Map<String, List<SentimentResponseDTO>> byVersion = new LinkedHashMap<>();
+        for (SentimentResponseDTO analysis : analyses) {
+            byVersion.computeIfAbsent(analysis.version(), key -> new ArrayList<>()).add(analysis);
+        }
+        int saved = 0;
+        for (Map.Entry<String, List<SentimentResponseDTO>> group : byVersion.entrySet()) {
+            saved += persistenceService.saveAll(group.getValue(), group.getKey());
+        }
+        return saved;
     }
 
     /**
-     * Remove aspas e espaços em branco do texto.
+     * Escreve resultados no formato CSV de saída ({@code text,sentiment,score}, sem header).
      */
-    private String cleanText(String text) {
-        text = text.trim();
-        if (text.startsWith("\"") && text.endsWith("\"") && text.length() > 1) {
-            text = text.substring(1, text.length() - 1);
+    static void writeResults(Writer writer, List<SentimentResponseDTO> analyses) throws IOException {
+        for (SentimentResponseDTO analysis : analyses) {
+            writer.write(ExportService.escapeCsv(analysis.text()));
+            writer.write(',');
+            writer.write(analysis.sentiment());
+            writer.write(',');
+            writer.write(Double.toString(analysis.score()));
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Analisa uma lista de textos recebida em JSON.
+     * <p>
+     * Textos iguais após a normalização são enviados ao modelo uma única vez; a inferência
+     * é feita em lotes de {@code bulk.inference-batch-size} textos e todas as análises são
+     * gravadas em lote. Os resultados seguem a ordem da entrada.
+     *
+     * @param items Textos (com id opcional)
+     * @return BulkSentimentResponseDTO com os resultados
+     * @throws IllegalArgumentException se a lista estiver vazia, exceder o limite ou tiver texto inválido
+     */
+    public BulkSentimentResponseDTO processBulk(List<BulkItemDTO> items) {
+        validateBulk(items);
+
+        // Índice do texto distinto usado por cada item
+        Map<String, Integer> uniqueIndex = new HashMap<>();
+        List<String> uniqueTexts = new ArrayList<>();
+        int[] itemToUnique = new int[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            String text = items.get(i).text().trim();
+            String key = SentimentService.normalizeText(text);
+            Integer index = uniqueIndex.get(key);
+            if (index == null) {
+                index = uniqueTexts.size();
+                uniqueIndex.put(key, index);
+                uniqueTexts.add(text);
+            }
+            itemToUnique[i] = index;
+        }
+
+        List<SentimentResultDTO> uniqueResults = new ArrayList<>(uniqueTexts.size());
+        for (int from = 0; from < uniqueTexts.size(); from += inferenceBatchSize) {
+            int to = Math.min(from + inferenceBatchSize, uniqueTexts.size());
+            uniqueResults.addAll(sentimentService.analyzeBatch(uniqueTexts.subList(from, to)));
+        }
+
+        List<BulkResultDTO> results = new ArrayList<>(items.size());
+        List<SentimentResponseDTO> analyses = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            SentimentResultDTO result = uniqueResults.get(itemToUnique[i]);
+            String text = items.get(i).text().trim();
+            String sentiment = result.previsao().toUpperCase();
+            results.add(new BulkResultDTO(items.get(i).id(), sentiment, result.probabilidade(), text));
+            analyses.add(new SentimentResponseDTO(sentiment, result.probabilidade(), text,
+                    sentimentService.versionOf(result)));
+        }
+
+        try {
+            saveByVersion(analyses);
+        } catch (Exception e) {
+            log.warn("Erro ao salvar lote no banco (continuando): {}", e.getMessage());
+        }
+
+        log.info("Bulk analysis: {} texts, {} unique", items.size(), uniqueTexts.size());
+        return new BulkSentimentResponseDTO(results, items.size(), uniqueTexts.size());
+    }
+
+    private void validateBulk(List<BulkItemDTO> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one text is required");
+        }
+        if (items.size() > maxBulkItems) {
+            throw new IllegalArgumentException("Too many texts: " + items.size() + " (max " + maxBulkItems + ")");
+        }
+        for (int i = 0; i < items.size(); i++) {
+            BulkItemDTO item = items.get(i);
+            String text = item == null || item.text() == null ? "" : item.text().trim();
+            if (text.length() < 5 || text.length() > 5000) {
+                throw new IllegalArgumentException("Text at index " + i + " must have between 5 and 5000 characters");
+            }
         }
-        return text.trim();
     }
 }
@@ -0,0 +1,387 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.ConfidenceDistributionDTO;
+import com.hackaton_one.sentiment_api.api.dto.ConfidenceStatisticsDTO;
+import com.hackaton_one.sentiment_api.config.DatabasePlatform;
+import com.hackaton_one.sentiment_api.events.SentimentSavedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogramas da confiança por sentimento, com 100 faixas fixas de 0,01.
+ * <p>
+ * Cada análise gravada incrementa um delta em memória; os deltas são somados a
+ * tb_confidence_histograms periodicamente e a tabela (no máximo 100 linhas por
+ * sentimento) é recarregada em seguida. Assim a leitura dos percentis não
+ * consulta o banco e custa o mesmo independentemente do volume de análises.
+ * As análises já incluídas no backfill ou na última reconstrução são descartadas
+ * pelo watermark compartilhado ({@link AggregateWatermarks}).
+ */
+@Slf4j
+@Service
+public class ConfidenceHistogramService {
+
+    static final int BUCKETS = 100;
+    static final String ALL = "ALL";
+
+    private static final String UPSERT_POSTGRES =
+            "INSERT INTO tb_confidence_histograms (sentiment_result, bucket, total) VALUES (?, ?, ?) " +
+            "ON CONFLICT (sentiment_result, bucket) " +
+            "DO UPDATE SET total = tb_confidence_histograms.total + EXCLUDED.total";
+
+    private static final String UPSERT_H2 =
+            "MERGE INTO tb_confidence_histograms h " +
+            "USING (VALUES (CAST(? AS VARCHAR(16)), CAST(? AS INT), CAST(? AS BIGINT))) v(sentiment_result, bucket, total) " +
+            "ON h.sentiment_result = v.sentiment_result AND h.bucket = v.bucket " +
+            "WHEN MATCHED THEN UPDATE SET h.total = h.total + v.total " +
+            "WHEN NOT MATCHED THEN INSERT (sentiment_result, bucket, total) " +
+            "VALUES (v.sentiment_result, v.bucket, v.total)";
+
+    private static final String BACKFILL =
+            "INSERT INTO tb_confidence_histograms (sentiment_result, bucket, total) " +
+            "SELECT sentiment_result, b, COUNT(*) FROM (" +
+            "SELECT sentiment_result, LEAST(GREATEST(CAST(FLOOR(confidence_score * 100) AS INT), 0), 99) AS b " +
+            "FROM tb_sentiments WHERE sentiment_result IS NOT NULL AND confidence_score IS NOT NULL AND id <= ?" +
+            ") scores GROUP BY sentiment_result, b";
+
+    // Nome do watermark em tb_aggregate_watermarks
+    static final String WATERMARK = "histograms";
+
+    @Value("${histograms.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${histograms.low-confidence-threshold:0.6}")
+    private double lowConfidenceThreshold;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabasePlatform databasePlatform;
+    private final AggregateWatermarks watermarks;
+
+    // Deltas sem análise de origem (reprocessamento), por sentimento; sempre aplicados
+    private final Map<String, AtomicLongArray> pending = new ConcurrentHashMap<>();
+
+    // Análises gravadas, filtradas pelo watermark compartilhado ao gravar
+    private final Queue<Scored> pendingEvents = new ConcurrentLinkedQueue<>();
+
+    // Contagem por faixa das análises na fila, mantida junto com ela para a leitura não percorrer a fila
+    private final Map<String, AtomicLongArray> pendingEventCounts = new ConcurrentHashMap<>();
+
+    // Última cópia da tabela
+    private volatile Map<String, long[]> snapshot = Map.of();
+
+    // Último watermark lido do banco (null = desconhecido); eventos até ele já estão na tabela
+    private volatile Long knownWatermark;
+
+    private record Scored(Long id, String sentiment, int bucket) {
+    }
+
+    public ConfidenceHistogramService(JdbcTemplate jdbcTemplate,
+                                      TransactionTemplate transactionTemplate,
+                                      DatabasePlatform databasePlatform,
+                                      AggregateWatermarks watermarks) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.databasePlatform = databasePlatform;
+        this.watermarks = watermarks;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        initialize();
+        reload();
+    }
+
+    /**
+     * Define o watermark na primeira execução, fazendo o backfill se a tabela estiver vazia.
+     * Roda com o watermark travado: só um nó faz o backfill, os demais encontram o valor gravado.
+     */
+    private void initialize() {
+        try {
+            knownWatermark = transactionTemplate.execute(status -> watermarks.withExclusive(WATERMARK, current -> {
+                if (current != null) {
+                    return current;
+                }
+                Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_confidence_histograms", Long.class);
+                long watermark = 0;
+                // Histogramas já mantidos por eventos (ou backfill desligado): todos os eventos contam
+                if (backfillOnStartup && existing != null && existing == 0) {
+                    watermark = backfill();
+                }
+                watermarks.update(WATERMARK, watermark);
+                return watermark;
+            }));
+        } catch (Exception e) {
+            log.warn("Confidence histogram backfill failed, will retry on the next flush: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recalcula os histogramas a partir de tb_sentiments (ex.: após a purga da retenção).
+     * <p>
+     * Um nó por vez: os demais esperam a trava do watermark, inclusive para gravar deltas.
+     * Os eventos pendentes até o novo watermark saem da fila, pois a reconstrução já os inclui.
+     */
+    public void rebuild() {
+        // Grava antes os reprocessamentos deste nó, que a reconstrução passa a refletir
+        flush();
+        Long watermark = transactionTemplate.execute(status -> watermarks.withExclusive(WATERMARK, current -> {
+            jdbcTemplate.update("DELETE FROM tb_confidence_histograms");
+            long rebuilt = backfill();
+            watermarks.update(WATERMARK, rebuilt);
+            return rebuilt;
+        }));
+        knownWatermark = watermark;
+        discardUpTo(watermark);
+        reload();
+        log.info("Confidence histograms rebuilt from raw analyses up to id {}", watermark);
+    }
+
+    private void discardUpTo(Long watermark) {
+        for (Scored event : drainEvents()) {
+            if (above(event, watermark)) {
+                enqueue(event);
+            }
+        }
+    }
+
+    // Chamado com o watermark travado
+    private long backfill() {
+        long watermark = watermarks.settledMaxId();
+        jdbcTemplate.update(BACKFILL, watermark);
+        return watermark;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSentimentSaved(SentimentSavedEvent event) {
+        if (event.sentimentResult() == null) {
+            return;
+        }
+        Scored scored = new Scored(event.id(), event.sentimentResult(), bucketOf(event.confidenceScore()));
+        // Já incluída no backfill ou na última reconstrução
+        if (!above(scored, knownWatermark)) {
+            return;
+        }
+        enqueue(scored);
+    }
+
+    private void enqueue(Scored event) {
+        add(pendingEventCounts, event.sentiment(), event.bucket(), 1);
+        pendingEvents.add(event);
+    }
+
+    private List<Scored> drainEvents() {
+        List<Scored> events = new ArrayList<>();
+        for (Scored event; (event = pendingEvents.poll()) != null; ) {
+            add(pendingEventCounts, event.sentiment(), event.bucket(), -1);
+            events.add(event);
+        }
+        return events;
+    }
+
+    /**
+     * Move uma análise reprocessada da faixa antiga para a nova.
+     */
+    public void recordRescore(String previousSentiment, Double previousScore, String newSentiment, double newScore) {
+        if (previousSentiment != null && previousScore != null) {
+            add(pending, previousSentiment, bucketOf(previousScore), -1);
+        }
+        add(pending, newSentiment, bucketOf(newScore), 1);
+    }
+
+    private static void add(Map<String, AtomicLongArray> counts, String sentiment, int bucket, long delta) {
+        if (sentiment == null) {
+            return;
+        }
+        counts.computeIfAbsent(sentiment, key -> new AtomicLongArray(BUCKETS)).addAndGet(bucket, delta);
+    }
+
+    static int bucketOf(double score) {
+        return Math.max(0, Math.min(BUCKETS - 1, (int) Math.floor(score * BUCKETS)));
+    }
+
+    private static boolean above(Scored event, Long watermark) {
+        return event.id() == null || watermark == null || event.id() > watermark;
+    }
+
+    /**
+     * Soma os deltas pendentes ao banco, descartando as análises já incluídas no backfill,
+     * e recarrega a tabela. Enquanto o watermark não estiver definido, ou em caso de erro,
+     * os deltas voltam para a fila.
+     */
+    @Scheduled(fixedDelayString = "${histograms.flush-interval:5000}")
+    public void flush() {
+        List<Scored> events = drainEvents();
+        Map<String, long[]> deltas = new HashMap<>();
+        pending.forEach((sentiment, counts) -> {
+            for (int i = 0; i < BUCKETS; i++) {
+                long delta = counts.getAndSet(i, 0);
+                if (delta != 0) {
+                    deltas.computeIfAbsent(sentiment, key -> new long[BUCKETS])[i] += delta;
+                }
+            }
+        });
+
+        if (!events.isEmpty() || !deltas.isEmpty()) {
+            String sql = databasePlatform.isPostgres() ? UPSERT_POSTGRES : UPSERT_H2;
+            Boolean flushed = null;
+            try {
+                flushed = transactionTemplate.execute(status -> {
+                    Long watermark = watermarks.readShared(WATERMARK);
+                    if (watermark == null) {
+                        return false;
+                    }
+                    knownWatermark = watermark;
+                    Map<String, long[]> batch = new HashMap<>();
+                    deltas.forEach((sentiment, counts) -> batch.put(sentiment, counts.clone()));
+                    for (Scored event : events) {
+                        if (above(event, watermark)) {
+                            batch.computeIfAbsent(event.sentiment(), key -> new long[BUCKETS])[event.bucket()]++;
+                        }
+                    }
+                    List<Object[]> rows = new ArrayList<>();
+                    batch.forEach((sentiment, counts) -> {
+                        for (int i = 0; i < BUCKETS; i++) {
+                            if (counts[i] != 0) {
+                                rows.add(new Object[]{sentiment, i, counts[i]});
+                            }
+                        }
+                    });
+                    if (!rows.isEmpty()) {
+                        jdbcTemplate.batchUpdate(sql, rows);
+                    }
+                    return true;
+                });
+            } catch (Exception e) {
+                log.warn("Could not flush confidence histograms, will retry: {}", e.getMessage());
+            }
+            if (!Boolean.TRUE.equals(flushed)) {
+                events.forEach(this::enqueue);
+                deltas.forEach((sentiment, counts) -> {
+                    for (int i = 0; i < BUCKETS; i++) {
+                        if (counts[i] != 0) {
+                            add(pending, sentiment, i, counts[i]);
+                        }
+                    }
+                });
+                if (knownWatermark == null) {
+                    initialize();
+                }
+                return;
+            }
+        }
+        // Recarrega mesmo sem deltas locais para refletir o que outros nós gravaram
+        reload();
+    }
+
+    private void reload() {
+        Map<String, long[]> loaded = new HashMap<>();
+        jdbcTemplate.query("SELECT sentiment_result, bucket, total FROM tb_confidence_histograms", rs -> {
+            long[] counts = loaded.computeIfAbsent(rs.getString("sentiment_result"), key -> new long[BUCKETS]);
+            int bucket = rs.getInt("bucket");
+            if (bucket >= 0 && bucket < BUCKETS) {
+                counts[bucket] = rs.getLong("total");
+            }
+        });
+        snapshot = loaded;
+    }
+
+    /**
+     * Distribuições atuais por sentimento e a distribuição geral (ALL).
+     */
+    public ConfidenceStatisticsDTO getDistributions() {
+        Map<String, long[]> current = new TreeMap<>();
+        snapshot.forEach((sentiment, counts) -> current.put(sentiment, counts.clone()));
+        addTo(current, pending);
+        addTo(current, pendingEventCounts);
+
+        long[] all = new long[BUCKETS];
+        List<ConfidenceDistributionDTO> distributions = new ArrayList<>();
+        current.forEach((sentiment, counts) -> {
+            for (int i = 0; i < BUCKETS; i++) {
+                all[i] += counts[i];
+            }
+            distributions.add(describe(sentiment, counts));
+        });
+        distributions.add(describe(ALL, all));
+
+        return new ConfidenceStatisticsDTO(lowConfidenceThreshold, distributions);
+    }
+
+    private static void addTo(Map<String, long[]> current, Map<String, AtomicLongArray> deltas) {
+        deltas.forEach((sentiment, values) -> {
+            long[] counts = current.computeIfAbsent(sentiment, key -> new long[BUCKETS]);
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += values.get(i);
+            }
+        });
+    }
+
+    private ConfidenceDistributionDTO describe(String sentiment, long[] counts) {
+        long total = 0;
+        long low = 0;
+        int lowBuckets = bucketOf(lowConfidenceThreshold);
+        List<Long> buckets = new ArrayList<>(BUCKETS);
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = Math.max(0, counts[i]);
+            total += count;
+            if (i < lowBuckets) {
+                low += count;
+            }
+            buckets.add(count);
+        }
+        return new ConfidenceDistributionDTO(
+                sentiment,
+                total,
+                percentile(buckets, total, 0.10),
+                percentile(buckets, total, 0.50),
+                percentile(buckets, total, 0.90),
+                total > 0 ? (double) low / total : 0.0,
+                buckets
+        );
+    }
+
+    /**
+     * Percentil com interpolação linear dentro da faixa.
+     */
+    static double percentile(List<Long> buckets, long total, double quantile) {
+        if (total == 0) {
+            return 0.0;
+        }
+        double target = quantile * total;
+        long cumulative = 0;
+        for (int i = 0; i < buckets.size(); i++) {
+            long count = buckets.get(i);
+            if (count > 0 && cumulative + count >= target) {
+                double fraction = (target - cumulative) / count;
+                return (i + fraction) / BUCKETS;
+            }
+            cumulative += count;
+        }
+        return 1.0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,16 @@
+package com.hackaton_one.sentiment_api.service;
+
+/**
+ * Opções do processamento de CSV em streaming ({@link BatchService#processStream}).
+ *
+ * @param textColumn Nome da coluna com textos (opcional, usa a primeira coluna se null)
+ * @param skipRows   Textos iniciais a ignorar (retomada de um processamento interrompido)
+ * @param maxRows    Máximo de textos processados (0 = sem limite)
+ * @param persist    Grava as análises no banco
+ */
+public record CsvStreamOptions(
+        String textColumn,
+        long skipRows,
+        long maxRows,
+        boolean persist
+) {}
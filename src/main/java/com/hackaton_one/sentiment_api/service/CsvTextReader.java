@@ -0,0 +1,117 @@
+package com.hackaton_one.sentiment_api.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lê, linha a linha, os textos de uma coluna de um CSV com header.
+ * <p>
+ * Linhas vazias, incompletas ou com texto vazio são ignoradas.
+ * Usado tanto pelo upload (POST /sentiment/batch) quanto pela ingestão de arquivos.
+ */
+class CsvTextReader {
+
+    private final BufferedReader reader;
+    private int textColumnIndex;
+    private boolean headerRead;
+    private final String textColumn;
+
+    /**
+     * @param reader     Origem do CSV (não é fechada por esta classe)
+     * @param textColumn Nome da coluna com textos (opcional, usa a primeira coluna se null)
+     */
+    CsvTextReader(BufferedReader reader, String textColumn) {
+        this.reader = reader;
+        this.textColumn = textColumn;
+    }
+
+    /**
+     * Retorna o próximo texto válido ou null no fim do arquivo.
+     *
+     * @throws IllegalArgumentException se a coluna informada não existir no header
+     */
+    String next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+
+            String[] columns = parseLine(line);
+
+            // Primeira linha: header
+            if (!headerRead) {
+                headerRead = true;
+                if (textColumn != null && !textColumn.isEmpty()) {
+                    textColumnIndex = findColumnIndex(columns, textColumn);
+                    if (textColumnIndex == -1) {
+                        throw new IllegalArgumentException(
+                                "Column '" + textColumn + "' not found. Available: " + String.join(", ", columns));
+                    }
+                }
+                continue;
+            }
+
+            if (textColumnIndex >= columns.length) {
+                continue; // Linha incompleta
+            }
+
+            String text = cleanText(columns[textColumnIndex]);
+            if (!text.isEmpty()) {
+                return text;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parse de linha CSV respeitando aspas.
+     */
+    static String[] parseLine(String line) {
+        List<String> result = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuotes = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (c == '"') {
+                inQuotes = !inQuotes;
+            } else if (c == ',' && !inQuotes) {
+                result.add(current.toString());
+                current = new StringBuilder();
+            } else {
+                current.append(c);
+            }
+        }
+        result.add(current.toString());
+
+        return result.toArray(new String[0]);
+    }
+
+    /**
+     * Encontra índice da coluna pelo nome (case-insensitive).
+     */
+    private static int findColumnIndex(String[] headers, String columnName) {
+        for (int i = 0; i < headers.length; i++) {
+            String header = cleanText(headers[i]);
+            if (header.equalsIgnoreCase(columnName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Remove aspas e espaços em branco do texto.
+     */
+    private static String cleanText(String text) {
+        text = text.trim();
+        if (text.startsWith("\"") && text.endsWith("\"") && text.length() > 1) {
+            text = text.substring(1, text.length() - 1);
+        }
+        return text.trim();
+    }
+}
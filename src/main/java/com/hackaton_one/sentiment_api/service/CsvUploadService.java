@@ -0,0 +1,109 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.BatchSentimentResponseDTO;
+import com.hackaton_one.sentiment_api.exceptions.CsvProcessingException;
+import com.hackaton_one.sentiment_api.exceptions.PayloadTooLargeException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.DiskFileItemFactory;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.core.FileUploadSizeException;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Leitura do upload de CSV (POST /sentiment/batch) em streaming.
+ * <p>
+ * O corpo multipart é lido diretamente da requisição, sem ser gravado em disco ou memória
+ * antes do processamento: as linhas do arquivo são analisadas enquanto o upload ainda chega.
+ * Os limites de tamanho são verificados durante a leitura e resultam em HTTP 413.
+ * O campo {@code textColumn} pode vir na query string ou como campo do formulário antes do arquivo.
+ */
+@Slf4j
+@Service
+public class CsvUploadService {
+
+    private static final String FILE_FIELD = "file";
+    private static final String TEXT_COLUMN_FIELD = "textColumn";
+    private static final int MAX_FORM_FIELD_BYTES = 1024;
+
+    @Value("${batch.upload.max-file-size:10MB}")
+    private DataSize maxFileSize;
+
+    @Value("${batch.upload.max-request-size:11MB}")
+    private DataSize maxRequestSize;
+
+    private final BatchService batchService;
+
+    public CsvUploadService(BatchService batchService) {
+        this.batchService = batchService;
+    }
+
+    /**
+     * Processa o arquivo do campo {@code file} de uma requisição multipart.
+     *
+     * @param request    Requisição multipart ainda não lida
+     * @param textColumn Nome da coluna com textos (opcional)
+     * @return BatchSentimentResponseDTO com resultados
+     * @throws PayloadTooLargeException se o arquivo ou a requisição excederem os limites
+     */
+    public BatchSentimentResponseDTO processUpload(HttpServletRequest request, String textColumn) {
+        if (!JakartaServletFileUpload.isMultipartContent(request)) {
+            throw new IllegalArgumentException("CSV file is required");
+        }
+
+        JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory> upload = new JakartaServletFileUpload<>();
+        upload.setMaxFileSize(maxFileSize.toBytes());
+        upload.setMaxSize(maxRequestSize.toBytes());
+
+        try {
+            String column = textColumn;
+            FileItemInputIterator items = upload.getItemIterator(request);
+            while (items.hasNext()) {
+                FileItemInput item = items.next();
+                if (item.isFormField()) {
+                    if (TEXT_COLUMN_FIELD.equals(item.getFieldName()) && column == null) {
+                        column = readFormField(item);
+                    }
+                    continue;
+                }
+                if (FILE_FIELD.equals(item.getFieldName())) {
+                    try (InputStream in = item.getInputStream()) {
+                        return batchService.processCSV(item.getName(), in, column);
+                    }
+                }
+            }
+        } catch (FileUploadSizeException e) {
+            throw tooLarge(e);
+        } catch (CsvProcessingException e) {
+            if (e.getCause() instanceof FileUploadSizeException sizeException) {
+                throw tooLarge(sizeException);
+            }
+            throw e;
+        } catch (IOException e) {
+            throw new CsvProcessingException("Error reading upload: " + e.getMessage(), e);
+        }
+
+        throw new IllegalArgumentException("CSV file is required");
+    }
+
+    private static String readFormField(FileItemInput item) throws IOException {
+        try (InputStream in = item.getInputStream()) {
+            String value = new String(in.readNBytes(MAX_FORM_FIELD_BYTES), StandardCharsets.UTF_8).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    private PayloadTooLargeException tooLarge(FileUploadSizeException e) {
+        log.warn("Upload rejected after {} bytes (limit {} bytes)", e.getActualSize(), e.getPermitted());
+        return new PayloadTooLargeException("Upload exceeds the maximum size of " + e.getPermitted() + " bytes", e);
+    }
+}
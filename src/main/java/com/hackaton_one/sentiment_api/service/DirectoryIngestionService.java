@@ -0,0 +1,351 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.SentimentResponseDTO;
+import com.hackaton_one.sentiment_api.config.DatabasePlatform;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Ingestão de arquivos CSV depositados em um diretório (ingestion.enabled=true).
+ * <p>
+ * Cada arquivo novo é movido atomicamente para {@code processing/}, lido por um FileChannel
+ * e processado em streaming por {@link BatchService#processStream}. O resultado
+ * ({@code <arquivo>.results.csv}) é escrito aos poucos e, ao final, arquivo e resultado
+ * vão para {@code processed/}; em caso de erro, para {@code failed/} junto com um {@code .error}.
+ * <p>
+ * Reinício seguro: cada lote é gravado no banco na mesma transação que atualiza o checkpoint do
+ * arquivo (tb_ingestion_checkpoints), e só depois escrito no resultado parcial. Arquivos que ficaram
+ * em {@code processing/} são retomados no startup a partir do checkpoint, sem regravar o que já foi
+ * gravado; as linhas gravadas que não chegaram ao resultado parcial são analisadas de novo apenas
+ * para completá-lo. Deve haver uma única instância da API por diretório.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "ingestion.enabled", havingValue = "true")
+public class DirectoryIngestionService {
+
+    private static final DateTimeFormatter CLAIM_PREFIX = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final String RESULTS_SUFFIX = ".results.csv";
+    private static final String PARTIAL_SUFFIX = ".part";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String SAVE_CHECKPOINT_POSTGRES =
+            "INSERT INTO tb_ingestion_checkpoints (file_name, rows_done, updated_at) VALUES (?, ?, ?) " +
+            "ON CONFLICT (file_name) DO UPDATE SET rows_done = EXCLUDED.rows_done, updated_at = EXCLUDED.updated_at";
+
+    private static final String SAVE_CHECKPOINT_H2 =
+            "MERGE INTO tb_ingestion_checkpoints (file_name, rows_done, updated_at) KEY (file_name) VALUES (?, ?, ?)";
+
+    @Value("${ingestion.directory:data/inbox}")
+    private String directory;
+
+    @Value("${ingestion.file-glob:*.csv}")
+    private String fileGlob;
+
+    @Value("${ingestion.text-column:}")
+    private String textColumn;
+
+    // Arquivos modificados há menos tempo que isso ainda podem estar sendo copiados
+    @Value("${ingestion.settle-time:2000}")
+    private long settleMillis;
+
+    private final BatchService batchService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabasePlatform databasePlatform;
+
+    private volatile boolean running;
+    private Thread watcher;
+    private WatchService watchService;
+
+    public DirectoryIngestionService(BatchService batchService,
+                                     JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     DatabasePlatform databasePlatform) {
+        this.batchService = batchService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.databasePlatform = databasePlatform;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        Path inbox = inbox();
+        for (Path dir : List.of(inbox, processingDir(), processedDir(), failedDir())) {
+            Files.createDirectories(dir);
+        }
+
+        watchService = inbox.getFileSystem().newWatchService();
+        inbox.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        running = true;
+        watcher = Thread.ofPlatform().name("ingestion-watcher").daemon().start(this::watchLoop);
+        log.info("Directory ingestion watching {} ({})", inbox.toAbsolutePath(), fileGlob);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } catch (IOException e) {
+            log.warn("Error closing watch service: {}", e.getMessage());
+        }
+        if (watcher != null) {
+            watcher.interrupt();
+        }
+    }
+
+    private void watchLoop() {
+        recover();
+        while (running) {
+            try {
+                scan();
+                // Eventos só acordam o loop; a varredura decide o que está pronto
+                WatchKey key = watchService.poll(Math.max(settleMillis, 500), TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+            } catch (ClosedWatchServiceException | InterruptedException e) {
+                break;
+            } catch (Exception e) {
+                log.error("Directory ingestion loop error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Retoma os arquivos que ficaram em processing/ (processo interrompido).
+     */
+    void recover() {
+        try (Stream<Path> files = Files.list(processingDir())) {
+            List<Path> pending = files
+                    .filter(p -> !p.getFileName().toString().endsWith(PARTIAL_SUFFIX))
+                    .sorted()
+                    .toList();
+            for (Path file : pending) {
+                log.info("Resuming interrupted ingestion of {}", file.getFileName());
+                process(file);
+            }
+        } catch (IOException e) {
+            log.error("Could not list {}: {}", processingDir(), e.getMessage());
+        }
+    }
+
+    /**
+     * Processa os arquivos do diretório de entrada que não estão mais sendo escritos.
+     */
+    void scan() throws IOException {
+        List<Path> ready = new ArrayList<>();
+        long settledBefore = System.currentTimeMillis() - settleMillis;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(inbox(), fileGlob)) {
+            for (Path file : files) {
+                if (Files.isRegularFile(file) && Files.getLastModifiedTime(file).toMillis() <= settledBefore) {
+                    ready.add(file);
+                }
+            }
+        }
+        ready.sort(null);
+        for (Path file : ready) {
+            if (!running && watcher != null) {
+                return;
+            }
+            Path claimed = claim(file);
+            if (claimed != null) {
+                process(claimed);
+            }
+        }
+    }
+
+    /**
+     * Move o arquivo para processing/ com um prefixo de data, evitando colisão de nomes no arquivo.
+     *
+     * @return Novo caminho, ou null se o arquivo já foi movido
+     */
+    private Path claim(Path file) throws IOException {
+        Path target = processingDir().resolve(
+                LocalDateTime.now().format(CLAIM_PREFIX) + "-" + file.getFileName());
+        try {
+            return Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException | FileAlreadyExistsException e) {
+            return null;
+        }
+    }
+
+    private void process(Path file) {
+        String name = file.getFileName().toString();
+        Path partial = processingDir().resolve(name + RESULTS_SUFFIX + PARTIAL_SUFFIX);
+        Path results = processedDir().resolve(name + RESULTS_SUFFIX);
+        long start = System.nanoTime();
+
+        try {
+            // Interrompido entre mover o resultado e mover o arquivo: só falta arquivar
+            if (!Files.exists(partial) && Files.exists(results)) {
+                Files.move(file, processedDir().resolve(name), StandardCopyOption.ATOMIC_MOVE);
+                clearCheckpoint(name);
+                return;
+            }
+
+            long written = Files.exists(partial) ? countResultRows(partial) : 0;
+            long alreadyDone = Math.max(written, committedRows(name));
+            long[] done = {alreadyDone};
+            long processed;
+            try (FileChannel out = FileChannel.open(partial,
+                         StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                 Writer writer = new BufferedWriter(Channels.newWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+
+                if (out.size() == 0) {
+                    writer.write("text,sentiment,score\n");
+                }
+                // Gravadas no banco antes da interrupção, mas ausentes do resultado: só completa o arquivo
+                if (written < alreadyDone) {
+                    stream(file, new CsvStreamOptions(column(), written, alreadyDone - written, false),
+                            chunk -> writeChunk(writer, chunk));
+                }
+                processed = stream(file, new CsvStreamOptions(column(), alreadyDone, 0, false),
+                        chunk -> commitChunk(name, writer, chunk, done));
+            }
+
+            Files.move(partial, results, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(file, processedDir().resolve(name), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            clearCheckpoint(name);
+
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            log.info("Ingested {}: {} rows in {} ms ({} resumed)", name, processed, elapsedMs, alreadyDone);
+        } catch (Exception e) {
+            log.error("Ingestion of {} failed: {}", name, e.getMessage(), e);
+            moveToFailed(file, partial, e);
+            clearCheckpoint(name);
+        }
+    }
+
+    private long stream(Path file, CsvStreamOptions options, Consumer<List<SentimentResponseDTO>> onChunk)
+            throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ);
+             BufferedReader reader = new BufferedReader(
+                     Channels.newReader(in, StandardCharsets.UTF_8.newDecoder(), -1), BUFFER_SIZE)) {
+            return batchService.processStream(reader, options, onChunk);
+        }
+    }
+
+    private String column() {
+        return textColumn.isBlank() ? null : textColumn;
+    }
+
+    /**
+     * Grava o lote e avança o checkpoint na mesma transação; só então escreve o resultado.
+     * Uma interrupção entre os dois deixa o resultado atrás do checkpoint, nunca linhas gravadas duas vezes.
+     */
+    private void commitChunk(String name, Writer writer, List<SentimentResponseDTO> chunk, long[] done) {
+        long total = done[0] + chunk.size();
+        String sql = databasePlatform.isPostgres() ? SAVE_CHECKPOINT_POSTGRES : SAVE_CHECKPOINT_H2;
+        transactionTemplate.executeWithoutResult(status -> {
+            batchService.saveChunk(chunk);
+            jdbcTemplate.update(sql, name, total, Timestamp.valueOf(LocalDateTime.now()));
+        });
+        done[0] = total;
+        writeChunk(writer, chunk);
+    }
+
+    private void writeChunk(Writer writer, List<SentimentResponseDTO> chunk) {
+        try {
+            BatchService.writeResults(writer, chunk);
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long committedRows(String name) {
+        List<Long> rows = jdbcTemplate.queryForList(
+                "SELECT rows_done FROM tb_ingestion_checkpoints WHERE file_name = ?", Long.class, name);
+        return rows.isEmpty() || rows.get(0) == null ? 0 : rows.get(0);
+    }
+
+    private void clearCheckpoint(String name) {
+        try {
+            jdbcTemplate.update("DELETE FROM tb_ingestion_checkpoints WHERE file_name = ?", name);
+        } catch (Exception e) {
+            log.warn("Could not clear ingestion checkpoint of {}: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Linhas de resultado já escritas (sem o header). Textos com quebra de linha não
+     * aparecem nos CSVs de entrada, então cada linha corresponde a um texto.
+     */
+    private static long countResultRows(Path partial) throws IOException {
+        try (Stream<String> lines = Files.lines(partial, StandardCharsets.UTF_8)) {
+            return Math.max(0, lines.count() - 1);
+        }
+    }
+
+    private void moveToFailed(Path file, Path partial, Exception cause) {
+        String name = file.getFileName().toString();
+        try {
+            Files.move(file, failedDir().resolve(name), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            if (Files.exists(partial)) {
+                Files.move(partial, failedDir().resolve(partial.getFileName()),
+                        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.writeString(failedDir().resolve(name + ".error"), String.valueOf(cause.getMessage()));
+        } catch (IOException e) {
+            log.error("Could not move {} to {}: {}", name, failedDir(), e.getMessage());
+        }
+    }
+
+    private Path inbox() {
+        return Paths.get(directory);
+    }
+
+    private Path processingDir() {
+        return inbox().resolve("processing");
+    }
+
+    private Path processedDir() {
+        return inbox().resolve("processed");
+    }
+
+    private Path failedDir() {
+        return inbox().resolve("failed");
+    }
+}
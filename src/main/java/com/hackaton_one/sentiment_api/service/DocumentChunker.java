@@ -0,0 +1,166 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.SentimentResultDTO;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Divisão de textos longos em trechos para a inferência (sentiment.chunking.enabled).
+ * <p>
+ * Textos a partir de {@code min-chars} caracteres são quebrados em frases e as frases agrupadas
+ * em trechos de até {@code max-chars} caracteres (no máximo {@code max-chunks} por texto). Os
+ * trechos de todos os textos vão ao modelo em um único tensor e os resultados de cada texto são
+ * combinados pela estratégia {@code aggregation}. Textos curtos seguem inteiros.
+ */
+@Service
+public class DocumentChunker {
+
+    private static final Locale PT_BR = Locale.forLanguageTag("pt-BR");
+
+    /**
+     * Combinação dos resultados dos trechos de um texto.
+     */
+    public enum Aggregation {
+        /** Média da probabilidade positiva dos trechos */
+        MEAN,
+        /** Média ponderada pelo tamanho de cada trecho */
+        LENGTH_WEIGHTED,
+        /** Resultado do trecho de maior confiança */
+        MOST_CONFIDENT
+    }
+
+    @Getter
+    @Value("${sentiment.chunking.enabled:false}")
+    private boolean enabled;
+
+    // Textos menores seguem inteiros para o modelo
+    @Value("${sentiment.chunking.min-chars:1000}")
+    private int minChars;
+
+    @Value("${sentiment.chunking.max-chars:400}")
+    private int maxChars;
+
+    // Acima disso os trechos crescem em vez de se multiplicar
+    @Value("${sentiment.chunking.max-chunks:16}")
+    private int maxChunks;
+
+    @Value("${sentiment.chunking.aggregation:LENGTH_WEIGHTED}")
+    private Aggregation aggregation;
+
+    /**
+     * Parâmetros que mudam o resultado de um texto; desligada, a divisão não depende dos demais.
+     */
+    public String settings() {
+        return enabled
+                ? "chunking:" + minChars + "," + maxChars + "," + maxChunks + "," + aggregation
+                : "chunking:off";
+    }
+
+    /**
+     * Trechos do texto, ou o próprio texto se for curto ou a divisão estiver desligada.
+     */
+    public List<String> split(String text) {
+        if (!enabled || text == null || text.length() < minChars) {
+            return List.of(text);
+        }
+        int limit = Math.max(maxChars, (text.length() + maxChunks - 1) / Math.max(maxChunks, 1));
+
+        List<String> chunks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        BreakIterator sentences = BreakIterator.getSentenceInstance(PT_BR);
+        sentences.setText(text);
+        int start = sentences.first();
+        for (int end = sentences.next(); end != BreakIterator.DONE; start = end, end = sentences.next()) {
+            String sentence = text.substring(start, end).strip();
+            if (sentence.isEmpty()) {
+                continue;
+            }
+            if (current.length() > 0 && current.length() + 1 + sentence.length() > limit) {
+                chunks.add(current.toString());
+                current.setLength(0);
+            }
+            // Frase maior que o trecho: quebra nos espaços
+            while (sentence.length() > limit) {
+                int cut = sentence.lastIndexOf(' ', limit);
+                if (cut <= 0) {
+                    cut = limit;
+                }
+                chunks.add(sentence.substring(0, cut).strip());
+                sentence = sentence.substring(cut).strip();
+            }
+            if (current.length() > 0) {
+                current.append(' ');
+            }
+            current.append(sentence);
+        }
+        if (current.length() > 0) {
+            chunks.add(current.toString());
+        }
+        if (chunks.isEmpty()) {
+            return List.of(text);
+        }
+        mergeToLimit(chunks);
+        return chunks;
+    }
+
+    /**
+     * O agrupamento guloso pode passar de {@code max-chunks} (frases que não cabem juntas deixam
+     * trechos meio vazios): junta os pares vizinhos de menor tamanho somado até respeitar o limite.
+     */
+    private void mergeToLimit(List<String> chunks) {
+        int max = Math.max(maxChunks, 1);
+        while (chunks.size() > max) {
+            int best = 0;
+            for (int i = 1; i < chunks.size() - 1; i++) {
+                if (chunks.get(i).length() + chunks.get(i + 1).length()
+                        < chunks.get(best).length() + chunks.get(best + 1).length()) {
+                    best = i;
+                }
+            }
+            chunks.set(best, chunks.get(best) + " " + chunks.remove(best + 1));
+        }
+    }
+
+    /**
+     * Combina os resultados dos trechos de um texto em um único resultado.
+     *
+     * @param chunks  Trechos produzidos por {@link #split}
+     * @param results Resultado de cada trecho, na mesma ordem
+     */
+    public SentimentResultDTO aggregate(List<String> chunks, List<SentimentResultDTO> results) {
+        if (results.size() == 1) {
+            return results.get(0);
+        }
+        if (aggregation == Aggregation.MOST_CONFIDENT) {
+            SentimentResultDTO best = results.get(0);
+            for (SentimentResultDTO result : results) {
+                if (result.probabilidade() > best.probabilidade()) {
+                    best = result;
+                }
+            }
+            return best;
+        }
+
+        double weighted = 0;
+        double totalWeight = 0;
+        for (int i = 0; i < results.size(); i++) {
+            double weight = aggregation == Aggregation.LENGTH_WEIGHTED ? chunks.get(i).length() : 1;
+            weighted += positiveProbability(results.get(i)) * weight;
+            totalWeight += weight;
+        }
+        double positive = weighted / totalWeight;
+        return positive >= 0.5
+                ? new SentimentResultDTO("POSITIVO", positive)
+                : new SentimentResultDTO("NEGATIVO", 1 - positive);
+    }
+
+    private static double positiveProbability(SentimentResultDTO result) {
+        return "POSITIVO".equals(result.previsao()) ? result.probabilidade() : 1 - result.probabilidade();
+    }
+}
@@ -0,0 +1,40 @@
+package com.hackaton_one.sentiment_api.service;
+
+import java.util.Locale;
+
+/**
+ * Formatos suportados pela exportação do histórico completo.
+ */
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * Converte o parâmetro da requisição (case-insensitive).
+     *
+     * @throws IllegalArgumentException se o formato não for suportado
+     */
+    public static ExportFormat from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unsupported export format '" + value + "'. Use csv or ndjson");
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackaton_one.sentiment_api.api.dto.HistoryItemDTO;
+import com.hackaton_one.sentiment_api.repository.SentimentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Serviço de exportação do histórico completo de análises.
+ * <p>
+ * As linhas são lidas por um cursor e escritas diretamente na saída,
+ * uma a uma, então o uso de memória não depende da quantidade exportada.
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SentimentRepository sentimentRepository;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(SentimentRepository sentimentRepository, ObjectMapper objectMapper) {
+        this.sentimentRepository = sentimentRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Escreve as análises filtradas no formato pedido.
+     *
+     * @param format    CSV ou NDJSON
+     * @param from      Data inicial inclusiva (opcional)
+     * @param to        Data final exclusiva (opcional)
+     * @param sentiment POSITIVO ou NEGATIVO (opcional)
+     * @param out       Saída (não é fechada por este método)
+     * @return Quantidade de linhas exportadas
+     */
+    @Transactional(readOnly = true)
+    public long export(ExportFormat format, LocalDateTime from, LocalDateTime to, String sentiment, OutputStream out) {
+        String sentimentFilter = normalizeSentiment(sentiment);
+        long count = 0;
+
+        try (Stream<HistoryItemDTO> rows = sentimentRepository.streamForExport(from, to, sentimentFilter)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            if (format == ExportFormat.CSV) {
+                writer.write("id,text,sentiment,score,analyzed_at\n");
+            }
+
+            Iterator<HistoryItemDTO> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                HistoryItemDTO row = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsv(writer, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                count++;
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing export", e);
+        }
+
+        log.info("Export finished: {} rows in {} format", count, format);
+        return count;
+    }
+
+    private void writeCsv(Writer writer, HistoryItemDTO row) throws IOException {
+        writer.write(String.valueOf(row.id()));
+        writer.write(',');
+        writer.write(escapeCsv(row.textContent()));
+        writer.write(',');
+        writer.write(row.sentimentResult() != null ? row.sentimentResult() : "");
+        writer.write(',');
+        writer.write(row.confidenceScore() != null ? row.confidenceScore().toString() : "");
+        writer.write(',');
+        writer.write(row.analyzedAt() != null ? row.analyzedAt().toString() : "");
+        writer.write('\n');
+    }
+
+    /**
+     * Escapa um campo CSV (RFC 4180): envolve em aspas quando há vírgula, aspas ou quebra de linha.
+     */
+    static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Valida e normaliza o filtro de sentimento (null quando ausente).
+     *
+     * @throws IllegalArgumentException se o valor não for POSITIVO ou NEGATIVO
+     */
+    public static String normalizeSentiment(String sentiment) {
+        if (sentiment == null || sentiment.isBlank()) {
+            return null;
+        }
+        String normalized = sentiment.trim().toUpperCase();
+        if (!normalized.equals("POSITIVO") && !normalized.equals("NEGATIVO")) {
+            throw new IllegalArgumentException("Invalid sentiment filter '" + sentiment + "'. Use POSITIVO or NEGATIVO");
+        }
+        return normalized;
+    }
+}
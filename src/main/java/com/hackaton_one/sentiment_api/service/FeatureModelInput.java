@@ -0,0 +1,104 @@
+package com.hackaton_one.sentiment_api.service;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entrada do modelo numérico: features de {@link HashingFeatureExtractor} em um tensor float [n, d].
+ * <p>
+ * Cada thread reutiliza um {@link FloatBuffer} direto na ordem nativa, que o ONNX Runtime usa
+ * sem cópia. Entre execuções só as posições escritas são zeradas, em vez do buffer inteiro.
+ * O tamanho do buffer limita os textos por execução ({@link #maxRows}).
+ */
+public final class FeatureModelInput implements ModelInput {
+
+    private final OrtEnvironment env;
+    private final HashingFeatureExtractor extractor;
+    private final int maxRows;
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * @param maxBufferBytes Tamanho máximo do buffer por thread
+     */
+    public FeatureModelInput(OrtEnvironment env, HashingFeatureExtractor extractor, long maxBufferBytes) {
+        this.env = env;
+        this.extractor = extractor;
+        long rowBytes = (long) extractor.dimension() * Float.BYTES;
+        this.maxRows = (int) Math.max(1, Math.min(Integer.MAX_VALUE / rowBytes, maxBufferBytes / rowBytes));
+    }
+
+    @Override
+    public int maxRows() {
+        return maxRows;
+    }
+
+    @Override
+    public String settings() {
+        return extractor.settings();
+    }
+
+    @Override
+    public OnnxTensor createTensor(List<String> texts) throws OrtException {
+        if (texts.size() > maxRows) {
+            throw new IllegalArgumentException("Too many texts for one feature tensor: " + texts.size());
+        }
+        int dimension = extractor.dimension();
+        Scratch local = scratch.get();
+        FloatBuffer buffer = local.prepare(texts.size() * dimension);
+
+        for (int row = 0; row < texts.size(); row++) {
+            extractor.extract(texts.get(row), local.row);
+            int offset = row * dimension;
+            for (int i = 0; i < local.row.size(); i++) {
+                int position = offset + local.row.index(i);
+                buffer.put(position, local.row.value(i));
+                local.touch(position);
+            }
+        }
+
+        FloatBuffer view = buffer.duplicate();
+        view.position(0).limit(texts.size() * dimension);
+        return OnnxTensor.createTensor(env, view, new long[]{ texts.size(), dimension });
+    }
+
+    /**
+     * Buffer e linha esparsa de uma thread.
+     */
+    private static final class Scratch {
+        private final HashingFeatureExtractor.Row row = new HashingFeatureExtractor.Row();
+        private FloatBuffer buffer;
+        private int[] touched = new int[1024];
+        private int touchedCount;
+
+        /**
+         * Buffer zerado com pelo menos {@code floats} posições.
+         */
+        FloatBuffer prepare(int floats) {
+            if (buffer == null || buffer.capacity() < floats) {
+                buffer = ByteBuffer.allocateDirect(floats * Float.BYTES)
+                        .order(ByteOrder.nativeOrder())
+                        .asFloatBuffer();
+            } else {
+                for (int i = 0; i < touchedCount; i++) {
+                    buffer.put(touched[i], 0f);
+                }
+            }
+            touchedCount = 0;
+            return buffer;
+        }
+
+        void touch(int position) {
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touchedCount * 2);
+            }
+            touched[touchedCount++] = position;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.hackaton_one.sentiment_api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Vetorização de textos por hashing, compatível com o {@code HashingVectorizer} do scikit-learn
+ * (MurmurHash3 32 bits com semente 0, índice = |hash| mod dimensão, sinal alternado opcional).
+ * <p>
+ * Os tokens são as palavras de 2+ caracteres do texto normalizado por
+ * {@link SentimentService#normalizeText}, mais os n-gramas até {@code ngramMax}. Cada texto vira
+ * uma linha esparsa ({@link Row}) reutilizável, sem alocar um vetor denso.
+ */
+public final class HashingFeatureExtractor {
+
+    /**
+     * Normalização de cada linha.
+     */
+    public enum Norm { L1, L2, NONE }
+
+    private final int dimension;
+    private final int ngramMax;
+    private final boolean alternateSign;
+    private final Norm norm;
+
+    public HashingFeatureExtractor(int dimension, int ngramMax, boolean alternateSign, Norm norm) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("Feature dimension must be positive");
+        }
+        this.dimension = dimension;
+        this.ngramMax = Math.max(ngramMax, 1);
+        this.alternateSign = alternateSign;
+        this.norm = norm;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    /**
+     * Parâmetros que mudam as features extraídas.
+     */
+    public String settings() {
+        return "features:" + dimension + "," + ngramMax + "," + alternateSign + "," + norm;
+    }
+
+    /**
+     * Extrai as features do texto para a linha (índices únicos em ordem crescente).
+     */
+    public void extract(String text, Row row) {
+        row.clear();
+        String[] tokens = Arrays.stream(SentimentService.normalizeText(text).split(" "))
+                .filter(token -> token.length() >= 2)
+                .toArray(String[]::new);
+
+        for (int n = 1; n <= ngramMax; n++) {
+            for (int start = 0; start + n <= tokens.length; start++) {
+                String term = n == 1 ? tokens[start] : String.join(" ", Arrays.copyOfRange(tokens, start, start + n));
+                int hash = murmur3(term.getBytes(StandardCharsets.UTF_8), 0);
+                int index = (int) (Math.abs((long) hash) % dimension);
+                float value = alternateSign && hash < 0 ? -1f : 1f;
+                row.add(index, value);
+            }
+        }
+        row.compact();
+        normalize(row);
+    }
+
+    private void normalize(Row row) {
+        if (norm == Norm.NONE || row.size == 0) {
+            return;
+        }
+        double total = 0;
+        for (int i = 0; i < row.size; i++) {
+            total += norm == Norm.L2 ? (double) row.values[i] * row.values[i] : Math.abs(row.values[i]);
+        }
+        double length = norm == Norm.L2 ? Math.sqrt(total) : total;
+        if (length == 0) {
+            return;
+        }
+        for (int i = 0; i < row.size; i++) {
+            row.values[i] = (float) (row.values[i] / length);
+        }
+    }
+
+    /**
+     * MurmurHash3 x86 32 bits (o mesmo de {@code sklearn.utils.murmurhash3_32}).
+     */
+    static int murmur3(byte[] data, int seed) {
+        final int c1 = 0xcc9e2d51;
+        final int c2 = 0x1b873593;
+        int h = seed;
+        int blocks = data.length / 4;
+
+        for (int i = 0; i < blocks; i++) {
+            int offset = i * 4;
+            int k = (data[offset] & 0xff)
+                    | (data[offset + 1] & 0xff) << 8
+                    | (data[offset + 2] & 0xff) << 16
+                    | (data[offset + 3] & 0xff) << 24;
+            k *= c1;
+            k = Integer.rotateLeft(k, 15);
+            k *= c2;
+            h ^= k;
+            h = Integer.rotateLeft(h, 13);
+            h = h * 5 + 0xe6546b64;
+        }
+
+        int tail = blocks * 4;
+        int k = 0;
+        switch (data.length & 3) {
+            case 3:
+                k ^= (data[tail + 2] & 0xff) << 16;
+            case 2:
+                k ^= (data[tail + 1] & 0xff) << 8;
+            case 1:
+                k ^= data[tail] & 0xff;
+                k *= c1;
+                k = Integer.rotateLeft(k, 15);
+                k *= c2;
+                h ^= k;
+            default:
+                break;
+        }
+
+        h ^= data.length;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Linha esparsa (índice, valor), reutilizada entre textos para não alocar a cada extração.
+     */
+    public static final class Row {
+        private int[] indices = new int[64];
+        private float[] values = new float[64];
+        private long[] keys = new long[64];
+        private float[] sortedValues = new float[64];
+        private int size;
+
+        public int size() {
+            return size;
+        }
+
+        public int index(int position) {
+            return indices[position];
+        }
+
+        public float value(int position) {
+            return values[position];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void add(int index, float value) {
+            if (size == indices.length) {
+                indices = Arrays.copyOf(indices, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            indices[size] = index;
+            values[size] = value;
+            size++;
+        }
+
+        /**
+         * Ordena por índice e soma os valores de índices repetidos.
+         */
+        void compact() {
+            if (size < 2) {
+                return;
+            }
+            if (sortedValues.length < indices.length) {
+                keys = new long[indices.length];
+                sortedValues = new float[indices.length];
+            }
+            // Índice nos 32 bits altos, posição original nos baixos
+            for (int i = 0; i < size; i++) {
+                keys[i] = (long) indices[i] << 32 | i;
+            }
+            Arrays.sort(keys, 0, size);
+            int unique = -1;
+            for (int i = 0; i < size; i++) {
+                int index = (int) (keys[i] >>> 32);
+                float value = values[(int) keys[i]];
+                if (unique >= 0 && indices[unique] == index) {
+                    sortedValues[unique] += value;
+                } else {
+                    unique++;
+                    indices[unique] = index;
+                    sortedValues[unique] = value;
+                }
+            }
+            size = unique + 1;
+            float[] swap = values;
+            values = sortedValues;
+            sortedValues = swap;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.hackaton_one.sentiment_api.api.dto.HistoryItemListDTO;
 import com.hackaton_one.sentiment_api.model.Sentiment;
 import com.hackaton_one.sentiment_api.repository.SentimentRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -17,6 +18,11 @@ public class HistoryService {
         this.sentimentRepository = sentimentRepository;
     }
 
+    /**
+     * Retorna as 100 análises mais recentes.
+     * Somente leitura: usa a réplica de leitura quando configurada.
+     */
+    @Transactional(readOnly = true)
     public HistoryItemListDTO getHistory() {
         try {
             List<Sentiment> sentiments = sentimentRepository.findTop100ByOrderByAnalyzedAtDesc();
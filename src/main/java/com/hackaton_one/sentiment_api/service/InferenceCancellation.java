@@ -0,0 +1,62 @@
+package com.hackaton_one.sentiment_api.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cancelamento de uma execução do modelo cujo resultado deixou de ser necessário, como a cópia
+ * perdedora de uma requisição hedged ({@link InferenceHedger}).
+ * <p>
+ * Cada etapa registra como desistir do seu trabalho: o {@link InferenceScheduler} cancela a
+ * tarefa ainda na fila e o {@link SentimentService} encerra a execução em andamento. Ações
+ * registradas depois do cancelamento rodam na hora.
+ */
+@Slf4j
+public final class InferenceCancellation {
+
+    private final List<Runnable> actions = new ArrayList<>();
+    private boolean cancelled;
+
+    /**
+     * Registra a ação executada no cancelamento (imediatamente, se já foi cancelada).
+     */
+    public void onCancel(Runnable action) {
+        synchronized (this) {
+            if (!cancelled) {
+                actions.add(action);
+                return;
+            }
+        }
+        runQuietly(action);
+    }
+
+    /**
+     * Cancela a execução; chamadas repetidas não têm efeito.
+     */
+    public void cancel() {
+        List<Runnable> pending;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            pending = new ArrayList<>(actions);
+            actions.clear();
+        }
+        pending.forEach(InferenceCancellation::runQuietly);
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    private static void runQuietly(Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            log.debug("Could not cancel inference step: {}", e.getMessage());
+        }
+    }
+}
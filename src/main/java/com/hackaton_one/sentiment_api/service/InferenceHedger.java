@@ -0,0 +1,236 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.HedgingStatsDTO;
+import com.hackaton_one.sentiment_api.exceptions.ModelAnalysisException;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Requisições "hedged" para a inferência interativa.
+ * <p>
+ * Se a execução principal não termina dentro do percentil configurado das latências recentes,
+ * uma cópia é disparada (em outra sessão ONNX) e vale o primeiro resultado. Pausas de GC, do
+ * alocador nativo ou do sistema operacional atingem uma execução, raramente as duas.
+ * <p>
+ * O orçamento limita a carga extra: cada requisição acumula {@code budget-percent}% de uma
+ * cópia, e cada cópia gasta uma unidade.
+ * <p>
+ * Quando uma das execuções vence, a outra é cancelada ({@link InferenceCancellation}): sai da
+ * fila do {@link InferenceScheduler} ou tem a execução do modelo encerrada.
+ */
+@Slf4j
+@Service
+public class InferenceHedger {
+
+    // Créditos do orçamento em milésimos de cópia
+    private static final long CREDIT_SCALE = 1000;
+
+    @Getter
+    @Value("${inference.hedge.enabled:false}")
+    private boolean enabled;
+
+    // Percentil das latências recentes após o qual a cópia é disparada
+    @Value("${inference.hedge.percentile:95}")
+    private double percentile;
+
+    // Espera mínima antes de uma cópia, mesmo com latências muito baixas
+    @Value("${inference.hedge.min-delay-ms:5}")
+    private long minDelayMs;
+
+    // Máximo de cópias, em % das requisições
+    @Value("${inference.hedge.budget-percent:5}")
+    private double budgetPercent;
+
+    // Latências guardadas para o cálculo do percentil
+    @Value("${inference.hedge.window-size:1000}")
+    private int windowSize;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+    private final AtomicLong credits = new AtomicLong();
+
+    private long[] window;
+    private int windowCount;
+    private int windowNext;
+    private int sinceRecompute;
+    private volatile long thresholdNanos = -1;
+
+    /**
+     * Executa a inferência, disparando a cópia se a principal demorar.
+     *
+     * @param primary Execução principal, com o seu cancelamento
+     * @param hedge   Execução de reserva (outra sessão), com o seu cancelamento
+     * @return Resultado da primeira execução que terminar com sucesso
+     */
+    public <T> T execute(Function<InferenceCancellation, T> primary, Function<InferenceCancellation, T> hedge) {
+        requests.increment();
+        addCredit();
+        long start = System.nanoTime();
+
+        InferenceCancellation primaryCancellation = new InferenceCancellation();
+        CompletableFuture<T> first = CompletableFuture.supplyAsync(() -> primary.apply(primaryCancellation), executor);
+        long threshold = thresholdNanos;
+        if (threshold < 0) {
+            // Sem histórico ainda: apenas mede
+            T result = join(first);
+            record(System.nanoTime() - start);
+            return result;
+        }
+
+        try {
+            T result = first.get(threshold, TimeUnit.NANOSECONDS);
+            record(System.nanoTime() - start);
+            return result;
+        } catch (TimeoutException e) {
+            if (!tryTakeCredit()) {
+                budgetExhausted.increment();
+                T result = join(first);
+                record(System.nanoTime() - start);
+                return result;
+            }
+        } catch (InterruptedException e) {
+            primaryCancellation.cancel();
+            first.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new ModelAnalysisException("Inferência interrompida", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+
+        hedged.increment();
+        InferenceCancellation hedgeCancellation = new InferenceCancellation();
+        CompletableFuture<T> second = CompletableFuture.supplyAsync(() -> hedge.apply(hedgeCancellation), executor);
+        CompletableFuture<Boolean> winner = firstSuccessful(first, second);
+        boolean hedgeWon = join(winner);
+        // A perdedora não ocupa mais um worker nem a sessão
+        if (hedgeWon) {
+            hedgeWins.increment();
+            primaryCancellation.cancel();
+        } else {
+            hedgeCancellation.cancel();
+        }
+        record(System.nanoTime() - start);
+        return hedgeWon ? second.join() : first.join();
+    }
+
+    /**
+     * Métricas de hedging desde o início da aplicação.
+     */
+    public HedgingStatsDTO getStats() {
+        long total = requests.sum();
+        long copies = hedged.sum();
+        long threshold = thresholdNanos;
+        return new HedgingStatsDTO(
+                enabled,
+                total,
+                copies,
+                total > 0 ? (double) copies / total : 0.0,
+                hedgeWins.sum(),
+                budgetExhausted.sum(),
+                threshold < 0 ? null : threshold / 1_000_000.0
+        );
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Completa com true se a cópia terminou primeiro com sucesso, false se foi a principal;
+     * falha somente se as duas falharem.
+     */
+    private static CompletableFuture<Boolean> firstSuccessful(CompletableFuture<?> first, CompletableFuture<?> second) {
+        CompletableFuture<Boolean> winner = new CompletableFuture<>();
+        first.whenComplete((value, error) -> {
+            if (error == null) {
+                winner.complete(false);
+            } else if (second.isCompletedExceptionally()) {
+                winner.completeExceptionally(error);
+            }
+        });
+        second.whenComplete((value, error) -> {
+            if (error == null) {
+                winner.complete(true);
+            } else if (first.isCompletedExceptionally()) {
+                winner.completeExceptionally(error);
+            }
+        });
+        return winner;
+    }
+
+    private void addCredit() {
+        long perRequest = Math.round(budgetPercent / 100.0 * CREDIT_SCALE);
+        // Acumula no máximo o suficiente para uma rajada de 10 cópias
+        credits.getAndUpdate(current -> Math.min(current + perRequest, 10 * CREDIT_SCALE));
+    }
+
+    private boolean tryTakeCredit() {
+        while (true) {
+            long current = credits.get();
+            if (current < CREDIT_SCALE) {
+                return false;
+            }
+            if (credits.compareAndSet(current, current - CREDIT_SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Guarda a latência e recalcula o limiar a cada décimo da janela.
+     */
+    private synchronized void record(long nanos) {
+        if (window == null) {
+            window = new long[Math.max(windowSize, 10)];
+        }
+        window[windowNext] = nanos;
+        windowNext = (windowNext + 1) % window.length;
+        windowCount = Math.min(windowCount + 1, window.length);
+
+        if (++sinceRecompute >= Math.max(window.length / 10, 1) && windowCount >= 10) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(window, windowCount);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(Math.ceil(percentile / 100.0 * sorted.length) - 1, sorted.length - 1);
+            thresholdNanos = Math.max(sorted[Math.max(index, 0)], TimeUnit.MILLISECONDS.toNanos(minDelayMs));
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new ModelAnalysisException("Erro na inferência: " + cause.getMessage(), cause);
+    }
+}
@@ -0,0 +1,13 @@
+package com.hackaton_one.sentiment_api.service;
+
+/**
+ * Classes de prioridade da inferência, usadas pelo {@link InferenceScheduler}.
+ */
+public enum InferencePriority {
+    /** Requisições com um usuário aguardando a resposta (POST /sentiment, gRPC). */
+    INTERACTIVE,
+    /** Lotes: upload de CSV, bulk, ingestão por diretório e CLI. */
+    BULK,
+    /** Reprocessamento das análises gravadas após troca de modelo. */
+    BACKGROUND
+}
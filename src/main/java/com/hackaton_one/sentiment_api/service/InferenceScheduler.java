@@ -0,0 +1,292 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.exceptions.DeadlineExceededException;
+import com.hackaton_one.sentiment_api.exceptions.ModelAnalysisException;
+import com.hackaton_one.sentiment_api.exceptions.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fila de execução do modelo com prioridades (weighted fair queueing).
+ * <p>
+ * Toda inferência passa por aqui e roda em um número fixo de workers. Cada
+ * {@link InferencePriority} tem sua fila e um peso: o custo de uma tarefa (quantidade de textos)
+ * dividido pelo peso da fila define seu tempo virtual de término, e o worker livre sempre pega a
+ * tarefa com o menor tempo. Com os pesos padrão (16/4/1), textos interativos passam à frente de
+ * lotes grandes, enquanto lotes e reprocessamento usam a capacidade ociosa sem ficar parados.
+ * <p>
+ * Uma execução em andamento não é interrompida por outra: o tamanho dos lotes
+ * ({@code bulk.inference-batch-size}) limita a espera de uma requisição interativa.
+ * <p>
+ * Tarefas com {@link RequestDeadline} vencido são descartadas sem executar o modelo, e quem
+ * aguarda deixa de esperar quando o prazo termina ({@link DeadlineExceededException}). Tarefas
+ * canceladas ({@link InferenceCancellation}) também não executam o modelo.
+ */
+@Slf4j
+@Service
+public class InferenceScheduler {
+
+    // 0 = um worker por CPU
+    @Value("${inference.workers:0}")
+    private int workers;
+
+    @Value("${inference.weight.interactive:16}")
+    private int interactiveWeight;
+
+    @Value("${inference.weight.bulk:4}")
+    private int bulkWeight;
+
+    @Value("${inference.weight.background:1}")
+    private int backgroundWeight;
+
+    // Tarefas aguardando por prioridade; acima disso a chamada é recusada (HTTP 503)
+    @Value("${inference.queue-capacity:1000}")
+    private int queueCapacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Map<InferencePriority, Lane> lanes = new EnumMap<>(InferencePriority.class);
+    private final List<Thread> threads = new ArrayList<>();
+
+    private double virtualTime;
+    private boolean running;
+
+    @PostConstruct
+    public void start() {
+        lanes.put(InferencePriority.INTERACTIVE, new Lane(interactiveWeight));
+        lanes.put(InferencePriority.BULK, new Lane(bulkWeight));
+        lanes.put(InferencePriority.BACKGROUND, new Lane(backgroundWeight));
+
+        int count = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        running = true;
+        for (int i = 0; i < count; i++) {
+            threads.add(Thread.ofPlatform().name("inference-" + i).daemon().start(this::workLoop));
+        }
+        log.info("Inference scheduler started with {} workers (weights {}/{}/{})",
+                count, interactiveWeight, bulkWeight, backgroundWeight);
+    }
+
+    @PreDestroy
+    public void stop() {
+        lock.lock();
+        try {
+            running = false;
+            for (Lane lane : lanes.values()) {
+                lane.queue.forEach(entry -> entry.task().cancel(false));
+                lane.queue.clear();
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Enfileira a inferência com o prazo da requisição atual e aguarda o resultado.
+     *
+     * @param priority Classe de prioridade
+     * @param cost     Custo relativo (quantidade de textos)
+     * @param work     Execução do modelo
+     * @return Resultado da execução
+     * @throws ServiceUnavailableException se a fila da prioridade estiver cheia
+     */
+    public <T> T execute(InferencePriority priority, int cost, Callable<T> work) {
+        return execute(priority, cost, RequestDeadline.current(), work);
+    }
+
+    /**
+     * Enfileira a inferência e aguarda o resultado até o fim do prazo.
+     *
+     * @param priority Classe de prioridade
+     * @param cost     Custo relativo (quantidade de textos)
+     * @param deadline Prazo da requisição (null = sem prazo)
+     * @param work     Execução do modelo
+     * @return Resultado da execução
+     * @throws ServiceUnavailableException se a fila da prioridade estiver cheia
+     * @throws DeadlineExceededException   se o prazo terminar antes do resultado
+     */
+    public <T> T execute(InferencePriority priority, int cost, RequestDeadline deadline, Callable<T> work) {
+        return execute(priority, cost, deadline, null, work);
+    }
+
+    /**
+     * Enfileira a inferência e aguarda o resultado até o fim do prazo ou o cancelamento.
+     *
+     * @param priority     Classe de prioridade
+     * @param cost         Custo relativo (quantidade de textos)
+     * @param deadline     Prazo da requisição (null = sem prazo)
+     * @param cancellation Cancelamento da execução (null = não cancelável)
+     * @param work         Execução do modelo
+     * @return Resultado da execução
+     * @throws ServiceUnavailableException se a fila da prioridade estiver cheia
+     * @throws DeadlineExceededException   se o prazo terminar antes do resultado
+     * @throws ModelAnalysisException      se a execução for cancelada
+     */
+    public <T> T execute(InferencePriority priority, int cost, RequestDeadline deadline,
+                         InferenceCancellation cancellation, Callable<T> work) {
+        if (deadline != null && deadline.isExpired()) {
+            throw new DeadlineExceededException("Request deadline exceeded before inference");
+        }
+        ScheduledRun<T> task = new ScheduledRun<>(work);
+        enqueue(priority, cost, deadline, task);
+        if (cancellation != null) {
+            // Ainda na fila, não será executada; em andamento, quem executa encerra o modelo
+            cancellation.onCancel(() -> task.cancel(false));
+        }
+        try {
+            return deadline == null ? task.get() : task.get(Math.max(deadline.remainingNanos(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Se ainda estiver na fila, não será executada; em andamento, o modelo é interrompido pelo prazo
+            task.cancel(false);
+            throw new DeadlineExceededException("Request deadline exceeded during inference");
+        } catch (InterruptedException e) {
+            task.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new ModelAnalysisException("Inferência interrompida", e);
+        } catch (CancellationException e) {
+            if (cancellation != null && cancellation.isCancelled()) {
+                throw new ModelAnalysisException("Inferência cancelada", e);
+            }
+            throw new ServiceUnavailableException("Inference scheduler is shutting down");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new ModelAnalysisException("Erro na inferência: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Tarefas aguardando na fila da prioridade.
+     */
+    public int queued(InferencePriority priority) {
+        lock.lock();
+        try {
+            Lane lane = lanes.get(priority);
+            return lane == null ? 0 : lane.queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(InferencePriority priority, int cost, RequestDeadline deadline, ScheduledRun<?> task) {
+        lock.lock();
+        try {
+            if (!running) {
+                throw new ServiceUnavailableException("Inference scheduler is not running");
+            }
+            Lane lane = lanes.get(priority);
+            if (lane.queue.size() >= queueCapacity) {
+                log.warn("Inference queue full for {} requests ({} waiting)", priority, lane.queue.size());
+                throw new ServiceUnavailableException("Too many " + priority.name().toLowerCase()
+                        + " inference requests waiting, try again later");
+            }
+            // Uma fila que ficou vazia recomeça do tempo virtual atual, sem acumular crédito
+            double start = Math.max(virtualTime, lane.lastFinish);
+            double finish = start + (double) Math.max(cost, 1) / lane.weight;
+            lane.lastFinish = finish;
+            lane.queue.addLast(new Entry(task, deadline, start, finish));
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Próxima tarefa: a de menor tempo virtual de término entre as cabeças das filas.
+     * Em empate, vence a prioridade mais alta.
+     *
+     * @return Tarefa, ou null se o scheduler foi parado
+     */
+    private Entry take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (running) {
+                Entry next = null;
+                Lane from = null;
+                for (Lane lane : lanes.values()) {
+                    Entry head = lane.queue.peekFirst();
+                    if (head != null && (next == null || head.finish() < next.finish())) {
+                        next = head;
+                        from = lane;
+                    }
+                }
+                if (from != null) {
+                    from.queue.pollFirst();
+                    virtualTime = Math.max(virtualTime, next.start());
+                    return next;
+                }
+                available.await();
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void workLoop() {
+        while (true) {
+            Entry entry;
+            try {
+                entry = take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (entry == null) {
+                return;
+            }
+            if (entry.deadline() != null && entry.deadline().isExpired()) {
+                // Ninguém mais aguarda o resultado: não gasta o modelo com ele
+                entry.task().expire();
+                continue;
+            }
+            // FutureTask guarda a exceção para quem aguarda o resultado
+            entry.task().run();
+        }
+    }
+
+    private static final class Lane {
+        private final int weight;
+        private final ArrayDeque<Entry> queue = new ArrayDeque<>();
+        private double lastFinish;
+
+        private Lane(int weight) {
+            this.weight = Math.max(weight, 1);
+        }
+    }
+
+    private record Entry(ScheduledRun<?> task, RequestDeadline deadline, double start, double finish) {
+    }
+
+    private static final class ScheduledRun<T> extends FutureTask<T> {
+
+        private ScheduledRun(Callable<T> work) {
+            super(work);
+        }
+
+        void expire() {
+            setException(new DeadlineExceededException("Request deadline exceeded while waiting for inference"));
+        }
+    }
+}
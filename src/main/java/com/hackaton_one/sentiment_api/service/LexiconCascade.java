@@ -0,0 +1,201 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.CascadeStatsDTO;
+import com.hackaton_one.sentiment_api.api.dto.SentimentResultDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Primeira etapa da análise: textos curtos e inequívocos ("ótimo", "péssimo atendimento") são
+ * decididos pelo {@link LexiconScorer}; os demais seguem para o modelo ONNX.
+ * <p>
+ * Uma amostra das decisões do léxico ({@code cascade.verify-rate}) é conferida com o modelo em
+ * segundo plano (prioridade de reprocessamento), medindo a concordância entre as etapas.
+ * <p>
+ * As decisões do léxico são gravadas com a versão {@code lexicon:<hash>} (conteúdo do léxico e
+ * parâmetros), e não com a do modelo, para que o reprocessamento as envie ao modelo.
+ */
+@Slf4j
+@Service
+public class LexiconCascade {
+
+    private static final String DEFAULT_LEXICON = "lexicon/sentiment-pt.tsv";
+
+    @Getter
+    @Value("${cascade.enabled:false}")
+    private boolean enabled;
+
+    // Arquivo de léxico (vazio = léxico embutido em português)
+    @Value("${cascade.lexicon-path:}")
+    private String lexiconPath;
+
+    @Value("${cascade.max-tokens:6}")
+    private int maxTokens;
+
+    @Value("${cascade.min-confidence:0.75}")
+    private double minConfidence;
+
+    // Fração das decisões do léxico conferidas com o modelo
+    @Value("${cascade.verify-rate:0.01}")
+    private double verifyRate;
+
+    // Conferências em andamento; acima disso a amostra é descartada
+    @Value("${cascade.max-verifications-in-flight:4}")
+    private int maxVerificationsInFlight;
+
+    private final ExecutorService verifier = Executors.newVirtualThreadPerTaskExecutor();
+    private Semaphore verificationPermits;
+    private LexiconScorer scorer;
+
+    // Versão gravada com as decisões do léxico (null = cascata desligada)
+    @Getter
+    private String version;
+
+    private final LongAdder texts = new LongAdder();
+    private final LongAdder lexiconHits = new LongAdder();
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder agreed = new LongAdder();
+
+    @PostConstruct
+    public void init() throws IOException {
+        verificationPermits = new Semaphore(Math.max(maxVerificationsInFlight, 1));
+        if (!enabled) {
+            return;
+        }
+        byte[] lexicon = readLexicon();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ByteArrayInputStream(lexicon), StandardCharsets.UTF_8))) {
+            var entries = LexiconScorer.parse(reader);
+            scorer = new LexiconScorer(entries, maxTokens, minConfidence);
+            version = versionOf(lexicon, maxTokens, minConfidence);
+            log.info("Lexicon cascade enabled with {} entries (max {} tokens, min confidence {}), version {}",
+                    entries.size(), maxTokens, minConfidence, version);
+        }
+    }
+
+    /**
+     * Versão das decisões: os 12 primeiros caracteres do SHA-256 do léxico e dos parâmetros que
+     * mudam o que ele decide.
+     */
+    static String versionOf(byte[] lexicon, int maxTokens, double minConfidence) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(lexicon);
+            digest.update(("\n" + maxTokens + "\n" + minConfidence).getBytes(StandardCharsets.UTF_8));
+            return "lexicon:" + HexFormat.of().formatHex(digest.digest()).substring(0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        verifier.shutdownNow();
+    }
+
+    /**
+     * Decide o texto pelo léxico.
+     *
+     * @return Resultado com a versão do léxico, ou null se o texto deve ir para o modelo
+     */
+    public SentimentResultDTO classify(String text) {
+        if (scorer == null) {
+            return null;
+        }
+        texts.increment();
+        double score = score(text);
+        if (Double.isNaN(score)) {
+            return null;
+        }
+        lexiconHits.increment();
+        return new SentimentResultDTO(score > 0 ? "POSITIVO" : "NEGATIVO", Math.abs(score), version);
+    }
+
+    private double score(String text) {
+        return scorer.score(SentimentService.normalizeText(text));
+    }
+
+    /**
+     * Sorteia decisões do léxico para conferir com o modelo, sem bloquear a requisição.
+     *
+     * @param model Execução do modelo usada na conferência
+     */
+    public void maybeVerify(List<String> texts, List<SentimentResultDTO> decisions,
+                            Function<List<String>, List<SentimentResultDTO>> model) {
+        for (int i = 0; i < texts.size(); i++) {
+            if (ThreadLocalRandom.current().nextDouble() >= verifyRate || !verificationPermits.tryAcquire()) {
+                continue;
+            }
+            String text = texts.get(i);
+            String expected = decisions.get(i).previsao();
+            verifier.execute(() -> {
+                try {
+                    String actual = model.apply(List.of(text)).get(0).previsao();
+                    verified.increment();
+                    if (expected.equals(actual)) {
+                        agreed.increment();
+                    } else {
+                        log.debug("Lexicon/model disagreement on '{}': {} vs {}", text, expected, actual);
+                    }
+                } catch (Exception e) {
+                    log.debug("Lexicon verification skipped: {}", e.getMessage());
+                } finally {
+                    verificationPermits.release();
+                }
+            });
+        }
+    }
+
+    /**
+     * Taxa de acerto de cada etapa e concordância com o modelo desde o início da aplicação.
+     */
+    public CascadeStatsDTO getStats() {
+        long total = texts.sum();
+        long hits = lexiconHits.sum();
+        long checked = verified.sum();
+        long matches = agreed.sum();
+        return new CascadeStatsDTO(
+                enabled,
+                total,
+                hits,
+                total - hits,
+                total > 0 ? (double) hits / total : 0.0,
+                checked,
+                matches,
+                checked > 0 ? (double) matches / checked : null
+        );
+    }
+
+    private byte[] readLexicon() throws IOException {
+        if (lexiconPath != null && !lexiconPath.isBlank()) {
+            return Files.readAllBytes(Path.of(lexiconPath));
+        }
+        try (InputStream in = new ClassPathResource(DEFAULT_LEXICON).getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+}
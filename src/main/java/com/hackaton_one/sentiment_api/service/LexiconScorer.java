@@ -0,0 +1,235 @@
+package com.hackaton_one.sentiment_api.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Classificador por léxico e regras sobre o texto normalizado ({@link SentimentService#normalizeText}).
+ * <p>
+ * Cada palavra é buscada em uma tabela hash de endereçamento aberto comparando os caracteres
+ * direto no texto, sem criar substrings: a pontuação não aloca memória. Regras:
+ * <ul>
+ *   <li>palavras de polaridade somam seu peso (positivo ou negativo);</li>
+ *   <li>intensificadores ("muito") multiplicam o peso da próxima palavra de polaridade;</li>
+ *   <li>negações ("nao") invertem a próxima palavra de polaridade nas duas palavras seguintes;</li>
+ *   <li>contrastes ("mas") ou polaridades opostas no mesmo texto deixam a decisão para o modelo;</li>
+ *   <li>palavras desconhecidas reduzem a confiança; textos longos vão direto para o modelo.</li>
+ * </ul>
+ */
+public final class LexiconScorer {
+
+    /**
+     * Tipo de uma entrada do léxico.
+     */
+    public enum Kind { POLARITY, NEGATION, INTENSIFIER, NEUTRAL, CONTRAST }
+
+    /**
+     * Entrada do léxico: tipo e peso (polaridade ou fator do intensificador).
+     */
+    public record Entry(Kind kind, float weight) {
+    }
+
+    private static final int NEGATION_SCOPE = 2;
+    private static final float NEGATED_FACTOR = 0.8f;
+    private static final double BASE_PENALTY = 0.25;
+    private static final double UNKNOWN_PENALTY = 0.5;
+
+    private final char[][] keys;
+    private final Kind[] kinds;
+    private final float[] weights;
+    private final int mask;
+    private final int maxTokens;
+    private final double threshold;
+
+    /**
+     * @param entries   Palavras (já normalizadas) e suas entradas
+     * @param maxTokens Textos com mais palavras vão direto para o modelo
+     * @param threshold Confiança mínima para decidir sem o modelo
+     */
+    public LexiconScorer(Map<String, Entry> entries, int maxTokens, double threshold) {
+        int capacity = Integer.highestOneBit(Math.max(entries.size() * 2, 16) - 1) << 1;
+        this.keys = new char[capacity][];
+        this.kinds = new Kind[capacity];
+        this.weights = new float[capacity];
+        this.mask = capacity - 1;
+        this.maxTokens = maxTokens;
+        this.threshold = threshold;
+
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            char[] key = entry.getKey().toCharArray();
+            int slot = hash(key, 0, key.length) & mask;
+            while (keys[slot] != null && !equals(keys[slot], key, 0, key.length)) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            kinds[slot] = entry.getValue().kind();
+            weights[slot] = entry.getValue().weight();
+        }
+    }
+
+    /**
+     * Pontua o texto normalizado.
+     *
+     * @return Confiança com sinal (positivo = POSITIVO, negativo = NEGATIVO), ou NaN se o
+     *         texto deve ir para o modelo
+     */
+    public double score(CharSequence text) {
+        double score = 0;
+        float intensity = 1f;
+        int negationLeft = 0;
+        int tokens = 0;
+        int unknown = 0;
+        boolean positive = false;
+        boolean negative = false;
+
+        int length = text.length();
+        int start = 0;
+        while (start < length) {
+            while (start < length && text.charAt(start) == ' ') {
+                start++;
+            }
+            int end = start;
+            while (end < length && text.charAt(end) != ' ') {
+                end++;
+            }
+            if (end == start) {
+                break;
+            }
+            if (++tokens > maxTokens) {
+                return Double.NaN;
+            }
+
+            int slot = find(text, start, end);
+            Kind kind = slot < 0 ? null : kinds[slot];
+            if (kind == Kind.CONTRAST) {
+                return Double.NaN;
+            }
+            if (kind == Kind.NEGATION) {
+                negationLeft = NEGATION_SCOPE;
+            } else if (kind == Kind.INTENSIFIER) {
+                intensity = weights[slot];
+            } else if (kind == Kind.POLARITY) {
+                float weight = weights[slot] * intensity;
+                if (negationLeft > 0) {
+                    weight = -weight * NEGATED_FACTOR;
+                }
+                score += weight;
+                positive |= weight > 0;
+                negative |= weight < 0;
+                intensity = 1f;
+                negationLeft = 0;
+            } else {
+                if (kind == null && end - start > 1) {
+                    unknown++;
+                }
+                if (negationLeft > 0) {
+                    negationLeft--;
+                }
+            }
+            start = end;
+        }
+
+        if (score == 0 || (positive && negative)) {
+            return Double.NaN;
+        }
+        double magnitude = Math.abs(score);
+        double confidence = magnitude / (magnitude + BASE_PENALTY + UNKNOWN_PENALTY * unknown);
+        return confidence >= threshold ? Math.copySign(confidence, score) : Double.NaN;
+    }
+
+    private int find(CharSequence text, int start, int end) {
+        int slot = hash(text, start, end) & mask;
+        while (keys[slot] != null) {
+            if (equals(keys[slot], text, start, end)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int hash(CharSequence text, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + text.charAt(i);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static int hash(char[] key, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + key[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean equals(char[] key, CharSequence text, int start, int end) {
+        if (key.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != text.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equals(char[] key, char[] other, int start, int end) {
+        if (key.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != other[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lê um léxico no formato {@code palavra<TAB>valor}, em que valor é um peso de polaridade
+     * (ex.: 1, -1.5), NEG, NEUTRAL, CONTRAST ou INT:fator. Linhas vazias e iniciadas por # são
+     * ignoradas; as palavras são normalizadas como os textos analisados.
+     *
+     * @throws IllegalArgumentException se uma linha for inválida
+     */
+    public static Map<String, Entry> parse(BufferedReader reader) throws IOException {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        String line;
+        int number = 0;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] parts = trimmed.split("\t");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid lexicon line " + number + ": " + line);
+            }
+            String word = SentimentService.normalizeText(parts[0]);
+            String value = parts[1].trim().toUpperCase();
+            Entry entry;
+            try {
+                entry = switch (value) {
+                    case "NEG" -> new Entry(Kind.NEGATION, 0f);
+                    case "NEUTRAL" -> new Entry(Kind.NEUTRAL, 0f);
+                    case "CONTRAST" -> new Entry(Kind.CONTRAST, 0f);
+                    default -> value.startsWith("INT:")
+                            ? new Entry(Kind.INTENSIFIER, Float.parseFloat(value.substring(4)))
+                            : new Entry(Kind.POLARITY, Float.parseFloat(value));
+                };
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid lexicon value at line " + number + ": " + parts[1]);
+            }
+            if (!word.isEmpty() && word.indexOf(' ') < 0) {
+                entries.put(word, entry);
+            }
+        }
+        return entries;
+    }
+}
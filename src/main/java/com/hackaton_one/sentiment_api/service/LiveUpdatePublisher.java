@@ -0,0 +1,228 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackaton_one.sentiment_api.api.dto.HistoryItemDTO;
+import com.hackaton_one.sentiment_api.api.dto.LiveStatsDTO;
+import com.hackaton_one.sentiment_api.events.SentimentSavedEvent;
+import com.hackaton_one.sentiment_api.exceptions.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publicador único das atualizações ao vivo (GET /sentiment/stream).
+ * <p>
+ * Cada análise gravada é serializada uma vez e colocada na fila limitada de cada
+ * assinante; uma virtual thread por assinante esvazia a fila no SseEmitter.
+ * Se a fila de um assinante enche (cliente lento), ele é desconectado para não
+ * atrasar os demais nem acumular memória. Periodicamente é enviado um evento
+ * "stats" com as contagens do intervalo, que também serve de heartbeat.
+ */
+@Slf4j
+@Service
+public class LiveUpdatePublisher {
+
+    /**
+     * Evento já serializado, compartilhado por todos os assinantes.
+     */
+    record Message(String name, String id, String json) {}
+
+    /**
+     * Destino das mensagens de um assinante.
+     */
+    interface EventSink {
+        void send(Message message) throws IOException;
+
+        void close();
+    }
+
+    @Value("${stream.client-buffer-size:256}")
+    private int clientBufferSize;
+
+    @Value("${stream.max-clients:5000}")
+    private int maxClients;
+
+    @Value("${stream.emitter-timeout:30m}")
+    private Duration emitterTimeout;
+
+    private final ObjectMapper objectMapper;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong positiveSinceTick = new AtomicLong();
+    private final AtomicLong negativeSinceTick = new AtomicLong();
+    private final AtomicLong droppedClients = new AtomicLong();
+    private volatile LocalDateTime lastTick = LocalDateTime.now();
+
+    public LiveUpdatePublisher(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Registra um novo assinante do stream.
+     *
+     * @throws ServiceUnavailableException se o limite de assinantes foi atingido
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Subscriber subscriber = subscribe(new EmitterSink(emitter));
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    Subscriber subscribe(EventSink sink) {
+        if (subscribers.size() >= maxClients) {
+            throw new ServiceUnavailableException("Limite de conexões do stream atingido, tente novamente mais tarde");
+        }
+        Subscriber subscriber = new Subscriber(sink, new ArrayBlockingQueue<>(clientBufferSize));
+        subscribers.add(subscriber);
+        subscriber.start();
+        log.debug("Stream subscriber connected ({} active)", subscribers.size());
+        return subscriber;
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.stop();
+            log.debug("Stream subscriber disconnected ({} active)", subscribers.size());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSentimentSaved(SentimentSavedEvent event) {
+        if ("POSITIVO".equals(event.sentimentResult())) {
+            positiveSinceTick.incrementAndGet();
+        } else if ("NEGATIVO".equals(event.sentimentResult())) {
+            negativeSinceTick.incrementAndGet();
+        }
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        HistoryItemDTO item = new HistoryItemDTO(event.id(), event.textContent(), event.sentimentResult(),
+                event.confidenceScore(), event.analyzedAt());
+        publish("analysis", String.valueOf(event.id()), item);
+    }
+
+    /**
+     * Envia as contagens do último intervalo a todos os assinantes.
+     */
+    @Scheduled(fixedDelayString = "${stream.stats-interval:5000}")
+    public void publishStats() {
+        LocalDateTime now = LocalDateTime.now();
+        long positive = positiveSinceTick.getAndSet(0);
+        long negative = negativeSinceTick.getAndSet(0);
+        LiveStatsDTO stats = new LiveStatsDTO(lastTick, now, positive, negative, positive + negative);
+        lastTick = now;
+        if (!subscribers.isEmpty()) {
+            publish("stats", null, stats);
+        }
+    }
+
+    private void publish(String name, String id, Object payload) {
+        Message message;
+        try {
+            message = new Message(name, id, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize stream event: {}", e.getMessage());
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.queue.offer(message)) {
+                droppedClients.incrementAndGet();
+                log.info("Dropping slow stream subscriber (buffer of {} events full)", clientBufferSize);
+                unsubscribe(subscriber);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getDroppedClients() {
+        return droppedClients.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(this::unsubscribe);
+    }
+
+    /**
+     * Assinante: fila limitada esvaziada por uma virtual thread.
+     */
+    final class Subscriber {
+        private final EventSink sink;
+        private final BlockingQueue<Message> queue;
+        private Thread drainer;
+
+        Subscriber(EventSink sink, BlockingQueue<Message> queue) {
+            this.sink = sink;
+            this.queue = queue;
+        }
+
+        void start() {
+            drainer = Thread.ofVirtual().name("sse-subscriber").start(this::drain);
+        }
+
+        void stop() {
+            drainer.interrupt();
+            // Fora da thread atual: completar o emitter pode esperar uma escrita lenta em andamento
+            Thread.ofVirtual().start(sink::close);
+        }
+
+        private void drain() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    sink.send(queue.take());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                // Cliente desconectou
+                log.debug("Stream subscriber write failed: {}", e.getMessage());
+                unsubscribe(this);
+            }
+        }
+    }
+
+    /**
+     * Envia as mensagens por um SseEmitter.
+     */
+    private record EmitterSink(SseEmitter emitter) implements EventSink {
+
+        @Override
+        public void send(Message message) throws IOException {
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(message.name()).data(message.json());
+            if (message.id() != null) {
+                event.id(message.id());
+            }
+            emitter.send(event);
+        }
+
+        @Override
+        public void close() {
+            try {
+                emitter.complete();
+            } catch (Exception e) {
+                // Já encerrado
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.SentimentResultDTO;
+
+import java.util.List;
+
+/**
+ * Compara um modelo candidato (ex.: quantizado INT8) com o modelo principal em uma amostra:
+ * concordância dos rótulos e latência média de um texto isolado em cada um.
+ */
+public final class ModelAgreementCheck {
+
+    /**
+     * Execução de um modelo sobre uma lista de textos.
+     */
+    @FunctionalInterface
+    public interface Runner {
+        List<SentimentResultDTO> run(List<String> texts) throws Exception;
+    }
+
+    /**
+     * Resultado da comparação.
+     *
+     * @param samples           Textos comparados
+     * @param agreement         Fração com o mesmo rótulo nos dois modelos
+     * @param primaryMeanMs     Latência média do modelo principal (um texto)
+     * @param candidateMeanMs   Latência média do candidato (um texto)
+     */
+    public record Result(int samples, double agreement, double primaryMeanMs, double candidateMeanMs) {
+
+        /**
+         * Quantas vezes o candidato é mais rápido (maior que 1 = ganho).
+         */
+        public double speedup() {
+            return candidateMeanMs > 0 ? primaryMeanMs / candidateMeanMs : 0;
+        }
+    }
+
+    private static final int BATCH_SIZE = 64;
+    private static final int WARMUP_RUNS = 3;
+
+    private ModelAgreementCheck() {
+    }
+
+    /**
+     * Roda os dois modelos na amostra.
+     *
+     * @param latencySamples Textos usados na medição de latência (os primeiros da amostra)
+     */
+    public static Result compare(Runner primary, Runner candidate, List<String> sample, int latencySamples)
+            throws Exception {
+        if (sample.isEmpty()) {
+            throw new IllegalArgumentException("Agreement sample is empty");
+        }
+
+        int agreed = 0;
+        for (int from = 0; from < sample.size(); from += BATCH_SIZE) {
+            List<String> batch = sample.subList(from, Math.min(from + BATCH_SIZE, sample.size()));
+            List<SentimentResultDTO> expected = primary.run(batch);
+            List<SentimentResultDTO> actual = candidate.run(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                if (expected.get(i).previsao().equals(actual.get(i).previsao())) {
+                    agreed++;
+                }
+            }
+        }
+
+        List<String> single = List.of(sample.get(0));
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            primary.run(single);
+            candidate.run(single);
+        }
+        int runs = Math.max(Math.min(latencySamples, sample.size()), 1);
+        long primaryNanos = 0;
+        long candidateNanos = 0;
+        for (int i = 0; i < runs; i++) {
+            List<String> text = List.of(sample.get(i));
+            // Alterna a ordem para que nenhum dos dois se beneficie sempre do cache aquecido pelo outro
+            if (i % 2 == 0) {
+                primaryNanos += time(primary, text);
+                candidateNanos += time(candidate, text);
+            } else {
+                candidateNanos += time(candidate, text);
+                primaryNanos += time(primary, text);
+            }
+        }
+
+        return new Result(sample.size(), (double) agreed / sample.size(),
+                primaryNanos / 1_000_000.0 / runs, candidateNanos / 1_000_000.0 / runs);
+    }
+
+    private static long time(Runner runner, List<String> texts) throws Exception {
+        long start = System.nanoTime();
+        runner.run(texts);
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,51 @@
+package com.hackaton_one.sentiment_api.service;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+
+import java.util.List;
+
+/**
+ * Conversão dos textos na entrada do modelo ONNX.
+ * <p>
+ * O modelo de texto recebe as strings normalizadas ({@link #text}); o modelo numérico recebe
+ * features calculadas em Java ({@link FeatureModelInput}).
+ */
+public interface ModelInput {
+
+    /**
+     * Tensor de entrada para os textos. Deve ser fechado antes da próxima chamada na mesma thread.
+     */
+    OnnxTensor createTensor(List<String> texts) throws OrtException;
+
+    /**
+     * Máximo de textos por execução do modelo.
+     */
+    default int maxRows() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Parâmetros da conversão que mudam o resultado do modelo (entram na versão do cache).
+     */
+    default String settings() {
+        return "text";
+    }
+
+    /**
+     * Entrada do modelo de texto: tensor de strings [n, 1].
+     */
+    static ModelInput text(OrtEnvironment env) {
+        return texts -> SentimentService.createTextTensor(env, texts);
+    }
+
+    /**
+     * Cria a entrada adequada a uma sessão, conforme o tipo de entrada do modelo.
+     */
+    @FunctionalInterface
+    interface Factory {
+        ModelInput create(OrtSession session) throws OrtException;
+    }
+}
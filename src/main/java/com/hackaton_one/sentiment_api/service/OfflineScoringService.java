@@ -0,0 +1,132 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.SentimentResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring offline de arquivos CSV grandes (modo CLI, sem servidor HTTP).
+ * <p>
+ * A thread chamadora lê o CSV e monta lotes; os lotes são analisados (e opcionalmente gravados)
+ * em paralelo por um pool com uma thread por núcleo, e os resultados são escritos na ordem
+ * do arquivo. No máximo 2 lotes por thread ficam em andamento, então a memória usada não
+ * depende do tamanho do arquivo.
+ */
+@Slf4j
+@Service
+public class OfflineScoringService {
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final long PROGRESS_EVERY = 100_000;
+
+    private final BatchService batchService;
+
+    public OfflineScoringService(BatchService batchService) {
+        this.batchService = batchService;
+    }
+
+    /**
+     * Analisa todos os textos de {@code input} e escreve {@code text,sentiment,score} em {@code output}.
+     *
+     * @param input      CSV de entrada com header
+     * @param output     CSV de saída (sobrescrito)
+     * @param textColumn Nome da coluna com textos (opcional, usa a primeira coluna se null)
+     * @param persist    Grava as análises no banco
+     * @param threads    Threads de inferência (0 = uma por núcleo)
+     * @return Resumo da execução
+     */
+    public ScoringReport score(Path input, Path output, String textColumn, boolean persist, int threads)
+            throws IOException {
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int chunkSize = batchService.getInferenceBatchSize();
+        ExecutorService pool = Executors.newFixedThreadPool(workers,
+                Thread.ofPlatform().name("scoring-", 0).daemon().factory());
+        Deque<Future<List<SentimentResponseDTO>>> inFlight = new ArrayDeque<>();
+        long start = System.nanoTime();
+        long[] written = {0};
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             BufferedReader reader = new BufferedReader(
+                     Channels.newReader(in, StandardCharsets.UTF_8.newDecoder(), -1), BUFFER_SIZE);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             Writer writer = new BufferedWriter(Channels.newWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+
+            writer.write("text,sentiment,score\n");
+            CsvTextReader rows = new CsvTextReader(reader, textColumn);
+            List<String> chunk = new ArrayList<>(chunkSize);
+            String text;
+            while ((text = rows.next()) != null) {
+                chunk.add(text);
+                if (chunk.size() == chunkSize) {
+                    submit(pool, inFlight, chunk, persist);
+                    chunk = new ArrayList<>(chunkSize);
+                    if (inFlight.size() >= workers * 2) {
+                        writeNext(inFlight, writer, written, start);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(pool, inFlight, chunk, persist);
+            }
+            while (!inFlight.isEmpty()) {
+                writeNext(inFlight, writer, written, start);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        ScoringReport report = new ScoringReport(written[0],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), workers, persist);
+        log.info("Offline scoring finished: {} rows in {} ms ({} rows/s, {} threads)",
+                report.rows(), report.elapsedMs(), Math.round(report.rowsPerSecond()), workers);
+        return report;
+    }
+
+    private void submit(ExecutorService pool, Deque<Future<List<SentimentResponseDTO>>> inFlight,
+                        List<String> chunk, boolean persist) {
+        inFlight.addLast(pool.submit(() -> batchService.analyzeChunk(chunk, persist)));
+    }
+
+    private void writeNext(Deque<Future<List<SentimentResponseDTO>>> inFlight, Writer writer,
+                           long[] written, long start) throws IOException {
+        List<SentimentResponseDTO> analyses;
+        try {
+            analyses = inFlight.removeFirst().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Scoring interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime
+                    ? runtime
+                    : new IllegalStateException("Scoring failed: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        BatchService.writeResults(writer, analyses);
+        long before = written[0];
+        written[0] += analyses.size();
+        if (written[0] / PROGRESS_EVERY != before / PROGRESS_EVERY) {
+            long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            log.info("Offline scoring progress: {} rows ({} rows/s)", written[0], written[0] * 1000 / elapsedMs);
+        }
+    }
+}
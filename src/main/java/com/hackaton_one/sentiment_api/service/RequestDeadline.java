@@ -0,0 +1,80 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.exceptions.DeadlineExceededException;
+
+import java.time.Duration;
+
+/**
+ * Prazo de uma requisição, propagado da entrada (header HTTP ou deadline gRPC) até a inferência.
+ * <p>
+ * O prazo fica associado à thread que atende a requisição ({@link #attach}). O
+ * {@link InferenceScheduler} descarta execuções cujo prazo já passou e o {@link SentimentService}
+ * interrompe a execução do modelo em andamento quando o prazo termina.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private RequestDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Prazo que termina após o tempo informado, a partir de agora.
+     */
+    public static RequestDeadline after(Duration timeout) {
+        return new RequestDeadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Prazo associado à thread atual, ou null se a requisição não tem prazo.
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Associa o prazo à thread atual até o fechamento do escopo retornado.
+     *
+     * @param deadline Prazo (null = sem prazo)
+     */
+    public static Scope attach(RequestDeadline deadline) {
+        RequestDeadline previous = CURRENT.get();
+        CURRENT.set(deadline);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Lança {@link DeadlineExceededException} se o prazo da thread atual já terminou.
+     */
+    public static void checkCurrent() {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline != null && deadline.isExpired()) {
+            throw new DeadlineExceededException("Request deadline exceeded");
+        }
+    }
+
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Escopo de {@link #attach}; restaura o prazo anterior ao ser fechado.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,398 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.RescoringStatusDTO;
+import com.hackaton_one.sentiment_api.api.dto.SentimentResultDTO;
+import com.hackaton_one.sentiment_api.config.DatabasePlatform;
+import com.hackaton_one.sentiment_api.exceptions.ModelInitializationException;
+import com.hackaton_one.sentiment_api.model.RescoringCheckpoint;
+import com.hackaton_one.sentiment_api.model.RescoringCheckpoint.Status;
+import com.hackaton_one.sentiment_api.repository.RescoringCandidate;
+import com.hackaton_one.sentiment_api.repository.RescoringCheckpointRepository;
+import com.hackaton_one.sentiment_api.repository.SentimentRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Job em background que reprocessa as análises antigas com o modelo atual.
+ * <p>
+ * Percorre tb_sentiments em lotes por keyset (ID), executa a inferência em paralelo
+ * e grava os novos resultados com updates em lote. O progresso fica em
+ * tb_rescoring_checkpoints, permitindo retomar após um restart, e a vazão é
+ * limitada para não disputar CPU com as requisições ao vivo.
+ * <p>
+ * Com vários nós, o job roda em um só: a linha do checkpoint é travada para reivindicar a posse
+ * ({@code owner}), renovada a cada lote. Cada lote confere a posse na mesma transação em que grava
+ * os resultados, então um nó que a perdeu não duplica updates nem os deltas dos agregados. Uma
+ * posse sem renovação por {@code rescoring.lease-timeout-ms} é assumida por outro nó.
+ */
+@Slf4j
+@Service
+public class RescoringService {
+
+    private static final String UPDATE_SQL =
+            "UPDATE tb_sentiments SET sentiment_result = ?, confidence_score = ?, model_version = ? " +
+            "WHERE id = ? AND analyzed_at = ?";
+
+    private static final String ENSURE_CHECKPOINT_POSTGRES =
+            "INSERT INTO tb_rescoring_checkpoints (target_version, status, last_id, processed, changed, started_at, updated_at) " +
+            "VALUES (?, 'STOPPED', 0, 0, 0, LOCALTIMESTAMP, LOCALTIMESTAMP) ON CONFLICT (target_version) DO NOTHING";
+
+    private static final String ENSURE_CHECKPOINT_H2 =
+            "MERGE INTO tb_rescoring_checkpoints c USING (VALUES (CAST(? AS VARCHAR(64)))) AS s(target_version) " +
+            "ON c.target_version = s.target_version WHEN NOT MATCHED THEN " +
+            "INSERT (target_version, status, last_id, processed, changed, started_at, updated_at) " +
+            "VALUES (s.target_version, 'STOPPED', 0, 0, 0, LOCALTIMESTAMP, LOCALTIMESTAMP)";
+
+    @Value("${rescoring.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${rescoring.parallelism:2}")
+    private int parallelism;
+
+    @Value("${rescoring.max-rows-per-second:200}")
+    private int maxRowsPerSecond;
+
+    @Value("${rescoring.resume-on-startup:true}")
+    private boolean resumeOnStartup;
+
+    // Sem renovação por esse tempo, a posse do job pode ser assumida por outro nó
+    @Value("${rescoring.lease-timeout-ms:120000}")
+    private long leaseTimeoutMs;
+
+    private final SentimentService sentimentService;
+    private final SentimentRepository sentimentRepository;
+    private final RescoringCheckpointRepository checkpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SentimentCounterService counterService;
+    private final ConfidenceHistogramService histogramService;
+    private final DatabasePlatform databasePlatform;
+
+    // Identifica este nó como dono do job
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("rescoring-job").daemon().factory());
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile boolean stopRequested = false;
+
+    public RescoringService(SentimentService sentimentService,
+                            SentimentRepository sentimentRepository,
+                            RescoringCheckpointRepository checkpointRepository,
+                            JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            SentimentCounterService counterService,
+                            ConfidenceHistogramService histogramService,
+                            DatabasePlatform databasePlatform) {
+        this.sentimentService = sentimentService;
+        this.sentimentRepository = sentimentRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.counterService = counterService;
+        this.histogramService = histogramService;
+        this.databasePlatform = databasePlatform;
+    }
+
+    /**
+     * Retoma automaticamente um job interrompido (ex.: restart durante a execução).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJob() {
+        String version = sentimentService.getModelVersion();
+        if (!resumeOnStartup || version == null || running.get()) {
+            return;
+        }
+        checkpointRepository.findById(version)
+                .filter(checkpoint -> checkpoint.getStatus() == Status.RUNNING)
+                .ifPresent(checkpoint -> {
+                    log.info("Resuming rescoring job for model {} from id {}", version, checkpoint.getLastId());
+                    start();
+                });
+    }
+
+    /**
+     * Assume periodicamente um job cujo nó parou de renovar a posse (ex.: nó derrubado).
+     */
+    @Scheduled(fixedDelayString = "${rescoring.lease-check-interval-ms:60000}")
+    public void resumeAbandonedJob() {
+        resumeInterruptedJob();
+    }
+
+    /**
+     * Inicia (ou retoma do último checkpoint) o reprocessamento para a versão atual do modelo.
+     */
+    public RescoringStatusDTO start() {
+        String version = sentimentService.getModelVersion();
+        if (!sentimentService.isModelAvailable() || version == null) {
+            throw new ModelInitializationException("Modelo ONNX não está disponível para reprocessamento");
+        }
+        if (!running.compareAndSet(false, true)) {
+            return getStatus();
+        }
+
+        RescoringCheckpoint checkpoint;
+        try {
+            checkpoint = transactionTemplate.execute(status -> claim(version));
+            if (checkpoint == null) {
+                running.set(false);
+                log.debug("Rescoring job for model {} is running on another node", version);
+                return getStatus();
+            }
+
+            stopRequested = false;
+            jobExecutor.submit(() -> run(checkpoint));
+        } catch (RuntimeException e) {
+            // O job não chegou a rodar: libera para uma nova tentativa
+            running.set(false);
+            throw e;
+        }
+        return toStatus(checkpoint);
+    }
+
+    /**
+     * Pede a parada do job; o progresso fica salvo para retomada posterior.
+     */
+    public RescoringStatusDTO stop() {
+        stopRequested = true;
+        return getStatus();
+    }
+
+    public RescoringStatusDTO getStatus() {
+        String version = sentimentService.getModelVersion();
+        if (version == null) {
+            return new RescoringStatusDTO(null, "IDLE", false, 0, 0, 0, null, null);
+        }
+        return checkpointRepository.findById(version)
+                .map(this::toStatus)
+                .orElseGet(() -> new RescoringStatusDTO(version, "IDLE", running.get(), 0, 0, 0, null, null));
+    }
+
+    /**
+     * Reivindica o job travando a linha do checkpoint (criada se ainda não existir).
+     *
+     * @return Checkpoint de onde continuar, ou null se outro nó tem a posse em dia
+     */
+    private RescoringCheckpoint claim(String version) {
+        jdbcTemplate.update(databasePlatform.isPostgres() ? ENSURE_CHECKPOINT_POSTGRES : ENSURE_CHECKPOINT_H2, version);
+        RescoringCheckpoint checkpoint = checkpointRepository.findForUpdate(version).orElseThrow();
+        LocalDateTime now = databaseNow();
+        if (checkpoint.getStatus() == Status.RUNNING && checkpoint.getOwner() != null
+                && !checkpoint.getOwner().equals(nodeId) && checkpoint.getHeartbeatAt() != null
+                && checkpoint.getHeartbeatAt().plus(Duration.ofMillis(leaseTimeoutMs)).isAfter(now)) {
+            return null;
+        }
+        if (checkpoint.getStatus() == Status.COMPLETED) {
+            // Novo reprocessamento para a mesma versão: recomeça do início
+            checkpoint.setLastId(0);
+            checkpoint.setProcessed(0);
+            checkpoint.setChanged(0);
+            checkpoint.setStartedAt(now);
+        }
+        checkpoint.setStatus(Status.RUNNING);
+        checkpoint.setOwner(nodeId);
+        checkpoint.setHeartbeatAt(now);
+        checkpoint.setUpdatedAt(now);
+        return checkpointRepository.save(checkpoint);
+    }
+
+    /**
+     * Confere, com a linha travada, que este nó ainda tem a posse do job.
+     *
+     * @throws IllegalStateException se outro nó assumiu o job
+     */
+    private void checkOwnership(String version) {
+        String owner = checkpointRepository.findForUpdate(version)
+                .map(RescoringCheckpoint::getOwner)
+                .orElse(null);
+        if (!nodeId.equals(owner)) {
+            throw new IllegalStateException("Rescoring job for model " + version + " was claimed by another node");
+        }
+    }
+
+    private LocalDateTime databaseNow() {
+        return jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", Timestamp.class).toLocalDateTime();
+    }
+
+    void run(RescoringCheckpoint checkpoint) {
+        String version = checkpoint.getTargetVersion();
+        ExecutorService inferencePool = Executors.newFixedThreadPool(Math.max(1, parallelism),
+                Thread.ofPlatform().name("rescoring-inference-", 0).daemon().factory());
+        log.info("Rescoring job started for model {} from id {}", version, checkpoint.getLastId());
+
+        try {
+            while (!stopRequested) {
+                long chunkStart = System.nanoTime();
+                List<RescoringCandidate> chunk = sentimentRepository.findRescoringCandidates(
+                        checkpoint.getLastId(), version, Limit.of(chunkSize));
+                if (chunk.isEmpty()) {
+                    checkpoint.setStatus(Status.COMPLETED);
+                    break;
+                }
+
+                List<SentimentResultDTO> results = score(chunk, inferencePool);
+                applyChunk(checkpoint, chunk, results);
+                throttle(chunk.size(), chunkStart);
+            }
+            if (checkpoint.getStatus() != Status.COMPLETED) {
+                checkpoint.setStatus(Status.STOPPED);
+            }
+            log.info("Rescoring job {} for model {}: {} processed, {} changed",
+                    checkpoint.getStatus(), version, checkpoint.getProcessed(), checkpoint.getChanged());
+        } catch (Exception e) {
+            checkpoint.setStatus(Status.FAILED);
+            log.error("Rescoring job failed at id {}: {}", checkpoint.getLastId(), e.getMessage(), e);
+        } finally {
+            inferencePool.shutdownNow();
+            try {
+                release(checkpoint);
+            } finally {
+                running.set(false);
+            }
+        }
+    }
+
+    /**
+     * Grava o estado final e libera a posse, se este nó ainda a tiver.
+     */
+    private void release(RescoringCheckpoint checkpoint) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                checkOwnership(checkpoint.getTargetVersion());
+                checkpoint.setOwner(null);
+                checkpoint.setHeartbeatAt(null);
+                checkpoint.setUpdatedAt(databaseNow());
+                checkpointRepository.save(checkpoint);
+            });
+        } catch (IllegalStateException e) {
+            log.warn("Rescoring checkpoint not saved: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Executa a inferência do lote em paralelo, preservando a ordem.
+     * Textos que falham ficam com resultado null e mantêm o rótulo anterior.
+     */
+    private List<SentimentResultDTO> score(List<RescoringCandidate> chunk, ExecutorService pool) {
+        List<CompletableFuture<SentimentResultDTO>> futures = new ArrayList<>(chunk.size());
+        for (RescoringCandidate candidate : chunk) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return sentimentService.analyze(candidate.textContent(), InferencePriority.BACKGROUND);
+                } catch (Exception e) {
+                    log.warn("Rescoring skipped id {}: {}", candidate.id(), e.getMessage());
+                    return null;
+                }
+            }, pool));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * Grava os novos resultados e o checkpoint na mesma transação, se este nó ainda tiver a posse.
+     */
+    private void applyChunk(RescoringCheckpoint checkpoint, List<RescoringCandidate> chunk,
+                            List<SentimentResultDTO> results) {
+        String version = checkpoint.getTargetVersion();
+        List<Object[]> updates = new ArrayList<>(chunk.size());
+        List<RescoringCandidate> rescored = new ArrayList<>(chunk.size());
+        List<String> newLabels = new ArrayList<>(chunk.size());
+        List<Double> newScores = new ArrayList<>(chunk.size());
+        long changed = 0;
+
+        for (int i = 0; i < chunk.size(); i++) {
+            RescoringCandidate candidate = chunk.get(i);
+            SentimentResultDTO result = results.get(i);
+            if (result == null) {
+                continue;
+            }
+            String sentiment = result.previsao().toUpperCase();
+            if (!sentiment.equals(candidate.sentimentResult())) {
+                changed++;
+            }
+            rescored.add(candidate);
+            newLabels.add(sentiment);
+            newScores.add(result.probabilidade());
+            updates.add(new Object[]{sentiment, result.probabilidade(), version, candidate.id(), candidate.analyzedAt()});
+        }
+
+        long changedInChunk = changed;
+        transactionTemplate.executeWithoutResult(status -> {
+            checkOwnership(version);
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+            }
+            LocalDateTime now = databaseNow();
+            checkpoint.setLastId(chunk.getLast().id());
+            checkpoint.setProcessed(checkpoint.getProcessed() + chunk.size());
+            checkpoint.setChanged(checkpoint.getChanged() + changedInChunk);
+            checkpoint.setHeartbeatAt(now);
+            checkpoint.setUpdatedAt(now);
+            checkpointRepository.save(checkpoint);
+        });
+
+        // Só após o commit: contadores e histogramas acompanham os novos resultados
+        for (int i = 0; i < rescored.size(); i++) {
+            RescoringCandidate candidate = rescored.get(i);
+            String sentiment = newLabels.get(i);
+            if (!sentiment.equals(candidate.sentimentResult())) {
+                counterService.recordRelabel(candidate.analyzedAt(), candidate.sentimentResult(), sentiment);
+            }
+            histogramService.recordRescore(candidate.sentimentResult(), candidate.confidenceScore(),
+                    sentiment, newScores.get(i));
+        }
+    }
+
+    /**
+     * Limita a vazão a rescoring.max-rows-per-second.
+     */
+    private void throttle(int rows, long chunkStartNanos) throws InterruptedException {
+        if (maxRowsPerSecond <= 0) {
+            return;
+        }
+        long minimumNanos = TimeUnit.SECONDS.toNanos(rows) / maxRowsPerSecond;
+        long remaining = minimumNanos - (System.nanoTime() - chunkStartNanos);
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    private RescoringStatusDTO toStatus(RescoringCheckpoint checkpoint) {
+        return new RescoringStatusDTO(
+                checkpoint.getTargetVersion(),
+                checkpoint.getStatus().name(),
+                running.get(),
+                checkpoint.getLastId(),
+                checkpoint.getProcessed(),
+                checkpoint.getChanged(),
+                checkpoint.getStartedAt(),
+                checkpoint.getUpdatedAt()
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopRequested = true;
+        jobExecutor.shutdown();
+    }
+}
@@ -0,0 +1,293 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.ResultCacheStatsDTO;
+import com.hackaton_one.sentiment_api.api.dto.SentimentResultDTO;
+import com.hackaton_one.sentiment_api.config.DatabasePlatform;
+import com.hackaton_one.sentiment_api.model.SentimentText;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache de resultados do modelo compartilhado entre os nós (tb_result_cache).
+ * <p>
+ * A chave é o hash do texto normalizado mais a versão do cache: a do modelo com o hash dos
+ * parâmetros de entrada e de divisão ({@code sentiment.features.*}, {@code sentiment.chunking.*}),
+ * que também mudam o resultado. Cada nó mantém na frente da tabela um near-cache LRU; as
+ * consultas de um lote vão ao banco em um único SELECT por bloco de hashes, e os resultados
+ * novos são gravados em lote periodicamente, fora do caminho da requisição. Ao trocar o
+ * modelo ou esses parâmetros o near-cache é descartado; as linhas de outras
+ * versões continuam na tabela (a versão faz parte da chave), pois nós ainda na versão anterior
+ * ou um rollback podem usá-las. Linhas mais antigas que {@code max-age-days} expiram.
+ */
+@Slf4j
+@Service
+public class ResultCache {
+
+    private static final String INSERT_POSTGRES =
+            "INSERT INTO tb_result_cache (text_hash, model_version, sentiment_result, confidence_score, created_at) " +
+            "VALUES (?, ?, ?, ?, ?) ON CONFLICT (text_hash, model_version) DO NOTHING";
+
+    private static final String INSERT_H2 =
+            "MERGE INTO tb_result_cache (text_hash, model_version, sentiment_result, confidence_score, created_at) " +
+            "KEY (text_hash, model_version) VALUES (?, ?, ?, ?, ?)";
+
+    @Getter
+    @Value("${result-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${result-cache.near-cache-size:10000}")
+    private int nearCacheSize;
+
+    // Resultados aguardando gravação; acima disso os novos não são gravados
+    @Value("${result-cache.max-pending:10000}")
+    private int maxPending;
+
+    // Idade máxima das linhas da tabela, em qualquer versão do modelo
+    @Value("${result-cache.max-age-days:30}")
+    private int maxAgeDays;
+
+    // Hashes por SELECT na leitura em lote
+    @Value("${result-cache.read-chunk-size:500}")
+    private int readChunkSize;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabasePlatform databasePlatform;
+
+    private final Map<String, SentimentResultDTO> pending = new ConcurrentHashMap<>();
+    private Map<String, SentimentResultDTO> nearCache = new LinkedHashMap<>();
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder nearHits = new LongAdder();
+    private final LongAdder databaseHits = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    // Versão do modelo em uso (null = cache inativo)
+    private volatile String modelVersion;
+
+    public ResultCache(JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       DatabasePlatform databasePlatform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.databasePlatform = databasePlatform;
+    }
+
+    /**
+     * Passa a usar os resultados da versão do modelo informada, descartando o near-cache.
+     *
+     * @param version Versão do modelo carregado com o hash dos parâmetros (null desativa o cache)
+     */
+    public void activate(String version) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            nearCache = newNearCache();
+        }
+        pending.clear();
+        modelVersion = version;
+    }
+
+    /**
+     * Remove linhas gravadas há mais de {@code max-age-days}, de qualquer versão do modelo.
+     * Idempotente: pode rodar em todos os nós.
+     */
+    @Scheduled(cron = "${result-cache.purge-cron:0 45 3 * * *}")
+    public void purgeExpired() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(maxAgeDays);
+            int rows = jdbcTemplate.update("DELETE FROM tb_result_cache WHERE created_at < ?", Timestamp.valueOf(cutoff));
+            if (rows > 0) {
+                log.info("Result cache expired {} rows older than {} days", rows, maxAgeDays);
+            }
+        } catch (Exception e) {
+            log.warn("Could not expire result cache rows: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Hash do texto usado como chave do cache (textos que normalizam igual compartilham o resultado).
+     */
+    public static String keyOf(String text) {
+        return SentimentText.hashOf(SentimentService.normalizeText(text));
+    }
+
+    /**
+     * Resultados em cache para as chaves: primeiro o near-cache, depois a tabela em lote.
+     * Falhas do banco contam como ausência, sem falhar a análise.
+     *
+     * @return Resultados encontrados, por chave
+     */
+    public Map<String, SentimentResultDTO> getAll(Collection<String> keys) {
+        String version = modelVersion;
+        if (version == null || keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        lookups.add(keys.size());
+
+        Map<String, SentimentResultDTO> found = new HashMap<>();
+        List<String> remote = new ArrayList<>();
+        synchronized (this) {
+            for (String key : keys) {
+                SentimentResultDTO result = nearCache.get(key);
+                if (result != null) {
+                    found.put(key, result);
+                } else {
+                    remote.add(key);
+                }
+            }
+        }
+        nearHits.add(found.size());
+
+        for (int from = 0; from < remote.size(); from += readChunkSize) {
+            List<String> chunk = remote.subList(from, Math.min(from + readChunkSize, remote.size()));
+            try {
+                Map<String, SentimentResultDTO> rows = select(chunk, version);
+                databaseHits.add(rows.size());
+                found.putAll(rows);
+                putNear(rows);
+            } catch (Exception e) {
+                log.warn("Result cache lookup failed, falling back to the model: {}", e.getMessage());
+                break;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Guarda resultados do modelo no near-cache e os enfileira para a tabela.
+     */
+    public void putAll(Map<String, SentimentResultDTO> results) {
+        if (modelVersion == null || results.isEmpty()) {
+            return;
+        }
+        putNear(results);
+        for (Map.Entry<String, SentimentResultDTO> entry : results.entrySet()) {
+            if (pending.size() >= maxPending) {
+                log.debug("Result cache write queue full, dropping {} results", results.size());
+                break;
+            }
+            pending.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Grava os resultados pendentes na tabela. Em caso de erro, voltam para a fila.
+     */
+    @Scheduled(fixedDelayString = "${result-cache.flush-interval:1000}")
+    public void flush() {
+        String version = modelVersion;
+        if (version == null || pending.isEmpty()) {
+            return;
+        }
+        Map<String, SentimentResultDTO> batch = new HashMap<>();
+        for (String key : pending.keySet()) {
+            SentimentResultDTO result = pending.remove(key);
+            if (result != null) {
+                batch.put(key, result);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        batch.forEach((key, result) ->
+                rows.add(new Object[]{key, version, result.previsao(), result.probabilidade(), now}));
+        String sql = databasePlatform.isPostgres() ? INSERT_POSTGRES : INSERT_H2;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+            written.add(rows.size());
+            log.debug("Flushed {} cached results", rows.size());
+        } catch (Exception e) {
+            batch.forEach(pending::putIfAbsent);
+            log.warn("Could not flush result cache, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Métricas do cache desde o início da aplicação.
+     */
+    public ResultCacheStatsDTO getStats() {
+        long total = lookups.sum();
+        long near = nearHits.sum();
+        long database = databaseHits.sum();
+        int size;
+        synchronized (this) {
+            size = nearCache.size();
+        }
+        return new ResultCacheStatsDTO(
+                enabled,
+                modelVersion,
+                total,
+                near,
+                database,
+                total - near - database,
+                total > 0 ? (double) (near + database) / total : 0.0,
+                size,
+                pending.size(),
+                written.sum()
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private Map<String, SentimentResultDTO> select(List<String> keys, String version) {
+        String placeholders = String.join(", ", Collections.nCopies(keys.size(), "?"));
+        Object[] args = new Object[keys.size() + 1];
+        args[0] = version;
+        for (int i = 0; i < keys.size(); i++) {
+            args[i + 1] = keys.get(i);
+        }
+        Map<String, SentimentResultDTO> rows = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT text_hash, sentiment_result, confidence_score FROM tb_result_cache " +
+                "WHERE model_version = ? AND text_hash IN (" + placeholders + ")",
+                rs -> {
+                    rows.put(rs.getString(1), new SentimentResultDTO(rs.getString(2), rs.getDouble(3)));
+                },
+                args);
+        return rows;
+    }
+
+    private synchronized void putNear(Map<String, SentimentResultDTO> results) {
+        nearCache.putAll(results);
+    }
+
+    private Map<String, SentimentResultDTO> newNearCache() {
+        int capacity = Math.max(nearCacheSize, 1);
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SentimentResultDTO> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+}
@@ -0,0 +1,222 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.config.DatabasePlatform;
+import com.hackaton_one.sentiment_api.repository.SentimentRepository;
+import com.hackaton_one.sentiment_api.repository.SentimentTextRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serviço de retenção de análises.
+ * <p>
+ * No PostgreSQL, tb_sentiments é particionada por mês: este serviço cria as partições
+ * dos próximos meses (diariamente, mesmo com a purga desligada) e remove partições inteiras
+ * mais antigas que o período de retenção; linhas antigas na partição DEFAULT são removidas em
+ * lotes. Em outros bancos (H2), toda a purga é feita com DELETEs em lotes.
+ */
+@Slf4j
+@Service
+public class RetentionService {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("tb_sentiments_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Value("${retention.enabled:false}")
+    private boolean enabled;
+
+    @Value("${retention.months:12}")
+    private int retentionMonths;
+
+    @Value("${retention.partitions-ahead:3}")
+    private int partitionsAhead;
+
+    @Value("${retention.batch-size:5000}")
+    private int batchSize;
+
+    private final SentimentRepository sentimentRepository;
+    private final SentimentTextRepository sentimentTextRepository;
+    private final DatabasePlatform databasePlatform;
+    private final JdbcTemplate jdbcTemplate;
+    private final SentimentCounterService counterService;
+    private final ConfidenceHistogramService histogramService;
+    private final TextSearchIndex textSearchIndex;
+
+    public RetentionService(SentimentRepository sentimentRepository,
+                            SentimentTextRepository sentimentTextRepository,
+                            DatabasePlatform databasePlatform,
+                            JdbcTemplate jdbcTemplate,
+                            SentimentCounterService counterService,
+                            ConfidenceHistogramService histogramService,
+                            TextSearchIndex textSearchIndex) {
+        this.sentimentRepository = sentimentRepository;
+        this.sentimentTextRepository = sentimentTextRepository;
+        this.databasePlatform = databasePlatform;
+        this.jdbcTemplate = jdbcTemplate;
+        this.counterService = counterService;
+        this.histogramService = histogramService;
+        this.textSearchIndex = textSearchIndex;
+    }
+
+    /**
+     * Garante, no startup, que as partições do mês atual e dos próximos meses existam.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (databasePlatform.isPostgres()) {
+            ensurePartitions(YearMonth.now());
+        }
+    }
+
+    /**
+     * Cria as partições dos próximos meses (padrão: diariamente às 03:15). Roda mesmo com a
+     * purga desligada: sem a partição do mês, as linhas novas cairiam na partição DEFAULT.
+     */
+    @Scheduled(cron = "${retention.partitions-cron:0 15 3 * * *}")
+    public void scheduledPartitions() {
+        if (databasePlatform.isPostgres()) {
+            ensurePartitions(YearMonth.now());
+        }
+    }
+
+    /**
+     * Executa a purga agendada (padrão: diariamente às 03:30).
+     */
+    @Scheduled(cron = "${retention.cron:0 30 3 * * *}")
+    public void scheduledPurge() {
+        if (!enabled) {
+            return;
+        }
+        purge(LocalDate.now());
+    }
+
+    /**
+     * Remove as análises anteriores ao período de retenção, os textos que ficaram órfãos
+     * e os contadores da série temporal do mesmo período. Os histogramas de confiança
+     * são recalculados se algo foi removido, e o índice de busca em memória se algum texto foi.
+     *
+     * @param today Data de referência
+     * @return Quantidade de linhas/partições removidas
+     */
+    public long purge(LocalDate today) {
+        LocalDateTime cutoff = cutoff(today);
+        log.info("Retention purge started: removing analyses before {}", cutoff);
+
+        long removed;
+        if (databasePlatform.isPostgres()) {
+            ensurePartitions(YearMonth.from(today));
+            removed = dropExpiredPartitions(cutoff);
+            // Sem as partições expiradas, só a DEFAULT ainda pode ter linhas antes do corte
+            removed += deleteInBatches(cutoff);
+        } else {
+            removed = deleteInBatches(cutoff);
+        }
+
+        long orphans = deleteOrphanTexts();
+        if (orphans > 0) {
+            textSearchIndex.rebuild();
+        }
+        counterService.purgeBefore(cutoff);
+        if (removed > 0) {
+            histogramService.rebuild();
+        }
+        log.info("Retention purge finished: {} removed, {} orphan texts deleted", removed, orphans);
+        return removed;
+    }
+
+    /**
+     * Início do mês mais antigo mantido: tudo antes desta data é removido.
+     */
+    LocalDateTime cutoff(LocalDate today) {
+        return YearMonth.from(today).minusMonths(retentionMonths).atDay(1).atStartOfDay();
+    }
+
+    /**
+     * Cria (se necessário) as partições do mês informado e dos próximos meses.
+     */
+    void ensurePartitions(YearMonth from) {
+        for (int i = 0; i <= partitionsAhead; i++) {
+            YearMonth month = from.plusMonths(i);
+            String sql = "CREATE TABLE IF NOT EXISTS " + partitionName(month) +
+                    " PARTITION OF tb_sentiments FOR VALUES FROM ('" + month.atDay(1) +
+                    "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+            try {
+                jdbcTemplate.execute(sql);
+            } catch (Exception e) {
+                // Ocorre se a partição DEFAULT já tiver linhas desse mês
+                log.warn("Could not create partition {}: {}", partitionName(month), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Remove partições mensais cujo mês termina antes da data de corte.
+     */
+    private long dropExpiredPartitions(LocalDateTime cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = 'tb_sentiments'", String.class);
+
+        long dropped = 0;
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue; // partição DEFAULT: purgada em lotes
+            }
+            YearMonth month = YearMonth.parse(matcher.group(1), PARTITION_SUFFIX);
+            if (!month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                log.info("Dropped expired partition {}", partition);
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Remove análises antigas em lotes, cada lote em sua própria transação.
+     */
+    private long deleteInBatches(LocalDateTime cutoff) {
+        long deleted = 0;
+        List<Long> ids;
+        do {
+            ids = sentimentRepository.findIdsAnalyzedBefore(cutoff, Limit.of(batchSize));
+            if (!ids.isEmpty()) {
+                sentimentRepository.deleteAllByIdInBatch(ids);
+                deleted += ids.size();
+            }
+        } while (ids.size() == batchSize);
+        return deleted;
+    }
+
+    private long deleteOrphanTexts() {
+        long deleted = 0;
+        int removed;
+        do {
+            removed = databasePlatform.isPostgres()
+                    ? sentimentTextRepository.deleteOrphansPostgres(batchSize)
+                    : sentimentTextRepository.deleteOrphans(batchSize);
+            deleted += removed;
+        } while (removed == batchSize);
+        return deleted;
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "tb_sentiments_p" + month.format(PARTITION_SUFFIX);
+    }
+}
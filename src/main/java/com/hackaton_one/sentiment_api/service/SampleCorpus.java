@@ -0,0 +1,47 @@
+package com.hackaton_one.sentiment_api.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Textos de amostra para medições no startup (ajuste da sessão, validação do modelo quantizado).
+ */
+public final class SampleCorpus {
+
+    /**
+     * Amostra embutida, usada quando nenhum arquivo é configurado.
+     */
+    public static final List<String> DEFAULT = List.of(
+            "O produto chegou rápido e funciona muito bem",
+            "Péssimo atendimento, nunca mais compro nessa loja",
+            "Gostei bastante, superou minhas expectativas",
+            "A entrega atrasou duas semanas e ninguém respondeu",
+            "Qualidade excelente pelo preço, recomendo",
+            "Veio com defeito e a troca foi uma dor de cabeça",
+            "Atendimento atencioso e solução rápida do problema",
+            "Não funciona como anunciado, dinheiro jogado fora",
+            "Bom custo benefício, mas a embalagem veio amassada",
+            "Experiência incrível, voltarei a comprar com certeza"
+    );
+
+    private SampleCorpus() {
+    }
+
+    /**
+     * Lê um texto por linha do arquivo (linhas em branco são ignoradas).
+     *
+     * @param path Arquivo (null ou vazio = amostra embutida)
+     */
+    public static List<String> load(String path) throws IOException {
+        if (path == null || path.isBlank()) {
+            return DEFAULT;
+        }
+        List<String> lines = Files.readAllLines(Path.of(path), StandardCharsets.UTF_8).stream()
+                .filter(line -> !line.isBlank())
+                .toList();
+        return lines.isEmpty() ? DEFAULT : lines;
+    }
+}
@@ -0,0 +1,21 @@
+package com.hackaton_one.sentiment_api.service;
+
+/**
+ * Resumo de uma execução do scoring offline.
+ *
+ * @param rows      Textos analisados
+ * @param elapsedMs Duração total em milissegundos
+ * @param threads   Threads de inferência usadas
+ * @param persisted Se as análises foram gravadas no banco
+ */
+public record ScoringReport(
+        long rows,
+        long elapsedMs,
+        int threads,
+        boolean persisted
+) {
+
+    public double rowsPerSecond() {
+        return elapsedMs == 0 ? rows : rows * 1000.0 / elapsedMs;
+    }
+}
@@ -0,0 +1,26 @@
+package com.hackaton_one.sentiment_api.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros da busca no histórico. Todos são opcionais.
+ *
+ * @param keyword       Palavras que o texto deve conter
+ * @param sentiment     POSITIVO ou NEGATIVO
+ * @param from          Data inicial inclusiva
+ * @param to            Data final exclusiva
+ * @param minConfidence Confiança mínima (inclusiva)
+ * @param maxConfidence Confiança máxima (inclusiva)
+ * @param cursor        Cursor retornado pela página anterior
+ * @param limit         Tamanho da página
+ */
+public record SearchCriteria(
+        String keyword,
+        String sentiment,
+        LocalDateTime from,
+        LocalDateTime to,
+        Double minConfidence,
+        Double maxConfidence,
+        String cursor,
+        Integer limit
+) {}
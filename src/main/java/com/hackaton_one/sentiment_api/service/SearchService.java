@@ -0,0 +1,221 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.HistoryItemDTO;
+import com.hackaton_one.sentiment_api.api.dto.SearchResultDTO;
+import com.hackaton_one.sentiment_api.config.DatabasePlatform;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Busca filtrada no histórico de análises.
+ * <p>
+ * A palavra-chave usa o índice de full-text do PostgreSQL (GIN sobre to_tsvector)
+ * ou, nos demais bancos, o {@link TextSearchIndex} em memória. A paginação é por
+ * keyset em (analyzed_at, id) decrescentes, então páginas profundas custam o mesmo
+ * que a primeira.
+ */
+@Slf4j
+@Service
+public class SearchService {
+
+    private static final String BASE_QUERY =
+            "SELECT s.id, t.content, s.sentiment_result, s.confidence_score, s.analyzed_at " +
+            "FROM tb_sentiments s JOIN tb_sentiment_texts t ON t.hash = s.text_hash WHERE 1 = 1";
+
+    private static final RowMapper<HistoryItemDTO> ROW_MAPPER = (rs, rowNum) -> new HistoryItemDTO(
+            rs.getLong("id"),
+            rs.getString("content"),
+            rs.getString("sentiment_result"),
+            rs.getDouble("confidence_score"),
+            rs.getTimestamp("analyzed_at").toLocalDateTime()
+    );
+
+    @Value("${search.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${search.max-page-size:100}")
+    private int maxPageSize;
+
+    // Textos distintos aceitos para uma palavra-chave no índice em memória (bancos sem full-text)
+    @Value("${search.max-keyword-matches:10000}")
+    private int maxKeywordMatches;
+
+    // Hashes por consulta no filtro IN do índice em memória
+    @Value("${search.keyword-chunk-size:1000}")
+    private int keywordChunkSize;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DatabasePlatform databasePlatform;
+    private final TextSearchIndex textSearchIndex;
+
+    public SearchService(NamedParameterJdbcTemplate jdbcTemplate,
+                         DatabasePlatform databasePlatform,
+                         TextSearchIndex textSearchIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databasePlatform = databasePlatform;
+        this.textSearchIndex = textSearchIndex;
+    }
+
+    /**
+     * Executa a busca e retorna uma página de resultados.
+     *
+     * @param criteria Filtros e cursor
+     * @return Resultados, cursor da próxima página e tempo da consulta
+     */
+    @Transactional(readOnly = true)
+    public SearchResultDTO search(SearchCriteria criteria) {
+        long start = System.nanoTime();
+        int pageSize = pageSize(criteria.limit());
+        validateRanges(criteria);
+
+        StringBuilder sql = new StringBuilder(BASE_QUERY);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        String sentiment = ExportService.normalizeSentiment(criteria.sentiment());
+        if (sentiment != null) {
+            sql.append(" AND s.sentiment_result = :sentiment");
+            params.addValue("sentiment", sentiment);
+        }
+        if (criteria.from() != null) {
+            sql.append(" AND s.analyzed_at >= :from");
+            params.addValue("from", criteria.from());
+        }
+        if (criteria.to() != null) {
+            sql.append(" AND s.analyzed_at < :to");
+            params.addValue("to", criteria.to());
+        }
+        if (criteria.minConfidence() != null) {
+            sql.append(" AND s.confidence_score >= :minConfidence");
+            params.addValue("minConfidence", criteria.minConfidence());
+        }
+        if (criteria.maxConfidence() != null) {
+            sql.append(" AND s.confidence_score <= :maxConfidence");
+            params.addValue("maxConfidence", criteria.maxConfidence());
+        }
+        List<List<String>> hashChunks = null;
+        if (criteria.keyword() != null && !criteria.keyword().isBlank()) {
+            if (databasePlatform.isPostgres()) {
+                sql.append(" AND to_tsvector('portuguese', t.content) @@ plainto_tsquery('portuguese', :keyword)");
+                params.addValue("keyword", criteria.keyword());
+            } else {
+                Set<String> hashes = textSearchIndex.search(criteria.keyword());
+                if (hashes.isEmpty()) {
+                    return new SearchResultDTO(List.of(), null, elapsedMillis(start));
+                }
+                if (hashes.size() > maxKeywordMatches) {
+                    throw new IllegalArgumentException("Palavra-chave encontrada em mais de " + maxKeywordMatches
+                            + " textos; refine a busca com mais palavras ou filtros");
+                }
+                sql.append(" AND s.text_hash IN (:hashes)");
+                hashChunks = chunk(hashes);
+            }
+        }
+        if (criteria.cursor() != null && !criteria.cursor().isBlank()) {
+            Cursor cursor = Cursor.decode(criteria.cursor());
+            sql.append(" AND (s.analyzed_at < :cursorAt OR (s.analyzed_at = :cursorAt AND s.id < :cursorId))");
+            params.addValue("cursorAt", cursor.analyzedAt());
+            params.addValue("cursorId", cursor.id());
+        }
+
+        // Busca um item a mais para saber se existe próxima página
+        sql.append(" ORDER BY s.analyzed_at DESC, s.id DESC LIMIT :limit");
+        params.addValue("limit", pageSize + 1);
+
+        List<HistoryItemDTO> rows;
+        if (hashChunks == null) {
+            rows = jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+        } else {
+            // Uma consulta por bloco de hashes; a página é o topo da junção dos blocos
+            rows = new ArrayList<>();
+            for (List<String> hashChunk : hashChunks) {
+                MapSqlParameterSource chunkParams = new MapSqlParameterSource(params.getValues())
+                        .addValue("hashes", hashChunk);
+                rows.addAll(jdbcTemplate.query(sql.toString(), chunkParams, ROW_MAPPER));
+            }
+            rows.sort(Comparator.comparing(HistoryItemDTO::analyzedAt).thenComparing(HistoryItemDTO::id).reversed());
+            if (rows.size() > pageSize + 1) {
+                rows = rows.subList(0, pageSize + 1);
+            }
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            HistoryItemDTO last = rows.getLast();
+            nextCursor = new Cursor(last.analyzedAt(), last.id()).encode();
+        }
+
+        long tookMs = elapsedMillis(start);
+        log.debug("Search returned {} items in {} ms", rows.size(), tookMs);
+        return new SearchResultDTO(List.copyOf(rows), nextCursor, tookMs);
+    }
+
+    private List<List<String>> chunk(Set<String> hashes) {
+        List<String> all = new ArrayList<>(hashes);
+        int size = Math.max(keywordChunkSize, 1);
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += size) {
+            chunks.add(all.subList(from, Math.min(from + size, all.size())));
+        }
+        return chunks;
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + maxPageSize);
+        }
+        return limit;
+    }
+
+    private static void validateRanges(SearchCriteria criteria) {
+        if (criteria.from() != null && criteria.to() != null && !criteria.from().isBefore(criteria.to())) {
+            throw new IllegalArgumentException("'from' deve ser anterior a 'to'");
+        }
+        if (criteria.minConfidence() != null && criteria.maxConfidence() != null
+                && criteria.minConfidence() > criteria.maxConfidence()) {
+            throw new IllegalArgumentException("minConfidence não pode ser maior que maxConfidence");
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Posição da última linha retornada, codificada em Base64 (URL-safe).
+     */
+    record Cursor(LocalDateTime analyzedAt, long id) {
+
+        String encode() {
+            String raw = analyzedAt + "," + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String value) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf(',');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+        }
+    }
+}
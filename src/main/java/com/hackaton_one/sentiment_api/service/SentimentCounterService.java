@@ -0,0 +1,257 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.config.DatabasePlatform;
+import com.hackaton_one.sentiment_api.events.SentimentSavedEvent;
+import com.hackaton_one.sentiment_api.model.SentimentCounter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Mantém os contadores horários de tb_sentiment_counters.
+ * <p>
+ * Cada análise gravada incrementa um delta em memória; os deltas são somados
+ * ao banco periodicamente com upserts em lote, então o caminho de escrita não
+ * disputa a mesma linha a cada requisição. Vários nós podem gravar ao mesmo
+ * tempo, pois o upsert soma ao valor existente; as análises já incluídas no
+ * backfill são descartadas pelo watermark compartilhado ({@link AggregateWatermarks}).
+ */
+@Slf4j
+@Service
+public class SentimentCounterService {
+
+    private static final String UPSERT_POSTGRES =
+            "INSERT INTO tb_sentiment_counters (bucket_start, sentiment_result, total) VALUES (?, ?, ?) " +
+            "ON CONFLICT (bucket_start, sentiment_result) " +
+            "DO UPDATE SET total = tb_sentiment_counters.total + EXCLUDED.total";
+
+    private static final String UPSERT_H2 =
+            "MERGE INTO tb_sentiment_counters c " +
+            "USING (VALUES (CAST(? AS TIMESTAMP), CAST(? AS VARCHAR(16)), CAST(? AS BIGINT))) v(bucket_start, sentiment_result, total) " +
+            "ON c.bucket_start = v.bucket_start AND c.sentiment_result = v.sentiment_result " +
+            "WHEN MATCHED THEN UPDATE SET c.total = c.total + v.total " +
+            "WHEN NOT MATCHED THEN INSERT (bucket_start, sentiment_result, total) " +
+            "VALUES (v.bucket_start, v.sentiment_result, v.total)";
+
+    private static final String BACKFILL =
+            "INSERT INTO tb_sentiment_counters (bucket_start, sentiment_result, total) " +
+            "SELECT DATE_TRUNC('hour', analyzed_at), sentiment_result, COUNT(*) FROM tb_sentiments " +
+            "WHERE sentiment_result IS NOT NULL AND id <= ? GROUP BY DATE_TRUNC('hour', analyzed_at), sentiment_result";
+
+    // Nome do watermark em tb_aggregate_watermarks
+    static final String WATERMARK = "counters";
+
+    @Value("${counters.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabasePlatform databasePlatform;
+    private final AggregateWatermarks watermarks;
+
+    // Deltas sem análise de origem (reprocessamento), sempre aplicados
+    private final Map<SentimentCounter.Key, Long> pending = new ConcurrentHashMap<>();
+
+    // Análises gravadas, filtradas pelo watermark compartilhado ao gravar
+    private final Queue<Counted> pendingEvents = new ConcurrentLinkedQueue<>();
+
+    // Último watermark lido do banco (null = desconhecido); eventos até ele já estão no backfill
+    private volatile Long knownWatermark;
+
+    private record Counted(Long id, SentimentCounter.Key key) {
+    }
+
+    public SentimentCounterService(JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   DatabasePlatform databasePlatform,
+                                   AggregateWatermarks watermarks) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.databasePlatform = databasePlatform;
+        this.watermarks = watermarks;
+    }
+
+    /**
+     * Reconstrói os contadores a partir das análises quando a tabela está vazia
+     * (primeira execução após a criação da tabela).
+     * <p>
+     * Roda com o watermark travado, então só um nó faz o backfill; os demais esperam e
+     * encontram o watermark já definido. O backfill inclui as análises até o maior ID cujas
+     * anteriores já estão commitadas, e as análises acima dele são contadas pelos eventos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            knownWatermark = transactionTemplate.execute(status -> watermarks.withExclusive(WATERMARK, current -> {
+                if (current != null) {
+                    return current;
+                }
+                Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_sentiment_counters", Long.class);
+                long watermark = 0;
+                // Contadores já mantidos por eventos (ou backfill desligado): todos os eventos contam
+                if (backfillOnStartup && existing != null && existing == 0) {
+                    watermark = watermarks.settledMaxId();
+                    int rows = jdbcTemplate.update(BACKFILL, watermark);
+                    log.info("Sentiment counters backfilled from raw analyses up to id {}: {} hourly buckets",
+                            watermark, rows);
+                }
+                watermarks.update(WATERMARK, watermark);
+                return watermark;
+            }));
+        } catch (Exception e) {
+            log.warn("Sentiment counter backfill failed, will retry on the next flush: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSentimentSaved(SentimentSavedEvent event) {
+        SentimentCounter.Key key = keyOf(event.analyzedAt(), event.sentimentResult());
+        if (key != null) {
+            pendingEvents.add(new Counted(event.id(), key));
+        }
+    }
+
+    /**
+     * Ajusta os contadores quando uma análise muda de rótulo (reprocessamento).
+     */
+    public void recordRelabel(LocalDateTime analyzedAt, String previousSentiment, String newSentiment) {
+        if (previousSentiment != null) {
+            add(analyzedAt, previousSentiment, -1);
+        }
+        add(analyzedAt, newSentiment, 1);
+    }
+
+    private void add(LocalDateTime analyzedAt, String sentiment, long delta) {
+        SentimentCounter.Key key = keyOf(analyzedAt, sentiment);
+        if (key != null) {
+            pending.merge(key, delta, Long::sum);
+        }
+    }
+
+    private static SentimentCounter.Key keyOf(LocalDateTime analyzedAt, String sentiment) {
+        if (analyzedAt == null || sentiment == null) {
+            return null;
+        }
+        return new SentimentCounter.Key(analyzedAt.truncatedTo(ChronoUnit.HOURS), sentiment);
+    }
+
+    private static boolean above(Counted event, Long watermark) {
+        return event.id() == null || watermark == null || event.id() > watermark;
+    }
+
+    /**
+     * Soma os deltas pendentes ao banco, descartando as análises já incluídas no backfill.
+     * Enquanto o watermark não estiver definido, ou em caso de erro, os deltas voltam para a fila.
+     */
+    @Scheduled(fixedDelayString = "${counters.flush-interval:5000}")
+    public void flush() {
+        if (pending.isEmpty() && pendingEvents.isEmpty()) {
+            return;
+        }
+        List<Counted> events = new ArrayList<>();
+        for (Counted event; (event = pendingEvents.poll()) != null; ) {
+            events.add(event);
+        }
+        Map<SentimentCounter.Key, Long> deltas = new HashMap<>();
+        for (SentimentCounter.Key key : pending.keySet()) {
+            Long delta = pending.remove(key);
+            if (delta != null && delta != 0) {
+                deltas.put(key, delta);
+            }
+        }
+        String sql = databasePlatform.isPostgres() ? UPSERT_POSTGRES : UPSERT_H2;
+
+        Integer flushed = null;
+        try {
+            flushed = transactionTemplate.execute(status -> {
+                Long watermark = watermarks.readShared(WATERMARK);
+                if (watermark == null) {
+                    return null;
+                }
+                knownWatermark = watermark;
+                Map<SentimentCounter.Key, Long> batch = new HashMap<>(deltas);
+                for (Counted event : events) {
+                    if (above(event, watermark)) {
+                        batch.merge(event.key(), 1L, Long::sum);
+                    }
+                }
+                List<Object[]> rows = new ArrayList<>(batch.size());
+                batch.forEach((key, delta) -> {
+                    if (delta != 0) {
+                        rows.add(new Object[]{key.getBucketStart(), key.getSentimentResult(), delta});
+                    }
+                });
+                if (!rows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(sql, rows);
+                }
+                return rows.size();
+            });
+            if (flushed != null) {
+                log.debug("Flushed {} sentiment counter deltas", flushed);
+            }
+        } catch (Exception e) {
+            log.warn("Could not flush sentiment counters, will retry: {}", e.getMessage());
+        }
+        if (flushed == null) {
+            pendingEvents.addAll(events);
+            deltas.forEach((key, delta) -> pending.merge(key, delta, Long::sum));
+            if (knownWatermark == null) {
+                backfillIfEmpty();
+            }
+        }
+    }
+
+    /**
+     * Deltas ainda não gravados no intervalo [from, to), somados às leituras para
+     * que a série reflita as análises mais recentes deste nó.
+     */
+    public Map<SentimentCounter.Key, Long> pendingInRange(LocalDateTime from, LocalDateTime to) {
+        Map<SentimentCounter.Key, Long> result = new HashMap<>();
+        pending.forEach((key, delta) -> {
+            if (inRange(key, from, to)) {
+                result.merge(key, delta, Long::sum);
+            }
+        });
+        Long watermark = knownWatermark;
+        for (Counted event : pendingEvents) {
+            if (inRange(event.key(), from, to) && above(event, watermark)) {
+                result.merge(event.key(), 1L, Long::sum);
+            }
+        }
+        return result;
+    }
+
+    private static boolean inRange(SentimentCounter.Key key, LocalDateTime from, LocalDateTime to) {
+        return !key.getBucketStart().isBefore(from) && key.getBucketStart().isBefore(to);
+    }
+
+    /**
+     * Remove contadores anteriores à data de corte da retenção.
+     */
+    public int purgeBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM tb_sentiment_counters WHERE bucket_start < ?", cutoff);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
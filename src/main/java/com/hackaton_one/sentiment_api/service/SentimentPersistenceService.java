@@ -1,37 +1,160 @@
 package com.hackaton_one.sentiment_api.service;
 
+import com.hackaton_one.sentiment_api.api.dto.SentimentResponseDTO;
+import com.hackaton_one.sentiment_api.config.DatabasePlatform;
+import com.hackaton_one.sentiment_api.events.SentimentSavedEvent;
 import com.hackaton_one.sentiment_api.model.Sentiment;
+import com.hackaton_one.sentiment_api.model.SentimentText;
 import com.hackaton_one.sentiment_api.repository.SentimentRepository;
+import com.hackaton_one.sentiment_api.repository.SentimentTextRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SentimentPersistenceService {
 
+    // O "update" sem efeito trava o texto até o commit, protegendo-o da limpeza de órfãos
+    private static final String INSERT_TEXT_POSTGRES =
+            "INSERT INTO tb_sentiment_texts (hash, content) VALUES (?, ?) ON CONFLICT (hash) DO UPDATE SET hash = EXCLUDED.hash";
+    private static final String INSERT_TEXT_H2 =
+            "MERGE INTO tb_sentiment_texts (hash, content) KEY (hash) VALUES (?, ?)";
+    private static final String INSERT_SENTIMENT =
+            "INSERT INTO tb_sentiments (text_hash, sentiment_result, confidence_score, model_version, analyzed_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
     private final SentimentRepository sentimentRepository;
+    private final SentimentTextRepository sentimentTextRepository;
+    private final DatabasePlatform databasePlatform;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
 
     /**
-     * Salva uma análise de sentimento no banco de dados.
+     * Salva uma análise de sentimento cuja versão de modelo é desconhecida.
      */
     @Transactional
     public Sentiment saveSentiment(String text, String sentiment, double score) {
+        return saveSentiment(text, sentiment, score, null);
+    }
+
+    /**
+     * Salva uma análise de sentimento no banco de dados.
+     * <p>
+     * O texto é gravado uma única vez em tb_sentiment_texts (upsert pelo hash)
+     * e a análise apenas referencia o hash. Após a gravação é publicado um {@link SentimentSavedEvent}.
+     *
+     * @param modelVersion Versão do modelo que gerou o resultado
+     */
+    @Transactional
+    public Sentiment saveSentiment(String text, String sentiment, double score, String modelVersion) {
         try {
+            String hash = SentimentText.hashOf(text);
+            upsertText(hash, text);
+
             Sentiment sentimentEntity = new Sentiment();
+            sentimentEntity.setTextHash(hash);
             sentimentEntity.setTextContent(text);
             sentimentEntity.setSentimentResult(sentiment.toUpperCase());
             sentimentEntity.setConfidenceScore(score);
+            sentimentEntity.setModelVersion(modelVersion);
             
             Sentiment saved = sentimentRepository.save(sentimentEntity);
             log.debug("Análise salva com sucesso: ID={}, Sentiment={}", saved.getId(), saved.getSentimentResult());
+
+            eventPublisher.publishEvent(new SentimentSavedEvent(saved.getId(), hash, text,
+                    saved.getSentimentResult(), score, saved.getAnalyzedAt()));
             return saved;
         } catch (Exception e) {
             log.error("Erro ao salvar análise no banco: {}", e.getMessage(), e);
             throw new RuntimeException("Erro ao salvar análise", e);
         }
     }
-}
 
+    /**
+     * Salva várias análises com dois comandos em lote (textos e análises), sem passar pelo JPA.
+     * <p>
+     * Publica um {@link SentimentSavedEvent} por análise, como {@link #saveSentiment}.
+     *
+     * @param analyses     Análises já validadas (texto entre 5 e 5000 caracteres)
+     * @param modelVersion Versão do modelo que gerou os resultados
+     * @return Quantidade de análises gravadas
+     */
+    @Transactional
+    public int saveAll(List<SentimentResponseDTO> analyses, String modelVersion) {
+        if (analyses.isEmpty()) {
+            return 0;
+        }
+
+        // Textos em ordem de hash: lotes concorrentes travam as linhas na mesma ordem, sem deadlock.
+        // As análises continuam na ordem de entrada.
+        List<String> hashes = new ArrayList<>(analyses.size());
+        Map<String, String> texts = new TreeMap<>();
+        for (SentimentResponseDTO analysis : analyses) {
+            String hash = SentimentText.hashOf(analysis.text());
+            hashes.add(hash);
+            texts.putIfAbsent(hash, analysis.text());
+        }
+
+        List<Object[]> textRows = new ArrayList<>(texts.size());
+        texts.forEach((hash, text) -> textRows.add(new Object[]{hash, text}));
+        jdbcTemplate.batchUpdate(databasePlatform.isPostgres() ? INSERT_TEXT_POSTGRES : INSERT_TEXT_H2, textRows);
+
+        LocalDateTime analyzedAt = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SENTIMENT, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        SentimentResponseDTO analysis = analyses.get(i);
+                        ps.setString(1, hashes.get(i));
+                        ps.setString(2, analysis.sentiment().toUpperCase());
+                        ps.setDouble(3, analysis.score());
+                        ps.setObject(4, modelVersion, Types.VARCHAR);
+                        ps.setTimestamp(5, Timestamp.valueOf(analyzedAt));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return analyses.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < analyses.size(); i++) {
+            SentimentResponseDTO analysis = analyses.get(i);
+            Long id = ((Number) keys.get(i).values().iterator().next()).longValue();
+            eventPublisher.publishEvent(new SentimentSavedEvent(id, hashes.get(i), analysis.text(),
+                    analysis.sentiment().toUpperCase(), analysis.score(), analyzedAt));
+        }
+        log.debug("Lote de {} análises salvo ({} textos distintos)", analyses.size(), texts.size());
+        return analyses.size();
+    }
+
+    private void upsertText(String hash, String text) {
+        if (databasePlatform.isPostgres()) {
+            sentimentTextRepository.upsertPostgres(hash, text);
+        } else {
+            sentimentTextRepository.upsertH2(hash, text);
+        }
+    }
+}
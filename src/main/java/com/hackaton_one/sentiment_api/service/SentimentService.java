@@ -1,10 +1,17 @@
 package com.hackaton_one.sentiment_api.service;
  
+import ai.onnxruntime.NodeInfo;
+import ai.onnxruntime.OnnxJavaType;
+import ai.onnxruntime.OnnxMap;
 import ai.onnxruntime.OnnxTensor;
 import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
 import ai.onnxruntime.OrtSession;
+import ai.onnxruntime.TensorInfo;
+import com.hackaton_one.sentiment_api.api.dto.QuantizationReportDTO;
 import com.hackaton_one.sentiment_api.api.dto.SentimentResponseDTO;
 import com.hackaton_one.sentiment_api.api.dto.SentimentResultDTO;
+import com.hackaton_one.sentiment_api.exceptions.DeadlineExceededException;
 import com.hackaton_one.sentiment_api.exceptions.ModelAnalysisException;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
@@ -14,10 +21,28 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
  
 import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
  
 /**
  * Serviço para realizar inferência de análise de sentimento
@@ -25,23 +50,118 @@ import java.util.Map;
  *
  * Responsável por carregar o modelo ONNX, preparar os dados de entrada,
  * executar a inferência e retornar os resultados.
+ *
+ * Aceita dois tipos de modelo pela mesma API: o de texto (entrada string [n, 1], tokenização
+ * dentro do ONNX) e o numérico (entrada float [n, d], features calculadas em Java por
+ * {@link FeatureModelInput}). O tipo é detectado pela entrada do modelo (sentiment.model.input).
+ *
+ * Com sentiment.model.quantized-path, o modelo quantizado só passa a servir as análises se
+ * concordar com o principal em uma amostra ({@link ModelAgreementCheck}).
+ *
+ * Quando a requisição tem um {@link RequestDeadline}, a execução do modelo é encerrada
+ * via {@link OrtSession.RunOptions#setTerminate} assim que o prazo termina; o mesmo vale para a
+ * cópia perdedora de uma requisição hedged ({@link InferenceCancellation}).
  */
 @Slf4j
 @Service
 public class SentimentService {
     private OrtEnvironment env;
     private OrtSession session;
+    // Segunda sessão para as cópias do hedging (null se desligado)
+    private OrtSession hedgeSession;
+    private ModelInput modelInput;
  
     @Value("${sentiment.model.path:models/sentiment_model.onnx}")
     private String modelPath;
+
+    // Versão explícita do modelo; se vazia, é derivada do hash do arquivo
+    @Value("${sentiment.model.version:}")
+    private String configuredModelVersion;
+
+    // Modelo quantizado (INT8) opcional, ativado somente se passar na checagem de concordância
+    @Value("${sentiment.model.quantized-path:}")
+    private String quantizedModelPath;
+
+    @Value("${sentiment.quantized.min-agreement:0.99}")
+    private double minAgreement;
+
+    // Amostra separada do treino, um texto por linha (obrigatória para ativar o quantizado)
+    @Value("${sentiment.quantized.sample:}")
+    private String agreementSamplePath;
+
+    // Textos mínimos na amostra para que a concordância signifique algo
+    @Value("${sentiment.quantized.min-sample-size:200}")
+    private int minAgreementSamples;
+
+    @Value("${sentiment.quantized.latency-samples:100}")
+    private int agreementLatencySamples;
+
+    // auto (pelo tipo da entrada do modelo), text ou features
+    @Value("${sentiment.model.input:auto}")
+    private String inputMode;
+
+    // Nomes das classes quando o modelo retorna rótulos numéricos (ex.: NEGATIVO,POSITIVO)
+    @Value("${sentiment.model.labels:}")
+    private List<String> labelNames;
+
+    // Dimensão das features do modelo numérico (0 = lida do shape da entrada)
+    @Value("${sentiment.features.dimension:0}")
+    private int featureDimension;
+
+    @Value("${sentiment.features.ngram-max:1}")
+    private int featureNgramMax;
+
+    @Value("${sentiment.features.alternate-sign:true}")
+    private boolean featureAlternateSign;
+
+    @Value("${sentiment.features.norm:L2}")
+    private HashingFeatureExtractor.Norm featureNorm;
+
+    // Buffer de features por thread; limita os textos por execução
+    @Value("${sentiment.features.max-buffer-mb:64}")
+    private int featureMaxBufferMb;
  
     @Getter
     private boolean modelAvailable = false;
+
+    /**
+     * Versão do modelo carregado, gravada em cada análise (null se o modelo não carregou).
+     */
+    @Getter
+    private String modelVersion;
+
+    /**
+     * Resultado da validação do modelo quantizado (null antes da inicialização).
+     */
+    @Getter
+    private QuantizationReportDTO quantizationReport;
  
     private final SentimentPersistenceService persistenceService;
+    private final InferenceScheduler inferenceScheduler;
+    private final InferenceHedger inferenceHedger;
+    private final SessionAutoTuner sessionAutoTuner;
+    private final LexiconCascade lexiconCascade;
+    private final DocumentChunker documentChunker;
+    private final ResultCache resultCache;
+
+    // Encerra execuções do modelo cujo prazo terminou
+    private final ScheduledExecutorService terminator = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("inference-deadline").daemon().factory());
  
-    public SentimentService(SentimentPersistenceService persistenceService) {
+    public SentimentService(SentimentPersistenceService persistenceService,
+                            InferenceScheduler inferenceScheduler,
+                            InferenceHedger inferenceHedger,
+                            SessionAutoTuner sessionAutoTuner,
+                            LexiconCascade lexiconCascade,
+                            DocumentChunker documentChunker,
+                            ResultCache resultCache) {
         this.persistenceService = persistenceService;
+        this.inferenceScheduler = inferenceScheduler;
+        this.inferenceHedger = inferenceHedger;
+        this.sessionAutoTuner = sessionAutoTuner;
+        this.lexiconCascade = lexiconCascade;
+        this.documentChunker = documentChunker;
+        this.resultCache = resultCache;
     }
  
     /**
@@ -57,7 +177,7 @@ public class SentimentService {
      * @param texto the input text to be normalized
      * @return the normalized text, or an empty string if input is null
      */
-    private static String normalizeText(String texto) {
+    public static String normalizeText(String texto) {
         if (texto == null) return "";
         String unaccentedText = Normalizer.normalize(texto, Normalizer.Form.NFD)
                 .replaceAll("\\p{M}", "");
@@ -78,73 +198,547 @@ public class SentimentService {
             }
  
             this.env = OrtEnvironment.getEnvironment();
+            this.modelVersion = resolveModelVersion(modelFile);
             OrtSession.SessionOptions opts = new OrtSession.SessionOptions();
             opts.setOptimizationLevel(OrtSession.SessionOptions.OptLevel.BASIC_OPT);
+
+            // Threads, modo de execução, arena e spin-wait medidos para este host (opcional)
+            SessionTuning tuning = sessionAutoTuner != null
+                    ? sessionAutoTuner.resolve(env, modelPath, modelVersion, this::createModelInput)
+                    : null;
+            if (tuning != null) {
+                tuning.apply(opts);
+            }
  
             this.session = env.createSession(modelPath, opts);
- 
+            this.modelInput = createModelInput(session);
+
+            String activeModelPath = activateQuantizedModel(opts) ? quantizedModelPath : modelPath;
+            if (inferenceHedger != null && inferenceHedger.isEnabled()) {
+                // Sessão separada: uma pausa no arena/threads de uma não atinge a outra
+                this.hedgeSession = env.createSession(activeModelPath, opts);
+            }
+
+            if (resultCache != null) {
+                // Resultados em cache valem apenas para a versão carregada e a configuração atual
+                resultCache.activate(cacheVersion(modelVersion, modelInput.settings(), documentChunker.settings()));
+            }
             this.modelAvailable = true;
-            log.info("ONNX model loaded successfully from disk: " + modelPath);
+            log.info("ONNX model loaded successfully from disk: " + activeModelPath + " (version " + modelVersion + ")");
  
         } catch (Exception e) {
             log.error("Fatal error loading ONNX model: {}", e.getMessage(), e);
             this.modelAvailable = false;
+            closeQuietly(this.session);
+            closeQuietly(this.hedgeSession);
             this.env = null;
             this.session = null;
+            this.hedgeSession = null;
+            this.modelInput = null;
         }
     }
+
+    /**
+     * Compara o modelo quantizado com o principal e, se a concordância atingir
+     * sentiment.quantized.min-agreement, passa a usá-lo no lugar do principal.
+     *
+     * @return true se o modelo quantizado foi ativado
+     */
+    private boolean activateQuantizedModel(OrtSession.SessionOptions opts) throws Exception {
+        if (quantizedModelPath == null || quantizedModelPath.isBlank()) {
+            quantizationReport = new QuantizationReportDTO(false, false, null, null, minAgreement,
+                    null, null, null, "No quantized model configured");
+            return false;
+        }
+        File quantizedFile = new File(quantizedModelPath);
+        if (!quantizedFile.exists()) {
+            log.warn("Quantized ONNX model not found at {}, serving the primary model", quantizedFile.getAbsolutePath());
+            quantizationReport = new QuantizationReportDTO(true, false, null, null, minAgreement,
+                    null, null, null, "Quantized model file not found");
+            return false;
+        }
+
+        // Sem uma amostra de tamanho mínimo a checagem não é feita e o quantizado não é ativado
+        if (agreementSamplePath == null || agreementSamplePath.isBlank()) {
+            log.warn("Quantized model agreement check skipped: sentiment.quantized.sample is not set, serving the primary model");
+            quantizationReport = new QuantizationReportDTO(true, false, null, null, minAgreement,
+                    null, null, null, "Agreement check skipped: no sample configured");
+            return false;
+        }
+        List<String> sample;
+        try {
+            sample = SampleCorpus.load(agreementSamplePath);
+        } catch (Exception e) {
+            log.warn("Could not read the quantized model sample, serving the primary model: {}", e.getMessage());
+            quantizationReport = new QuantizationReportDTO(true, false, null, null, minAgreement,
+                    null, null, null, "Agreement check skipped: " + e.getMessage());
+            return false;
+        }
+        if (sample.size() < minAgreementSamples) {
+            log.warn("Quantized model agreement check skipped: sample has {} texts, at least {} required; serving the primary model",
+                    sample.size(), minAgreementSamples);
+            quantizationReport = new QuantizationReportDTO(true, false, sample.size(), null, minAgreement,
+                    null, null, null, "Agreement check skipped: sample smaller than " + minAgreementSamples + " texts");
+            return false;
+        }
+
+        // Qualquer falha com o modelo quantizado mantém a sessão principal intacta
+        OrtSession quantized = null;
+        ModelAgreementCheck.Result result;
+        try {
+            quantized = env.createSession(quantizedModelPath, opts);
+            OrtSession primary = session;
+            OrtSession candidate = quantized;
+            result = ModelAgreementCheck.compare(
+                    texts -> runModel(primary, texts, null),
+                    texts -> runModel(candidate, texts, null),
+                    sample,
+                    agreementLatencySamples);
+        } catch (Exception e) {
+            closeQuietly(quantized);
+            log.warn("Quantized model check failed, serving the primary model: {}", e.getMessage(), e);
+            quantizationReport = new QuantizationReportDTO(true, false, null, null, minAgreement,
+                    null, null, null, "Agreement check failed: " + e.getMessage());
+            return false;
+        }
+
+        boolean accepted = result.agreement() >= minAgreement;
+        String summary = String.format(Locale.ROOT, "agreement %.4f (min %.4f) on %d texts, latency %.3f ms -> %.3f ms (%.2fx)",
+                result.agreement(), minAgreement, result.samples(),
+                result.primaryMeanMs(), result.candidateMeanMs(), result.speedup());
+        quantizationReport = new QuantizationReportDTO(true, accepted, result.samples(), result.agreement(),
+                minAgreement, result.primaryMeanMs(), result.candidateMeanMs(), result.speedup(),
+                accepted ? "Quantized model active" : "Agreement below threshold");
+
+        if (!accepted) {
+            closeQuietly(quantized);
+            log.warn("Quantized model rejected, serving the primary model: {}", summary);
+            return false;
+        }
+        String quantizedVersion;
+        try {
+            quantizedVersion = configuredModelVersion != null && !configuredModelVersion.isBlank()
+                    ? configuredModelVersion.trim() + "-int8"
+                    : resolveModelVersion(quantizedFile);
+        } catch (Exception e) {
+            closeQuietly(quantized);
+            log.warn("Could not resolve the quantized model version, serving the primary model: {}", e.getMessage());
+            quantizationReport = new QuantizationReportDTO(true, false, result.samples(), result.agreement(),
+                    minAgreement, result.primaryMeanMs(), result.candidateMeanMs(), result.speedup(),
+                    "Could not resolve quantized model version: " + e.getMessage());
+            return false;
+        }
+        closeQuietly(session);
+        this.session = quantized;
+        this.modelVersion = quantizedVersion;
+        log.info("Quantized model activated: {}", summary);
+        return true;
+    }
+
+    private static void closeQuietly(OrtSession session) {
+        if (session == null) {
+            return;
+        }
+        try {
+            session.close();
+        } catch (Exception e) {
+            log.debug("Error closing ONNX session: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Entrada de texto ou de features, conforme sentiment.model.input e o tipo da entrada do modelo.
+     */
+    private ModelInput createModelInput(OrtSession session) throws OrtException {
+        NodeInfo input = session.getInputInfo().values().iterator().next();
+        TensorInfo tensorInfo = input.getInfo() instanceof TensorInfo info ? info : null;
+        boolean numeric = switch (inputMode.trim().toLowerCase()) {
+            case "text" -> false;
+            case "features" -> true;
+            default -> tensorInfo != null && tensorInfo.type != OnnxJavaType.STRING;
+        };
+        if (!numeric) {
+            return ModelInput.text(env);
+        }
+
+        int dimension = featureDimension;
+        if (dimension <= 0 && tensorInfo != null && tensorInfo.getShape().length == 2) {
+            dimension = (int) tensorInfo.getShape()[1];
+        }
+        if (dimension <= 0) {
+            throw new IllegalStateException("Feature dimension of input '" + input.getName()
+                    + "' is unknown, set sentiment.features.dimension");
+        }
+        log.info("Numeric model input '{}': {} hashed features (ngrams up to {}, norm {})",
+                input.getName(), dimension, featureNgramMax, featureNorm);
+        return new FeatureModelInput(env,
+                new HashingFeatureExtractor(dimension, featureNgramMax, featureAlternateSign, featureNorm),
+                featureMaxBufferMb * 1024L * 1024L);
+    }
  
     /**
-     * Analisa o sentimento de um texto.
+     * Versão dos resultados em cache: a do modelo mais os 12 primeiros caracteres do SHA-256 dos
+     * parâmetros de entrada e de divisão, que também mudam o resultado de um texto.
+     */
+    static String cacheVersion(String modelVersion, String... settings) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.join("\n", settings).getBytes(StandardCharsets.UTF_8));
+            return modelVersion + "+" + HexFormat.of().formatHex(digest.digest()).substring(0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Usa a versão configurada ou, na falta dela, os 12 primeiros caracteres do SHA-256 do arquivo.
+     */
+    private String resolveModelVersion(File modelFile) throws Exception {
+        if (configuredModelVersion != null && !configuredModelVersion.isBlank()) {
+            return configuredModelVersion.trim();
+        }
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (InputStream in = new DigestInputStream(Files.newInputStream(modelFile.toPath()), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return "sha256:" + HexFormat.of().formatHex(digest.digest()).substring(0, 12);
+    }
+ 
+    /**
+     * Analisa o sentimento de um texto com prioridade interativa.
      *
      * @param text Texto a ser analisado
      * @return SentimentResultDTO com previsao e probabilidade
      */
     public SentimentResultDTO analyze(String text) {
-        text = normalizeText(text);
- 
-        String[] inputData = new String[]{ text };
-        long[] shape = new long[]{ 1, 1 };
- 
+        return analyze(text, InferencePriority.INTERACTIVE);
+    }
+
+    /**
+     * Analisa o sentimento de um texto.
+     *
+     * @param text     Texto a ser analisado
+     * @param priority Prioridade da inferência
+     * @return SentimentResultDTO com previsao e probabilidade
+     */
+    public SentimentResultDTO analyze(String text, InferencePriority priority) {
+        return analyzeBatch(List.of(text), priority).get(0);
+    }
+
+    /**
+     * Analisa vários textos em uma única execução do modelo, com prioridade de lote.
+     *
+     * @param texts Textos a serem analisados
+     * @return Resultados na mesma ordem dos textos
+     */
+    public List<SentimentResultDTO> analyzeBatch(List<String> texts) {
+        return analyzeBatch(texts, InferencePriority.BULK);
+    }
+
+    /**
+     * Analisa vários textos em uma única execução do modelo (tensor [n, 1]),
+     * enfileirada no {@link InferenceScheduler} com a prioridade informada.
+     * Execuções interativas passam pelo {@link InferenceHedger} quando o hedging está ligado.
+     * Com a cascata ligada, textos decididos pelo {@link LexiconCascade} não chegam ao modelo
+     * (exceto no reprocessamento, que sempre usa o modelo). Textos longos são divididos
+     * pelo {@link DocumentChunker} quando a divisão está ligada, e resultados já calculados
+     * por qualquer nó vêm do {@link ResultCache}.
+     *
+     * @param texts    Textos a serem analisados
+     * @param priority Prioridade da inferência
+     * @return Resultados na mesma ordem dos textos
+     */
+    public List<SentimentResultDTO> analyzeBatch(List<String> texts, InferencePriority priority) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (!lexiconCascade.isEnabled() || priority == InferencePriority.BACKGROUND) {
+            return runCached(texts, priority, deadline);
+        }
+
+        SentimentResultDTO[] output = new SentimentResultDTO[texts.size()];
+        List<String> decidedTexts = new ArrayList<>();
+        List<SentimentResultDTO> decisions = new ArrayList<>();
+        List<String> modelTexts = new ArrayList<>();
+        List<Integer> modelPositions = new ArrayList<>();
+        for (int i = 0; i < texts.size(); i++) {
+            SentimentResultDTO decision = lexiconCascade.classify(texts.get(i));
+            if (decision != null) {
+                output[i] = decision;
+                decidedTexts.add(texts.get(i));
+                decisions.add(decision);
+            } else {
+                modelTexts.add(texts.get(i));
+                modelPositions.add(i);
+            }
+        }
+
+        if (!modelTexts.isEmpty()) {
+            List<SentimentResultDTO> results = runCached(modelTexts, priority, deadline);
+            for (int i = 0; i < results.size(); i++) {
+                output[modelPositions.get(i)] = results.get(i);
+            }
+        }
+        if (!decisions.isEmpty()) {
+            lexiconCascade.maybeVerify(decidedTexts, decisions,
+                    sample -> runScheduled(sample, InferencePriority.BACKGROUND, null));
+        }
+        return Arrays.asList(output);
+    }
+
+    /**
+     * Consulta o cache de resultados em lote e envia ao modelo apenas os textos ausentes
+     * (cada texto distinto uma vez); os novos resultados são gravados no cache em segundo plano.
+     */
+    private List<SentimentResultDTO> runCached(List<String> texts, InferencePriority priority,
+                                               RequestDeadline deadline) {
+        if (!resultCache.isEnabled()) {
+            return runScheduled(texts, priority, deadline);
+        }
+        List<String> keys = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            keys.add(ResultCache.keyOf(text));
+        }
+        Map<String, SentimentResultDTO> cached = resultCache.getAll(new LinkedHashSet<>(keys));
+
+        Map<String, String> missing = new LinkedHashMap<>();
+        for (int i = 0; i < texts.size(); i++) {
+            if (!cached.containsKey(keys.get(i))) {
+                missing.putIfAbsent(keys.get(i), texts.get(i));
+            }
+        }
+        Map<String, SentimentResultDTO> computed = new HashMap<>();
+        if (!missing.isEmpty()) {
+            List<SentimentResultDTO> results = runScheduled(new ArrayList<>(missing.values()), priority, deadline);
+            int i = 0;
+            for (String key : missing.keySet()) {
+                computed.put(key, results.get(i++));
+            }
+            resultCache.putAll(computed);
+        }
+
+        List<SentimentResultDTO> output = new ArrayList<>(texts.size());
+        for (String key : keys) {
+            SentimentResultDTO result = cached.get(key);
+            output.add(result != null ? result : computed.get(key));
+        }
+        return output;
+    }
+
+    private List<SentimentResultDTO> runScheduled(List<String> texts, InferencePriority priority,
+                                                  RequestDeadline deadline) {
+        if (!documentChunker.isEnabled()) {
+            return runOnModel(texts, priority, deadline);
+        }
+        List<List<String>> chunksPerText = new ArrayList<>(texts.size());
+        List<String> chunks = new ArrayList<>();
+        for (String text : texts) {
+            List<String> textChunks = documentChunker.split(text);
+            chunksPerText.add(textChunks);
+            chunks.addAll(textChunks);
+        }
+        if (chunks.size() == texts.size()) {
+            return runOnModel(texts, priority, deadline);
+        }
+
+        // Trechos de todos os textos em uma única execução, combinados por texto
+        List<SentimentResultDTO> chunkResults = runOnModel(chunks, priority, deadline);
+        List<SentimentResultDTO> output = new ArrayList<>(texts.size());
+        int from = 0;
+        for (List<String> textChunks : chunksPerText) {
+            int to = from + textChunks.size();
+            output.add(documentChunker.aggregate(textChunks, chunkResults.subList(from, to)));
+            from = to;
+        }
+        return output;
+    }
+
+    private List<SentimentResultDTO> runOnModel(List<String> texts, InferencePriority priority,
+                                                RequestDeadline deadline) {
+        if (priority == InferencePriority.INTERACTIVE && hedgeSession != null) {
+            return inferenceHedger.execute(
+                    cancellation -> inferenceScheduler.execute(priority, texts.size(), deadline, cancellation,
+                            () -> runModel(session, texts, deadline, cancellation)),
+                    cancellation -> inferenceScheduler.execute(priority, texts.size(), deadline, cancellation,
+                            () -> runModel(hedgeSession, texts, deadline, cancellation)));
+        }
+        return inferenceScheduler.execute(priority, texts.size(), deadline, () -> runModel(session, texts, deadline));
+    }
+
+    private List<SentimentResultDTO> runModel(OrtSession session, List<String> texts, RequestDeadline deadline) {
+        return runModel(session, texts, deadline, null);
+    }
+
+    private List<SentimentResultDTO> runModel(OrtSession session, List<String> texts, RequestDeadline deadline,
+                                              InferenceCancellation cancellation) {
+        int step = modelInput.maxRows();
+        if (texts.size() <= step) {
+            return runChunk(session, texts, deadline, cancellation);
+        }
+        // Modelo numérico: o buffer de features limita os textos por execução
+        List<SentimentResultDTO> output = new ArrayList<>(texts.size());
+        for (int from = 0; from < texts.size(); from += step) {
+            if (cancellation != null && cancellation.isCancelled()) {
+                throw new ModelAnalysisException("Inferência cancelada");
+            }
+            output.addAll(runChunk(session, texts.subList(from, Math.min(from + step, texts.size())), deadline,
+                    cancellation));
+        }
+        return output;
+    }
+
+    private List<SentimentResultDTO> runChunk(OrtSession session, List<String> texts, RequestDeadline deadline,
+                                              InferenceCancellation cancellation) {
         String inputName = session.getInputNames().iterator().next();
  
-        try (OnnxTensor tensor = OnnxTensor.createTensor(env, inputData, shape)) {
+        try (OnnxTensor tensor = modelInput.createTensor(texts);
+             OrtSession.RunOptions runOptions = new OrtSession.RunOptions();
+             RunTermination termination = scheduleTermination(runOptions, deadline)) {
+            if (cancellation != null) {
+                cancellation.onCancel(termination);
+            }
             Map<String, OnnxTensor> inputs = Collections.singletonMap(inputName, tensor);
  
-            try (OrtSession.Result results = session.run(inputs)) {
-                String[] labels = (String[]) results.get(0).getValue();
-                String previsao = labels[0];
- 
-                Object probsObj = results.get(1).getValue();
-                @SuppressWarnings("unchecked")
-                List<ai.onnxruntime.OnnxMap> probsList = (List<ai.onnxruntime.OnnxMap>) probsObj;
-                ai.onnxruntime.OnnxMap onnxMap = probsList.get(0);
+            try (OrtSession.Result results = session.run(inputs, runOptions)) {
+                return readResults(results);
+            }
+        } catch (Exception e){
+            if (deadline != null && deadline.isExpired()) {
+                throw new DeadlineExceededException("Request deadline exceeded during inference");
+            }
+            throw new ModelAnalysisException("Erro na inferência: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Entrada do modelo: textos normalizados em um tensor de strings [n, 1].
+     */
+    static OnnxTensor createTextTensor(OrtEnvironment env, List<String> texts) throws OrtException {
+        String[] inputData = new String[texts.size()];
+        for (int i = 0; i < inputData.length; i++) {
+            inputData[i] = normalizeText(texts.get(i));
+        }
+        long[] shape = new long[]{ inputData.length, 1 };
+        return OnnxTensor.createTensor(env, inputData, shape);
+    }
+
+    /**
+     * Agenda o encerramento da execução para o fim do prazo (null = sem prazo).
+     */
+    private RunTermination scheduleTermination(OrtSession.RunOptions runOptions, RequestDeadline deadline) {
+        RunTermination termination = new RunTermination(runOptions);
+        if (deadline != null) {
+            termination.scheduled = terminator.schedule(termination,
+                    Math.max(deadline.remainingNanos(), 0), TimeUnit.NANOSECONDS);
+        }
+        return termination;
+    }
  
+    /**
+     * Encerramento agendado de uma execução; fechado antes dos RunOptions,
+     * para que o encerramento nunca toque opções já liberadas.
+     */
+    private static final class RunTermination implements Runnable, AutoCloseable {
+        private final OrtSession.RunOptions runOptions;
+        private ScheduledFuture<?> scheduled;
+        private boolean closed;
+
+        private RunTermination(OrtSession.RunOptions runOptions) {
+            this.runOptions = runOptions;
+        }
+
+        @Override
+        public synchronized void run() {
+            if (closed) {
+                return;
+            }
+            try {
+                runOptions.setTerminate(true);
+            } catch (Exception e) {
+                log.debug("Could not terminate inference run: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Lê rótulos (strings, ou índices mapeados por sentiment.model.labels) e probabilidades
+     * (mapas por classe, ou tensor float [n, classes]) das duas saídas do modelo.
+     */
+    private List<SentimentResultDTO> readResults(OrtSession.Result results) throws OrtException {
+        Object labelsObj = results.get(0).getValue();
+        String[] labels;
+        long[] classIndexes = null;
+        if (labelsObj instanceof long[] indexes) {
+            classIndexes = indexes;
+            labels = new String[indexes.length];
+            for (int i = 0; i < indexes.length; i++) {
+                labels[i] = labelName(indexes[i]);
+            }
+        } else {
+            labels = (String[]) labelsObj;
+        }
+
+        Object probsObj = results.get(1).getValue();
+        List<SentimentResultDTO> output = new ArrayList<>(labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            float probabilidade;
+            if (probsObj instanceof float[][] matrix) {
+                int column = classIndexes != null ? (int) classIndexes[i] : labelNames.indexOf(labels[i]);
+                if (column < 0) {
+                    throw new ModelAnalysisException("Classe " + labels[i] + " ausente em sentiment.model.labels");
+                }
+                probabilidade = matrix[i][column];
+            } else {
                 @SuppressWarnings("unchecked")
-                Map<String, Float> mapProbability = (Map<String, Float>) onnxMap.getValue();
- 
-                float probabilidade = mapProbability.get(previsao);
+                List<OnnxMap> probsList = (List<OnnxMap>) probsObj;
+                Map<?, ?> mapProbability = probsList.get(i).getValue();
+                Object key = classIndexes != null ? (Object) classIndexes[i] : labels[i];
+                probabilidade = (Float) mapProbability.get(key);
+            }
+            output.add(toResult(labels[i], probabilidade));
+        }
+        return output;
+    }
+
+    private String labelName(long index) {
+        if (labelNames == null || index < 0 || index >= labelNames.size()) {
+            throw new ModelAnalysisException("Modelo retornou classe " + index
+                    + " sem nome em sentiment.model.labels");
+        }
+        return labelNames.get((int) index).trim();
+    }
  
-                String previsaoUpper = previsao.toUpperCase().trim();
-                if (!previsaoUpper.equals("POSITIVE")
-                        && !previsaoUpper.equals("NEGATIVE")
-                        && !previsaoUpper.equals("POSITIVO")
-                        && !previsaoUpper.equals("NEGATIVO")) {
-                    throw new ModelAnalysisException("Modelo retornou sentimento não suportado: " + previsaoUpper);
-                }
+    private static SentimentResultDTO toResult(String previsao, float probabilidade) {
+        String previsaoUpper = previsao.toUpperCase().trim();
+        if (!previsaoUpper.equals("POSITIVE")
+                && !previsaoUpper.equals("NEGATIVE")
+                && !previsaoUpper.equals("POSITIVO")
+                && !previsaoUpper.equals("NEGATIVO")) {
+            throw new ModelAnalysisException("Modelo retornou sentimento não suportado: " + previsaoUpper);
+        }
  
-                String sentimentoFinal =
-                        (previsaoUpper.equals("POSITIVE") || previsaoUpper.equals("POSITIVO"))
-                                ? "POSITIVO"
-                                : "NEGATIVO";
+        String sentimentoFinal =
+                (previsaoUpper.equals("POSITIVE") || previsaoUpper.equals("POSITIVO"))
+                        ? "POSITIVO"
+                        : "NEGATIVO";
  
-                return new SentimentResultDTO(sentimentoFinal, probabilidade);
-            }
-        } catch (Exception e){
-            throw new ModelAnalysisException("Erro na inferência: " + e.getMessage(), e);
-        }
+        return new SentimentResultDTO(sentimentoFinal, probabilidade);
     }
  
+    /**
+     * Versão gravada com o resultado: a do léxico quando a cascata decidiu o texto,
+     * senão a do modelo. Assim o reprocessamento encontra as decisões do léxico.
+     */
+    public String versionOf(SentimentResultDTO result) {
+        return result.versao() != null ? result.versao() : modelVersion;
+    }
+
     /**
      * Analisa o sentimento de um texto e persiste o resultado no banco de dados.
      *
@@ -153,12 +747,14 @@ public class SentimentService {
      */
     public SentimentResponseDTO analyzeAndSave(String text) {
         SentimentResultDTO result = analyze(text);
+        // Cliente já desistiu: não persiste um resultado que ninguém vai receber
+        RequestDeadline.checkCurrent();
  
         String sentiment = result.previsao().toUpperCase();
         double score = result.probabilidade();
  
         try {
-            persistenceService.saveSentiment(text, sentiment, score);
+            persistenceService.saveSentiment(text, sentiment, score, versionOf(result));
         } catch (Exception e) {
             log.warn("Erro ao salvar análise no banco (continuando): {}", e.getMessage());
         }
@@ -168,8 +764,10 @@ public class SentimentService {
  
     @PreDestroy
     public void cleanup(){
+        terminator.shutdownNow();
         try {
             if (session != null) session.close();
+            if (hedgeSession != null) hedgeSession.close();
             if (env != null) env.close();
         } catch (Exception e){
             log.error("Error during ONNX Runtime cleanup: {}", e.getMessage(), e);
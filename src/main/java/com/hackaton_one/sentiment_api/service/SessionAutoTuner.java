@@ -0,0 +1,359 @@
+package com.hackaton_one.sentiment_api.service;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ajuste automático das opções da sessão ONNX no startup (sentiment.tuning.enabled).
+ * <p>
+ * Mede um grid de configurações sobre um corpus de amostra: primeiro threads intra/inter-op e
+ * modo de execução, depois arena de memória e spin-wait sobre a melhor combinação. Vence a maior
+ * vazão (textos/s em lotes) com p95 de um texto isolado dentro de {@code max-p95-ms}; se nenhuma
+ * respeita o limite, a de menor p95. As medições rodam com tantas chamadas simultâneas quanto os
+ * workers do {@link InferenceScheduler}, como em produção, e o grid padrão de threads intra-op vai
+ * até CPUs / workers. O resultado é gravado em {@code sentiment.tuning.file} e reutilizado nos
+ * próximos boots enquanto a versão do modelo, o número de CPUs e o de workers forem os mesmos.
+ */
+@Slf4j
+@Service
+public class SessionAutoTuner {
+
+    private static final String PREFIX = "session.";
+
+    @Getter
+    @Value("${sentiment.tuning.enabled:false}")
+    private boolean enabled;
+
+    @Value("${sentiment.tuning.file:models/session-tuning.properties}")
+    private String tuningFile;
+
+    // Ignora o resultado gravado e mede de novo
+    @Value("${sentiment.tuning.retune:false}")
+    private boolean retune;
+
+    // Arquivo com um texto por linha (vazio = amostra embutida)
+    @Value("${sentiment.tuning.corpus:}")
+    private String corpusPath;
+
+    // Threads intra-op avaliadas (vazio = 1, 2, 4... até o número de CPUs)
+    @Value("${sentiment.tuning.intra-op-threads:}")
+    private List<Integer> intraOpThreads;
+
+    @Value("${sentiment.tuning.inter-op-threads:1,2}")
+    private List<Integer> interOpThreads;
+
+    @Value("${sentiment.tuning.batch-size:64}")
+    private int batchSize;
+
+    // Tempo de medição da vazão por configuração
+    @Value("${sentiment.tuning.measure-ms:500}")
+    private long measureMs;
+
+    @Value("${sentiment.tuning.latency-samples:50}")
+    private int latencySamples;
+
+    @Value("${sentiment.tuning.max-p95-ms:20}")
+    private double maxP95Ms;
+
+    // Mesmo valor do InferenceScheduler: execuções simultâneas do modelo
+    @Value("${inference.workers:0}")
+    private int workers;
+
+    /**
+     * Resultado da medição de uma configuração.
+     */
+    record Measurement(SessionTuning tuning, double textsPerSecond, double p95Ms) {
+    }
+
+    /**
+     * Configuração a usar na sessão: a gravada para esta versão do modelo ou uma nova medição.
+     *
+     * @return Configuração, ou null se o ajuste está desligado ou falhou (usa os padrões)
+     */
+    public SessionTuning resolve(OrtEnvironment env, String modelPath, String modelVersion,
+                                 ModelInput.Factory inputFactory) {
+        if (!enabled) {
+            return null;
+        }
+        Path file = Path.of(tuningFile);
+        if (!retune) {
+            SessionTuning stored = loadStored(file, modelVersion);
+            if (stored != null) {
+                log.info("Using stored ONNX session tuning from {}: {}", file, stored);
+                return stored;
+            }
+        }
+        try {
+            Measurement best = tune(env, modelPath, inputFactory);
+            store(file, modelVersion, best);
+            log.info("ONNX session tuned: {} ({} texts/s, p95 {} ms)",
+                    best.tuning(), Math.round(best.textsPerSecond()), String.format("%.2f", best.p95Ms()));
+            return best.tuning();
+        } catch (Exception e) {
+            log.warn("ONNX session tuning failed, using default options: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private Measurement tune(OrtEnvironment env, String modelPath, ModelInput.Factory inputFactory)
+            throws IOException, OrtException {
+        List<String> corpus = SampleCorpus.load(corpusPath);
+        long started = System.nanoTime();
+
+        List<Measurement> threadStage = new ArrayList<>();
+        for (SessionTuning candidate : threadCandidates()) {
+            threadStage.add(measure(env, modelPath, inputFactory, candidate, corpus));
+        }
+        Measurement best = pick(threadStage);
+
+        List<Measurement> memoryStage = new ArrayList<>(List.of(best));
+        SessionTuning base = best.tuning();
+        for (boolean arena : new boolean[]{true, false}) {
+            for (boolean spin : new boolean[]{true, false}) {
+                if (arena == base.cpuArena() && spin == base.spinWait()) {
+                    continue;
+                }
+                SessionTuning candidate = new SessionTuning(
+                        base.intraOpThreads(), base.interOpThreads(), base.parallel(), arena, spin);
+                memoryStage.add(measure(env, modelPath, inputFactory, candidate, corpus));
+            }
+        }
+        best = pick(memoryStage);
+
+        log.info("ONNX session tuning measured {} configurations in {} ms",
+                threadStage.size() + memoryStage.size() - 1,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return best;
+    }
+
+    /**
+     * Primeira etapa do grid: threads e modo de execução, com arena e spin ligados (padrão do ONNX).
+     */
+    List<SessionTuning> threadCandidates() {
+        List<SessionTuning> candidates = new ArrayList<>();
+        for (int intra : intraOpCandidates()) {
+            candidates.add(new SessionTuning(intra, 1, false, true, true));
+            for (int inter : interOpThreads) {
+                if (inter > 0) {
+                    candidates.add(new SessionTuning(intra, inter, true, true, true));
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private List<Integer> intraOpCandidates() {
+        if (intraOpThreads != null && !intraOpThreads.isEmpty()) {
+            return intraOpThreads.stream().filter(threads -> threads > 0).distinct().toList();
+        }
+        // Cada worker roda o modelo ao mesmo tempo: mais threads que CPUs / workers só disputam núcleos
+        int maxThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / concurrency());
+        Set<Integer> values = new LinkedHashSet<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            values.add(threads);
+        }
+        values.add(maxThreads);
+        return List.copyOf(values);
+    }
+
+    /**
+     * Chamadas simultâneas do modelo em produção (inference.workers; 0 = número de CPUs).
+     */
+    int concurrency() {
+        return workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Maior vazão dentro do limite de latência; sem nenhuma dentro do limite, a de menor p95.
+     */
+    Measurement pick(List<Measurement> measurements) {
+        return measurements.stream()
+                .filter(measurement -> measurement.p95Ms() <= maxP95Ms)
+                .max(Comparator.comparingDouble(Measurement::textsPerSecond))
+                .orElseGet(() -> Collections.min(measurements, Comparator.comparingDouble(Measurement::p95Ms)));
+    }
+
+    private Measurement measure(OrtEnvironment env, String modelPath, ModelInput.Factory inputFactory,
+                                SessionTuning tuning, List<String> corpus) throws OrtException {
+        try (OrtSession.SessionOptions options = new OrtSession.SessionOptions()) {
+            options.setOptimizationLevel(OrtSession.SessionOptions.OptLevel.BASIC_OPT);
+            tuning.apply(options);
+            try (OrtSession session = env.createSession(modelPath, options)) {
+                String inputName = session.getInputNames().iterator().next();
+                ModelInput input = inputFactory.create(session);
+                List<String> batch = batchOf(corpus, input.maxRows());
+
+                for (int i = 0; i < 3; i++) {
+                    run(input, session, inputName, batch);
+                }
+
+                int callers = concurrency();
+                ExecutorService pool = Executors.newFixedThreadPool(callers);
+                try {
+                    // Vazão: todos os workers rodando lotes ao mesmo tempo
+                    LongAdder texts = new LongAdder();
+                    long start = System.nanoTime();
+                    long end = start + TimeUnit.MILLISECONDS.toNanos(measureMs);
+                    List<Future<?>> runs = new ArrayList<>(callers);
+                    for (int i = 0; i < callers; i++) {
+                        runs.add(pool.submit(() -> {
+                            while (System.nanoTime() < end) {
+                                run(input, session, inputName, batch);
+                                texts.add(batch.size());
+                            }
+                            return null;
+                        }));
+                    }
+                    await(runs);
+                    double textsPerSecond = texts.sum() / ((System.nanoTime() - start) / 1_000_000_000.0);
+
+                    // Latência de um texto isolado com os demais workers ocupados
+                    AtomicBoolean loaded = new AtomicBoolean(true);
+                    List<Future<?>> load = new ArrayList<>(callers);
+                    for (int i = 1; i < callers; i++) {
+                        load.add(pool.submit(() -> {
+                            while (loaded.get()) {
+                                run(input, session, inputName, batch);
+                            }
+                            return null;
+                        }));
+                    }
+                    long[] latencies = new long[Math.max(latencySamples, 1)];
+                    try {
+                        for (int i = 0; i < latencies.length; i++) {
+                            List<String> single = List.of(corpus.get(i % corpus.size()));
+                            long runStart = System.nanoTime();
+                            run(input, session, inputName, single);
+                            latencies[i] = System.nanoTime() - runStart;
+                        }
+                    } finally {
+                        loaded.set(false);
+                    }
+                    await(load);
+                    Arrays.sort(latencies);
+                    double p95Ms = latencies[(int) Math.ceil(0.95 * latencies.length) - 1] / 1_000_000.0;
+
+                    log.debug("Session tuning {} with {} workers: {} texts/s, p95 {} ms",
+                            tuning, callers, Math.round(textsPerSecond), p95Ms);
+                    return new Measurement(tuning, textsPerSecond, p95Ms);
+                } finally {
+                    pool.shutdownNow();
+                }
+            }
+        }
+    }
+
+    private static void await(List<Future<?>> runs) throws OrtException {
+        for (Future<?> run : runs) {
+            try {
+                run.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while tuning the ONNX session", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof OrtException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    private static void run(ModelInput input, OrtSession session, String inputName, List<String> texts)
+            throws OrtException {
+        try (OnnxTensor tensor = input.createTensor(texts);
+             OrtSession.Result ignored = session.run(Collections.singletonMap(inputName, tensor))) {
+            // Só o tempo importa
+        }
+    }
+
+    private List<String> batchOf(List<String> corpus, int maxRows) {
+        int size = Math.max(Math.min(batchSize, maxRows), 1);
+        List<String> batch = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            batch.add(corpus.get(i % corpus.size()));
+        }
+        return batch;
+    }
+
+    /**
+     * Configuração gravada, se existir e for da mesma versão do modelo e do mesmo número de CPUs.
+     */
+    SessionTuning loadStored(Path file, String modelVersion) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+            if (modelVersion != null && !modelVersion.equals(properties.getProperty("model.version"))) {
+                log.info("Stored ONNX session tuning is for another model version, tuning again");
+                return null;
+            }
+            if (!String.valueOf(Runtime.getRuntime().availableProcessors()).equals(properties.getProperty("measured.cpus"))) {
+                log.info("Stored ONNX session tuning was measured with another CPU count, tuning again");
+                return null;
+            }
+            if (!String.valueOf(concurrency()).equals(properties.getProperty("measured.workers"))) {
+                log.info("Stored ONNX session tuning was measured with another worker count, tuning again");
+                return null;
+            }
+            return SessionTuning.load(properties, PREFIX);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring unreadable session tuning file {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    void store(Path file, String modelVersion, Measurement best) {
+        Properties properties = new Properties();
+        if (modelVersion != null) {
+            properties.setProperty("model.version", modelVersion);
+        }
+        best.tuning().store(properties, PREFIX);
+        properties.setProperty("measured.texts-per-second", String.valueOf(Math.round(best.textsPerSecond())));
+        properties.setProperty("measured.p95-ms", String.format(Locale.ROOT, "%.3f", best.p95Ms()));
+        properties.setProperty("measured.cpus", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        properties.setProperty("measured.workers", String.valueOf(concurrency()));
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (OutputStream out = Files.newOutputStream(file)) {
+                properties.store(out, "ONNX session tuning - " + LocalDateTime.now());
+            }
+        } catch (IOException e) {
+            log.warn("Could not store session tuning in {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.hackaton_one.sentiment_api.service;
+
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+
+import java.util.Properties;
+
+/**
+ * Configuração de uma sessão ONNX avaliada pelo {@link SessionAutoTuner}.
+ *
+ * @param intraOpThreads Threads dentro de um operador
+ * @param interOpThreads Threads entre operadores (usadas só no modo paralelo)
+ * @param parallel       Execução paralela de operadores independentes
+ * @param cpuArena       Arena de memória da CPU (reaproveita alocações entre execuções)
+ * @param spinWait       Threads ociosas fazem spin em vez de dormir
+ */
+public record SessionTuning(
+        int intraOpThreads,
+        int interOpThreads,
+        boolean parallel,
+        boolean cpuArena,
+        boolean spinWait
+) {
+
+    /**
+     * Aplica a configuração às opções da sessão.
+     */
+    public void apply(OrtSession.SessionOptions options) throws OrtException {
+        options.setIntraOpNumThreads(intraOpThreads);
+        options.setInterOpNumThreads(interOpThreads);
+        options.setExecutionMode(parallel
+                ? OrtSession.SessionOptions.ExecutionMode.PARALLEL
+                : OrtSession.SessionOptions.ExecutionMode.SEQUENTIAL);
+        options.setCPUArenaAllocator(cpuArena);
+        String spinning = spinWait ? "1" : "0";
+        options.addConfigEntry("session.intra_op.allow_spinning", spinning);
+        options.addConfigEntry("session.inter_op.allow_spinning", spinning);
+    }
+
+    /**
+     * Grava a configuração com o prefixo informado.
+     */
+    public void store(Properties properties, String prefix) {
+        properties.setProperty(prefix + "intra-op-threads", String.valueOf(intraOpThreads));
+        properties.setProperty(prefix + "inter-op-threads", String.valueOf(interOpThreads));
+        properties.setProperty(prefix + "parallel", String.valueOf(parallel));
+        properties.setProperty(prefix + "cpu-arena", String.valueOf(cpuArena));
+        properties.setProperty(prefix + "spin-wait", String.valueOf(spinWait));
+    }
+
+    /**
+     * Lê a configuração gravada por {@link #store}.
+     *
+     * @throws IllegalArgumentException se alguma chave estiver ausente ou inválida
+     */
+    public static SessionTuning load(Properties properties, String prefix) {
+        return new SessionTuning(
+                Integer.parseInt(required(properties, prefix + "intra-op-threads")),
+                Integer.parseInt(required(properties, prefix + "inter-op-threads")),
+                Boolean.parseBoolean(required(properties, prefix + "parallel")),
+                Boolean.parseBoolean(required(properties, prefix + "cpu-arena")),
+                Boolean.parseBoolean(required(properties, prefix + "spin-wait"))
+        );
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing session tuning property: " + key);
+        }
+        return value.trim();
+    }
+
+    @Override
+    public String toString() {
+        return "intra=" + intraOpThreads + ", inter=" + interOpThreads
+                + ", mode=" + (parallel ? "parallel" : "sequential")
+                + ", arena=" + cpuArena + ", spin=" + spinWait;
+    }
+}
@@ -1,27 +1,44 @@
 package com.hackaton_one.sentiment_api.service;
 
+import com.hackaton_one.sentiment_api.api.dto.ConfidenceStatisticsDTO;
 import com.hackaton_one.sentiment_api.api.dto.DailyStatisticsDTO;
 import com.hackaton_one.sentiment_api.api.dto.StatisticsDTO;
+import com.hackaton_one.sentiment_api.api.dto.TimeSeriesDTO;
+import com.hackaton_one.sentiment_api.api.dto.TimeSeriesPointDTO;
+import com.hackaton_one.sentiment_api.model.SentimentCounter;
+import com.hackaton_one.sentiment_api.repository.SentimentCounterRepository;
 import com.hackaton_one.sentiment_api.repository.SentimentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class StatisticsService {
 
+    @Value("${timeseries.max-buckets:5000}")
+    private int maxBuckets;
+
     private final SentimentRepository sentimentRepository;
+    private final SentimentCounterRepository counterRepository;
+    private final SentimentCounterService counterService;
+    private final ConfidenceHistogramService histogramService;
 
     /**
      * Calcula estatísticas agregadas de todos os sentimentos.
+     * Somente leitura: usa a réplica de leitura quando configurada.
      */
+    @Transactional(readOnly = true)
     public StatisticsDTO getStatistics() {
         long total = sentimentRepository.count();
         long positive = sentimentRepository.countBySentimentResult("POSITIVO");
@@ -81,5 +98,61 @@ public class StatisticsService {
                 timeline
         );
     }
-}
 
+    /**
+     * Distribuição da confiança (percentis e fração de baixa confiança) por sentimento,
+     * lida dos histogramas em memória, sem consultar o banco.
+     */
+    public ConfidenceStatisticsDTO getConfidenceStatistics() {
+        return histogramService.getDistributions();
+    }
+
+    /**
+     * Série temporal de análises por hora, dia ou semana, lida dos contadores
+     * pré-agregados. Intervalos sem análises aparecem com contagem zero.
+     *
+     * @param granularity Tamanho de cada intervalo
+     * @param from        Início (arredondado para baixo até o início do intervalo)
+     * @param to          Fim exclusivo
+     */
+    @Transactional(readOnly = true)
+    public TimeSeriesDTO getTimeSeries(TimeGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = granularity.truncate(from);
+        if (!start.isBefore(to)) {
+            throw new IllegalArgumentException("'from' deve ser anterior a 'to'");
+        }
+
+        Map<LocalDateTime, long[]> buckets = new LinkedHashMap<>();
+        for (LocalDateTime bucket = start; bucket.isBefore(to); bucket = granularity.next(bucket)) {
+            if (buckets.size() == maxBuckets) {
+                throw new IllegalArgumentException("Intervalo muito grande: máximo de " + maxBuckets + " pontos");
+            }
+            buckets.put(bucket, new long[2]);
+        }
+
+        for (SentimentCounter counter : counterRepository.findInRange(start, to)) {
+            accumulate(buckets, granularity, counter.getBucketStart(), counter.getSentimentResult(), counter.getTotal());
+        }
+        counterService.pendingInRange(start, to).forEach((key, delta) ->
+                accumulate(buckets, granularity, key.getBucketStart(), key.getSentimentResult(), delta));
+
+        List<TimeSeriesPointDTO> points = new ArrayList<>(buckets.size());
+        buckets.forEach((bucket, counts) ->
+                points.add(new TimeSeriesPointDTO(bucket, counts[0], counts[1], counts[0] + counts[1])));
+
+        return new TimeSeriesDTO(granularity.name(), start, to, points);
+    }
+
+    private static void accumulate(Map<LocalDateTime, long[]> buckets, TimeGranularity granularity,
+                                   LocalDateTime hour, String sentiment, long count) {
+        long[] counts = buckets.get(granularity.truncate(hour));
+        if (counts == null) {
+            return;
+        }
+        if ("POSITIVO".equals(sentiment)) {
+            counts[0] += count;
+        } else if ("NEGATIVO".equals(sentiment)) {
+            counts[1] += count;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.config.DatabasePlatform;
+import com.hackaton_one.sentiment_api.events.SentimentSavedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice invertido em memória (palavra -> hashes dos textos), usado na busca
+ * por palavra-chave quando o banco não é PostgreSQL.
+ * <p>
+ * No PostgreSQL a busca usa o índice GIN de full-text e este índice fica vazio.
+ * Após a purga da retenção o índice é recarregado, removendo os textos apagados.
+ */
+@Slf4j
+@Component
+public class TextSearchIndex {
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private volatile Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+
+    // Índice em construção durante uma recarga; recebe também os textos gravados enquanto isso
+    private volatile Map<String, Set<String>> building;
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabasePlatform databasePlatform;
+
+    public TextSearchIndex(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databasePlatform = databasePlatform;
+    }
+
+    /**
+     * Carrega os textos gravados (no startup e após a purga da retenção). O índice anterior
+     * continua respondendo às buscas até o novo ficar pronto.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        if (databasePlatform.isPostgres()) {
+            return;
+        }
+        Map<String, Set<String>> fresh = new ConcurrentHashMap<>();
+        building = fresh;
+        try {
+            jdbcTemplate.query("SELECT hash, content FROM tb_sentiment_texts",
+                    rs -> { add(fresh, rs.getString("hash"), rs.getString("content")); });
+            postings = fresh;
+        } finally {
+            building = null;
+        }
+        log.info("In-memory text index built with {} terms", fresh.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSentimentSaved(SentimentSavedEvent event) {
+        if (!databasePlatform.isPostgres()) {
+            add(event.textHash(), event.textContent());
+        }
+    }
+
+    void add(String hash, String content) {
+        add(postings, hash, content);
+        Map<String, Set<String>> next = building;
+        if (next != null) {
+            add(next, hash, content);
+        }
+    }
+
+    private static void add(Map<String, Set<String>> index, String hash, String content) {
+        for (String token : tokenize(content)) {
+            index.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(hash);
+        }
+    }
+
+    /**
+     * Retorna os hashes dos textos que contêm todas as palavras da consulta.
+     */
+    public Set<String> search(String query) {
+        Set<String> tokens = tokenize(query);
+        Map<String, Set<String>> index = postings;
+        Set<String> result = null;
+        for (String token : tokens) {
+            Set<String> hashes = index.getOrDefault(token, Set.of());
+            if (result == null) {
+                result = new HashSet<>(hashes);
+            } else {
+                result.retainAll(hashes);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result == null ? Set.of() : result;
+    }
+
+    /**
+     * Quebra o texto em palavras minúsculas e sem acentos.
+     */
+    static Set<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Set.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase();
+        Set<String> tokens = new HashSet<>();
+        Arrays.stream(normalized.split("[^a-z0-9]+"))
+                .filter(token -> token.length() >= MIN_TOKEN_LENGTH)
+                .forEach(tokens::add);
+        return tokens;
+    }
+}
@@ -0,0 +1,51 @@
+package com.hackaton_one.sentiment_api.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * Granularidades da série temporal de análises. Semanas começam na segunda-feira.
+ */
+public enum TimeGranularity {
+    HOUR,
+    DAY,
+    WEEK;
+
+    /**
+     * Início do intervalo que contém o instante informado.
+     */
+    public LocalDateTime truncate(LocalDateTime value) {
+        return switch (this) {
+            case HOUR -> value.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> value.truncatedTo(ChronoUnit.DAYS);
+            case WEEK -> value.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        };
+    }
+
+    /**
+     * Início do intervalo seguinte.
+     */
+    public LocalDateTime next(LocalDateTime bucketStart) {
+        return switch (this) {
+            case HOUR -> bucketStart.plusHours(1);
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+        };
+    }
+
+    /**
+     * Converte o parâmetro da requisição (case-insensitive).
+     *
+     * @throws IllegalArgumentException se a granularidade não for suportada
+     */
+    public static TimeGranularity from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unsupported granularity '" + value + "'. Use hour, day or week");
+        }
+    }
+}
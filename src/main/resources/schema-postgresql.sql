@@ -0,0 +1,95 @@
+-- Schema PostgreSQL (executado no startup do perfil prod via spring.sql.init)
+-- Todos os comandos são idempotentes.
+
+-- Textos analisados, endereçados pelo hash SHA-256 do conteúdo
+CREATE TABLE IF NOT EXISTS tb_sentiment_texts (
+    hash    VARCHAR(64)   PRIMARY KEY,
+    content VARCHAR(5000) NOT NULL
+);
+
+-- Análises; o texto é referenciado pelo hash.
+-- Particionada por mês em analyzed_at: as partições mensais (tb_sentiments_pYYYYMM)
+-- são criadas e removidas pelo RetentionService.
+CREATE TABLE IF NOT EXISTS tb_sentiments (
+    id               BIGSERIAL,
+    text_hash        VARCHAR(64) NOT NULL REFERENCES tb_sentiment_texts (hash),
+    sentiment_result VARCHAR(255),
+    confidence_score DOUBLE PRECISION,
+    model_version    VARCHAR(64),
+    analyzed_at      TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, analyzed_at)
+) PARTITION BY RANGE (analyzed_at);
+
+-- Recebe linhas fora das partições mensais existentes
+CREATE TABLE IF NOT EXISTS tb_sentiments_default PARTITION OF tb_sentiments DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_sentiments_text_hash ON tb_sentiments (text_hash);
+CREATE INDEX IF NOT EXISTS idx_sentiments_analyzed_at ON tb_sentiments (analyzed_at);
+
+-- Versão do modelo que produziu cada análise (bancos criados antes da coluna)
+ALTER TABLE tb_sentiments ADD COLUMN IF NOT EXISTS model_version VARCHAR(64);
+
+-- Progresso do job de reprocessamento (uma linha por versão de modelo alvo)
+CREATE TABLE IF NOT EXISTS tb_rescoring_checkpoints (
+    target_version VARCHAR(64) PRIMARY KEY,
+    status         VARCHAR(16) NOT NULL,
+    last_id        BIGINT      NOT NULL,
+    processed      BIGINT      NOT NULL,
+    changed        BIGINT      NOT NULL,
+    started_at     TIMESTAMP(6),
+    updated_at     TIMESTAMP(6),
+    owner          VARCHAR(64),
+    heartbeat_at   TIMESTAMP(6)
+);
+
+-- Posse do job entre os nós (bancos criados antes destas colunas)
+ALTER TABLE tb_rescoring_checkpoints ADD COLUMN IF NOT EXISTS owner VARCHAR(64);
+ALTER TABLE tb_rescoring_checkpoints ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMP(6);
+
+-- Busca por palavra-chave (GET /sentiment/search)
+CREATE INDEX IF NOT EXISTS idx_sentiment_texts_fts ON tb_sentiment_texts
+    USING GIN (to_tsvector('portuguese', content));
+
+-- Contadores horários por sentimento (séries temporais sem varrer tb_sentiments)
+CREATE TABLE IF NOT EXISTS tb_sentiment_counters (
+    bucket_start     TIMESTAMP(6) NOT NULL,
+    sentiment_result VARCHAR(16)  NOT NULL,
+    total            BIGINT       NOT NULL,
+    PRIMARY KEY (bucket_start, sentiment_result)
+);
+
+-- Histogramas da confiança por sentimento (100 faixas de 0,01)
+CREATE TABLE IF NOT EXISTS tb_confidence_histograms (
+    sentiment_result VARCHAR(16) NOT NULL,
+    bucket           INTEGER     NOT NULL,
+    total            BIGINT      NOT NULL,
+    PRIMARY KEY (sentiment_result, bucket)
+);
+
+-- Resultados do modelo compartilhados entre os nós, por texto normalizado e versão do modelo.
+-- Linhas expiram por idade (result-cache.max-age-days), em qualquer versão.
+CREATE TABLE IF NOT EXISTS tb_result_cache (
+    text_hash        VARCHAR(64)      NOT NULL,
+    model_version    VARCHAR(64)      NOT NULL,
+    sentiment_result VARCHAR(16)      NOT NULL,
+    confidence_score DOUBLE PRECISION NOT NULL,
+    created_at       TIMESTAMP(6)     NOT NULL,
+    PRIMARY KEY (text_hash, model_version)
+);
+
+CREATE INDEX IF NOT EXISTS idx_result_cache_created_at ON tb_result_cache (created_at);
+
+-- Maior ID de tb_sentiments incluído em cada tabela pré-agregada (contadores, histogramas).
+-- A linha também serializa backfills e reconstruções entre os nós.
+CREATE TABLE IF NOT EXISTS tb_aggregate_watermarks (
+    name       VARCHAR(32) PRIMARY KEY,
+    watermark  BIGINT,
+    updated_at TIMESTAMP(6)
+);
+
+-- Progresso da ingestão por diretório: linhas de cada arquivo já gravadas no banco
+CREATE TABLE IF NOT EXISTS tb_ingestion_checkpoints (
+    file_name  VARCHAR(255) PRIMARY KEY,
+    rows_done  BIGINT       NOT NULL,
+    updated_at TIMESTAMP(6)
+);
@@ -0,0 +1,121 @@
+package com.hackaton_one.sentiment_api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RateLimitFilter Unit Tests")
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, RateLimitProperties.EndpointLimit> endpoints = new LinkedHashMap<>();
+        endpoints.put("analyze", new RateLimitProperties.EndpointLimit(
+                List.of("/sentiment"), List.of("post"), 2, 0.01, 1, 0));
+        endpoints.put("batch", new RateLimitProperties.EndpointLimit(
+                List.of("/sentiment/batch", "/sentiment/bulk"), List.of("POST"), 10, 0.01, 1, 1));
+        RateLimitProperties properties = new RateLimitProperties(
+                true, "X-API-Key", List.of("cliente-a", "cliente-b"), false, Duration.ofMinutes(10), 1000, endpoints);
+        filter = new RateLimitFilter(new RateLimiter(Duration.ofMinutes(10).toNanos(), 1000), properties,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    @DisplayName("Should add rate limit headers and reject with 429 when the bucket is empty")
+    void shouldRejectWhenExhausted() throws Exception {
+        MockHttpServletResponse first = perform(request("POST", "/sentiment", null));
+        assertEquals(200, first.getStatus());
+        assertEquals("2", first.getHeader(RateLimitFilter.LIMIT_HEADER));
+        assertEquals("1", first.getHeader(RateLimitFilter.REMAINING_HEADER));
+
+        perform(request("POST", "/sentiment", null));
+        MockHttpServletResponse rejected = perform(request("POST", "/sentiment", null));
+
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("Rate limit exceeded"));
+    }
+
+    @Test
+    @DisplayName("Should identify clients by API key before IP")
+    void shouldUseApiKey() throws Exception {
+        perform(request("POST", "/sentiment", "cliente-a"));
+        perform(request("POST", "/sentiment", "cliente-a"));
+
+        assertEquals(429, perform(request("POST", "/sentiment", "cliente-a")).getStatus());
+        assertEquals(200, perform(request("POST", "/sentiment", "cliente-b")).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the IP for API keys outside the allow-list")
+    void shouldIgnoreUnknownApiKeys() throws Exception {
+        perform(request("POST", "/sentiment", "desconhecida-1"));
+        perform(request("POST", "/sentiment", "desconhecida-2"));
+
+        assertEquals(429, perform(request("POST", "/sentiment", "desconhecida-3")).getStatus());
+        assertEquals("ip:10.0.0.1", filter.clientKey(request("POST", "/sentiment", "desconhecida-4")));
+    }
+
+    @Test
+    @DisplayName("Should identify authenticated users by principal")
+    void shouldUsePrincipal() {
+        MockHttpServletRequest request = request("POST", "/sentiment", "cliente-a");
+        request.setUserPrincipal(() -> "maria");
+
+        assertEquals("user:maria", filter.clientKey(request));
+    }
+
+    @Test
+    @DisplayName("Should not limit requests outside the configured groups")
+    void shouldIgnoreUnmatchedRequests() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = perform(request("GET", "/sentiment/statistics", null));
+            assertEquals(200, response.getStatus());
+            assertNull(response.getHeader(RateLimitFilter.LIMIT_HEADER));
+        }
+    }
+
+    @Test
+    @DisplayName("Should charge batch rows reported by the controller")
+    void shouldChargeBatchRows() throws Exception {
+        MockHttpServletRequest batch = request("POST", "/sentiment/bulk", null);
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                request.setAttribute(RateLimitFilter.ROWS_ATTRIBUTE, 9);
+            }
+        };
+        filter.doFilter(batch, new MockHttpServletResponse(), chain);
+
+        assertEquals(429, perform(request("POST", "/sentiment/batch", null)).getStatus());
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr("10.0.0.1");
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,138 @@
+package com.hackaton_one.sentiment_api.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RateLimiter Unit Tests")
+class RateLimiterTest {
+
+    // 10 tokens de rajada, 2 tokens por segundo
+    private static final RateLimitProperties.EndpointLimit LIMIT =
+            new RateLimitProperties.EndpointLimit(List.of("/sentiment"), List.of(), 10, 2.0, 1, 1);
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new RateLimiter(now::get, TimeUnit.MINUTES.toNanos(10), 1000);
+    }
+
+    @Test
+    @DisplayName("Should allow a full burst and then reject with Retry-After")
+    void shouldAllowBurstThenReject() {
+        for (int i = 0; i < 10; i++) {
+            RateLimiter.Decision decision = rateLimiter.tryAcquire("analyze", "ip:1", LIMIT, 1);
+            assertTrue(decision.allowed());
+            assertEquals(9 - i, decision.remaining());
+        }
+
+        RateLimiter.Decision rejected = rateLimiter.tryAcquire("analyze", "ip:1", LIMIT, 1);
+        assertFalse(rejected.allowed());
+        assertEquals(0, rejected.remaining());
+        assertEquals(1, rejected.retryAfterSeconds());
+        assertEquals(5, rejected.resetSeconds());
+    }
+
+    @Test
+    @DisplayName("Should refill tokens over time")
+    void shouldRefillOverTime() {
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire("analyze", "ip:1", LIMIT, 1);
+        }
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(rateLimiter.tryAcquire("analyze", "ip:1", LIMIT, 1).allowed());
+        }
+        assertFalse(rateLimiter.tryAcquire("analyze", "ip:1", LIMIT, 1).allowed());
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per client and endpoint group")
+    void shouldIsolateClients() {
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire("analyze", "ip:1", LIMIT, 1);
+        }
+
+        assertFalse(rateLimiter.tryAcquire("analyze", "ip:1", LIMIT, 1).allowed());
+        assertTrue(rateLimiter.tryAcquire("analyze", "ip:2", LIMIT, 1).allowed());
+        assertTrue(rateLimiter.tryAcquire("batch", "ip:1", LIMIT, 1).allowed());
+    }
+
+    @Test
+    @DisplayName("Should make clients wait for charged batch rows")
+    void shouldChargeDebt() {
+        assertTrue(rateLimiter.tryAcquire("batch", "key:abc", LIMIT, 1).allowed());
+        rateLimiter.charge("batch", "key:abc", LIMIT, 30);
+
+        RateLimiter.Decision decision = rateLimiter.tryAcquire("batch", "key:abc", LIMIT, 1);
+        assertFalse(decision.allowed());
+        // 31 tokens consumidos, 10 de tolerância: 22 tokens a 2/s = 11s
+        assertEquals(11, decision.retryAfterSeconds());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        assertTrue(rateLimiter.tryAcquire("batch", "key:abc", LIMIT, 1).allowed());
+    }
+
+    @Test
+    @DisplayName("Should evict buckets that have been idle and full")
+    void shouldEvictIdleBuckets() {
+        rateLimiter.tryAcquire("analyze", "ip:1", LIMIT, 1);
+        rateLimiter.tryAcquire("analyze", "ip:2", LIMIT, 1);
+        assertEquals(0, rateLimiter.evictIdle());
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(11));
+        rateLimiter.tryAcquire("analyze", "ip:3", LIMIT, 1);
+
+        assertEquals(2, rateLimiter.evictIdle());
+        assertEquals(1, rateLimiter.size());
+    }
+
+    @Test
+    @DisplayName("Should share one bucket per group when the table is full")
+    void shouldBoundMemory() {
+        RateLimiter small = new RateLimiter(now::get, TimeUnit.MINUTES.toNanos(10), 2);
+        small.tryAcquire("analyze", "ip:1", LIMIT, 1);
+        small.tryAcquire("analyze", "ip:2", LIMIT, 1);
+        small.tryAcquire("analyze", "ip:3", LIMIT, 1);
+        small.tryAcquire("analyze", "ip:4", LIMIT, 1);
+
+        assertEquals(3, small.size());
+    }
+
+    @Test
+    @DisplayName("Should never admit more than the burst under concurrency")
+    void shouldBeExactUnderConcurrency() throws Exception {
+        RateLimitProperties.EndpointLimit slow =
+                new RateLimitProperties.EndpointLimit(List.of("/sentiment"), List.of(), 500, 0.001, 1, 0);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(8);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 200; i++) {
+                    if (rateLimiter.tryAcquire("analyze", "ip:1", slow, 1).allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        assertEquals(500, allowed.get());
+    }
+}
@@ -0,0 +1,93 @@
+package com.hackaton_one.sentiment_api.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReadWriteRoutingDataSource Tests (two H2 instances)")
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("routing_primary");
+        replica = h2("routing_replica");
+        new JdbcTemplate(primary).execute("CREATE TABLE IF NOT EXISTS marker AS SELECT 'primary' AS name");
+        new JdbcTemplate(replica).execute("CREATE TABLE IF NOT EXISTS marker AS SELECT 'replica' AS name");
+    }
+
+    @Test
+    @DisplayName("Should route readOnly transactions to the replica")
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        ReplicaHealth health = new ReplicaHealth(replica, Duration.ofSeconds(5));
+        health.check();
+
+        assertTrue(health.isUsable());
+        assertEquals("replica", readMarker(routed(health), true));
+    }
+
+    @Test
+    @DisplayName("Should route read-write transactions to the primary")
+    void shouldRouteWritesToPrimary() {
+        ReplicaHealth health = new ReplicaHealth(replica, Duration.ofSeconds(5));
+
+        assertEquals("primary", readMarker(routed(health), false));
+    }
+
+    @Test
+    @DisplayName("Should route access outside transactions to the primary")
+    void shouldRouteNonTransactionalAccessToPrimary() {
+        ReplicaHealth health = new ReplicaHealth(replica, Duration.ofSeconds(5));
+
+        assertEquals("primary", new JdbcTemplate(routed(health))
+                .queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica is unavailable")
+    void shouldFallBackToPrimaryWhenReplicaUnavailable() {
+        DataSource unreachable = new DriverManagerDataSource("jdbc:h2:mem:routing_missing;IFEXISTS=TRUE", "sa", "");
+        ReplicaHealth health = new ReplicaHealth(unreachable, Duration.ofSeconds(5));
+        health.check();
+
+        assertFalse(health.isUsable());
+        DataSource routed = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, health));
+        assertEquals("primary", readMarker(routed, true));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when lag exceeds the staleness tolerance")
+    void shouldFallBackToPrimaryWhenTooStale() {
+        ReplicaHealth health = new ReplicaHealth(replica, Duration.ofMillis(-1));
+        health.check();
+
+        assertFalse(health.isUsable());
+        assertEquals("primary", readMarker(routed(health), true));
+    }
+
+    private DataSource routed(ReplicaHealth health) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, health));
+    }
+
+    private String readMarker(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
@@ -0,0 +1,58 @@
+package com.hackaton_one.sentiment_api.config;
+
+import com.hackaton_one.sentiment_api.service.RequestDeadline;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RequestDeadlineFilter Unit Tests")
+class RequestDeadlineFilterTest {
+
+    private final RequestDeadlineFilter filter = new RequestDeadlineFilter(new DeadlineProperties(
+            true, "X-Request-Timeout", Duration.ofSeconds(10), Duration.ofSeconds(60)));
+
+    @Test
+    @DisplayName("Should use the default timeout for single analyses and none for batches")
+    void shouldApplyDefaultOnlyToSingleAnalysis() {
+        assertEquals(Duration.ofSeconds(10), filter.resolveTimeout(request("POST", "/sentiment", null)));
+        assertNull(filter.resolveTimeout(request("POST", "/sentiment/bulk", null)));
+        assertNull(filter.resolveTimeout(request("GET", "/sentiment/history", "500")));
+    }
+
+    @Test
+    @DisplayName("Should honour the client header up to the maximum timeout")
+    void shouldHonourHeader() {
+        assertEquals(Duration.ofMillis(250), filter.resolveTimeout(request("POST", "/sentiment", "250")));
+        assertEquals(Duration.ofMillis(250), filter.resolveTimeout(request("POST", "/sentiment/bulk", "250")));
+        assertEquals(Duration.ofSeconds(60), filter.resolveTimeout(request("POST", "/sentiment", "999999")));
+        assertEquals(Duration.ofSeconds(10), filter.resolveTimeout(request("POST", "/sentiment", "abc")));
+    }
+
+    @Test
+    @DisplayName("Should attach the deadline only while the request is handled")
+    void shouldAttachDeadlineDuringRequest() throws Exception {
+        AtomicReference<RequestDeadline> seen = new AtomicReference<>();
+
+        filter.doFilter(request("POST", "/sentiment", "1000"), new MockHttpServletResponse(),
+                (req, res) -> seen.set(RequestDeadline.current()));
+
+        assertNotNull(seen.get());
+        assertTrue(seen.get().remainingNanos() <= TimeUnit.SECONDS.toNanos(1));
+        assertNull(RequestDeadline.current());
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String timeout) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (timeout != null) {
+            request.addHeader("X-Request-Timeout", timeout);
+        }
+        return request;
+    }
+}
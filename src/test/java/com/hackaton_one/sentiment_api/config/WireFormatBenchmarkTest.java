@@ -0,0 +1,103 @@
+package com.hackaton_one.sentiment_api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.hackaton_one.sentiment_api.api.dto.BatchSentimentResponseDTO;
+import com.hackaton_one.sentiment_api.api.dto.HistoryItemDTO;
+import com.hackaton_one.sentiment_api.api.dto.HistoryItemListDTO;
+import com.hackaton_one.sentiment_api.api.dto.SentimentResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara tamanho do payload e CPU de serialização/desserialização entre JSON e CBOR
+ * para as respostas dos endpoints de análise. Os tempos são apenas registrados no log;
+ * as asserções cobrem o round-trip e o tamanho.
+ */
+@Slf4j
+@DisplayName("JSON vs CBOR wire format benchmark")
+class WireFormatBenchmarkTest {
+
+    private static final int ITERATIONS = 2_000;
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+
+    private static BatchSentimentResponseDTO batchResponse() {
+        List<SentimentResponseDTO> results = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            results.add(new SentimentResponseDTO(i % 3 == 0 ? "NEGATIVO" : "POSITIVO", 0.5 + (i % 50) / 100.0,
+                    "Comentário de cliente número " + i + " sobre a entrega e o produto"));
+        }
+        return new BatchSentimentResponseDTO(results, results.size());
+    }
+
+    private static HistoryItemListDTO historyResponse() {
+        List<HistoryItemDTO> items = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2026, 1, 7, 10, 0);
+        for (long i = 0; i < 100; i++) {
+            items.add(new HistoryItemDTO(i, "Texto analisado " + i, "POSITIVO", 0.91, base.plusMinutes(i)));
+        }
+        return new HistoryItemListDTO(items);
+    }
+
+    private <T> void compare(String name, T payload, Class<T> type) throws Exception {
+        byte[] jsonBytes = json.writeValueAsBytes(payload);
+        byte[] cborBytes = cbor.writeValueAsBytes(payload);
+
+        assertEquals(payload, json.readValue(jsonBytes, type));
+        assertEquals(payload, cbor.readValue(cborBytes, type));
+        assertTrue(cborBytes.length < jsonBytes.length, name + ": CBOR should be smaller than JSON");
+
+        long jsonCpu = cpuNanos(json, payload, type);
+        long cborCpu = cpuNanos(cbor, payload, type);
+        log.info("{}: JSON {} bytes, {} µs/op | CBOR {} bytes ({}%), {} µs/op",
+                name, jsonBytes.length, jsonCpu / ITERATIONS / 1000,
+                cborBytes.length, cborBytes.length * 100 / jsonBytes.length, cborCpu / ITERATIONS / 1000);
+    }
+
+    /**
+     * CPU da thread atual para serializar e desserializar o payload ITERATIONS vezes (após aquecimento).
+     */
+    private static <T> long cpuNanos(ObjectMapper mapper, T payload, Class<T> type) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(payload), type);
+        }
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(payload), type);
+        }
+        return threads.getCurrentThreadCpuTime() - start;
+    }
+
+    @Test
+    @DisplayName("Should produce smaller payloads for single analysis responses")
+    void shouldCompareSingleResponse() throws Exception {
+        compare("SentimentResponseDTO",
+                new SentimentResponseDTO("POSITIVO", 0.9731, "Produto excelente, chegou antes do prazo"),
+                SentimentResponseDTO.class);
+    }
+
+    @Test
+    @DisplayName("Should produce smaller payloads for batch responses")
+    void shouldCompareBatchResponse() throws Exception {
+        compare("BatchSentimentResponseDTO", batchResponse(), BatchSentimentResponseDTO.class);
+    }
+
+    @Test
+    @DisplayName("Should produce smaller payloads for history responses")
+    void shouldCompareHistoryResponse() throws Exception {
+        compare("HistoryItemListDTO", historyResponse(), HistoryItemListDTO.class);
+    }
+}
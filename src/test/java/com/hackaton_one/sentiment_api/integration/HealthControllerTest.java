@@ -1,6 +1,13 @@
 package com.hackaton_one.sentiment_api.integration;
 
 import com.hackaton_one.sentiment_api.api.controller.HealthCheckController;
+import com.hackaton_one.sentiment_api.api.dto.CascadeStatsDTO;
+import com.hackaton_one.sentiment_api.api.dto.HedgingStatsDTO;
+import com.hackaton_one.sentiment_api.api.dto.QuantizationReportDTO;
+import com.hackaton_one.sentiment_api.api.dto.ResultCacheStatsDTO;
+import com.hackaton_one.sentiment_api.service.InferenceHedger;
+import com.hackaton_one.sentiment_api.service.LexiconCascade;
+import com.hackaton_one.sentiment_api.service.ResultCache;
 import com.hackaton_one.sentiment_api.service.SentimentService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +28,15 @@ class HealthControllerTest {
     @MockitoBean
     private SentimentService sentimentService;
 
+    @MockitoBean
+    private InferenceHedger inferenceHedger;
+
+    @MockitoBean
+    private LexiconCascade lexiconCascade;
+
+    @MockitoBean
+    private ResultCache resultCache;
+
     @Test
     void shouldReturn200WhenSendingGetToHealth() throws Exception {
         mockMvc.perform(get("/health"))
@@ -54,4 +70,50 @@ class HealthControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.modelStatus").value("UNAVAILABLE"));
     }
+
+    @Test
+    void shouldReturnHedgingStats() throws Exception {
+        when(inferenceHedger.getStats()).thenReturn(new HedgingStatsDTO(true, 200, 4, 0.02, 3, 1, 12.5));
+
+        mockMvc.perform(get("/health/hedging"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hedged").value(4))
+                .andExpect(jsonPath("$.hedgeWins").value(3))
+                .andExpect(jsonPath("$.thresholdMs").value(12.5));
+    }
+
+    @Test
+    void shouldReturnQuantizationReport() throws Exception {
+        when(sentimentService.getQuantizationReport()).thenReturn(new QuantizationReportDTO(
+                true, true, 500, 0.996, 0.99, 2.0, 0.8, 2.5, "Quantized model active"));
+
+        mockMvc.perform(get("/health/quantization"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.active").value(true))
+                .andExpect(jsonPath("$.agreement").value(0.996))
+                .andExpect(jsonPath("$.speedup").value(2.5));
+    }
+
+    @Test
+    void shouldReturnCascadeStats() throws Exception {
+        when(lexiconCascade.getStats()).thenReturn(new CascadeStatsDTO(true, 100, 40, 60, 0.4, 10, 9, 0.9));
+
+        mockMvc.perform(get("/health/cascade"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lexiconHits").value(40))
+                .andExpect(jsonPath("$.modelTexts").value(60))
+                .andExpect(jsonPath("$.agreementRate").value(0.9));
+    }
+
+    @Test
+    void shouldReturnResultCacheStats() throws Exception {
+        when(resultCache.getStats()).thenReturn(
+                new ResultCacheStatsDTO(true, "v2", 100, 30, 50, 20, 0.8, 30, 5, 20));
+
+        mockMvc.perform(get("/health/result-cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.modelVersion").value("v2"))
+                .andExpect(jsonPath("$.databaseHits").value(50))
+                .andExpect(jsonPath("$.hitRate").value(0.8));
+    }
 }
@@ -2,7 +2,10 @@ package com.hackaton_one.sentiment_api.integration;
 
 import com.hackaton_one.sentiment_api.api.controller.SentimentController;
 import com.hackaton_one.sentiment_api.api.dto.*;
+import com.hackaton_one.sentiment_api.exceptions.PayloadTooLargeException;
+import com.hackaton_one.sentiment_api.exceptions.ServiceUnavailableException;
 import com.hackaton_one.sentiment_api.service.*;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -10,8 +13,10 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.FileWriter;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -19,11 +24,19 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(SentimentController.class)
@@ -37,6 +50,9 @@ public class SentimentControllerTest {
     @MockitoBean
     private BatchService batchService;
 
+    @MockitoBean
+    private CsvUploadService csvUploadService;
+
     @MockitoBean
     private StatisticsService statisticsService;
 
@@ -46,6 +62,15 @@ public class SentimentControllerTest {
     @MockitoBean
     private SentimentPersistenceService sentimentPersistenceService;
 
+    @MockitoBean
+    private ExportService exportService;
+
+    @MockitoBean
+    private SearchService searchService;
+
+    @MockitoBean
+    private LiveUpdatePublisher liveUpdatePublisher;
+
     /* Test analyze sentiment single text endpoint */
     @Nested
     @DisplayName("Tests for /sentiment endpoint")
@@ -84,6 +109,24 @@ public class SentimentControllerTest {
 
         }
 
+        @Test
+        void shouldAcceptAndReturnCbor() throws Exception {
+            when(sentimentService.analyzeAndSave("muito bom"))
+                    .thenReturn(new SentimentResponseDTO("POSITIVO", 0.95, "muito bom"));
+            CBORMapper cbor = new CBORMapper();
+
+            byte[] body = mockMvc.perform(post("/sentiment")
+                            .contentType(MediaType.APPLICATION_CBOR)
+                            .accept(MediaType.APPLICATION_CBOR)
+                            .content(cbor.writeValueAsBytes(new SentimentRequestDTO("muito bom"))))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            assertEquals(new SentimentResponseDTO("POSITIVO", 0.95, "muito bom"),
+                    cbor.readValue(body, SentimentResponseDTO.class));
+        }
+
         @Test
         void shouldReturn400WhenSendingPostToAnalyzeWithEmptyText() throws Exception {
             mockMvc.perform(post("/sentiment").contentType(MediaType.APPLICATION_JSON).content("""
@@ -94,6 +137,16 @@ public class SentimentControllerTest {
                     .andExpect(status().isBadRequest());
         }
 
+        @Test
+        void shouldReturn400WhenSendingPostToAnalyzeWithTooShortText() throws Exception {
+            mockMvc.perform(post("/sentiment").contentType(MediaType.APPLICATION_JSON).content("""
+                            {
+                                "text": "ruim"
+                            }
+                            """))
+                    .andExpect(status().isBadRequest());
+        }
+
         @Test
         void shouldReturn400WhenSendingPostToAnalyzeWithMissingText() throws Exception {
             mockMvc.perform(post("/sentiment").contentType(MediaType.APPLICATION_JSON).content("""
@@ -281,6 +334,34 @@ public class SentimentControllerTest {
                     .andExpect(status().isBadRequest());
         }
 
+        @Test
+        void shouldStreamRawMultipartBodyToUploadService() throws Exception {
+            BatchSentimentResponseDTO response = new BatchSentimentResponseDTO(
+                    List.of(new SentimentResponseDTO("POSITIVO", 0.95, "Eu amo este produto!")), 1);
+            when(csvUploadService.processUpload(any(), eq("text"))).thenReturn(response);
+
+            String body = "--b\r\nContent-Disposition: form-data; name=\"file\"; filename=\"a.csv\"\r\n\r\n"
+                    + "text\nEu amo este produto!\n\r\n--b--\r\n";
+
+            mockMvc.perform(post("/sentiment/batch")
+                            .param("textColumn", "text")
+                            .contentType("multipart/form-data; boundary=b")
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalProcessed").value(1));
+        }
+
+        @Test
+        void shouldReturn413WhenUploadIsTooLarge() throws Exception {
+            when(csvUploadService.processUpload(any(), any()))
+                    .thenThrow(new PayloadTooLargeException("Upload exceeds the maximum size of 10 bytes", null));
+
+            mockMvc.perform(post("/sentiment/batch")
+                            .contentType("multipart/form-data; boundary=b")
+                            .content("--b--\r\n"))
+                    .andExpect(status().isPayloadTooLarge());
+        }
+
         @Test
         void shouldReturn500WhenNoFileIsSent() throws Exception {
             mockMvc.perform(multipart("/sentiment/batch"))
@@ -324,6 +405,46 @@ public class SentimentControllerTest {
     }
 
 
+    @Nested
+    @DisplayName("Tests for /sentiment/bulk endpoint")
+    class BulkTests {
+
+        @Test
+        @DisplayName("Should accept plain texts and objects with ids")
+        void shouldAcceptMixedItems() throws Exception {
+            when(batchService.processBulk(any())).thenAnswer(invocation -> {
+                List<BulkItemDTO> items = invocation.getArgument(0);
+                List<BulkResultDTO> results = new ArrayList<>();
+                for (BulkItemDTO item : items) {
+                    results.add(new BulkResultDTO(item.id(), "POSITIVO", 0.9, item.text()));
+                }
+                return new BulkSentimentResponseDTO(results, results.size(), results.size());
+            });
+
+            mockMvc.perform(post("/sentiment/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[{\"id\": \"a-1\", \"text\": \"Chegou rápido\"}, \"Produto veio quebrado\"]"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalProcessed").value(2))
+                    .andExpect(jsonPath("$.results[0].id").value("a-1"))
+                    .andExpect(jsonPath("$.results[0].text").value("Chegou rápido"))
+                    .andExpect(jsonPath("$.results[1].id").doesNotExist())
+                    .andExpect(jsonPath("$.results[1].text").value("Produto veio quebrado"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for invalid bulk input")
+        void shouldReturnBadRequestForInvalidInput() throws Exception {
+            when(batchService.processBulk(any())).thenThrow(new IllegalArgumentException("At least one text is required"));
+
+            mockMvc.perform(post("/sentiment/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[]"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("At least one text is required"));
+        }
+    }
+
     /* Test statistics endpoint */
     @Nested
     @DisplayName("Tests for /sentiment/statistics endpoint")
@@ -511,4 +632,139 @@ public class SentimentControllerTest {
                     .andExpect(jsonPath("$.historyItemList[1].id").value(2));
         }
     }
+
+    /* Test confidence distribution endpoint */
+    @Nested
+    @DisplayName("Tests for /sentiment/statistics/confidence endpoint")
+    class ConfidenceStatisticsTests {
+        @Test
+        void shouldReturnConfidenceDistributions() throws Exception {
+            when(statisticsService.getConfidenceStatistics()).thenReturn(new ConfidenceStatisticsDTO(0.6, List.of(
+                    new ConfidenceDistributionDTO("ALL", 10, 0.55, 0.8, 0.95, 0.2, List.of()))));
+
+            mockMvc.perform(get("/sentiment/statistics/confidence"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.lowConfidenceThreshold").value(0.6))
+                    .andExpect(jsonPath("$.distributions[0].sentiment").value("ALL"))
+                    .andExpect(jsonPath("$.distributions[0].p50").value(0.8));
+        }
+    }
+
+    /* Test time series endpoint */
+    @Nested
+    @DisplayName("Tests for /sentiment/statistics/timeseries endpoint")
+    class TimeSeriesTests {
+        @Test
+        void shouldReturnTimeSeries() throws Exception {
+            var from = LocalDate.of(2026, 1, 5).atStartOfDay();
+            var to = from.plusHours(2);
+            when(statisticsService.getTimeSeries(TimeGranularity.HOUR, from, to)).thenReturn(new TimeSeriesDTO(
+                    "HOUR", from, to, List.of(
+                    new TimeSeriesPointDTO(from, 2, 1, 3),
+                    new TimeSeriesPointDTO(from.plusHours(1), 0, 0, 0))));
+
+            mockMvc.perform(get("/sentiment/statistics/timeseries")
+                            .param("granularity", "hour")
+                            .param("from", "2026-01-05T00:00:00")
+                            .param("to", "2026-01-05T02:00:00"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.granularity").value("HOUR"))
+                    .andExpect(jsonPath("$.points.length()").value(2))
+                    .andExpect(jsonPath("$.points[1].total").value(0));
+        }
+
+        @Test
+        void shouldReturn400WhenGranularityIsNotSupported() throws Exception {
+            mockMvc.perform(get("/sentiment/statistics/timeseries").param("granularity", "minute"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    /* Test export endpoint */
+    @Nested
+    @DisplayName("Tests for /sentiment/export endpoint")
+    class ExportTests {
+        @Test
+        void shouldStreamCsvExport() throws Exception {
+            doAnswer(invocation -> {
+                OutputStream out = invocation.getArgument(4);
+                out.write("id,text,sentiment,score,analyzed_at\n1,muito bom,POSITIVO,0.9,2026-01-07T00:00\n".getBytes());
+                return 1L;
+            }).when(exportService).export(eq(ExportFormat.CSV), isNull(), isNull(), eq("POSITIVO"), any());
+
+            var result = mockMvc.perform(get("/sentiment/export").param("sentiment", "positivo"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Disposition", "attachment; filename=\"sentiments.csv\""))
+                    .andExpect(content().string(containsString("1,muito bom,POSITIVO")));
+        }
+
+        @Test
+        void shouldReturn400WhenFormatIsNotSupported() throws Exception {
+            mockMvc.perform(get("/sentiment/export").param("format", "xml"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void shouldReturn400WhenSentimentFilterIsInvalid() throws Exception {
+            mockMvc.perform(get("/sentiment/export").param("sentiment", "NEUTRO"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    /* Test live stream endpoint */
+    @Nested
+    @DisplayName("Tests for /sentiment/stream endpoint")
+    class StreamTests {
+        @Test
+        void shouldOpenEventStream() throws Exception {
+            when(liveUpdatePublisher.subscribe()).thenReturn(new SseEmitter());
+
+            mockMvc.perform(get("/sentiment/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted());
+        }
+
+        @Test
+        void shouldReturn503WhenSubscriberLimitIsReached() throws Exception {
+            when(liveUpdatePublisher.subscribe()).thenThrow(new ServiceUnavailableException("Limite atingido"));
+
+            mockMvc.perform(get("/sentiment/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "5"));
+        }
+    }
+
+    /* Test search endpoint */
+    @Nested
+    @DisplayName("Tests for /sentiment/search endpoint")
+    class SearchTests {
+        @Test
+        void shouldReturnSearchPageWithCursor() throws Exception {
+            HistoryItemDTO item = new HistoryItemDTO(7L, "entrega atrasada", "NEGATIVO", 0.91,
+                    LocalDate.of(2026, 1, 7).atStartOfDay());
+            when(searchService.search(any(SearchCriteria.class)))
+                    .thenReturn(new SearchResultDTO(List.of(item), "abc", 3));
+
+            mockMvc.perform(get("/sentiment/search")
+                            .param("q", "entrega")
+                            .param("sentiment", "NEGATIVO")
+                            .param("limit", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].id").value(7))
+                    .andExpect(jsonPath("$.nextCursor").value("abc"))
+                    .andExpect(jsonPath("$.tookMs").value(3));
+        }
+
+        @Test
+        void shouldReturn400WhenCursorIsInvalid() throws Exception {
+            when(searchService.search(any(SearchCriteria.class)))
+                    .thenThrow(new IllegalArgumentException("Cursor inválido"));
+
+            mockMvc.perform(get("/sentiment/search").param("cursor", "???"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
 }
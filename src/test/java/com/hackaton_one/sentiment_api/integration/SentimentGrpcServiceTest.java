@@ -0,0 +1,189 @@
+package com.hackaton_one.sentiment_api.integration;
+
+import com.hackaton_one.sentiment_api.api.dto.SentimentResponseDTO;
+import com.hackaton_one.sentiment_api.api.grpc.SentimentGrpcService;
+import com.hackaton_one.sentiment_api.exceptions.ModelAnalysisException;
+import com.hackaton_one.sentiment_api.grpc.AnalyzeRequest;
+import com.hackaton_one.sentiment_api.grpc.AnalyzeResponse;
+import com.hackaton_one.sentiment_api.grpc.SentimentAnalyzerGrpc;
+import com.hackaton_one.sentiment_api.service.SentimentService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@DisplayName("SentimentGrpcService Integration Tests")
+class SentimentGrpcServiceTest {
+
+    private static final int MAX_IN_FLIGHT = 4;
+
+    private SentimentService sentimentService;
+    private ExecutorService executor;
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sentimentService = mock(SentimentService.class);
+        executor = Executors.newFixedThreadPool(8);
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(new SentimentGrpcService(sentimentService, executor, MAX_IN_FLIGHT))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should analyze a single text over the unary RPC")
+    void shouldAnalyzeUnary() {
+        when(sentimentService.analyzeAndSave("muito bom")).thenReturn(new SentimentResponseDTO("POSITIVO", 0.95, "muito bom"));
+
+        AnalyzeResponse response = SentimentAnalyzerGrpc.newBlockingStub(channel)
+                .analyze(AnalyzeRequest.newBuilder().setId("1").setText("muito bom").build());
+
+        assertEquals("1", response.getId());
+        assertEquals("POSITIVO", response.getSentiment());
+        assertEquals(0.95, response.getScore());
+    }
+
+    @Test
+    @DisplayName("Should return INVALID_ARGUMENT for a blank text")
+    void shouldRejectBlankText() {
+        StatusRuntimeException error = assertThrows(StatusRuntimeException.class, () ->
+                SentimentAnalyzerGrpc.newBlockingStub(channel).analyze(AnalyzeRequest.newBuilder().setText(" ").build()));
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, error.getStatus().getCode());
+    }
+
+    @Test
+    @DisplayName("Should return INVALID_ARGUMENT for texts outside the 5-5000 character bounds")
+    void shouldRejectTextLength() {
+        for (String text : new String[]{"ruim", "a".repeat(5001)}) {
+            StatusRuntimeException error = assertThrows(StatusRuntimeException.class, () ->
+                    SentimentAnalyzerGrpc.newBlockingStub(channel).analyze(AnalyzeRequest.newBuilder().setText(text).build()));
+            assertEquals(Status.Code.INVALID_ARGUMENT, error.getStatus().getCode());
+        }
+        verifyNoInteractions(sentimentService);
+    }
+
+    @Test
+    @DisplayName("Should stream results back with bounded in-flight analyses")
+    void shouldStreamWithFlowControl() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(sentimentService.analyzeAndSave(anyString())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(2);
+            running.decrementAndGet();
+            String text = invocation.getArgument(0);
+            return new SentimentResponseDTO("POSITIVO", 0.9, text);
+        });
+
+        Map<String, AnalyzeResponse> results = new ConcurrentHashMap<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        StreamObserver<AnalyzeRequest> requests = SentimentAnalyzerGrpc.newStub(channel)
+                .analyzeStream(new StreamObserver<>() {
+                    @Override
+                    public void onNext(AnalyzeResponse response) {
+                        results.put(response.getId(), response);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        failure.set(t);
+                        completed.countDown();
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.countDown();
+                    }
+                });
+
+        for (int i = 0; i < 200; i++) {
+            requests.onNext(AnalyzeRequest.newBuilder().setId(String.valueOf(i)).setText("texto " + i).build());
+        }
+        requests.onCompleted();
+
+        assertTrue(completed.await(30, TimeUnit.SECONDS));
+        assertNull(failure.get());
+        assertEquals(200, results.size());
+        assertEquals("texto 42", results.get("42").getText());
+        assertTrue(maxRunning.get() <= MAX_IN_FLIGHT, "in-flight analyses exceeded the window: " + maxRunning.get());
+    }
+
+    @Test
+    @DisplayName("Should report per-item errors without closing the stream")
+    void shouldReportItemErrors() throws Exception {
+        when(sentimentService.analyzeAndSave("nada ok")).thenReturn(new SentimentResponseDTO("NEGATIVO", 0.8, "nada ok"));
+        when(sentimentService.analyzeAndSave("falha")).thenThrow(new ModelAnalysisException("Erro na inferência"));
+
+        Map<String, AnalyzeResponse> results = new ConcurrentHashMap<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        StreamObserver<AnalyzeRequest> requests = SentimentAnalyzerGrpc.newStub(channel)
+                .analyzeStream(new StreamObserver<>() {
+                    @Override
+                    public void onNext(AnalyzeResponse response) {
+                        results.put(response.getId(), response);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        completed.countDown();
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.countDown();
+                    }
+                });
+
+        requests.onNext(AnalyzeRequest.newBuilder().setId("a").setText("falha").build());
+        requests.onNext(AnalyzeRequest.newBuilder().setId("b").setText("nada ok").build());
+        requests.onNext(AnalyzeRequest.newBuilder().setId("c").setText("ok").build());
+        requests.onNext(AnalyzeRequest.newBuilder().setId("d").setText("a".repeat(5001)).build());
+        requests.onCompleted();
+
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+        assertEquals("Erro na inferência", results.get("a").getError());
+        assertEquals("NEGATIVO", results.get("b").getSentiment());
+        assertEquals("INVALID_ARGUMENT", results.get("c").getCode());
+        assertEquals("INVALID_ARGUMENT", results.get("d").getCode());
+        verify(sentimentService, never()).analyzeAndSave("ok");
+    }
+}
@@ -1,6 +1,10 @@
 package com.hackaton_one.sentiment_api.service;
 
 import com.hackaton_one.sentiment_api.api.dto.BatchSentimentResponseDTO;
+import com.hackaton_one.sentiment_api.api.dto.BulkItemDTO;
+import com.hackaton_one.sentiment_api.api.dto.BulkResultDTO;
+import com.hackaton_one.sentiment_api.api.dto.BulkSentimentResponseDTO;
+import com.hackaton_one.sentiment_api.api.dto.SentimentResponseDTO;
 import com.hackaton_one.sentiment_api.api.dto.SentimentResultDTO;
 import com.hackaton_one.sentiment_api.exceptions.CsvProcessingException;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,8 +18,14 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +44,8 @@ class BatchServiceTest {
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(batchService, "maxLines", 100);
+        ReflectionTestUtils.setField(batchService, "maxBulkItems", 1000);
+        ReflectionTestUtils.setField(batchService, "inferenceBatchSize", 2);
     }
 
     @Test
@@ -103,9 +115,9 @@ class BatchServiceTest {
                 csvBytes
         );
 
-        when(sentimentService.analyze("Texto positivo"))
+        when(sentimentService.analyze("Texto positivo", InferencePriority.BULK))
                 .thenReturn(new SentimentResultDTO("POSITIVO", 0.95));
-        when(sentimentService.analyze("Texto negativo"))
+        when(sentimentService.analyze("Texto negativo", InferencePriority.BULK))
                 .thenReturn(new SentimentResultDTO("NEGATIVO", 0.85));
 
         BatchSentimentResponseDTO result = batchService.processCSV(csvFile, null);
@@ -113,7 +125,7 @@ class BatchServiceTest {
         assertNotNull(result);
         assertEquals(2, result.totalProcessed());
         assertEquals(2, result.results().size());
-        verify(sentimentService, times(2)).analyze(anyString());
+        verify(sentimentService, times(2)).analyze(anyString(), eq(InferencePriority.BULK));
     }
 
     @Test
@@ -141,14 +153,14 @@ class BatchServiceTest {
                 csvContent.getBytes(java.nio.charset.StandardCharsets.UTF_8)
         );
 
-        when(sentimentService.analyze("Texto customizado"))
+        when(sentimentService.analyze("Texto customizado", InferencePriority.BULK))
                 .thenReturn(new SentimentResultDTO("POSITIVO", 0.90));
 
         BatchSentimentResponseDTO result = batchService.processCSV(csvFile, "comentario");
 
         assertNotNull(result);
         assertEquals(1, result.totalProcessed());
-        verify(sentimentService, times(1)).analyze("Texto customizado");
+        verify(sentimentService, times(1)).analyze("Texto customizado", InferencePriority.BULK);
     }
 
     @Test
@@ -176,12 +188,12 @@ class BatchServiceTest {
                 csvContent.getBytes(java.nio.charset.StandardCharsets.UTF_8)
         );
 
-        when(sentimentService.analyze("Texto de teste"))
+        when(sentimentService.analyze("Texto de teste", InferencePriority.BULK))
                 .thenReturn(new SentimentResultDTO("POSITIVO", 0.95));
 
         doThrow(new RuntimeException("Database error"))
                 .when(persistenceService)
-                .saveSentiment(anyString(), anyString(), anyDouble());
+                .saveSentiment(anyString(), anyString(), anyDouble(), any());
 
         BatchSentimentResponseDTO result = batchService.processCSV(csvFile, null);
 
@@ -200,7 +212,7 @@ class BatchServiceTest {
                 csvContent.getBytes(java.nio.charset.StandardCharsets.UTF_8)
         );
 
-        when(sentimentService.analyze("Texto com vírgula, aqui"))
+        when(sentimentService.analyze("Texto com vírgula, aqui", InferencePriority.BULK))
                 .thenReturn(new SentimentResultDTO("POSITIVO", 0.90));
 
         BatchSentimentResponseDTO result = batchService.processCSV(csvFile, null);
@@ -224,7 +236,7 @@ class BatchServiceTest {
                 csvContent.toString().getBytes(java.nio.charset.StandardCharsets.UTF_8)
         );
 
-        when(sentimentService.analyze(anyString()))
+        when(sentimentService.analyze(anyString(), eq(InferencePriority.BULK)))
                 .thenReturn(new SentimentResultDTO("POSITIVO", 0.90));
 
         BatchSentimentResponseDTO result = batchService.processCSV(csvFile, null);
@@ -232,5 +244,101 @@ class BatchServiceTest {
         assertNotNull(result);
         assertTrue(result.totalProcessed() <= 100); // maxLines configurado como 100
     }
-}
 
+    @Test
+    @DisplayName("Should analyze normalized duplicates once and keep input order")
+    void shouldDedupeBulkTextsAndKeepOrder() {
+        when(sentimentService.analyzeBatch(anyList())).thenAnswer(invocation -> {
+            List<String> texts = invocation.getArgument(0);
+            return texts.stream()
+                    .map(t -> new SentimentResultDTO(t.startsWith("Ruim") ? "negativo" : "positivo", 0.8))
+                    .toList();
+        });
+
+        BulkSentimentResponseDTO response = batchService.processBulk(List.of(
+                new BulkItemDTO("1", "Ótimo produto"),
+                new BulkItemDTO("2", "Ruim demais"),
+                new BulkItemDTO("3", "otimo   PRODUTO!"),
+                BulkItemDTO.of("Entrega rápida")));
+
+        assertEquals(4, response.totalProcessed());
+        assertEquals(3, response.uniqueTexts());
+        assertEquals(List.of("1", "2", "3"), response.results().stream().limit(3).map(BulkResultDTO::id).toList());
+        assertEquals("NEGATIVO", response.results().get(1).sentiment());
+        assertEquals("POSITIVO", response.results().get(2).sentiment());
+        assertEquals("otimo   PRODUTO!", response.results().get(2).text());
+
+        // 3 textos distintos em lotes de 2
+        verify(sentimentService, times(2)).analyzeBatch(anyList());
+        verify(persistenceService).saveAll(argThat(list -> list.size() == 4), any());
+    }
+
+    @Test
+    @DisplayName("Should store lexicon decisions with the lexicon version instead of the model's")
+    void shouldStampLexiconDecisionsWithTheirVersion() {
+        when(sentimentService.analyzeBatch(anyList())).thenAnswer(invocation -> {
+            List<String> texts = invocation.getArgument(0);
+            return texts.stream()
+                    .map(t -> new SentimentResultDTO("positivo", 0.9, t.equals("Ótimo!!") ? "lexicon:abc" : null))
+                    .toList();
+        });
+        when(sentimentService.versionOf(any(SentimentResultDTO.class)))
+                .thenAnswer(invocation -> {
+                    SentimentResultDTO result = invocation.getArgument(0);
+                    return result.versao() != null ? result.versao() : "v1";
+                });
+
+        batchService.processBulk(List.of(BulkItemDTO.of("Ótimo!!"), BulkItemDTO.of("Chegou ontem, ainda testando")));
+
+        verify(persistenceService).saveAll(argThat(list -> list.size() == 1
+                && list.get(0).text().equals("Ótimo!!")), eq("lexicon:abc"));
+        verify(persistenceService).saveAll(argThat(list -> list.size() == 1
+                && list.get(0).text().startsWith("Chegou")), eq("v1"));
+    }
+
+    @Test
+    @DisplayName("Should reject empty, oversized or invalid bulk requests")
+    void shouldRejectInvalidBulkRequests() {
+        ReflectionTestUtils.setField(batchService, "maxBulkItems", 2);
+
+        assertThrows(IllegalArgumentException.class, () -> batchService.processBulk(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> batchService.processBulk(List.of(
+                BulkItemDTO.of("texto um"), BulkItemDTO.of("texto dois"), BulkItemDTO.of("texto tres"))));
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> batchService.processBulk(List.of(BulkItemDTO.of("texto um"), BulkItemDTO.of("  "))));
+        assertTrue(error.getMessage().contains("index 1"));
+        verifyNoInteractions(sentimentService);
+    }
+
+    @Test
+    @DisplayName("Should return bulk results even when persistence fails")
+    void shouldReturnBulkResultsWhenPersistenceFails() {
+        when(sentimentService.analyzeBatch(anyList())).thenReturn(List.of(new SentimentResultDTO("positivo", 0.7)));
+        when(persistenceService.saveAll(anyList(), any())).thenThrow(new RuntimeException("db down"));
+
+        BulkSentimentResponseDTO response = batchService.processBulk(List.of(BulkItemDTO.of("Gostei bastante")));
+
+        assertEquals(1, response.results().size());
+    }
+
+    @Test
+    @DisplayName("Should stream CSV rows in chunks, skipping resumed rows and honoring the limit")
+    void shouldStreamCsvInChunks() throws Exception {
+        when(sentimentService.analyzeBatch(anyList())).thenAnswer(invocation -> {
+            List<String> texts = invocation.getArgument(0);
+            return texts.stream().map(t -> new SentimentResultDTO("negativo", 0.6)).toList();
+        });
+        String csv = "id,comentario\n1,Texto um\n2,Texto dois\n3,\n4,Texto tres\n5,Texto quatro\n6,Oi\n";
+        List<List<SentimentResponseDTO>> chunks = new java.util.ArrayList<>();
+
+        long processed = batchService.processStream(new java.io.BufferedReader(new java.io.StringReader(csv)),
+                new CsvStreamOptions("comentario", 1, 3, true), chunks::add);
+
+        assertEquals(3, processed);
+        assertEquals(2, chunks.size());
+        assertEquals("Texto dois", chunks.get(0).get(0).text());
+        assertEquals("NEGATIVO", chunks.get(0).get(0).sentiment());
+        assertEquals("Texto quatro", chunks.get(1).get(0).text());
+        verify(persistenceService, times(2)).saveAll(anyList(), any());
+    }
+}
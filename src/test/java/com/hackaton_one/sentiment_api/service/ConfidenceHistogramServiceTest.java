@@ -0,0 +1,185 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.ConfidenceDistributionDTO;
+import com.hackaton_one.sentiment_api.api.dto.ConfidenceStatisticsDTO;
+import com.hackaton_one.sentiment_api.config.DatabasePlatform;
+import com.hackaton_one.sentiment_api.events.SentimentSavedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConfidenceHistogramService Unit Tests")
+class ConfidenceHistogramServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private DatabasePlatform databasePlatform;
+
+    @Mock
+    private AggregateWatermarks watermarks;
+
+    @InjectMocks
+    private ConfidenceHistogramService histogramService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(histogramService, "lowConfidenceThreshold", 0.6);
+    }
+
+    private void save(String sentiment, double score) {
+        save(1L, sentiment, score);
+    }
+
+    private void save(long id, String sentiment, double score) {
+        histogramService.onSentimentSaved(new SentimentSavedEvent(id, "h", "texto", sentiment, score, LocalDateTime.now()));
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> action = invocation.getArgument(0);
+            return action.doInTransaction(null);
+        });
+    }
+
+    private static ConfidenceDistributionDTO find(ConfidenceStatisticsDTO statistics, String sentiment) {
+        return statistics.distributions().stream()
+                .filter(distribution -> distribution.sentiment().equals(sentiment))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Should map scores to 0.01 buckets, keeping 1.0 in the last one")
+    void shouldMapScoresToBuckets() {
+        assertEquals(0, ConfidenceHistogramService.bucketOf(0.0));
+        assertEquals(55, ConfidenceHistogramService.bucketOf(0.555));
+        assertEquals(99, ConfidenceHistogramService.bucketOf(1.0));
+    }
+
+    @Test
+    @DisplayName("Should interpolate percentiles inside the bucket")
+    void shouldInterpolatePercentiles() {
+        List<Long> buckets = new ArrayList<>(Collections.nCopies(100, 0L));
+        buckets.set(50, 10L);
+
+        assertEquals(0.505, ConfidenceHistogramService.percentile(buckets, 10, 0.5), 1e-9);
+        assertEquals(0.0, ConfidenceHistogramService.percentile(buckets, 0, 0.5));
+    }
+
+    @Test
+    @DisplayName("Should compute percentiles and low-confidence share per sentiment and overall")
+    void shouldDescribeDistributions() {
+        for (int i = 1; i <= 10; i++) {
+            save("POSITIVO", i / 10.0 - 0.05);
+        }
+        save("NEGATIVO", 0.95);
+
+        ConfidenceStatisticsDTO statistics = histogramService.getDistributions();
+
+        ConfidenceDistributionDTO positive = find(statistics, "POSITIVO");
+        assertEquals(10, positive.count());
+        assertEquals(0.6, positive.lowConfidenceShare(), 1e-9);
+        assertTrue(positive.p10() < positive.p50() && positive.p50() < positive.p90());
+        assertEquals(0.45, positive.p50(), 0.02);
+
+        ConfidenceDistributionDTO all = find(statistics, "ALL");
+        assertEquals(11, all.count());
+        assertEquals(100, all.buckets().size());
+    }
+
+    @Test
+    @DisplayName("Should flush deltas with an increment upsert and reload the snapshot")
+    @SuppressWarnings("unchecked")
+    void shouldFlushAndReload() {
+        runTransactionsInline();
+        when(databasePlatform.isPostgres()).thenReturn(false);
+        when(watermarks.readShared(ConfidenceHistogramService.WATERMARK)).thenReturn(0L);
+        save("NEGATIVO", 0.72);
+        save("NEGATIVO", 0.725);
+
+        histogramService.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("MERGE INTO tb_confidence_histograms"), rows.capture());
+        assertArrayEquals(new Object[]{"NEGATIVO", 72, 2L}, rows.getValue().getFirst());
+        verify(jdbcTemplate).query(contains("FROM tb_confidence_histograms"), any(org.springframework.jdbc.core.RowCallbackHandler.class));
+    }
+
+    @Test
+    @DisplayName("Should move a rescored analysis between buckets")
+    void shouldMoveRescoredAnalysis() {
+        save("POSITIVO", 0.55);
+
+        histogramService.recordRescore("POSITIVO", 0.55, "NEGATIVO", 0.9);
+
+        ConfidenceStatisticsDTO statistics = histogramService.getDistributions();
+        assertEquals(0, find(statistics, "POSITIVO").count());
+        assertEquals(1, find(statistics, "NEGATIVO").count());
+        assertEquals(1, find(statistics, "ALL").count());
+    }
+
+    @Test
+    @DisplayName("Should ignore analyses already covered by the known watermark when they arrive")
+    void shouldIgnoreEventsAtOrBelowKnownWatermark() {
+        ReflectionTestUtils.setField(histogramService, "knownWatermark", 10L);
+        save(10L, "POSITIVO", 0.9);
+        save(11L, "POSITIVO", 0.9);
+
+        assertEquals(1, find(histogramService.getDistributions(), "POSITIVO").count());
+    }
+
+    @Test
+    @DisplayName("Should rebuild under the watermark lock and keep only events after the new watermark")
+    @SuppressWarnings("unchecked")
+    void shouldKeepPostWatermarkEventsAcrossRebuild() {
+        runTransactionsInline();
+        when(databasePlatform.isPostgres()).thenReturn(true);
+        when(watermarks.withExclusive(eq(ConfidenceHistogramService.WATERMARK), any())).thenAnswer(invocation -> {
+            Function<Long, ?> action = invocation.getArgument(1);
+            return action.apply(5L);
+        });
+        when(watermarks.settledMaxId()).thenReturn(10L);
+        when(watermarks.readShared(ConfidenceHistogramService.WATERMARK)).thenReturn(null, 10L);
+        save(10L, "POSITIVO", 0.9);
+        save(11L, "POSITIVO", 0.9);
+
+        histogramService.rebuild();
+
+        verify(jdbcTemplate).update("DELETE FROM tb_confidence_histograms");
+        verify(jdbcTemplate).update(contains("id <= ?"), eq(10L));
+        verify(watermarks).update(ConfidenceHistogramService.WATERMARK, 10L);
+        assertEquals(1, find(histogramService.getDistributions(), "POSITIVO").count());
+
+        histogramService.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("ON CONFLICT"), rows.capture());
+        assertEquals(1, rows.getValue().size());
+        assertArrayEquals(new Object[]{"POSITIVO", 90, 1L}, rows.getValue().getFirst());
+    }
+}
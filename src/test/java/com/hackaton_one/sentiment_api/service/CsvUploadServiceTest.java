@@ -0,0 +1,113 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.BatchSentimentResponseDTO;
+import com.hackaton_one.sentiment_api.api.dto.SentimentResultDTO;
+import com.hackaton_one.sentiment_api.exceptions.PayloadTooLargeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CsvUploadService Unit Tests")
+class CsvUploadServiceTest {
+
+    private static final String BOUNDARY = "----sentiment-boundary";
+
+    @Mock
+    private SentimentService sentimentService;
+
+    @Mock
+    private SentimentPersistenceService persistenceService;
+
+    private CsvUploadService uploadService;
+
+    @BeforeEach
+    void setUp() {
+        BatchService batchService = new BatchService(sentimentService, persistenceService);
+        ReflectionTestUtils.setField(batchService, "maxLines", 100);
+        uploadService = new CsvUploadService(batchService);
+        ReflectionTestUtils.setField(uploadService, "maxFileSize", DataSize.ofKilobytes(1));
+        ReflectionTestUtils.setField(uploadService, "maxRequestSize", DataSize.ofKilobytes(2));
+        lenient().when(sentimentService.analyze(anyString(), eq(InferencePriority.BULK))).thenReturn(new SentimentResultDTO("POSITIVO", 0.9));
+    }
+
+    @Test
+    @DisplayName("Should analyze the streamed file using the form textColumn field")
+    void shouldProcessStreamedUpload() {
+        String body = formField("textColumn", "comentario")
+                + filePart("dados.csv", "id,comentario\n1,Muito bom\n2,Chegou rapido\n")
+                + "--" + BOUNDARY + "--\r\n";
+
+        BatchSentimentResponseDTO response = uploadService.processUpload(request(body), null);
+
+        assertEquals(2, response.totalProcessed());
+        assertEquals("Muito bom", response.results().get(0).text());
+        verify(sentimentService).analyze("Chegou rapido", InferencePriority.BULK);
+    }
+
+    @Test
+    @DisplayName("Should reject a file larger than the limit while reading it")
+    void shouldRejectOversizedFile() {
+        StringBuilder csv = new StringBuilder("text\n");
+        for (int i = 0; i < 100; i++) {
+            csv.append("Linha de teste ").append(i).append('\n');
+        }
+        String body = filePart("grande.csv", csv.toString()) + "--" + BOUNDARY + "--\r\n";
+        MockHttpServletRequest request = request(body);
+        // Sem Content-Length, o limite só pode ser verificado durante a leitura
+        request.removeHeader("Content-Length");
+
+        assertThrows(PayloadTooLargeException.class, () -> uploadService.processUpload(request, null));
+    }
+
+    @Test
+    @DisplayName("Should reject files without .csv extension")
+    void shouldRejectNonCsvFile() {
+        String body = filePart("dados.txt", "text\nMuito bom\n") + "--" + BOUNDARY + "--\r\n";
+
+        assertThrows(IllegalArgumentException.class, () -> uploadService.processUpload(request(body), null));
+        verifyNoInteractions(sentimentService);
+    }
+
+    @Test
+    @DisplayName("Should require the file part")
+    void shouldRequireFilePart() {
+        String body = formField("textColumn", "text") + "--" + BOUNDARY + "--\r\n";
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> uploadService.processUpload(request(body), null));
+        assertEquals("CSV file is required", error.getMessage());
+    }
+
+    private static String formField(String name, String value) {
+        return "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + value + "\r\n";
+    }
+
+    private static String filePart(String filename, String content) {
+        return "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + filename + "\"\r\n"
+                + "Content-Type: text/csv\r\n\r\n"
+                + content + "\r\n";
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/sentiment/batch");
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
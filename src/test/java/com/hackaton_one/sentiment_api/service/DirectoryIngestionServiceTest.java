@@ -0,0 +1,195 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.SentimentResultDTO;
+import com.hackaton_one.sentiment_api.config.DatabasePlatform;
+import com.hackaton_one.sentiment_api.exceptions.ModelAnalysisException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DirectoryIngestionService Unit Tests")
+class DirectoryIngestionServiceTest {
+
+    @Mock
+    private SentimentService sentimentService;
+
+    @Mock
+    private SentimentPersistenceService persistenceService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private DatabasePlatform databasePlatform;
+
+    @TempDir
+    Path inbox;
+
+    private DirectoryIngestionService ingestionService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        BatchService batchService = new BatchService(sentimentService, persistenceService);
+        ReflectionTestUtils.setField(batchService, "inferenceBatchSize", 2);
+
+        ingestionService = new DirectoryIngestionService(batchService, jdbcTemplate, transactionTemplate, databasePlatform);
+        ReflectionTestUtils.setField(ingestionService, "directory", inbox.toString());
+        ReflectionTestUtils.setField(ingestionService, "fileGlob", "*.csv");
+        ReflectionTestUtils.setField(ingestionService, "textColumn", "");
+        ReflectionTestUtils.setField(ingestionService, "settleMillis", 0L);
+
+        for (String dir : List.of("processing", "processed", "failed")) {
+            Files.createDirectories(inbox.resolve(dir));
+        }
+
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(sentimentService.analyzeBatch(anyList())).thenAnswer(invocation -> {
+            List<String> texts = invocation.getArgument(0);
+            return texts.stream().map(t -> new SentimentResultDTO("positivo", 0.9)).toList();
+        });
+    }
+
+    @Test
+    @DisplayName("Should process a dropped file and archive it with its results")
+    void shouldProcessAndArchiveFile() throws Exception {
+        Files.writeString(inbox.resolve("export.csv"), "text\nTexto um\n\"Texto, dois\"\nTexto tres\n");
+
+        ingestionService.scan();
+
+        assertFalse(Files.exists(inbox.resolve("export.csv")));
+        Path archived = single(inbox.resolve("processed"), "-export.csv");
+        List<String> results = Files.readAllLines(Path.of(archived + ".results.csv"));
+        assertEquals(List.of("text,sentiment,score", "Texto um,POSITIVO,0.9", "\"Texto, dois\",POSITIVO,0.9",
+                "Texto tres,POSITIVO,0.9"), results);
+        verify(persistenceService, times(2)).saveAll(anyList(), any());
+        assertEmpty(inbox.resolve("processing"));
+    }
+
+    @Test
+    @DisplayName("Should move a file to failed/ when analysis fails")
+    void shouldMoveFailedFile() throws Exception {
+        when(sentimentService.analyzeBatch(anyList())).thenThrow(new ModelAnalysisException("Erro na inferência"));
+        Files.writeString(inbox.resolve("ruim.csv"), "text\nTexto um\n");
+
+        ingestionService.scan();
+
+        Path failed = single(inbox.resolve("failed"), "-ruim.csv");
+        assertEquals("Erro na inferência", Files.readString(Path.of(failed + ".error")));
+        assertEmpty(inbox.resolve("processing"));
+    }
+
+    @Test
+    @DisplayName("Should resume an interrupted file from its partial results")
+    void shouldResumeInterruptedFile() throws Exception {
+        Path claimed = inbox.resolve("processing").resolve("20260101000000-noite.csv");
+        Files.writeString(claimed, "text\nTexto um\nTexto dois\nTexto tres\n");
+        Files.writeString(Path.of(claimed + ".results.csv.part"), "text,sentiment,score\nTexto um,POSITIVO,0.9\nTexto dois,POSITIVO,0.9\n");
+
+        ingestionService.recover();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> captor = ArgumentCaptor.forClass(List.class);
+        verify(sentimentService).analyzeBatch(captor.capture());
+        assertEquals(List.of("Texto tres"), captor.getValue());
+        List<String> results = Files.readAllLines(inbox.resolve("processed").resolve("20260101000000-noite.csv.results.csv"));
+        assertEquals(4, results.size());
+        assertTrue(Files.exists(inbox.resolve("processed").resolve("20260101000000-noite.csv")));
+    }
+
+    @Test
+    @DisplayName("Should record the checkpoint with each chunk and clear it when the file is done")
+    void shouldCheckpointEachChunk() throws Exception {
+        Files.writeString(inbox.resolve("lote.csv"), "text\nTexto um\nTexto dois\nTexto tres\n");
+
+        ingestionService.scan();
+
+        verify(jdbcTemplate).update(contains("tb_ingestion_checkpoints"), endsWith("-lote.csv"), eq(2L), any());
+        verify(jdbcTemplate).update(contains("tb_ingestion_checkpoints"), endsWith("-lote.csv"), eq(3L), any());
+        verify(jdbcTemplate).update(eq("DELETE FROM tb_ingestion_checkpoints WHERE file_name = ?"), endsWith("-lote.csv"));
+    }
+
+    @Test
+    @DisplayName("Should not write a chunk to the partial results when its database transaction fails")
+    void shouldNotWriteUncommittedChunk() throws Exception {
+        doThrow(new RuntimeException("down")).when(transactionTemplate).executeWithoutResult(any());
+        Files.writeString(inbox.resolve("lote.csv"), "text\nTexto um\n");
+
+        ingestionService.scan();
+
+        Path failed = single(inbox.resolve("failed"), "-lote.csv");
+        assertEquals(List.of("text,sentiment,score"), Files.readAllLines(Path.of(failed + ".results.csv.part")));
+    }
+
+    @Test
+    @DisplayName("Should resume from the committed checkpoint and only re-score rows missing from the partial results")
+    void shouldResumeFromCommittedCheckpoint() throws Exception {
+        Path claimed = inbox.resolve("processing").resolve("20260101000000-noite.csv");
+        Files.writeString(claimed, "text\nTexto um\nTexto dois\nTexto tres\n");
+        Files.writeString(Path.of(claimed + ".results.csv.part"), "text,sentiment,score\nTexto um,POSITIVO,0.9\n");
+        when(jdbcTemplate.queryForList(contains("tb_ingestion_checkpoints"), eq(Long.class), eq("20260101000000-noite.csv")))
+                .thenReturn(List.of(3L));
+
+        ingestionService.recover();
+
+        verify(persistenceService, never()).saveAll(anyList(), any());
+        List<String> results = Files.readAllLines(inbox.resolve("processed").resolve("20260101000000-noite.csv.results.csv"));
+        assertEquals(List.of("text,sentiment,score", "Texto um,POSITIVO,0.9", "Texto dois,POSITIVO,0.9",
+                "Texto tres,POSITIVO,0.9"), results);
+    }
+
+    @Test
+    @DisplayName("Should ignore files that do not match the glob")
+    void shouldIgnoreOtherFiles() throws Exception {
+        Files.writeString(inbox.resolve("notas.txt"), "text\nTexto um\n");
+
+        ingestionService.scan();
+
+        assertTrue(Files.exists(inbox.resolve("notas.txt")));
+        verifyNoInteractions(sentimentService);
+    }
+
+    private static Path single(Path dir, String suffix) throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> matches = files.filter(p -> p.getFileName().toString().endsWith(suffix)).toList();
+            assertEquals(1, matches.size(), "expected one file ending with " + suffix + " in " + dir);
+            return matches.get(0);
+        }
+    }
+
+    private static void assertEmpty(Path dir) throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
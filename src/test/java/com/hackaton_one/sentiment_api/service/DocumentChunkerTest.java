@@ -0,0 +1,108 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.SentimentResultDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DocumentChunker Unit Tests")
+class DocumentChunkerTest {
+
+    private DocumentChunker chunker;
+
+    @BeforeEach
+    void setUp() {
+        chunker = new DocumentChunker();
+        ReflectionTestUtils.setField(chunker, "enabled", true);
+        ReflectionTestUtils.setField(chunker, "minChars", 100);
+        ReflectionTestUtils.setField(chunker, "maxChars", 60);
+        ReflectionTestUtils.setField(chunker, "maxChunks", 16);
+        ReflectionTestUtils.setField(chunker, "aggregation", DocumentChunker.Aggregation.LENGTH_WEIGHTED);
+    }
+
+    @Test
+    @DisplayName("Should keep short texts whole")
+    void shouldKeepShortTexts() {
+        assertEquals(List.of("Produto bom."), chunker.split("Produto bom."));
+
+        ReflectionTestUtils.setField(chunker, "enabled", false);
+        String longText = "Frase longa. ".repeat(20);
+        assertEquals(List.of(longText), chunker.split(longText));
+    }
+
+    @Test
+    @DisplayName("Should split long texts at sentence boundaries")
+    void shouldSplitAtSentences() {
+        String text = "O produto chegou no prazo e bem embalado. A qualidade é excelente. "
+                + "Porém o atendimento demorou muito para responder. Não recomendo a loja.";
+
+        List<String> chunks = chunker.split(text);
+
+        assertTrue(chunks.size() > 1);
+        for (String chunk : chunks) {
+            assertTrue(chunk.length() <= 60, chunk);
+            assertTrue(chunk.endsWith("."), chunk);
+        }
+        assertEquals(text.replace(" ", ""), String.join("", chunks).replace(" ", ""));
+    }
+
+    @Test
+    @DisplayName("Should merge neighbouring chunks to stay within max-chunks")
+    void shouldRespectMaxChunks() {
+        ReflectionTestUtils.setField(chunker, "maxChars", 400);
+        String sentence = "A entrega atrasou e o produto veio com defeito " + "muito ".repeat(28).strip() + ". ";
+        String text = sentence.repeat(5000 / sentence.length() + 1);
+
+        List<String> chunks = chunker.split(text);
+
+        assertTrue(chunks.size() <= 16, "chunks: " + chunks.size());
+        assertEquals(text.replace(" ", ""), String.join("", chunks).replace(" ", ""));
+    }
+
+    @Test
+    @DisplayName("Should split sentences longer than a chunk at spaces")
+    void shouldSplitLongSentences() {
+        String text = "palavra ".repeat(40).strip();
+
+        List<String> chunks = chunker.split(text);
+
+        assertTrue(chunks.stream().allMatch(chunk -> chunk.length() <= 60 && !chunk.startsWith(" ")));
+        assertEquals(40, String.join(" ", chunks).split(" ").length);
+    }
+
+    @Test
+    @DisplayName("Should grow chunks instead of exceeding the chunk limit")
+    void shouldCapChunkCount() {
+        ReflectionTestUtils.setField(chunker, "maxChunks", 4);
+
+        List<String> chunks = chunker.split("Uma frase curta aqui. ".repeat(100));
+
+        assertTrue(chunks.size() <= 5, "chunks: " + chunks.size());
+    }
+
+    @Test
+    @DisplayName("Should aggregate chunk results with each strategy")
+    void shouldAggregate() {
+        List<String> chunks = List.of("a".repeat(300), "b".repeat(100));
+        List<SentimentResultDTO> results = List.of(
+                new SentimentResultDTO("POSITIVO", 0.8),
+                new SentimentResultDTO("NEGATIVO", 0.95));
+
+        SentimentResultDTO weighted = chunker.aggregate(chunks, results);
+        assertEquals("POSITIVO", weighted.previsao());
+        assertEquals((0.8 * 300 + 0.05 * 100) / 400, weighted.probabilidade(), 1e-9);
+
+        ReflectionTestUtils.setField(chunker, "aggregation", DocumentChunker.Aggregation.MEAN);
+        SentimentResultDTO mean = chunker.aggregate(chunks, results);
+        assertEquals("NEGATIVO", mean.previsao());
+        assertEquals(1 - (0.8 + 0.05) / 2, mean.probabilidade(), 1e-9);
+
+        ReflectionTestUtils.setField(chunker, "aggregation", DocumentChunker.Aggregation.MOST_CONFIDENT);
+        assertEquals(results.get(1), chunker.aggregate(chunks, results));
+    }
+}
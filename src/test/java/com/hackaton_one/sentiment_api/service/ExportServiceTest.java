@@ -0,0 +1,99 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hackaton_one.sentiment_api.api.dto.HistoryItemDTO;
+import com.hackaton_one.sentiment_api.repository.SentimentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExportService Unit Tests")
+class ExportServiceTest {
+
+    @Mock
+    private SentimentRepository sentimentRepository;
+
+    private ExportService exportService;
+
+    private final LocalDateTime analyzedAt = LocalDateTime.of(2026, 1, 7, 10, 30);
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ExportService(sentimentRepository, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should write CSV with header and escaped text")
+    void shouldWriteCsv() {
+        when(sentimentRepository.streamForExport(null, null, null)).thenReturn(Stream.of(
+                new HistoryItemDTO(1L, "Bom, muito \"bom\"", "POSITIVO", 0.9, analyzedAt),
+                new HistoryItemDTO(2L, "Ruim", "NEGATIVO", 0.8, analyzedAt)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = exportService.export(ExportFormat.CSV, null, null, null, out);
+
+        assertEquals(2, count);
+        assertEquals("""
+                id,text,sentiment,score,analyzed_at
+                1,"Bom, muito ""bom\"\"\",POSITIVO,0.9,2026-01-07T10:30
+                2,Ruim,NEGATIVO,0.8,2026-01-07T10:30
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line in NDJSON")
+    void shouldWriteNdjson() {
+        when(sentimentRepository.streamForExport(null, null, "NEGATIVO")).thenReturn(Stream.of(
+                new HistoryItemDTO(2L, "Ruim", "NEGATIVO", 0.8, analyzedAt)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(ExportFormat.NDJSON, null, null, "negativo", out);
+
+        assertEquals("{\"id\":2,\"textContent\":\"Ruim\",\"sentimentResult\":\"NEGATIVO\"," +
+                "\"confidenceScore\":0.8,\"analyzedAt\":\"2026-01-07T10:30:00\"}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should close the database stream after exporting")
+    void shouldCloseStream() {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        when(sentimentRepository.streamForExport(any(), any(), any()))
+                .thenReturn(Stream.<HistoryItemDTO>empty().onClose(() -> closed.set(true)));
+
+        exportService.export(ExportFormat.CSV, null, null, null, new ByteArrayOutputStream());
+
+        assertTrue(closed.get());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid sentiment filter")
+    void shouldRejectInvalidSentimentFilter() {
+        assertThrows(IllegalArgumentException.class, () -> ExportService.normalizeSentiment("NEUTRO"));
+        assertNull(ExportService.normalizeSentiment(" "));
+    }
+
+    @Test
+    @DisplayName("Should parse export format case-insensitively")
+    void shouldParseExportFormat() {
+        assertEquals(ExportFormat.NDJSON, ExportFormat.from("NdJson"));
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.from("xml"));
+    }
+}
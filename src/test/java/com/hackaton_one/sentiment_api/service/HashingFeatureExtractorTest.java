@@ -0,0 +1,96 @@
+package com.hackaton_one.sentiment_api.service;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.FloatBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HashingFeatureExtractor Unit Tests")
+class HashingFeatureExtractorTest {
+
+    @Test
+    @DisplayName("Should hash like MurmurHash3 x86 32-bit")
+    void shouldMatchMurmur3() {
+        assertEquals(0, HashingFeatureExtractor.murmur3(new byte[0], 0));
+        assertEquals(0x248bfa47, HashingFeatureExtractor.murmur3("hello".getBytes(StandardCharsets.UTF_8), 0));
+        assertEquals(-156908512, HashingFeatureExtractor.murmur3("foo".getBytes(StandardCharsets.UTF_8), 0));
+    }
+
+    @Test
+    @DisplayName("Should merge repeated tokens into sorted, L2-normalized features")
+    void shouldExtractNormalizedRow() {
+        HashingFeatureExtractor extractor = new HashingFeatureExtractor(1 << 20, 1, false, HashingFeatureExtractor.Norm.L2);
+        HashingFeatureExtractor.Row row = new HashingFeatureExtractor.Row();
+
+        // "é" some na normalização e "a" tem menos de 2 caracteres
+        extractor.extract("Ótimo ótimo produto é a", row);
+
+        assertEquals(2, row.size());
+        assertTrue(row.index(0) < row.index(1));
+        double norm = 0;
+        for (int i = 0; i < row.size(); i++) {
+            norm += row.value(i) * row.value(i);
+        }
+        assertEquals(1.0, norm, 1e-6);
+        float otimo = row.value(indexOf(row, "otimo", 1 << 20));
+        assertEquals(2 / Math.sqrt(5), otimo, 1e-6);
+    }
+
+    @Test
+    @DisplayName("Should include n-grams up to the configured size")
+    void shouldIncludeNgrams() {
+        HashingFeatureExtractor extractor = new HashingFeatureExtractor(1 << 20, 2, true, HashingFeatureExtractor.Norm.NONE);
+        HashingFeatureExtractor.Row row = new HashingFeatureExtractor.Row();
+
+        extractor.extract("muito bom mesmo", row);
+
+        assertEquals(5, row.size());
+        assertTrue(indexOf(row, "muito bom", 1 << 20) >= 0);
+    }
+
+    @Test
+    @DisplayName("Should write features into a reused direct buffer tensor")
+    void shouldCreateFeatureTensor() throws Exception {
+        OrtEnvironment env = OrtEnvironment.getEnvironment();
+        HashingFeatureExtractor extractor = new HashingFeatureExtractor(16, 1, false, HashingFeatureExtractor.Norm.NONE);
+        FeatureModelInput input = new FeatureModelInput(env, extractor, 16 * Float.BYTES * 4);
+
+        assertEquals(4, input.maxRows());
+
+        try (OnnxTensor tensor = input.createTensor(List.of("bom produto", "ruim"))) {
+            assertArrayEquals(new long[]{2, 16}, tensor.getInfo().getShape());
+            assertEquals(3.0f, sum(tensor.getFloatBuffer()), 1e-6);
+        }
+        // Posições da chamada anterior são zeradas antes de reutilizar o buffer
+        try (OnnxTensor tensor = input.createTensor(List.of("x"))) {
+            assertEquals(0.0f, sum(tensor.getFloatBuffer()), 1e-6);
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> input.createTensor(List.of("a", "b", "c", "d", "e")));
+    }
+
+    private static int indexOf(HashingFeatureExtractor.Row row, String term, int dimension) {
+        int hash = HashingFeatureExtractor.murmur3(term.getBytes(StandardCharsets.UTF_8), 0);
+        int index = (int) (Math.abs((long) hash) % dimension);
+        for (int i = 0; i < row.size(); i++) {
+            if (row.index(i) == index) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static float sum(FloatBuffer buffer) {
+        float total = 0;
+        while (buffer.hasRemaining()) {
+            total += buffer.get();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,142 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.HedgingStatsDTO;
+import com.hackaton_one.sentiment_api.exceptions.ModelAnalysisException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InferenceHedger Unit Tests")
+class InferenceHedgerTest {
+
+    private InferenceHedger hedger;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        hedger = new InferenceHedger();
+        ReflectionTestUtils.setField(hedger, "enabled", true);
+        ReflectionTestUtils.setField(hedger, "percentile", 90.0);
+        ReflectionTestUtils.setField(hedger, "minDelayMs", 5L);
+        ReflectionTestUtils.setField(hedger, "budgetPercent", 100.0);
+        ReflectionTestUtils.setField(hedger, "windowSize", 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        hedger.stop();
+    }
+
+    @Test
+    @DisplayName("Should not hedge before there is latency history")
+    void shouldOnlyMeasureWithoutHistory() {
+        assertEquals("primary", hedger.execute(c -> "primary", c -> fail("hedge should not run")));
+
+        HedgingStatsDTO stats = hedger.getStats();
+        assertEquals(1, stats.requests());
+        assertEquals(0, stats.hedged());
+        assertNull(stats.thresholdMs());
+    }
+
+    @Test
+    @DisplayName("Should return the hedge result when the primary stalls")
+    void shouldHedgeStalledPrimary() {
+        warmUp();
+
+        String result = hedger.execute(c -> stalled(), c -> "hedge");
+
+        assertEquals("hedge", result);
+        HedgingStatsDTO stats = hedger.getStats();
+        assertEquals(1, stats.hedged());
+        assertEquals(1, stats.hedgeWins());
+        assertNotNull(stats.thresholdMs());
+    }
+
+    @Test
+    @DisplayName("Should cancel the losing run")
+    void shouldCancelLoser() throws InterruptedException {
+        warmUp();
+        CountDownLatch cancelled = new CountDownLatch(1);
+
+        String result = hedger.execute(c -> {
+            c.onCancel(cancelled::countDown);
+            return stalled();
+        }, c -> "hedge");
+
+        assertEquals("hedge", result);
+        assertTrue(cancelled.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the other run when one of them fails")
+    void shouldUseOtherRunOnFailure() {
+        warmUp();
+
+        String result = hedger.execute(c -> {
+            sleep(50);
+            throw new ModelAnalysisException("falha");
+        }, c -> {
+            sleep(100);
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertThrows(ModelAnalysisException.class, () -> hedger.execute(c -> {
+            sleep(50);
+            throw new ModelAnalysisException("falha");
+        }, c -> {
+            throw new ModelAnalysisException("falha");
+        }));
+    }
+
+    @Test
+    @DisplayName("Should wait for the primary when the hedge budget is exhausted")
+    void shouldRespectBudget() {
+        ReflectionTestUtils.setField(hedger, "budgetPercent", 0.0);
+        warmUp();
+
+        String result = hedger.execute(c -> {
+            sleep(50);
+            return "primary";
+        }, c -> fail("hedge should not run"));
+
+        assertEquals("primary", result);
+        HedgingStatsDTO stats = hedger.getStats();
+        assertEquals(0, stats.hedged());
+        assertEquals(1, stats.budgetExhausted());
+    }
+
+    /**
+     * Execuções rápidas para formar o histórico de latência.
+     */
+    private void warmUp() {
+        for (int i = 0; i < 20; i++) {
+            hedger.execute(c -> "primary", c -> "hedge");
+        }
+    }
+
+    private String stalled() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "primary";
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.exceptions.DeadlineExceededException;
+import com.hackaton_one.sentiment_api.exceptions.ModelAnalysisException;
+import com.hackaton_one.sentiment_api.exceptions.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InferenceScheduler Unit Tests")
+class InferenceSchedulerTest {
+
+    private InferenceScheduler scheduler;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new InferenceScheduler();
+        ReflectionTestUtils.setField(scheduler, "workers", 1);
+        ReflectionTestUtils.setField(scheduler, "interactiveWeight", 16);
+        ReflectionTestUtils.setField(scheduler, "bulkWeight", 4);
+        ReflectionTestUtils.setField(scheduler, "backgroundWeight", 1);
+        ReflectionTestUtils.setField(scheduler, "queueCapacity", 100);
+        scheduler.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        scheduler.stop();
+    }
+
+    @Test
+    @DisplayName("Should return the result and propagate inference errors")
+    void shouldReturnResultAndPropagateErrors() {
+        assertEquals("ok", scheduler.execute(InferencePriority.INTERACTIVE, 1, () -> "ok"));
+
+        ModelAnalysisException error = assertThrows(ModelAnalysisException.class,
+                () -> scheduler.execute(InferencePriority.BULK, 1, () -> {
+                    throw new ModelAnalysisException("falha");
+                }));
+        assertEquals("falha", error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should run interactive work ahead of queued bulk batches")
+    void shouldRunInteractiveAheadOfBulk() throws Exception {
+        List<String> order = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> blocker = occupyWorker();
+
+        for (int i = 0; i < 5; i++) {
+            submit(InferencePriority.BULK, 128, "bulk-" + i, order);
+        }
+        awaitQueued(InferencePriority.BULK, 5);
+        submit(InferencePriority.INTERACTIVE, 1, "interactive", order);
+        awaitQueued(InferencePriority.INTERACTIVE, 1);
+
+        release.countDown();
+        blocker.get(5, TimeUnit.SECONDS);
+        awaitSize(order, 6);
+
+        assertEquals("interactive", order.get(0));
+        assertEquals(List.of("bulk-0", "bulk-1", "bulk-2", "bulk-3", "bulk-4"), order.subList(1, 6));
+    }
+
+    @Test
+    @DisplayName("Should share capacity between backlogged lanes by weight")
+    void shouldShareCapacityByWeight() throws Exception {
+        List<String> order = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> blocker = occupyWorker();
+
+        for (int i = 0; i < 10; i++) {
+            submit(InferencePriority.BACKGROUND, 1, "background", order);
+        }
+        awaitQueued(InferencePriority.BACKGROUND, 10);
+        for (int i = 0; i < 10; i++) {
+            submit(InferencePriority.BULK, 1, "bulk", order);
+        }
+        awaitQueued(InferencePriority.BULK, 10);
+
+        release.countDown();
+        blocker.get(5, TimeUnit.SECONDS);
+        awaitSize(order, 20);
+
+        // Peso 4:1 - nas primeiras 10 execuções, 8 de lote e 2 de reprocessamento
+        List<String> first = order.subList(0, 10);
+        assertEquals(8, first.stream().filter("bulk"::equals).count());
+        assertEquals(2, first.stream().filter("background"::equals).count());
+    }
+
+    @Test
+    @DisplayName("Should reject work when the lane queue is full")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        ReflectionTestUtils.setField(scheduler, "queueCapacity", 1);
+        CompletableFuture<Void> blocker = occupyWorker();
+
+        submit(InferencePriority.BULK, 1, "bulk", new CopyOnWriteArrayList<>());
+        awaitQueued(InferencePriority.BULK, 1);
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> scheduler.execute(InferencePriority.BULK, 1, () -> "x"));
+
+        // As outras prioridades têm filas próprias
+        submit(InferencePriority.INTERACTIVE, 1, "interactive", new CopyOnWriteArrayList<>());
+        awaitQueued(InferencePriority.INTERACTIVE, 1);
+
+        release.countDown();
+        blocker.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should skip queued work whose deadline has passed")
+    void shouldSkipExpiredWork() throws Exception {
+        CompletableFuture<Void> blocker = occupyWorker();
+        AtomicBoolean ran = new AtomicBoolean();
+
+        CompletableFuture<Object> expired = CompletableFuture.supplyAsync(() ->
+                scheduler.execute(InferencePriority.INTERACTIVE, 1, RequestDeadline.after(Duration.ofMillis(50)),
+                        () -> ran.getAndSet(true)));
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> expired.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DeadlineExceededException.class, error.getCause());
+
+        release.countDown();
+        blocker.get(5, TimeUnit.SECONDS);
+        assertEquals("ok", scheduler.execute(InferencePriority.INTERACTIVE, 1, () -> "ok"));
+        assertFalse(ran.get());
+    }
+
+    @Test
+    @DisplayName("Should skip queued work that was cancelled")
+    void shouldSkipCancelledWork() throws Exception {
+        CompletableFuture<Void> blocker = occupyWorker();
+        AtomicBoolean ran = new AtomicBoolean();
+        InferenceCancellation cancellation = new InferenceCancellation();
+
+        CompletableFuture<Object> cancelled = CompletableFuture.supplyAsync(() ->
+                scheduler.execute(InferencePriority.INTERACTIVE, 1, null, cancellation, () -> ran.getAndSet(true)));
+        awaitQueued(InferencePriority.INTERACTIVE, 1);
+        cancellation.cancel();
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> cancelled.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ModelAnalysisException.class, error.getCause());
+
+        release.countDown();
+        blocker.get(5, TimeUnit.SECONDS);
+        assertEquals("ok", scheduler.execute(InferencePriority.INTERACTIVE, 1, () -> "ok"));
+        assertFalse(ran.get());
+    }
+
+    @Test
+    @DisplayName("Should reject work whose deadline already passed and use the thread deadline")
+    void shouldRejectExpiredDeadline() {
+        try (RequestDeadline.Scope ignored = RequestDeadline.attach(RequestDeadline.after(Duration.ZERO))) {
+            assertThrows(DeadlineExceededException.class,
+                    () -> scheduler.execute(InferencePriority.INTERACTIVE, 1, () -> "x"));
+        }
+        assertEquals("x", scheduler.execute(InferencePriority.INTERACTIVE, 1, () -> "x"));
+    }
+
+    /**
+     * Ocupa o único worker até {@link #release} ser liberado.
+     */
+    private CompletableFuture<Void> occupyWorker() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Void> blocker = CompletableFuture.runAsync(() ->
+                scheduler.execute(InferencePriority.INTERACTIVE, 1, () -> {
+                    started.countDown();
+                    return release.await(5, TimeUnit.SECONDS);
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return blocker;
+    }
+
+    private void submit(InferencePriority priority, int cost, String label, List<String> order) {
+        Thread.ofVirtual().start(() -> scheduler.execute(priority, cost, () -> order.add(label)));
+    }
+
+    private void awaitQueued(InferencePriority priority, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduler.queued(priority) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, scheduler.queued(priority));
+    }
+
+    private static void awaitSize(List<String> order, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (order.size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, order.size());
+    }
+}
@@ -0,0 +1,96 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.CascadeStatsDTO;
+import com.hackaton_one.sentiment_api.api.dto.SentimentResultDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LexiconCascade Unit Tests")
+class LexiconCascadeTest {
+
+    private LexiconCascade cascade;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        cascade = new LexiconCascade();
+        ReflectionTestUtils.setField(cascade, "enabled", true);
+        ReflectionTestUtils.setField(cascade, "lexiconPath", "");
+        ReflectionTestUtils.setField(cascade, "maxTokens", 6);
+        ReflectionTestUtils.setField(cascade, "minConfidence", 0.75);
+        ReflectionTestUtils.setField(cascade, "verifyRate", 1.0);
+        ReflectionTestUtils.setField(cascade, "maxVerificationsInFlight", 4);
+        cascade.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cascade.stop();
+    }
+
+    @Test
+    @DisplayName("Should classify with the built-in lexicon and count hits")
+    void shouldClassifyWithBuiltInLexicon() {
+        SentimentResultDTO positive = cascade.classify("Ótimo!");
+        SentimentResultDTO negative = cascade.classify("Péssimo atendimento");
+
+        assertEquals("POSITIVO", positive.previsao());
+        assertEquals("NEGATIVO", negative.previsao());
+        assertNull(cascade.classify("O produto chegou ontem e funciona bem, mas a embalagem veio amassada"));
+
+        CascadeStatsDTO stats = cascade.getStats();
+        assertEquals(3, stats.texts());
+        assertEquals(2, stats.lexiconHits());
+        assertEquals(1, stats.modelTexts());
+        assertNull(stats.agreementRate());
+    }
+
+    @Test
+    @DisplayName("Should version decisions by lexicon content and parameters")
+    void shouldVersionDecisions() {
+        String version = cascade.getVersion();
+
+        assertTrue(version.startsWith("lexicon:"), version);
+        assertEquals(LexiconCascade.versionOf(new byte[]{1}, 6, 0.75), LexiconCascade.versionOf(new byte[]{1}, 6, 0.75));
+        assertNotEquals(LexiconCascade.versionOf(new byte[]{1}, 6, 0.75), LexiconCascade.versionOf(new byte[]{1}, 5, 0.75));
+        assertEquals(version, cascade.classify("Ótimo!").versao());
+    }
+
+    @Test
+    @DisplayName("Should verify sampled decisions against the model")
+    void shouldTrackAgreement() throws InterruptedException {
+        SentimentResultDTO decision = cascade.classify("Excelente");
+
+        cascade.maybeVerify(List.of("Excelente", "Excelente"), List.of(decision, decision),
+                texts -> List.of(new SentimentResultDTO("NEGATIVO", 0.9)));
+        cascade.maybeVerify(List.of("Excelente"), List.of(decision),
+                texts -> List.of(new SentimentResultDTO("POSITIVO", 0.9)));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cascade.getStats().verified() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        CascadeStatsDTO stats = cascade.getStats();
+        assertEquals(3, stats.verified());
+        assertEquals(1, stats.agreed());
+        assertEquals(1.0 / 3, stats.agreementRate(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should not classify when disabled")
+    void shouldSkipWhenDisabled() throws Exception {
+        LexiconCascade disabled = new LexiconCascade();
+        ReflectionTestUtils.setField(disabled, "maxVerificationsInFlight", 4);
+        disabled.init();
+
+        assertNull(disabled.classify("Ótimo"));
+        assertFalse(disabled.getStats().enabled());
+        disabled.stop();
+    }
+}
@@ -0,0 +1,86 @@
+package com.hackaton_one.sentiment_api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LexiconScorer Unit Tests")
+class LexiconScorerTest {
+
+    private static final String LEXICON = String.join("\n",
+            "# teste",
+            "ótimo\t1.5",
+            "bom\t1",
+            "gostei\t1",
+            "péssimo\t-1.5",
+            "caro\t-0.8",
+            "não\tNEG",
+            "muito\tINT:1.5",
+            "produto\tNEUTRAL",
+            "mas\tCONTRAST");
+
+    private LexiconScorer scorer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        scorer = new LexiconScorer(LexiconScorer.parse(new BufferedReader(new StringReader(LEXICON))), 6, 0.75);
+    }
+
+    @Test
+    @DisplayName("Should normalize lexicon words like analyzed texts")
+    void shouldNormalizeWords() throws IOException {
+        Map<String, LexiconScorer.Entry> entries = LexiconScorer.parse(new BufferedReader(new StringReader(LEXICON)));
+
+        assertTrue(entries.containsKey("otimo"));
+        assertTrue(entries.containsKey("pessimo"));
+        assertEquals(LexiconScorer.Kind.INTENSIFIER, entries.get("muito").kind());
+        assertEquals(1.5f, entries.get("muito").weight());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid lexicon lines")
+    void shouldRejectInvalidLines() {
+        assertThrows(IllegalArgumentException.class,
+                () -> LexiconScorer.parse(new BufferedReader(new StringReader("bom\tpositivo"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> LexiconScorer.parse(new BufferedReader(new StringReader("bom"))));
+    }
+
+    @Test
+    @DisplayName("Should decide short unambiguous texts")
+    void shouldDecideUnambiguousTexts() {
+        assertEquals(1.5 / 1.75, scorer.score("otimo"), 1e-9);
+        assertTrue(scorer.score("produto muito bom") > 0.75);
+        assertTrue(scorer.score("pessimo") < -0.75);
+    }
+
+    @Test
+    @DisplayName("Should flip polarity after a negation")
+    void shouldApplyNegation() {
+        assertTrue(scorer.score("nao gostei") < 0);
+        assertTrue(scorer.score("nao muito bom") < 0);
+    }
+
+    @Test
+    @DisplayName("Should leave ambiguous texts to the model")
+    void shouldFallThroughOnAmbiguity() {
+        assertTrue(Double.isNaN(scorer.score("bom mas caro")));
+        assertTrue(Double.isNaN(scorer.score("otimo e pessimo")));
+        assertTrue(Double.isNaN(scorer.score("produto")));
+        assertTrue(Double.isNaN(scorer.score("")));
+    }
+
+    @Test
+    @DisplayName("Should lower confidence with unknown words and skip long texts")
+    void shouldFallThroughOnLowConfidence() {
+        assertTrue(Double.isNaN(scorer.score("bom entrega demorou")));
+        assertTrue(Double.isNaN(scorer.score("otimo otimo otimo otimo otimo otimo otimo")));
+    }
+}
@@ -0,0 +1,148 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hackaton_one.sentiment_api.events.SentimentSavedEvent;
+import com.hackaton_one.sentiment_api.exceptions.ServiceUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LiveUpdatePublisher Unit Tests")
+class LiveUpdatePublisherTest {
+
+    private LiveUpdatePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new LiveUpdatePublisher(new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(publisher, "clientBufferSize", 2);
+        ReflectionTestUtils.setField(publisher, "maxClients", 2);
+    }
+
+    private static SentimentSavedEvent saved(long id, String sentiment) {
+        return new SentimentSavedEvent(id, "h", "texto " + id, sentiment, 0.9, LocalDateTime.of(2026, 1, 7, 10, 0));
+    }
+
+    /**
+     * Sink que registra as mensagens recebidas.
+     */
+    private static class RecordingSink implements LiveUpdatePublisher.EventSink {
+        final BlockingQueue<LiveUpdatePublisher.Message> received = new LinkedBlockingQueue<>();
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public void send(LiveUpdatePublisher.Message message) {
+            received.add(message);
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+
+    /**
+     * Sink que trava na primeira mensagem, simulando um cliente lento.
+     */
+    private static class BlockedSink implements LiveUpdatePublisher.EventSink {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch closed = new CountDownLatch(1);
+        final List<LiveUpdatePublisher.Message> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(LiveUpdatePublisher.Message message) throws java.io.IOException {
+            received.add(message);
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new java.io.InterruptedIOException();
+            }
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fan out each saved analysis to every subscriber")
+    void shouldFanOutAnalyses() throws Exception {
+        RecordingSink first = new RecordingSink();
+        RecordingSink second = new RecordingSink();
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+
+        publisher.onSentimentSaved(saved(7, "POSITIVO"));
+
+        for (RecordingSink sink : List.of(first, second)) {
+            LiveUpdatePublisher.Message message = sink.received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(message);
+            assertEquals("analysis", message.name());
+            assertEquals("7", message.id());
+            assertTrue(message.json().contains("\"sentimentResult\":\"POSITIVO\""));
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop a subscriber whose buffer is full")
+    void shouldDropSlowSubscriber() throws Exception {
+        BlockedSink slow = new BlockedSink();
+        RecordingSink fast = new RecordingSink();
+        publisher.subscribe(slow);
+        publisher.subscribe(fast);
+
+        for (long id = 1; id <= 6; id++) {
+            publisher.onSentimentSaved(saved(id, "NEGATIVO"));
+            Thread.sleep(20);
+        }
+
+        assertTrue(slow.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, publisher.getSubscriberCount());
+        assertEquals(1, publisher.getDroppedClients());
+        for (int i = 0; i < 6; i++) {
+            assertNotNull(fast.received.poll(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Should send interval counts in periodic stats events")
+    void shouldPublishStats() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        publisher.onSentimentSaved(saved(1, "POSITIVO"));
+        publisher.onSentimentSaved(saved(2, "NEGATIVO"));
+        publisher.onSentimentSaved(saved(3, "NEGATIVO"));
+        publisher.subscribe(sink);
+
+        publisher.publishStats();
+
+        LiveUpdatePublisher.Message message = sink.received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(message);
+        assertEquals("stats", message.name());
+        assertTrue(message.json().contains("\"positive\":1"));
+        assertTrue(message.json().contains("\"negative\":2"));
+        assertTrue(message.json().contains("\"total\":3"));
+    }
+
+    @Test
+    @DisplayName("Should refuse subscribers above the limit")
+    void shouldRefuseAboveLimit() {
+        publisher.subscribe(new RecordingSink());
+        publisher.subscribe(new RecordingSink());
+
+        assertThrows(ServiceUnavailableException.class, () -> publisher.subscribe(new RecordingSink()));
+    }
+}
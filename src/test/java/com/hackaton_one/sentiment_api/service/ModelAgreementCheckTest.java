@@ -0,0 +1,61 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.SentimentResultDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ModelAgreementCheck Unit Tests")
+class ModelAgreementCheckTest {
+
+    private static final List<String> SAMPLE = List.of("bom", "ruim", "otimo", "pessimo");
+
+    @Test
+    @DisplayName("Should report full agreement for identical models")
+    void shouldReportFullAgreement() throws Exception {
+        ModelAgreementCheck.Runner model = ModelAgreementCheckTest::label;
+
+        ModelAgreementCheck.Result result = ModelAgreementCheck.compare(model, model, SAMPLE, 4);
+
+        assertEquals(4, result.samples());
+        assertEquals(1.0, result.agreement());
+        assertTrue(result.primaryMeanMs() >= 0);
+        assertTrue(result.candidateMeanMs() >= 0);
+    }
+
+    @Test
+    @DisplayName("Should count label disagreements and measure the latency gain")
+    void shouldCountDisagreements() throws Exception {
+        ModelAgreementCheck.Runner primary = texts -> {
+            Thread.sleep(5);
+            return label(texts);
+        };
+        // O candidato erra "pessimo"
+        ModelAgreementCheck.Runner candidate = texts -> texts.stream()
+                .map(text -> text.equals("pessimo") ? new SentimentResultDTO("POSITIVO", 0.6) : label(List.of(text)).get(0))
+                .toList();
+
+        ModelAgreementCheck.Result result = ModelAgreementCheck.compare(primary, candidate, SAMPLE, 4);
+
+        assertEquals(0.75, result.agreement());
+        assertTrue(result.speedup() > 1.0);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty sample")
+    void shouldRejectEmptySample() {
+        ModelAgreementCheck.Runner model = ModelAgreementCheckTest::label;
+
+        assertThrows(IllegalArgumentException.class, () -> ModelAgreementCheck.compare(model, model, List.of(), 10));
+    }
+
+    private static List<SentimentResultDTO> label(List<String> texts) {
+        return texts.stream()
+                .map(text -> new SentimentResultDTO(
+                        text.equals("bom") || text.equals("otimo") ? "POSITIVO" : "NEGATIVO", 0.9))
+                .toList();
+    }
+}
@@ -0,0 +1,100 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.SentimentResultDTO;
+import com.hackaton_one.sentiment_api.exceptions.ModelAnalysisException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OfflineScoringService Unit Tests")
+class OfflineScoringServiceTest {
+
+    @Mock
+    private SentimentService sentimentService;
+
+    @Mock
+    private SentimentPersistenceService persistenceService;
+
+    @TempDir
+    Path dir;
+
+    private OfflineScoringService scoringService;
+
+    @BeforeEach
+    void setUp() {
+        BatchService batchService = new BatchService(sentimentService, persistenceService);
+        ReflectionTestUtils.setField(batchService, "inferenceBatchSize", 3);
+        scoringService = new OfflineScoringService(batchService);
+    }
+
+    @Test
+    @DisplayName("Should score all rows in parallel and write them in input order")
+    void shouldScoreInInputOrder() throws Exception {
+        when(sentimentService.analyzeBatch(anyList())).thenAnswer(invocation -> {
+            List<String> texts = invocation.getArgument(0);
+            Thread.sleep((long) (Math.random() * 5));
+            return texts.stream()
+                    .map(t -> new SentimentResultDTO(Integer.parseInt(t.substring(6)) % 2 == 0 ? "positivo" : "negativo", 0.75))
+                    .toList();
+        });
+        StringBuilder csv = new StringBuilder("id,review\n");
+        for (int i = 0; i < 100; i++) {
+            csv.append(i).append(",Texto ").append(i).append('\n');
+        }
+        Path input = Files.writeString(dir.resolve("in.csv"), csv);
+        Path output = dir.resolve("out.csv");
+
+        ScoringReport report = scoringService.score(input, output, "review", false, 4);
+
+        assertEquals(100, report.rows());
+        assertEquals(4, report.threads());
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(101, lines.size());
+        assertEquals("text,sentiment,score", lines.get(0));
+        for (int i = 0; i < 100; i++) {
+            assertEquals("Texto " + i + "," + (i % 2 == 0 ? "POSITIVO" : "NEGATIVO") + ",0.75", lines.get(i + 1));
+        }
+        verifyNoInteractions(persistenceService);
+    }
+
+    @Test
+    @DisplayName("Should save every chunk when persistence is enabled")
+    void shouldPersistChunks() throws Exception {
+        when(sentimentService.analyzeBatch(anyList())).thenAnswer(invocation -> {
+            List<String> texts = invocation.getArgument(0);
+            return texts.stream().map(t -> new SentimentResultDTO("positivo", 0.9)).toList();
+        });
+        Path input = Files.writeString(dir.resolve("in.csv"), "text\nTexto um\nTexto dois\nTexto tres\nTexto quatro\n");
+
+        ScoringReport report = scoringService.score(input, dir.resolve("out.csv"), null, true, 2);
+
+        assertEquals(4, report.rows());
+        assertTrue(report.persisted());
+        verify(persistenceService, times(2)).saveAll(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Should propagate inference failures")
+    void shouldPropagateFailures() throws Exception {
+        when(sentimentService.analyzeBatch(anyList())).thenThrow(new ModelAnalysisException("Erro na inferência"));
+        Path input = Files.writeString(dir.resolve("in.csv"), "text\nTexto um\n");
+
+        assertThrows(ModelAnalysisException.class,
+                () -> scoringService.score(input, dir.resolve("out.csv"), null, false, 2));
+    }
+}
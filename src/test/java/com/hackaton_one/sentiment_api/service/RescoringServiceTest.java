@@ -0,0 +1,271 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.RescoringStatusDTO;
+import com.hackaton_one.sentiment_api.api.dto.SentimentResultDTO;
+import com.hackaton_one.sentiment_api.config.DatabasePlatform;
+import com.hackaton_one.sentiment_api.exceptions.ModelAnalysisException;
+import com.hackaton_one.sentiment_api.exceptions.ModelInitializationException;
+import com.hackaton_one.sentiment_api.model.RescoringCheckpoint;
+import com.hackaton_one.sentiment_api.model.RescoringCheckpoint.Status;
+import com.hackaton_one.sentiment_api.repository.RescoringCandidate;
+import com.hackaton_one.sentiment_api.repository.RescoringCheckpointRepository;
+import com.hackaton_one.sentiment_api.repository.SentimentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RescoringService Unit Tests")
+class RescoringServiceTest {
+
+    private static final LocalDateTime ANALYZED_AT = LocalDateTime.of(2026, 1, 10, 12, 0);
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 18, 12, 0);
+
+    @Mock
+    private SentimentService sentimentService;
+
+    @Mock
+    private SentimentRepository sentimentRepository;
+
+    @Mock
+    private RescoringCheckpointRepository checkpointRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private SentimentCounterService counterService;
+
+    @Mock
+    private ConfidenceHistogramService histogramService;
+
+    @Mock
+    private DatabasePlatform databasePlatform;
+
+    @InjectMocks
+    private RescoringService rescoringService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(rescoringService, "chunkSize", 2);
+        ReflectionTestUtils.setField(rescoringService, "parallelism", 2);
+        ReflectionTestUtils.setField(rescoringService, "maxRowsPerSecond", 0);
+        ReflectionTestUtils.setField(rescoringService, "leaseTimeoutMs", 120000L);
+        lenient().when(jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", Timestamp.class))
+                .thenReturn(Timestamp.valueOf(NOW));
+    }
+
+    private void runTransactionsInline() {
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private void runClaimInline() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    private String nodeId() {
+        return (String) ReflectionTestUtils.getField(rescoringService, "nodeId");
+    }
+
+    /**
+     * Checkpoint em andamento cuja posse é deste nó, também devolvido pela leitura com trava.
+     */
+    private RescoringCheckpoint newCheckpoint() {
+        RescoringCheckpoint checkpoint = new RescoringCheckpoint("v2", Status.RUNNING, 0, 0, 0,
+                LocalDateTime.now(), null, nodeId(), NOW);
+        lenient().when(checkpointRepository.findForUpdate("v2")).thenReturn(Optional.of(checkpoint));
+        return checkpoint;
+    }
+
+    @Test
+    @DisplayName("Should rescore chunks, update rows in batch and complete the checkpoint")
+    @SuppressWarnings("unchecked")
+    void shouldRescoreAndComplete() {
+        runTransactionsInline();
+        when(sentimentRepository.findRescoringCandidates(anyLong(), eq("v2"), any()))
+                .thenReturn(List.of(
+                        new RescoringCandidate(1L, ANALYZED_AT, "ótimo", "POSITIVO", 0.9),
+                        new RescoringCandidate(5L, ANALYZED_AT, "ruim", "POSITIVO", 0.6)))
+                .thenReturn(List.of());
+        when(sentimentService.analyze("ótimo", InferencePriority.BACKGROUND)).thenReturn(new SentimentResultDTO("POSITIVO", 0.95));
+        when(sentimentService.analyze("ruim", InferencePriority.BACKGROUND)).thenReturn(new SentimentResultDTO("NEGATIVO", 0.8));
+
+        RescoringCheckpoint checkpoint = newCheckpoint();
+        rescoringService.run(checkpoint);
+
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), updates.capture());
+        assertEquals(2, updates.getValue().size());
+        assertArrayEquals(new Object[]{"NEGATIVO", 0.8, "v2", 5L, ANALYZED_AT}, updates.getValue().get(1));
+
+        verify(sentimentRepository).findRescoringCandidates(eq(5L), eq("v2"), any());
+        assertEquals(Status.COMPLETED, checkpoint.getStatus());
+        assertEquals(5L, checkpoint.getLastId());
+        assertEquals(2, checkpoint.getProcessed());
+        assertEquals(1, checkpoint.getChanged());
+        verify(counterService).recordRelabel(ANALYZED_AT, "POSITIVO", "NEGATIVO");
+        verify(counterService, times(1)).recordRelabel(any(), any(), any());
+        verify(histogramService).recordRescore("POSITIVO", 0.6, "NEGATIVO", 0.8);
+        verify(histogramService).recordRescore("POSITIVO", 0.9, "POSITIVO", 0.95);
+    }
+
+    @Test
+    @DisplayName("Should keep the previous label when a text fails to rescore")
+    @SuppressWarnings("unchecked")
+    void shouldSkipRowsThatFail() {
+        runTransactionsInline();
+        when(sentimentRepository.findRescoringCandidates(anyLong(), eq("v2"), any()))
+                .thenReturn(List.of(
+                        new RescoringCandidate(1L, ANALYZED_AT, "bom", "POSITIVO", 0.9),
+                        new RescoringCandidate(2L, ANALYZED_AT, "???", "NEGATIVO", 0.5)))
+                .thenReturn(List.of());
+        when(sentimentService.analyze("bom", InferencePriority.BACKGROUND)).thenReturn(new SentimentResultDTO("POSITIVO", 0.9));
+        when(sentimentService.analyze("???", InferencePriority.BACKGROUND)).thenThrow(new ModelAnalysisException("falha"));
+
+        RescoringCheckpoint checkpoint = newCheckpoint();
+        rescoringService.run(checkpoint);
+
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), updates.capture());
+        assertEquals(1, updates.getValue().size());
+        assertEquals(2L, checkpoint.getLastId());
+        assertEquals(Status.COMPLETED, checkpoint.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should mark the job as failed when the database errors")
+    void shouldMarkFailedOnDatabaseError() {
+        runTransactionsInline();
+        when(sentimentRepository.findRescoringCandidates(anyLong(), eq("v2"), any()))
+                .thenThrow(new RuntimeException("connection lost"));
+
+        RescoringCheckpoint checkpoint = newCheckpoint();
+        rescoringService.run(checkpoint);
+
+        assertEquals(Status.FAILED, checkpoint.getStatus());
+        verify(checkpointRepository).save(checkpoint);
+        assertFalse(rescoringService.getStatus().running());
+    }
+
+    @Test
+    @DisplayName("Should refuse to start when the model is not available")
+    void shouldRefuseToStartWithoutModel() {
+        when(sentimentService.isModelAvailable()).thenReturn(false);
+
+        assertThrows(ModelInitializationException.class, () -> rescoringService.start());
+        verifyNoInteractions(checkpointRepository);
+    }
+
+    @Test
+    @DisplayName("Should stop without writing when another node claimed the job")
+    void shouldStopWhenClaimIsLost() {
+        runTransactionsInline();
+        when(sentimentRepository.findRescoringCandidates(anyLong(), eq("v2"), any()))
+                .thenReturn(List.of(new RescoringCandidate(1L, ANALYZED_AT, "bom", "POSITIVO", 0.9)));
+        when(sentimentService.analyze("bom", InferencePriority.BACKGROUND)).thenReturn(new SentimentResultDTO("NEGATIVO", 0.9));
+        RescoringCheckpoint checkpoint = newCheckpoint();
+        when(checkpointRepository.findForUpdate("v2")).thenReturn(Optional.of(
+                new RescoringCheckpoint("v2", Status.RUNNING, 0, 0, 0, NOW, NOW, "other-node", NOW)));
+
+        rescoringService.run(checkpoint);
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(checkpointRepository, never()).save(any());
+        verifyNoInteractions(counterService, histogramService);
+        assertEquals(Status.FAILED, checkpoint.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should not start while another node holds a live claim")
+    void shouldNotStartWhileClaimedElsewhere() {
+        runClaimInline();
+        when(sentimentService.isModelAvailable()).thenReturn(true);
+        when(sentimentService.getModelVersion()).thenReturn("v2");
+        RescoringCheckpoint claimed = new RescoringCheckpoint("v2", Status.RUNNING, 10, 10, 0, NOW, NOW,
+                "other-node", NOW.minusSeconds(30));
+        when(checkpointRepository.findForUpdate("v2")).thenReturn(Optional.of(claimed));
+        when(checkpointRepository.findById("v2")).thenReturn(Optional.of(claimed));
+
+        RescoringStatusDTO status = rescoringService.start();
+
+        assertFalse(status.running());
+        assertEquals("other-node", claimed.getOwner());
+        verify(checkpointRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should take over a claim whose heartbeat expired")
+    void shouldTakeOverExpiredClaim() {
+        runClaimInline();
+        RescoringCheckpoint abandoned = new RescoringCheckpoint("v2", Status.RUNNING, 10, 10, 0, NOW, NOW,
+                "other-node", NOW.minusMinutes(5));
+        when(checkpointRepository.findForUpdate("v2")).thenReturn(Optional.of(abandoned));
+        when(checkpointRepository.save(any())).thenThrow(new RuntimeException("stop here"));
+        when(sentimentService.isModelAvailable()).thenReturn(true);
+        when(sentimentService.getModelVersion()).thenReturn("v2");
+
+        assertThrows(RuntimeException.class, () -> rescoringService.start());
+
+        assertEquals(nodeId(), abandoned.getOwner());
+        assertEquals(NOW, abandoned.getHeartbeatAt());
+        assertEquals(10, abandoned.getLastId());
+    }
+
+    @Test
+    @DisplayName("Should allow a new start when saving the checkpoint fails")
+    void shouldReleaseRunningFlagWhenStartFails() {
+        runClaimInline();
+        when(sentimentService.isModelAvailable()).thenReturn(true);
+        when(sentimentService.getModelVersion()).thenReturn("v2");
+        when(checkpointRepository.findForUpdate("v2")).thenReturn(Optional.of(
+                new RescoringCheckpoint("v2", Status.STOPPED, 0, 0, 0, NOW, NOW, null, null)));
+        when(checkpointRepository.findById("v2")).thenReturn(Optional.empty());
+        when(checkpointRepository.save(any())).thenThrow(new RuntimeException("connection lost"));
+
+        assertThrows(RuntimeException.class, () -> rescoringService.start());
+
+        assertFalse(rescoringService.getStatus().running());
+        assertThrows(RuntimeException.class, () -> rescoringService.start());
+        verify(checkpointRepository, times(2)).save(any());
+    }
+
+    @Test
+    @DisplayName("Should report IDLE when no job ran for the current model")
+    void shouldReportIdle() {
+        when(sentimentService.getModelVersion()).thenReturn("v2");
+        when(checkpointRepository.findById("v2")).thenReturn(Optional.empty());
+
+        RescoringStatusDTO status = rescoringService.getStatus();
+
+        assertEquals("IDLE", status.status());
+        assertEquals("v2", status.targetVersion());
+    }
+}
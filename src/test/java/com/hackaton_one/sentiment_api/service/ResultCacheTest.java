@@ -0,0 +1,167 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.ResultCacheStatsDTO;
+import com.hackaton_one.sentiment_api.api.dto.SentimentResultDTO;
+import com.hackaton_one.sentiment_api.config.DatabasePlatform;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResultCache Unit Tests")
+class ResultCacheTest {
+
+    private static final SentimentResultDTO POSITIVE = new SentimentResultDTO("POSITIVO", 0.9);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private DatabasePlatform databasePlatform;
+
+    @InjectMocks
+    private ResultCache resultCache;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(resultCache, "enabled", true);
+        ReflectionTestUtils.setField(resultCache, "nearCacheSize", 2);
+        ReflectionTestUtils.setField(resultCache, "maxPending", 100);
+        ReflectionTestUtils.setField(resultCache, "readChunkSize", 500);
+        resultCache.activate("v1");
+    }
+
+    private void databaseReturns(String key, String sentiment, double score) throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString(1)).thenReturn(key);
+        when(row.getString(2)).thenReturn(sentiment);
+        when(row.getDouble(3)).thenReturn(score);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should use the same key for texts that normalize equally")
+    void shouldKeyByNormalizedText() {
+        assertEquals(ResultCache.keyOf("Ótimo produto!"), ResultCache.keyOf("otimo   PRODUTO"));
+        assertNotEquals(ResultCache.keyOf("otimo produto"), ResultCache.keyOf("pessimo produto"));
+    }
+
+    @Test
+    @DisplayName("Should read missing keys from the shared table in one query and keep them near")
+    void shouldReadFromDatabaseThenNearCache() throws Exception {
+        databaseReturns("a", "NEGATIVO", 0.7);
+
+        Map<String, SentimentResultDTO> first = resultCache.getAll(List.of("a", "b"));
+        Map<String, SentimentResultDTO> second = resultCache.getAll(List.of("a"));
+
+        assertEquals(new SentimentResultDTO("NEGATIVO", 0.7), first.get("a"));
+        assertFalse(first.containsKey("b"));
+        assertEquals(first.get("a"), second.get("a"));
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(1)).query(sql.capture(), any(RowCallbackHandler.class), any(Object[].class));
+        assertTrue(sql.getValue().contains("model_version = ? AND text_hash IN (?, ?)"));
+
+        ResultCacheStatsDTO stats = resultCache.getStats();
+        assertEquals(3, stats.lookups());
+        assertEquals(1, stats.nearHits());
+        assertEquals(1, stats.databaseHits());
+        assertEquals(1, stats.misses());
+    }
+
+    @Test
+    @DisplayName("Should treat database failures as misses")
+    void shouldFallBackOnDatabaseFailure() {
+        doThrow(new DataAccessResourceFailureException("down"))
+                .when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        assertTrue(resultCache.getAll(List.of("a")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should write new results asynchronously with the model version")
+    @SuppressWarnings("unchecked")
+    void shouldFlushPendingResults() {
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(databasePlatform.isPostgres()).thenReturn(true);
+
+        resultCache.putAll(Map.of("a", POSITIVE));
+        verifyNoInteractions(jdbcTemplate);
+        assertEquals(POSITIVE, resultCache.getAll(List.of("a")).get("a"));
+
+        resultCache.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("ON CONFLICT"), rows.capture());
+        Object[] row = rows.getValue().get(0);
+        assertEquals("a", row[0]);
+        assertEquals("v1", row[1]);
+        assertEquals("POSITIVO", row[2]);
+        assertEquals(0, resultCache.getStats().pendingWrites());
+        assertEquals(1, resultCache.getStats().written());
+    }
+
+    @Test
+    @DisplayName("Should drop near entries on model change and keep other versions in the table")
+    void shouldInvalidateOnModelChange() {
+        resultCache.putAll(Map.of("a", POSITIVE));
+
+        resultCache.activate("v2");
+
+        assertEquals(0, resultCache.getStats().nearCacheSize());
+        assertEquals(0, resultCache.getStats().pendingWrites());
+        assertEquals("v2", resultCache.getStats().modelVersion());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should expire rows by age regardless of model version")
+    void shouldExpireByAge() {
+        ReflectionTestUtils.setField(resultCache, "maxAgeDays", 30);
+
+        resultCache.purgeExpired();
+
+        verify(jdbcTemplate).update(eq("DELETE FROM tb_result_cache WHERE created_at < ?"), any(Timestamp.class));
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used near entries")
+    void shouldBoundNearCache() {
+        resultCache.putAll(Map.of("a", POSITIVE));
+        resultCache.putAll(Map.of("b", POSITIVE));
+        resultCache.putAll(Map.of("c", POSITIVE));
+
+        assertEquals(2, resultCache.getStats().nearCacheSize());
+    }
+}
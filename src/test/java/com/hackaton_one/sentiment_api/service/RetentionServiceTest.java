@@ -0,0 +1,140 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.config.DatabasePlatform;
+import com.hackaton_one.sentiment_api.repository.SentimentRepository;
+import com.hackaton_one.sentiment_api.repository.SentimentTextRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RetentionService Unit Tests")
+class RetentionServiceTest {
+
+    @Mock
+    private SentimentRepository sentimentRepository;
+
+    @Mock
+    private SentimentTextRepository sentimentTextRepository;
+
+    @Mock
+    private DatabasePlatform databasePlatform;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private SentimentCounterService counterService;
+
+    @Mock
+    private ConfidenceHistogramService histogramService;
+
+    @Mock
+    private TextSearchIndex textSearchIndex;
+
+    @InjectMocks
+    private RetentionService retentionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(retentionService, "retentionMonths", 12);
+        ReflectionTestUtils.setField(retentionService, "partitionsAhead", 2);
+        ReflectionTestUtils.setField(retentionService, "batchSize", 2);
+    }
+
+    @Test
+    @DisplayName("Should compute cutoff at the start of the oldest retained month")
+    void shouldComputeCutoffAtStartOfMonth() {
+        assertEquals(LocalDateTime.of(2025, 10, 1, 0, 0), retentionService.cutoff(LocalDate.of(2026, 10, 18)));
+    }
+
+    @Test
+    @DisplayName("Should delete expired rows in batches when not on PostgreSQL")
+    void shouldDeleteInBatchesOnH2() {
+        when(databasePlatform.isPostgres()).thenReturn(false);
+        when(sentimentRepository.findIdsAnalyzedBefore(any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+        when(sentimentTextRepository.deleteOrphans(2)).thenReturn(1);
+
+        long removed = retentionService.purge(LocalDate.of(2026, 10, 18));
+
+        assertEquals(3, removed);
+        verify(sentimentRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(sentimentRepository).deleteAllByIdInBatch(List.of(3L));
+        verify(sentimentTextRepository).deleteOrphans(2);
+        verify(counterService).purgeBefore(LocalDateTime.of(2025, 10, 1, 0, 0));
+        verify(histogramService).rebuild();
+        verify(textSearchIndex).rebuild();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should drop only partitions older than the cutoff and purge the default partition on PostgreSQL")
+    void shouldDropExpiredPartitionsOnPostgres() {
+        when(databasePlatform.isPostgres()).thenReturn(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                "tb_sentiments_default",
+                "tb_sentiments_p202508",
+                "tb_sentiments_p202509",
+                "tb_sentiments_p202510",
+                "tb_sentiments_p202610"));
+        when(sentimentRepository.findIdsAnalyzedBefore(any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(List.of(7L));
+
+        long removed = retentionService.purge(LocalDate.of(2026, 10, 18));
+
+        assertEquals(3, removed);
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS tb_sentiments_p202508");
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS tb_sentiments_p202509");
+        verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS tb_sentiments_p202510");
+        verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS tb_sentiments_default");
+        verify(sentimentRepository).findIdsAnalyzedBefore(LocalDateTime.of(2025, 10, 1, 0, 0), Limit.of(2));
+        verify(sentimentRepository).deleteAllByIdInBatch(List.of(7L));
+        verify(sentimentTextRepository).deleteOrphansPostgres(2);
+        verify(sentimentTextRepository, never()).deleteOrphans(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should create current and upcoming monthly partitions")
+    void shouldCreateUpcomingPartitions() {
+        when(databasePlatform.isPostgres()).thenReturn(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of());
+
+        retentionService.purge(LocalDate.of(2026, 12, 5));
+
+        verify(jdbcTemplate).execute(contains("tb_sentiments_p202612 PARTITION OF tb_sentiments " +
+                "FOR VALUES FROM ('2026-12-01') TO ('2027-01-01')"));
+        verify(jdbcTemplate).execute(contains("tb_sentiments_p202701"));
+        verify(jdbcTemplate).execute(contains("tb_sentiments_p202702"));
+    }
+
+    @Test
+    @DisplayName("Should create partitions on schedule even when the purge is disabled")
+    void shouldCreatePartitionsWhenPurgeDisabled() {
+        ReflectionTestUtils.setField(retentionService, "enabled", false);
+        when(databasePlatform.isPostgres()).thenReturn(true);
+
+        retentionService.scheduledPartitions();
+        retentionService.scheduledPurge();
+
+        verify(jdbcTemplate, times(3)).execute(contains("PARTITION OF tb_sentiments"));
+        verifyNoMoreInteractions(jdbcTemplate);
+        verifyNoInteractions(sentimentRepository, counterService, histogramService);
+    }
+}
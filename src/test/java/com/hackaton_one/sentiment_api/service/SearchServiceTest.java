@@ -0,0 +1,173 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.api.dto.HistoryItemDTO;
+import com.hackaton_one.sentiment_api.api.dto.SearchResultDTO;
+import com.hackaton_one.sentiment_api.config.DatabasePlatform;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchService Unit Tests")
+class SearchServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 7, 10, 0);
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DatabasePlatform databasePlatform;
+
+    @Mock
+    private TextSearchIndex textSearchIndex;
+
+    @InjectMocks
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(searchService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(searchService, "maxPageSize", 10);
+        ReflectionTestUtils.setField(searchService, "maxKeywordMatches", 100);
+        ReflectionTestUtils.setField(searchService, "keywordChunkSize", 50);
+    }
+
+    private static SearchCriteria criteria(String keyword, String sentiment, String cursor) {
+        return new SearchCriteria(keyword, sentiment, null, null, null, null, cursor, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void returnRows(HistoryItemDTO... rows) {
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(rows));
+    }
+
+    @Test
+    @DisplayName("Should use the full-text index on PostgreSQL")
+    @SuppressWarnings("unchecked")
+    void shouldUseFullTextOnPostgres() {
+        when(databasePlatform.isPostgres()).thenReturn(true);
+        returnRows();
+
+        searchService.search(criteria("entrega", "negativo", null));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(sql.capture(), params.capture(), any(RowMapper.class));
+        assertTrue(sql.getValue().contains("plainto_tsquery('portuguese', :keyword)"));
+        assertTrue(sql.getValue().contains("s.sentiment_result = :sentiment"));
+        assertEquals("NEGATIVO", params.getValue().getValue("sentiment"));
+        assertEquals(3, params.getValue().getValue("limit"));
+        verifyNoInteractions(textSearchIndex);
+    }
+
+    @Test
+    @DisplayName("Should filter by in-memory index hashes when not on PostgreSQL")
+    @SuppressWarnings("unchecked")
+    void shouldUseInMemoryIndexOnH2() {
+        when(databasePlatform.isPostgres()).thenReturn(false);
+        when(textSearchIndex.search("entrega")).thenReturn(Set.of("h1"));
+        returnRows();
+
+        searchService.search(criteria("entrega", null, null));
+
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(contains("s.text_hash IN (:hashes)"), params.capture(), any(RowMapper.class));
+        assertEquals(List.of("h1"), params.getValue().getValue("hashes"));
+    }
+
+    @Test
+    @DisplayName("Should query index matches in chunks and merge them into one page")
+    @SuppressWarnings("unchecked")
+    void shouldChunkInMemoryIndexMatches() {
+        ReflectionTestUtils.setField(searchService, "keywordChunkSize", 2);
+        when(databasePlatform.isPostgres()).thenReturn(false);
+        when(textSearchIndex.search("entrega")).thenReturn(Set.of("h1", "h2", "h3"));
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(new HistoryItemDTO(5L, "a", "POSITIVO", 0.9, NOW.minusHours(2)),
+                        new HistoryItemDTO(4L, "b", "POSITIVO", 0.9, NOW.minusHours(3))))
+                .thenReturn(List.of(new HistoryItemDTO(9L, "c", "NEGATIVO", 0.8, NOW)));
+
+        SearchResultDTO page = searchService.search(criteria("entrega", null, null));
+
+        verify(jdbcTemplate, times(2)).query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class));
+        assertEquals(List.of(9L, 5L), page.items().stream().map(HistoryItemDTO::id).toList());
+        assertNotNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject keywords matching more texts than the configured cap")
+    void shouldRejectTooBroadKeyword() {
+        ReflectionTestUtils.setField(searchService, "maxKeywordMatches", 2);
+        when(databasePlatform.isPostgres()).thenReturn(false);
+        when(textSearchIndex.search("de")).thenReturn(Set.of("h1", "h2", "h3"));
+
+        assertThrows(IllegalArgumentException.class, () -> searchService.search(criteria("de", null, null)));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should skip the query when no text matches the keyword")
+    void shouldSkipQueryWhenNoTextMatches() {
+        when(databasePlatform.isPostgres()).thenReturn(false);
+        when(textSearchIndex.search("inexistente")).thenReturn(Set.of());
+
+        SearchResultDTO result = searchService.search(criteria("inexistente", null, null));
+
+        assertTrue(result.items().isEmpty());
+        assertNull(result.nextCursor());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should return a cursor that continues after the last item")
+    @SuppressWarnings("unchecked")
+    void shouldPaginateWithCursor() {
+        returnRows(
+                new HistoryItemDTO(9L, "a", "POSITIVO", 0.9, NOW),
+                new HistoryItemDTO(8L, "b", "POSITIVO", 0.8, NOW),
+                new HistoryItemDTO(7L, "c", "NEGATIVO", 0.7, NOW.minusHours(1)));
+
+        SearchResultDTO page = searchService.search(criteria(null, null, null));
+
+        assertEquals(2, page.items().size());
+        assertNotNull(page.nextCursor());
+
+        searchService.search(criteria(null, null, page.nextCursor()));
+
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate, times(2)).query(anyString(), params.capture(), any(RowMapper.class));
+        assertEquals(NOW, params.getValue().getValue("cursorAt"));
+        assertEquals(8L, params.getValue().getValue("cursorId"));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid cursor, limit and ranges")
+    void shouldRejectInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> searchService.search(criteria(null, null, "xx")));
+        assertThrows(IllegalArgumentException.class, () -> searchService.search(
+                new SearchCriteria(null, null, null, null, null, null, null, 50)));
+        assertThrows(IllegalArgumentException.class, () -> searchService.search(
+                new SearchCriteria(null, null, null, null, 0.9, 0.1, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> searchService.search(
+                new SearchCriteria(null, null, NOW, NOW, null, null, null, null)));
+    }
+}
@@ -0,0 +1,191 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.config.DatabasePlatform;
+import com.hackaton_one.sentiment_api.events.SentimentSavedEvent;
+import com.hackaton_one.sentiment_api.model.SentimentCounter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SentimentCounterService Unit Tests")
+class SentimentCounterServiceTest {
+
+    private static final LocalDateTime HOUR = LocalDateTime.of(2026, 1, 7, 10, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private DatabasePlatform databasePlatform;
+
+    @Mock
+    private AggregateWatermarks watermarks;
+
+    @InjectMocks
+    private SentimentCounterService counterService;
+
+    private static SentimentSavedEvent saved(LocalDateTime at, String sentiment) {
+        return new SentimentSavedEvent(1L, "h", "texto", sentiment, 0.9, at);
+    }
+
+    private static SentimentSavedEvent saved(long id, String sentiment) {
+        return new SentimentSavedEvent(id, "h", "texto", sentiment, 0.9, HOUR);
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> action = invocation.getArgument(0);
+            return action.doInTransaction(null);
+        });
+    }
+
+    private void runExclusiveInline() {
+        when(watermarks.withExclusive(eq(SentimentCounterService.WATERMARK), any())).thenAnswer(invocation -> {
+            Function<Long, ?> action = invocation.getArgument(1);
+            return action.apply(null);
+        });
+    }
+
+    @Test
+    @DisplayName("Should accumulate saved analyses into hourly deltas")
+    void shouldAccumulateHourlyDeltas() {
+        counterService.onSentimentSaved(saved(HOUR.plusMinutes(5), "POSITIVO"));
+        counterService.onSentimentSaved(saved(HOUR.plusMinutes(59), "POSITIVO"));
+        counterService.onSentimentSaved(saved(HOUR.plusHours(1), "NEGATIVO"));
+
+        Map<SentimentCounter.Key, Long> pending = counterService.pendingInRange(HOUR, HOUR.plusHours(2));
+
+        assertEquals(2L, pending.get(new SentimentCounter.Key(HOUR, "POSITIVO")));
+        assertEquals(1L, pending.get(new SentimentCounter.Key(HOUR.plusHours(1), "NEGATIVO")));
+    }
+
+    @Test
+    @DisplayName("Should flush deltas with an increment upsert and clear them")
+    @SuppressWarnings("unchecked")
+    void shouldFlushDeltas() {
+        runTransactionsInline();
+        when(databasePlatform.isPostgres()).thenReturn(true);
+        when(watermarks.readShared(SentimentCounterService.WATERMARK)).thenReturn(0L);
+        counterService.onSentimentSaved(saved(HOUR, "POSITIVO"));
+        counterService.onSentimentSaved(saved(HOUR, "POSITIVO"));
+
+        counterService.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("ON CONFLICT"), rows.capture());
+        assertArrayEquals(new Object[]{HOUR, "POSITIVO", 2L}, rows.getValue().getFirst());
+        assertTrue(counterService.pendingInRange(HOUR, HOUR.plusHours(1)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep deltas for the next flush when the database fails")
+    void shouldKeepDeltasOnFailure() {
+        when(databasePlatform.isPostgres()).thenReturn(false);
+        when(transactionTemplate.execute(any())).thenThrow(new RuntimeException("down"));
+        counterService.onSentimentSaved(saved(HOUR, "NEGATIVO"));
+
+        counterService.flush();
+
+        assertEquals(1L, counterService.pendingInRange(HOUR, HOUR.plusHours(1))
+                .get(new SentimentCounter.Key(HOUR, "NEGATIVO")));
+    }
+
+    @Test
+    @DisplayName("Should move one count between sentiments on relabel")
+    void shouldMoveCountOnRelabel() {
+        counterService.recordRelabel(HOUR.plusMinutes(30), "POSITIVO", "NEGATIVO");
+
+        Map<SentimentCounter.Key, Long> pending = counterService.pendingInRange(HOUR, HOUR.plusHours(1));
+
+        assertEquals(-1L, pending.get(new SentimentCounter.Key(HOUR, "POSITIVO")));
+        assertEquals(1L, pending.get(new SentimentCounter.Key(HOUR, "NEGATIVO")));
+    }
+
+    @Test
+    @DisplayName("Should backfill an empty table up to the settled id and record the watermark")
+    void shouldBackfillUpToSettledId() {
+        ReflectionTestUtils.setField(counterService, "backfillOnStartup", true);
+        runTransactionsInline();
+        runExclusiveInline();
+        when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_sentiment_counters", Long.class)).thenReturn(0L);
+        when(watermarks.settledMaxId()).thenReturn(10L);
+
+        counterService.backfillIfEmpty();
+
+        verify(jdbcTemplate).update(contains("DATE_TRUNC('hour', analyzed_at)"), eq(10L));
+        verify(watermarks).update(SentimentCounterService.WATERMARK, 10L);
+    }
+
+    @Test
+    @DisplayName("Should not backfill again when another node already set the watermark")
+    void shouldSkipBackfillWhenWatermarkIsSet() {
+        ReflectionTestUtils.setField(counterService, "backfillOnStartup", true);
+        runTransactionsInline();
+        when(watermarks.withExclusive(eq(SentimentCounterService.WATERMARK), any())).thenAnswer(invocation -> {
+            Function<Long, ?> action = invocation.getArgument(1);
+            return action.apply(10L);
+        });
+
+        counterService.backfillIfEmpty();
+
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+        verify(watermarks, never()).settledMaxId();
+    }
+
+    @Test
+    @DisplayName("Should drop events already included in the shared watermark when flushing")
+    @SuppressWarnings("unchecked")
+    void shouldDropEventsCoveredByWatermark() {
+        runTransactionsInline();
+        when(databasePlatform.isPostgres()).thenReturn(true);
+        when(watermarks.readShared(SentimentCounterService.WATERMARK)).thenReturn(10L);
+        counterService.onSentimentSaved(saved(9L, "POSITIVO"));
+        counterService.onSentimentSaved(saved(10L, "POSITIVO"));
+        counterService.onSentimentSaved(saved(11L, "POSITIVO"));
+
+        counterService.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("ON CONFLICT"), rows.capture());
+        assertEquals(1, rows.getValue().size());
+        assertArrayEquals(new Object[]{HOUR, "POSITIVO", 1L}, rows.getValue().getFirst());
+    }
+
+    @Test
+    @DisplayName("Should keep events pending while no node has finished the backfill")
+    void shouldKeepEventsUntilWatermarkIsKnown() {
+        runTransactionsInline();
+        when(databasePlatform.isPostgres()).thenReturn(true);
+        when(watermarks.readShared(SentimentCounterService.WATERMARK)).thenReturn(null);
+        when(watermarks.withExclusive(eq(SentimentCounterService.WATERMARK), any()))
+                .thenThrow(new IllegalStateException("in progress"));
+        counterService.onSentimentSaved(saved(11L, "POSITIVO"));
+
+        counterService.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        assertEquals(1L, counterService.pendingInRange(HOUR, HOUR.plusHours(1))
+                .get(new SentimentCounter.Key(HOUR, "POSITIVO")));
+    }
+}
@@ -1,7 +1,12 @@
 package com.hackaton_one.sentiment_api.service;
 
+import com.hackaton_one.sentiment_api.api.dto.SentimentResponseDTO;
+import com.hackaton_one.sentiment_api.config.DatabasePlatform;
+import com.hackaton_one.sentiment_api.events.SentimentSavedEvent;
 import com.hackaton_one.sentiment_api.model.Sentiment;
+import com.hackaton_one.sentiment_api.model.SentimentText;
 import com.hackaton_one.sentiment_api.repository.SentimentRepository;
+import com.hackaton_one.sentiment_api.repository.SentimentTextRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,9 +15,18 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,6 +36,18 @@ class SentimentPersistenceServiceTest {
     @Mock
     private SentimentRepository sentimentRepository;
 
+    @Mock
+    private SentimentTextRepository sentimentTextRepository;
+
+    @Mock
+    private DatabasePlatform databasePlatform;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
     @InjectMocks
     private SentimentPersistenceService persistenceService;
 
@@ -164,4 +190,89 @@ class SentimentPersistenceServiceTest {
         Sentiment saved = captor.getValue();
         assertEquals(textWithSpecialChars, saved.getTextContent());
     }
+
+    @Test
+    @DisplayName("Should reference text by its SHA-256 hash")
+    void shouldReferenceTextByHash() {
+        String text = "Texto deduplicado";
+
+        persistenceService.saveSentiment(text, "POSITIVO", 0.9);
+
+        ArgumentCaptor<Sentiment> captor = ArgumentCaptor.forClass(Sentiment.class);
+        verify(sentimentRepository).save(captor.capture());
+        assertEquals(SentimentText.hashOf(text), captor.getValue().getTextHash());
+        assertEquals(64, captor.getValue().getTextHash().length());
+    }
+
+    @Test
+    @DisplayName("Should upsert text with H2 statement when not on PostgreSQL")
+    void shouldUpsertTextWithH2Statement() {
+        when(databasePlatform.isPostgres()).thenReturn(false);
+
+        persistenceService.saveSentiment("Texto repetido", "POSITIVO", 0.9);
+
+        verify(sentimentTextRepository).upsertH2(SentimentText.hashOf("Texto repetido"), "Texto repetido");
+        verify(sentimentTextRepository, never()).upsertPostgres(anyString(), anyString());
+        verify(sentimentTextRepository, never()).findById(anyString());
+    }
+
+    @Test
+    @DisplayName("Should upsert text with ON CONFLICT statement on PostgreSQL")
+    void shouldUpsertTextWithPostgresStatement() {
+        when(databasePlatform.isPostgres()).thenReturn(true);
+
+        persistenceService.saveSentiment("Texto repetido", "NEGATIVO", 0.7);
+
+        verify(sentimentTextRepository).upsertPostgres(SentimentText.hashOf("Texto repetido"), "Texto repetido");
+        verify(sentimentTextRepository, never()).upsertH2(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should produce same hash for identical texts")
+    void shouldProduceSameHashForIdenticalTexts() {
+        assertEquals(SentimentText.hashOf("mesmo texto"), SentimentText.hashOf("mesmo texto"));
+        assertNotEquals(SentimentText.hashOf("mesmo texto"), SentimentText.hashOf("outro texto"));
+    }
+
+    @Test
+    @DisplayName("Should publish a saved event with the stored analysis")
+    void shouldPublishSavedEvent() {
+        persistenceService.saveSentiment("Chegou rápido", "positivo", 0.88);
+
+        ArgumentCaptor<SentimentSavedEvent> captor = ArgumentCaptor.forClass(SentimentSavedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(1L, captor.getValue().id());
+        assertEquals(SentimentText.hashOf("Chegou rápido"), captor.getValue().textHash());
+        assertEquals("POSITIVO", captor.getValue().sentimentResult());
+    }
+
+    @Test
+    @DisplayName("Should upsert batch texts in hash order and keep analyses in input order")
+    @SuppressWarnings("unchecked")
+    void shouldUpsertBatchTextsInHashOrder() {
+        List<String> texts = List.of("Texto gama", "Texto alfa", "Texto beta", "Texto alfa");
+        when(databasePlatform.isPostgres()).thenReturn(true);
+        lenient().doAnswer(invocation -> {
+            KeyHolder keyHolder = invocation.getArgument(2);
+            for (int i = 0; i < texts.size(); i++) {
+                keyHolder.getKeyList().add(Map.of("id", (long) i + 1));
+            }
+            return new int[texts.size()];
+        }).when(jdbcTemplate).batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+
+        persistenceService.saveAll(texts.stream()
+                .map(text -> new SentimentResponseDTO("POSITIVO", 0.9, text))
+                .toList(), "v1");
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        List<String> hashes = rows.getValue().stream().map(row -> (String) row[0]).toList();
+        assertEquals(3, hashes.size());
+        assertEquals(hashes.stream().sorted().toList(), hashes);
+
+        ArgumentCaptor<SentimentSavedEvent> events = ArgumentCaptor.forClass(SentimentSavedEvent.class);
+        verify(eventPublisher, times(4)).publishEvent(events.capture());
+        assertEquals(texts, events.getAllValues().stream().map(SentimentSavedEvent::textContent).toList());
+    }
 }
@@ -1,14 +1,24 @@
 package com.hackaton_one.sentiment_api.service;
 
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtSession;
+import com.hackaton_one.sentiment_api.api.dto.QuantizationReportDTO;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("SentimentService Unit Tests")
@@ -37,5 +47,68 @@ class SentimentServiceTest {
     void shouldHavePersistenceServiceInjected() {
         assertNotNull(persistenceService);
     }
-}
 
+    @Test
+    @DisplayName("Should version the result cache by the model and the settings that change results")
+    void shouldVersionCacheBySettings() {
+        String version = SentimentService.cacheVersion("v1", "text", "chunking:off");
+
+        assertTrue(version.startsWith("v1+"));
+        assertEquals(version, SentimentService.cacheVersion("v1", "text", "chunking:off"));
+        assertNotEquals(version, SentimentService.cacheVersion("v1", "text", "chunking:1000,400,16,MEAN"));
+        assertNotEquals(version, SentimentService.cacheVersion("v1", "features:1024,1,true,L2", "chunking:off"));
+        assertNotEquals(version, SentimentService.cacheVersion("v2", "text", "chunking:off"));
+    }
+
+    @Test
+    @DisplayName("Should keep the primary session when the quantized model cannot be loaded")
+    void shouldKeepPrimaryWhenQuantizedModelIsUnloadable(@TempDir Path dir) throws Exception {
+        Path corrupt = Files.write(dir.resolve("model-int8.onnx"), new byte[]{1, 2, 3, 4});
+        OrtSession primary = mock(OrtSession.class);
+        ReflectionTestUtils.setField(sentimentService, "env", OrtEnvironment.getEnvironment());
+        ReflectionTestUtils.setField(sentimentService, "session", primary);
+        ReflectionTestUtils.setField(sentimentService, "modelVersion", "v1");
+        ReflectionTestUtils.setField(sentimentService, "quantizedModelPath", corrupt.toString());
+        ReflectionTestUtils.setField(sentimentService, "minAgreement", 0.99);
+        ReflectionTestUtils.setField(sentimentService, "agreementSamplePath",
+                Files.write(dir.resolve("sample.txt"), SampleCorpus.DEFAULT).toString());
+        ReflectionTestUtils.setField(sentimentService, "minAgreementSamples", 10);
+
+        try (OrtSession.SessionOptions options = new OrtSession.SessionOptions()) {
+            Boolean activated = ReflectionTestUtils.invokeMethod(sentimentService, "activateQuantizedModel", options);
+            assertEquals(Boolean.FALSE, activated);
+        }
+
+        assertSame(primary, ReflectionTestUtils.getField(sentimentService, "session"));
+        assertEquals("v1", sentimentService.getModelVersion());
+        verify(primary, never()).close();
+        QuantizationReportDTO report = sentimentService.getQuantizationReport();
+        assertTrue(report.configured());
+        assertFalse(report.active());
+    }
+
+    @Test
+    @DisplayName("Should not activate the quantized model without a sample of the minimum size")
+    void shouldSkipQuantizedModelWithoutEnoughSample(@TempDir Path dir) throws Exception {
+        Path model = Files.write(dir.resolve("model-int8.onnx"), new byte[]{1, 2, 3, 4});
+        OrtSession primary = mock(OrtSession.class);
+        ReflectionTestUtils.setField(sentimentService, "session", primary);
+        ReflectionTestUtils.setField(sentimentService, "quantizedModelPath", model.toString());
+        ReflectionTestUtils.setField(sentimentService, "minAgreementSamples", 200);
+
+        try (OrtSession.SessionOptions options = new OrtSession.SessionOptions()) {
+            assertEquals(Boolean.FALSE, ReflectionTestUtils.invokeMethod(sentimentService, "activateQuantizedModel", options));
+            assertTrue(sentimentService.getQuantizationReport().message().contains("no sample configured"));
+
+            ReflectionTestUtils.setField(sentimentService, "agreementSamplePath",
+                    Files.write(dir.resolve("sample.txt"), SampleCorpus.DEFAULT).toString());
+            assertEquals(Boolean.FALSE, ReflectionTestUtils.invokeMethod(sentimentService, "activateQuantizedModel", options));
+        }
+
+        QuantizationReportDTO report = sentimentService.getQuantizationReport();
+        assertFalse(report.active());
+        assertEquals(SampleCorpus.DEFAULT.size(), report.samples());
+        assertTrue(report.message().contains("smaller than 200"));
+        assertSame(primary, ReflectionTestUtils.getField(sentimentService, "session"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.hackaton_one.sentiment_api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SessionAutoTuner Unit Tests")
+class SessionAutoTunerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SessionAutoTuner tuner;
+
+    @BeforeEach
+    void setUp() {
+        tuner = new SessionAutoTuner();
+        ReflectionTestUtils.setField(tuner, "intraOpThreads", List.of(1, 4));
+        ReflectionTestUtils.setField(tuner, "interOpThreads", List.of(1, 2));
+        ReflectionTestUtils.setField(tuner, "maxP95Ms", 10.0);
+    }
+
+    @Test
+    @DisplayName("Should build sequential and parallel candidates for each intra-op thread count")
+    void shouldBuildThreadCandidates() {
+        List<SessionTuning> candidates = tuner.threadCandidates();
+
+        assertEquals(6, candidates.size());
+        assertEquals(new SessionTuning(1, 1, false, true, true), candidates.get(0));
+        assertEquals(new SessionTuning(4, 2, true, true, true), candidates.get(5));
+    }
+
+    @Test
+    @DisplayName("Should cap the default intra-op grid at CPUs per inference worker")
+    void shouldCapIntraOpThreadsByWorkers() {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        ReflectionTestUtils.setField(tuner, "intraOpThreads", List.of());
+        ReflectionTestUtils.setField(tuner, "interOpThreads", List.of());
+        ReflectionTestUtils.setField(tuner, "workers", cpus);
+
+        assertEquals(List.of(new SessionTuning(1, 1, false, true, true)), tuner.threadCandidates());
+
+        ReflectionTestUtils.setField(tuner, "workers", 1);
+        assertEquals(cpus, tuner.threadCandidates().getLast().intraOpThreads());
+    }
+
+    @Test
+    @DisplayName("Should pick the highest throughput within the latency bound")
+    void shouldPickBestThroughputWithinBound() {
+        SessionAutoTuner.Measurement fastButSlowTail = measurement(8, 5000, 25);
+        SessionAutoTuner.Measurement withinBound = measurement(4, 3000, 8);
+        SessionAutoTuner.Measurement slower = measurement(1, 1000, 2);
+
+        assertEquals(withinBound, tuner.pick(List.of(fastButSlowTail, withinBound, slower)));
+
+        // Nenhuma dentro do limite: menor p95
+        SessionAutoTuner.Measurement lowestTail = measurement(2, 800, 12);
+        assertEquals(lowestTail, tuner.pick(List.of(fastButSlowTail, lowestTail)));
+    }
+
+    @Test
+    @DisplayName("Should reuse the stored tuning only for the same model version")
+    void shouldStoreAndLoadTuning() {
+        Path file = tempDir.resolve("tuning/session-tuning.properties");
+        SessionAutoTuner.Measurement best = new SessionAutoTuner.Measurement(
+                new SessionTuning(4, 2, true, false, false), 3000, 8);
+
+        tuner.store(file, "v1", best);
+
+        assertTrue(Files.exists(file));
+        assertEquals(best.tuning(), tuner.loadStored(file, "v1"));
+        assertNull(tuner.loadStored(file, "v2"));
+        assertNull(tuner.loadStored(tempDir.resolve("missing.properties"), "v1"));
+
+        ReflectionTestUtils.setField(tuner, "workers", tuner.concurrency() + 1);
+        assertNull(tuner.loadStored(file, "v1"));
+    }
+
+    private static SessionAutoTuner.Measurement measurement(int threads, double textsPerSecond, double p95Ms) {
+        return new SessionAutoTuner.Measurement(new SessionTuning(threads, 1, false, true, true), textsPerSecond, p95Ms);
+    }
+}
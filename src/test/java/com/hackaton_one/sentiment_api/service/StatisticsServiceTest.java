@@ -2,18 +2,24 @@ package com.hackaton_one.sentiment_api.service;
 
 import com.hackaton_one.sentiment_api.api.dto.DailyStatisticsDTO;
 import com.hackaton_one.sentiment_api.api.dto.StatisticsDTO;
+import com.hackaton_one.sentiment_api.api.dto.TimeSeriesDTO;
+import com.hackaton_one.sentiment_api.model.SentimentCounter;
+import com.hackaton_one.sentiment_api.repository.SentimentCounterRepository;
 import com.hackaton_one.sentiment_api.repository.SentimentRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,9 +33,23 @@ class StatisticsServiceTest {
     @Mock
     private SentimentRepository sentimentRepository;
 
+    @Mock
+    private SentimentCounterRepository counterRepository;
+
+    @Mock
+    private SentimentCounterService counterService;
+
+    @Mock
+    private ConfidenceHistogramService histogramService;
+
     @InjectMocks
     private StatisticsService statisticsService;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(statisticsService, "maxBuckets", 100);
+    }
+
     @Test
     @DisplayName("Should calculate statistics correctly with balanced data")
     void shouldCalculateStatisticsCorrectlyWithBalancedData() {
@@ -216,5 +236,47 @@ class StatisticsServiceTest {
 
         verify(sentimentRepository).findDailyStatistics(any(LocalDateTime.class));
     }
-}
 
+    @Test
+    @DisplayName("Should roll hourly counters up to zero-filled daily buckets")
+    void shouldBuildZeroFilledDailySeries() {
+        LocalDateTime day = LocalDate.of(2026, 1, 5).atStartOfDay();
+        when(counterRepository.findInRange(day, day.plusDays(3))).thenReturn(List.of(
+                new SentimentCounter(day.plusHours(9), "POSITIVO", 3),
+                new SentimentCounter(day.plusHours(15), "POSITIVO", 2),
+                new SentimentCounter(day.plusDays(2).plusHours(1), "NEGATIVO", 4)));
+        when(counterService.pendingInRange(day, day.plusDays(3))).thenReturn(
+                Map.of(new SentimentCounter.Key(day.plusDays(2).plusHours(2), "NEGATIVO"), 1L));
+
+        TimeSeriesDTO series = statisticsService.getTimeSeries(TimeGranularity.DAY, day.plusHours(6), day.plusDays(3));
+
+        assertEquals(day, series.from());
+        assertEquals(3, series.points().size());
+        assertEquals(5, series.points().get(0).positive());
+        assertEquals(0, series.points().get(1).total());
+        assertEquals(5, series.points().get(2).negative());
+    }
+
+    @Test
+    @DisplayName("Should start weekly buckets on Monday")
+    void shouldAlignWeeksToMonday() {
+        LocalDateTime wednesday = LocalDate.of(2026, 1, 7).atTime(12, 0);
+        when(counterRepository.findInRange(any(), any())).thenReturn(List.of());
+        when(counterService.pendingInRange(any(), any())).thenReturn(Map.of());
+
+        TimeSeriesDTO series = statisticsService.getTimeSeries(TimeGranularity.WEEK, wednesday, wednesday.plusWeeks(2));
+
+        assertEquals(LocalDate.of(2026, 1, 5).atStartOfDay(), series.points().getFirst().bucketStart());
+        assertEquals(3, series.points().size());
+    }
+
+    @Test
+    @DisplayName("Should reject ranges with too many buckets")
+    void shouldRejectTooManyBuckets() {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 7, 0, 0);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> statisticsService.getTimeSeries(TimeGranularity.HOUR, now.minusDays(90), now));
+        verifyNoInteractions(counterRepository);
+    }
+}
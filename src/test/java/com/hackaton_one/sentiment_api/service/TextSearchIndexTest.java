@@ -0,0 +1,86 @@
+package com.hackaton_one.sentiment_api.service;
+
+import com.hackaton_one.sentiment_api.config.DatabasePlatform;
+import com.hackaton_one.sentiment_api.events.SentimentSavedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TextSearchIndex Unit Tests")
+class TextSearchIndexTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DatabasePlatform databasePlatform;
+
+    @InjectMocks
+    private TextSearchIndex index;
+
+    @Test
+    @DisplayName("Should tokenize ignoring accents, case and punctuation")
+    void shouldTokenize() {
+        assertEquals(Set.of("entrega", "atrasou", "pessima"), TextSearchIndex.tokenize("Entrega atrasou, PÉSSIMA!"));
+    }
+
+    @Test
+    @DisplayName("Should return only texts containing every keyword")
+    void shouldIntersectKeywords() {
+        index.add("h1", "A entrega atrasou");
+        index.add("h2", "Entrega rápida");
+        index.add("h3", "Produto ótimo");
+
+        assertEquals(Set.of("h1", "h2"), index.search("ENTREGA"));
+        assertEquals(Set.of("h1"), index.search("entrega atrasou"));
+        assertEquals(Set.of(), index.search("entrega ótimo"));
+        assertEquals(Set.of(), index.search("  "));
+    }
+
+    @Test
+    @DisplayName("Should index saved analyses when not on PostgreSQL")
+    void shouldIndexSavedAnalyses() {
+        when(databasePlatform.isPostgres()).thenReturn(false);
+
+        index.onSentimentSaved(new SentimentSavedEvent(1L, "h1", "Atendimento excelente", "POSITIVO", 0.9,
+                LocalDateTime.now()));
+
+        assertEquals(Set.of("h1"), index.search("excelente"));
+    }
+
+    @Test
+    @DisplayName("Should drop deleted texts when rebuilt from the database")
+    void shouldPruneDeletedTextsOnRebuild() {
+        when(databasePlatform.isPostgres()).thenReturn(false);
+        index.add("h1", "Entrega atrasou");
+        index.add("h2", "Entrega rápida");
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString("hash")).thenReturn("h2");
+            when(rs.getString("content")).thenReturn("Entrega rápida");
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        index.rebuild();
+
+        assertEquals(Set.of("h2"), index.search("entrega"));
+        assertEquals(Set.of(), index.search("atrasou"));
+    }
+}